@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.expr.SqlExpr;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating typical filter expressions of {@code WHERE} clauses over the shared rows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExprBenchmark {
+    @Param({
+        "_[1] == 'Alice'",
+        "AND(_[0] > 100, _[2] < 300.0)",
+        "OR(_[1] == 'Betty', _[3] * 2 > 50000)",
+        "AND(_[0] >= 100, _[0] < 900, _[1] != 'Cindy', _[2] * 2.0 > _[0])"
+    })
+    public String expr;
+
+    private SqlExpr sqlExpr;
+    private List<Object[]> tuples;
+
+    @Setup
+    public void setup() {
+        sqlExpr = new SqlExpr(expr, DingoTypeFactory.INSTANCE.scalar("BOOL"));
+        sqlExpr.compileIn(Tuples.TYPE, null);
+        tuples = Tuples.rows(1000);
+    }
+
+    @Benchmark
+    public void eval(Blackhole blackhole) {
+        for (Object[] tuple : tuples) {
+            blackhole.consume(sqlExpr.eval(tuple));
+        }
+    }
+}
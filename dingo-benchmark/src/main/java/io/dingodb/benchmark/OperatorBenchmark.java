@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.aggregate.Agg;
+import io.dingodb.exec.aggregate.AggCache;
+import io.dingodb.exec.aggregate.CountAgg;
+import io.dingodb.exec.aggregate.SumAgg;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import io.dingodb.exec.operator.hash.JoinHashTable;
+import io.dingodb.exec.operator.params.SortParam;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory state of the hash join, aggregation and sort operators, fed with {@code rows} tuples per invocation.
+ *
+ * <p>The operators themselves need a task to run in, so their data structures are driven directly, the same way the
+ * operators do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OperatorBenchmark {
+    // Join on the unique ids, group by the names.
+    private static final TupleMapping JOIN_KEY = TupleMapping.of(new int[]{0});
+    private static final TupleMapping GROUP_KEY = TupleMapping.of(new int[]{1});
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private List<Object[]> buildTuples;
+    private List<Object[]> probeTuples;
+    private JoinHashTable hashTable;
+    private List<Agg> aggList;
+    private List<SortCollation> collations;
+
+    @Setup
+    public void setup() {
+        buildTuples = Tuples.rows(rows);
+        probeTuples = Tuples.rows(rows);
+        hashTable = buildHashTable();
+        aggList = Arrays.asList(new CountAgg(0), new SumAgg(2, DingoTypeFactory.INSTANCE.scalar("DOUBLE")));
+        collations = Arrays.asList(
+            new SortCollation(1, SortDirection.ASCENDING, SortNullDirection.LAST),
+            new SortCollation(3, SortDirection.DESCENDING, SortNullDirection.FIRST)
+        );
+    }
+
+    @Benchmark
+    public JoinHashTable hashJoinBuild() {
+        return buildHashTable();
+    }
+
+    /**
+     * Probe the hash table and concatenate the matched tuples, as {@code HashJoinOperator} does for an inner join.
+     */
+    @Benchmark
+    public void hashJoinProbe(Blackhole blackhole) {
+        int leftLength = Tuples.TYPE.fieldCount();
+        for (Object[] tuple : probeTuples) {
+            for (int row = hashTable.find(tuple, JOIN_KEY); row >= 0; row = hashTable.next(row)) {
+                Object[] newTuple = Arrays.copyOf(tuple, 2 * leftLength);
+                System.arraycopy(hashTable.get(row), 0, newTuple, leftLength, leftLength);
+                blackhole.consume(newTuple);
+            }
+        }
+    }
+
+    @Benchmark
+    public AggCache aggAddTuple() {
+        AggCache cache = new AggCache(GROUP_KEY, aggList);
+        for (Object[] tuple : buildTuples) {
+            cache.addTuple(tuple);
+        }
+        return cache;
+    }
+
+    @Benchmark
+    public List<Object[]> sort() {
+        SortParam param = new SortParam(collations, -1, 0, false);
+        for (Object[] tuple : buildTuples) {
+            param.add(tuple);
+        }
+        return param.sortedCache();
+    }
+
+    @Benchmark
+    public List<Object[]> sortTopN() {
+        SortParam param = new SortParam(collations, 100, 0, false);
+        for (Object[] tuple : buildTuples) {
+            param.add(tuple);
+        }
+        return param.sortedCache();
+    }
+
+    private JoinHashTable buildHashTable() {
+        JoinHashTable table = new JoinHashTable(JOIN_KEY);
+        table.addAll(buildTuples.toArray(new Object[0][]));
+        table.seal();
+        return table;
+    }
+}
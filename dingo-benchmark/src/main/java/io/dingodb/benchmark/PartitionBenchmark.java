@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.partition.base.ConsistentHashing;
+import io.dingodb.partition.base.RangePartitionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing a key to its partition, by range and by consistent hashing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionBenchmark {
+    private static final int KEY_COUNT = 1024;
+
+    @Param({"4", "64", "1024"})
+    public int partitions;
+
+    @Param({"MD5", "MURMUR3"})
+    public ConsistentHashing.Version version;
+
+    private final RangePartitionService rangePartitionService = new RangePartitionService();
+    private NavigableMap<ComparableByteArray, RangeDistribution> ranges;
+    private ConsistentHashing<Long> hashing;
+    private byte[][] keys;
+    private int next;
+
+    private static byte[] key(long value) {
+        // [namespace(1)|tableId(8)|value(8)], like a record key of a table.
+        return ByteBuffer.allocate(17).put((byte) 'r').putLong(1L).putLong(value).array();
+    }
+
+    @Setup
+    public void setup() {
+        ranges = new TreeMap<>();
+        long step = Long.MAX_VALUE / partitions;
+        for (int i = 0; i < partitions; ++i) {
+            RangeDistribution range = RangeDistribution.builder()
+                .id(new CommonId(CommonId.CommonType.DISTRIBUTION, 1, i))
+                .startKey(key(i * step))
+                .endKey(i == partitions - 1 ? key(Long.MAX_VALUE) : key((i + 1) * step))
+                .withStart(true)
+                .withEnd(false)
+                .build();
+            ranges.put(new ComparableByteArray(range.getStartKey(), 1), range);
+        }
+        hashing = new ConsistentHashing<>(3, version);
+        for (long i = 0; i < partitions; ++i) {
+            hashing.addNode(i);
+        }
+        Random random = new Random(partitions);
+        keys = new byte[KEY_COUNT][];
+        for (int i = 0; i < KEY_COUNT; ++i) {
+            keys[i] = key(random.nextLong() & Long.MAX_VALUE);
+        }
+    }
+
+    private byte[] nextKey() {
+        next = (next + 1) & (KEY_COUNT - 1);
+        return keys[next];
+    }
+
+    @Benchmark
+    public CommonId rangeCalcPartId() {
+        return rangePartitionService.calcPartId(nextKey(), ranges);
+    }
+
+    @Benchmark
+    public Long consistentHashingGetNode() {
+        return hashing.getNode(nextKey());
+    }
+}
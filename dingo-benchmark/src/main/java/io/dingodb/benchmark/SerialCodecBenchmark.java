@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.codec.serial.CodeTag;
+import io.dingodb.codec.serial.DingoKeyValueCodec;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.serial.io.RecordDecoder;
+import io.dingodb.serial.io.RecordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Record and key-value encoding of {@code dingo-serial}, as done for every row read from or written to the store.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerialCodecBenchmark {
+    private RecordEncoder encoder;
+    private RecordDecoder decoder;
+    private DingoKeyValueCodec codec;
+
+    private Object[] record;
+    private byte[] encoded;
+    private KeyValue keyValue;
+
+    @Setup
+    public void setup() throws IOException {
+        DingoType type = Tuples.TYPE;
+        encoder = new RecordEncoder(
+            type.toDingoSchemas(), (short) 0, CodeTag.UNFINISHFALG, CodeTag.FINISHEDFALG, CodeTag.DELETEFLAG, null
+        );
+        decoder = new RecordDecoder(
+            type.toDingoSchemas(), (short) 0, CodeTag.UNFINISHFALG, CodeTag.FINISHEDFALG, CodeTag.DELETEFLAG, null
+        );
+        codec = new DingoKeyValueCodec(type, TupleMapping.of(new int[]{0}));
+        record = Tuples.row(12345);
+        encoded = encoder.encode(record);
+        keyValue = codec.encode(record);
+    }
+
+    @Benchmark
+    public byte[] recordEncode() throws IOException {
+        return encoder.encode(record);
+    }
+
+    @Benchmark
+    public Object[] recordDecode() throws IOException {
+        return decoder.decode(encoded);
+    }
+
+    @Benchmark
+    public KeyValue keyValueEncode() {
+        return codec.encode(record);
+    }
+
+    @Benchmark
+    public Object[] keyValueDecode() {
+        return codec.decode(keyValue);
+    }
+}
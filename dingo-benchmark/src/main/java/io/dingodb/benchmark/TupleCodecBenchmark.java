@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.exec.codec.TupleCodecType;
+import io.dingodb.exec.codec.TxRxCodec;
+import io.dingodb.exec.codec.TxRxCodecImpl;
+import io.dingodb.exec.tuple.TupleId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tuple batches exchanged between tasks by {@link TxRxCodecImpl}, with the tuples encoded by {@code AvroTupleCodec} or
+ * {@code BinaryTupleCodec}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TupleCodecBenchmark {
+    @Param({"1", "64", "1024"})
+    public int batchSize;
+
+    @Param({"AVRO", "BINARY"})
+    public TupleCodecType codecType;
+
+    private TxRxCodec txRxCodec;
+
+    private List<Object[]> tuples;
+    private byte[] txRxEncoded;
+
+    @Setup
+    public void setup() throws IOException {
+        txRxCodec = new TxRxCodecImpl(Tuples.TYPE, codecType, false);
+        tuples = Tuples.rows(batchSize);
+        txRxEncoded = txRxEncode();
+    }
+
+    @Benchmark
+    public byte[] txRxEncode() throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        txRxCodec.encodeTuples(os, tuples);
+        return os.toByteArray();
+    }
+
+    @Benchmark
+    public List<TupleId> txRxDecode() throws IOException {
+        return txRxCodec.decode(ByteBuffer.wrap(txRxEncoded));
+    }
+}
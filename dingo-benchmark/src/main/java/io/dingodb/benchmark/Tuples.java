@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic rows of {@code (INT, STRING, DOUBLE, LONG, STRING)} shared by the suites.
+ */
+final class Tuples {
+    static final DingoType TYPE = DingoTypeFactory.INSTANCE.tuple("INT", "STRING", "DOUBLE", "LONG", "STRING");
+
+    private static final String[] NAMES = {"Alice", "Betty", "Cindy", "Doris", "Emily", "Flora", "Grace", "Helen"};
+
+    private Tuples() {
+    }
+
+    static Object[] row(int id) {
+        return new Object[]{
+            id,
+            NAMES[id % NAMES.length],
+            id * 0.5,
+            (long) id * 1000,
+            "comment of row " + id
+        };
+    }
+
+    /**
+     * Rows with ids in {@code [0, count)} in a fixed random order.
+     */
+    static List<Object[]> rows(int count) {
+        Random random = new Random(count);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            rows.add(row(i));
+        }
+        for (int i = count - 1; i > 0; --i) {
+            int j = random.nextInt(i + 1);
+            Object[] tmp = rows.get(i);
+            rows.set(i, rows.get(j));
+            rows.set(j, tmp);
+        }
+        return rows;
+    }
+}
@@ -23,8 +23,9 @@ import io.dingodb.calcite.schema.RootSnapshotSchema;
 import io.dingodb.codec.CodecService;
 import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
-import io.dingodb.common.environment.ExecutionEnvironment;
+import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.profile.StmtSummaryMap;
 import io.dingodb.common.store.KeyValue;
@@ -54,7 +55,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -63,15 +63,15 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
-import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -99,16 +99,16 @@ public class LoadDataOperation implements DmlOperation {
     private volatile String errMessage;
     private final Table table;
     private final KeyValueCodec codec;
-    private NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distributions;
+    private volatile NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distributions;
+    private final PartitionService partitionService;
+    private final List<IndexCodec> indexCodecs = new ArrayList<>();
     private final DingoType schema;
 
     MetaService metaService;
-    private static int exceptionRetries = 0;
     private static final Long retryInterval = 6000L;
     private static final int maxRetries = 20;
     private int dataGenNum = 0;
     private final boolean isTxn;
-    private final String statementId;
     private boolean txnRetry;
     private int txnRetryCnt;
 
@@ -116,7 +116,24 @@ public class LoadDataOperation implements DmlOperation {
 
     private final AtomicLong count = new AtomicLong(0);
 
-    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(10000);
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int LINE_BATCH_SIZE = 1024;
+    private static final LineBatch END_OF_LINES = new LineBatch(-1, null);
+    private static final LoadRow END_OF_ROWS = new LoadRow(null, null, null);
+
+    private final int parallelism;
+    private volatile boolean failed;
+
+    // read file chunks
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(64);
+    // line batches to parse and encode
+    private final BlockingQueue<LineBatch> lineQueue;
+    // parsed line batches are handed to the writers in file order, so rows of the same key keep their input order
+    private final LoadSequencer sequencer = new LoadSequencer();
+    private long lineBatchSeq = 0;
+    // encoded rows, a region is always written by the same writer
+    private final List<BlockingQueue<LoadRow>> writeQueues = new ArrayList<>();
+    private List<byte[]> lines = new ArrayList<>(LINE_BATCH_SIZE);
 
     public LoadDataOperation(SqlLoadData sqlLoadData, Connection connection, DingoParserContext context) {
         this.context = context;
@@ -164,9 +181,21 @@ public class LoadDataOperation implements DmlOperation {
         }
         codec = CodecService.getDefault().createKeyValueCodec(table.version, table.tupleType(), table.keyMapping());
         distributions = metaService.getRangeDistribution(table.tableId);
+        partitionService = PartitionService.getService(
+            Optional.ofNullable(table.getPartitionStrategy())
+                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
         schema = table.tupleType();
         this.isTxn = checkEngine();
-        this.statementId = UUID.randomUUID().toString();
+        if (isTxn && table.getIndexes() != null) {
+            for (IndexTable indexTable : table.getIndexes()) {
+                indexCodecs.add(new IndexCodec(table, indexTable));
+            }
+        }
+        this.parallelism = Math.max(1, ScopeVariables.getLoadDataParallelism());
+        this.lineQueue = new ArrayBlockingQueue<>(parallelism * 2);
+        for (int i = 0; i < parallelism; i++) {
+            writeQueues.add(new ArrayBlockingQueue<>(max_pre_write_count));
+        }
     }
 
     @Override
@@ -175,45 +204,21 @@ public class LoadDataOperation implements DmlOperation {
             throw DingoResource.DINGO_RESOURCE.fieldSeparatorError().ex();
         }
         try {
-            new Thread(() -> {
-                try {
-                    byte[] preBytes = null;
-                    long ver = DdlService.root().getIsLatest().getSchemaMetaVersion();
-                    context.getRootSchema().putRelatedTable(table.tableId.seq, ver);
-                    while (true) {
-                        Object val = queue.take();
-                        if (val instanceof byte[]) {
-                            byte[] bytes = (byte[]) val;
-                            preBytes = splitLine(bytes, preBytes, fieldsTerm, linesTerm);
-                        } else {
-                            break;
-                        }
-                    }
-                    if (isTxn) {
-                        endWriteWithTxn();
-                    }
-                } catch (DuplicateEntryException e1) {
-                    errMessage = "Duplicate entry for key 'PRIMARY'";
-                } catch (Exception e2) {
-                    LogUtils.error(log, e2.getMessage(), e2);
-                    errMessage = e2.getMessage();
-                } finally {
-                    context.getRootSchema().removeRelatedTable(table.tableId.seq);
-                    isDone = true;
-                }
-            }).start();
             FileInputStream is = new FileInputStream(filePath);
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            byte[] buffer = new byte[1000];
-            int length;
-            while ((length = is.read(buffer)) != -1) {
-                bos.write(buffer, 0, length);
-                queue.put(bos.toByteArray());
-                bos.reset();
+            new Thread(this::load).start();
+            try {
+                byte[] buffer = new byte[CHUNK_SIZE];
+                int length;
+                while ((length = is.read(buffer)) != -1) {
+                    queue.put(Arrays.copyOf(buffer, length));
+                }
+            } catch (IOException e) {
+                fail(e);
+                throw e;
+            } finally {
+                queue.put("end");
+                is.close();
             }
-            queue.put("end");
-            bos.close();
-            is.close();
         } catch (FileNotFoundException e) {
             // Err code 2: No such file or directory
             throw DingoResource.DINGO_RESOURCE.accessError(filePath, 2, "No such file or directory").ex();
@@ -226,6 +231,171 @@ public class LoadDataOperation implements DmlOperation {
         return true;
     }
 
+    /**
+     * Split the file chunks into lines and drive the parse and write stages.
+     *
+     * <p>Lines are split and counted on this thread only, so {@code ignoreNum} skips exactly the leading lines of the
+     * file. After a failure every stage keeps draining its queue without processing, so no producer is left blocked.
+     */
+    private void load() {
+        List<CompletableFuture<Void>> parsers = new ArrayList<>();
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        try {
+            long ver = DdlService.root().getIsLatest().getSchemaMetaVersion();
+            context.getRootSchema().putRelatedTable(table.tableId.seq, ver);
+            for (BlockingQueue<LoadRow> writeQueue : writeQueues) {
+                writers.add(Executors.submit("load-data-write", () -> write(writeQueue)));
+            }
+            for (int i = 0; i < parallelism; i++) {
+                parsers.add(Executors.submit("load-data-parse", this::parse));
+            }
+            byte[] preBytes = null;
+            while (true) {
+                Object val = queue.take();
+                if (!(val instanceof byte[])) {
+                    break;
+                }
+                if (!failed) {
+                    try {
+                        preBytes = splitLine((byte[]) val, preBytes, linesTerm);
+                    } catch (Exception e) {
+                        fail(e);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                put(lineQueue, new LineBatch(lineBatchSeq++, lines));
+            }
+        } catch (Exception e) {
+            fail(e);
+        } finally {
+            // Stop the stages in order, so the writers see every row parsed before their end marker.
+            parsers.forEach(f -> put(lineQueue, END_OF_LINES));
+            CompletableFuture.allOf(parsers.toArray(new CompletableFuture[0])).join();
+            writeQueues.forEach(q -> put(q, END_OF_ROWS));
+            CompletableFuture.allOf(writers.toArray(new CompletableFuture[0])).join();
+            context.getRootSchema().removeRelatedTable(table.tableId.seq);
+            isDone = true;
+        }
+    }
+
+    private void addLine(byte[] lineBytes) {
+        dataGenNum ++;
+        // ignore rows
+        if (dataGenNum <= ignoreNum) {
+            return;
+        }
+        lines.add(lineBytes);
+        if (lines.size() >= LINE_BATCH_SIZE) {
+            put(lineQueue, new LineBatch(lineBatchSeq++, lines));
+            lines = new ArrayList<>(LINE_BATCH_SIZE);
+        }
+    }
+
+    private void parse() {
+        while (true) {
+            LineBatch batch = take(lineQueue);
+            if (batch == END_OF_LINES) {
+                return;
+            }
+            List<LoadRow> rows = new ArrayList<>(batch.lines.size());
+            if (!failed) {
+                try {
+                    for (byte[] lineBytes : batch.lines) {
+                        rows.add(parseRow(lineBytes));
+                    }
+                } catch (Exception e) {
+                    fail(e);
+                }
+            }
+            // Parsing is concurrent, but the rows are dispatched in the order of the lines.
+            sequencer.await(batch.seq);
+            try {
+                if (!failed) {
+                    for (LoadRow row : rows) {
+                        put(writeQueues.get(Math.floorMod(row.partId.hashCode(), writeQueues.size())), row);
+                    }
+                }
+            } finally {
+                sequencer.advance();
+            }
+        }
+    }
+
+    private LoadRow parseRow(byte[] lineBytes) throws UnsupportedEncodingException {
+        Object[] tuples = splitRow(lineBytes, fieldsTerm);
+        tuples = enclosed(tuples);
+        tuples = processHideCol(tuples);
+        tuples = (Object[]) schema.convertFrom(tuples, new ImportFileConverter(escaped));
+        if (isTxn) {
+            return encodeWithTxn(tuples);
+        }
+        return new LoadRow(partitionService.calcPartId(tuples, wrap(codec::encodeKey), distributions), tuples, null);
+    }
+
+    private void write(BlockingQueue<LoadRow> writeQueue) {
+        List<LoadRow> batch = new ArrayList<>();
+        while (true) {
+            LoadRow row = take(writeQueue);
+            if (row == END_OF_ROWS) {
+                break;
+            }
+            if (failed) {
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() >= max_pre_write_count) {
+                writeBatch(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!failed && !batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<LoadRow> batch) {
+        try {
+            if (isTxn) {
+                insertWithTxn(batch);
+            } else {
+                for (LoadRow row : batch) {
+                    insertWithoutTxn(row.tuple, row.partId);
+                }
+            }
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    private synchronized void fail(Exception e) {
+        if (!failed) {
+            if (e instanceof DuplicateEntryException) {
+                errMessage = "Duplicate entry for key 'PRIMARY'";
+            } else {
+                LogUtils.error(log, e.getMessage(), e);
+                errMessage = e.getMessage();
+            }
+            failed = true;
+        }
+    }
+
+    private static <T> T take(BlockingQueue<T> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static <T> void put(BlockingQueue<T> queue, T val) {
+        try {
+            queue.put(val);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public Iterator<Object[]> getIterator() {
         while (!isDone) {
@@ -264,8 +434,7 @@ public class LoadDataOperation implements DmlOperation {
     }
 
     // simple line split
-    private byte[] splitLine(byte[] current, byte[] pre, byte[] fieldsTerm, byte[] linesTerm)
-        throws UnsupportedEncodingException {
+    private byte[] splitLine(byte[] current, byte[] pre, byte[] linesTerm) {
         byte[] bytes;
         if (pre != null) {
             bytes = new byte[current.length + pre.length];
@@ -288,8 +457,7 @@ public class LoadDataOperation implements DmlOperation {
                 System.arraycopy(bytes, lineBreakPos, lineBytes, 0, lineBytes.length);
                 int id2 = getByteIndexOf(lineBytes, lineStarting, 0, lineBytes.length);
                 if (id2 == 0 && bytes[id1 - 1] != escaped[0]) {
-                    Object[] tuple = splitRow(lineBytes, fieldsTerm);
-                    insertTuples(tuple);
+                    addLine(lineBytes);
                     int tmp1 = id1 + linesTerm.length;
                     if (tmp1 == len) {
                         isContinue = false;
@@ -317,187 +485,101 @@ public class LoadDataOperation implements DmlOperation {
         return preBytes;
     }
 
-    private void insertTuples(Object[] tuples) {
-        dataGenNum ++;
-        // ignore rows
-        if (dataGenNum <= ignoreNum) {
-            return;
-        }
-        tuples = enclosed(tuples);
-        tuples = processHideCol(tuples);
-        tuples = (Object[]) schema.convertFrom(tuples, new ImportFileConverter(escaped));
-
-        if (isTxn) {
-            if (dataGenNum % max_pre_write_count == 0) {
-                refreshTxnId = true;
-            }
-            insertWithTxn(tuples);
-        } else {
-            insertWithoutTxn(tuples, false);
-        }
-    }
-
-    public void insertWithoutTxn(Object[] tuples, boolean retry) {
-        try {
-            if (retry) {
-                distributions = metaService.getRangeDistribution(table.tableId);
-            }
-            CommonId partId = PartitionService.getService(
-                    Optional.ofNullable(table.getPartitionStrategy())
-                        .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME))
-                .calcPartId(tuples, wrap(codec::encodeKey), distributions);
-            StoreInstance store = Services.KV_STORE.getInstance(table.getTableId(), partId);
-            boolean insert = store.insertIndex(tuples);
-            if (insert) {
-                insert = store.insertWithIndex(tuples);
-            }
-            if (insert) {
-                count.incrementAndGet();
-            }
-            exceptionRetries = 0;
-        } catch (Exception e) {
-            LogUtils.error(log, e.getMessage(), e);
-            if (e.getMessage().contains("epoch is not match, region_epoch")
-                || e.getMessage().contains("Key out of range")
-                || e instanceof RegionSplitException) {
-                if (!continueRetry()) {
+    public void insertWithoutTxn(Object[] tuples, CommonId partId) {
+        // Retries are counted for each row, for the writers insert concurrently.
+        int retries = 0;
+        while (true) {
+            try {
+                if (partId == null) {
+                    distributions = metaService.getRangeDistribution(table.tableId);
+                    partId = partitionService.calcPartId(tuples, wrap(codec::encodeKey), distributions);
+                }
+                StoreInstance store = Services.KV_STORE.getInstance(table.getTableId(), partId);
+                boolean insert = store.insertIndex(tuples);
+                if (insert) {
+                    insert = store.insertWithIndex(tuples);
+                }
+                if (insert) {
+                    count.incrementAndGet();
+                }
+                return;
+            } catch (Exception e) {
+                LogUtils.error(log, e.getMessage(), e);
+                if (e.getMessage().contains("epoch is not match, region_epoch")
+                    || e.getMessage().contains("Key out of range")
+                    || e instanceof RegionSplitException) {
+                    if (!continueRetry(retries++)) {
+                        throw e;
+                    }
+                    partId = null;
+                } else {
                     throw e;
                 }
-                insertWithoutTxn(tuples, true);
-            } else {
-                throw e;
             }
         }
     }
 
-    public CommonId getTxnId() {
-        if (refreshTxnId || txnId == null) {
-            txnId = new CommonId(CommonId.CommonType.TRANSACTION,
-                TransactionManager.getServerId().seq, TransactionManager.getStartTs());
-        }
-        return txnId;
-    }
-
-    CommonId txnId;
-    boolean refreshTxnId = false;
-
-    public void insertWithTxn(Object[] tuples) {
-        ExecutionEnvironment env = ExecutionEnvironment.INSTANCE;
-        Map<String, KeyValue> caches = env.memCacheFor2PC.memoryCache
-            .computeIfAbsent(statementId, e -> new TreeMap<>());
+    private LoadRow encodeWithTxn(Object[] tuples) {
+        List<LoadKeyValue> keyValues = new ArrayList<>(indexCodecs.size() + 1);
         KeyValue keyValue = codec.encode(tuples);
-
-        CommonId txnId = getTxnId();
-        recodePriTable(keyValue, txnId);
-        String cacheKey = Base64.getEncoder().encodeToString(keyValue.getKey());
-        if (!caches.containsKey(cacheKey)) {
-            caches.put(cacheKey, keyValue);
-        }
-        List<IndexTable> indexTableList = table.getIndexes();
-        if (indexTableList != null) {
-            for (IndexTable indexTable : indexTableList) {
-                List<Integer> columnIndices = table.getColumnIndices(indexTable.columns.stream()
-                    .map(Column::getName)
-                    .collect(Collectors.toList()));
-                Object[] tuplesTmp = columnIndices.stream().map(i -> tuples[i]).toArray();
-                KeyValueCodec codec = CodecService.getDefault()
-                    .createKeyValueCodec(indexTable.version, indexTable.tupleType(), indexTable.keyMapping());
-
-                keyValue = wrap(codec::encode).apply(tuplesTmp);
-                PartitionService ps = PartitionService.getService(
-                    Optional.ofNullable(indexTable.getPartitionStrategy())
-                        .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
-                NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> ranges =
-                    metaService.getRangeDistribution(indexTable.tableId);
-                CommonId partId = ps.calcPartId(keyValue.getKey(), ranges);
-                CodecService.getDefault().setId(keyValue.getKey(), partId.domain);
-
-                byte[] txnIdByte = txnId.encode();
-                byte[] tableIdByte = indexTable.tableId.encode();
-                byte[] partIdByte = partId.encode();
-                keyValue.setKey(
-                    ByteUtils.encode(
-                        CommonId.CommonType.TXN_CACHE_DATA,
-                        keyValue.getKey(),
-                        Op.PUTIFABSENT.getCode(),
-                        (txnIdByte.length + tableIdByte.length + partIdByte.length),
-                        txnIdByte,
-                        tableIdByte,
-                        partIdByte)
-                );
-                cacheKey = Base64.getEncoder().encodeToString(keyValue.getKey());
-                if (!caches.containsKey(cacheKey)) {
-                    caches.put(cacheKey, keyValue);
-                }
-            }
-        }
-
-        if (refreshTxnId) {
-            long start = System.currentTimeMillis();
-            int cacheSize;
-            try {
-                List<TxnLocalData> tupleList = getCacheTupleList(caches, txnId);
-                Txn txn = new Txn(
-                    txnId, txnRetry, txnRetryCnt, timeOut
-                );
-                int result = txn.commit(tupleList);
-                count.addAndGet(result);
-                cacheSize = caches.size();
-                caches.clear();
-            } finally {
-                env.memCacheFor2PC.memoryCache.remove(statementId);
+        CommonId partId = partitionService.calcPartId(keyValue.getKey(), distributions);
+        CodecService.getDefault().setId(keyValue.getKey(), partId.domain);
+        keyValues.add(new LoadKeyValue(table.getTableId(), partId, keyValue));
+        for (IndexCodec indexCodec : indexCodecs) {
+            Object[] tuplesTmp = new Object[indexCodec.columnIndices.length];
+            for (int i = 0; i < tuplesTmp.length; i++) {
+                tuplesTmp[i] = tuples[indexCodec.columnIndices[i]];
             }
-            long end = System.currentTimeMillis();
-            LogUtils.debug(log, "insert txn batch size:" + cacheSize + ", cost time:" + (end - start) + "ms");
-            refreshTxnId = false;
+            KeyValue indexKeyValue = wrap(indexCodec.codec::encode).apply(tuplesTmp);
+            CommonId indexPartId = indexCodec.partitionService.calcPartId(
+                indexKeyValue.getKey(), indexCodec.distributions
+            );
+            CodecService.getDefault().setId(indexKeyValue.getKey(), indexPartId.domain);
+            keyValues.add(new LoadKeyValue(indexCodec.tableId, indexPartId, indexKeyValue));
         }
+        return new LoadRow(partId, tuples, keyValues);
     }
 
-    private void recodePriTable(KeyValue keyValue, CommonId txnId) {
-        CommonId partId = PartitionService.getService(
-                Optional.ofNullable(table.getPartitionStrategy())
-                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME))
-            .calcPartId(keyValue.getKey(), distributions);
-        CodecService.getDefault().setId(keyValue.getKey(), partId.domain);
-        byte[] txnIdByte = txnId.encode();
-        byte[] tableIdByte = table.getTableId().encode();
-        byte[] partIdByte = partId.encode();
-
-        keyValue.setKey(ByteUtils.encode(
-            CommonId.CommonType.TXN_CACHE_DATA,
-            keyValue.getKey(),
-            Op.PUTIFABSENT.getCode(),
-            (txnIdByte.length + tableIdByte.length + partIdByte.length),
-            txnIdByte, tableIdByte, partIdByte));
-    }
-
-    public void endWriteWithTxn() {
+    /**
+     * Commit a batch of rows in its own transaction, rows duplicated in the batch are written once.
+     */
+    private void insertWithTxn(List<LoadRow> batch) {
         long start = System.currentTimeMillis();
-        ExecutionEnvironment env = ExecutionEnvironment.INSTANCE;
-        try {
-            CommonId txnId = getTxnId();
-            Txn txnImportDataOperation = new Txn(
-                txnId, txnRetry, txnRetryCnt, timeOut
-            );
-            Map<String, KeyValue> caches = env.memCacheFor2PC.memoryCache
-                .computeIfAbsent(statementId, e -> new TreeMap<>());
-            List<TxnLocalData> tupleList = getCacheTupleList(caches, txnId);
-            if (tupleList.isEmpty()) {
-                return;
+        CommonId txnId = new CommonId(CommonId.CommonType.TRANSACTION,
+            TransactionManager.getServerId().seq, TransactionManager.getStartTs());
+        byte[] txnIdByte = txnId.encode();
+        NavigableMap<ByteArrayUtils.ComparableByteArray, KeyValue> caches = new TreeMap<>();
+        for (LoadRow row : batch) {
+            for (LoadKeyValue loadKeyValue : row.keyValues) {
+                byte[] tableIdByte = loadKeyValue.tableId.encode();
+                byte[] partIdByte = loadKeyValue.partId.encode();
+                byte[] key = ByteUtils.encode(
+                    CommonId.CommonType.TXN_CACHE_DATA,
+                    loadKeyValue.keyValue.getKey(),
+                    Op.PUTIFABSENT.getCode(),
+                    (txnIdByte.length + tableIdByte.length + partIdByte.length),
+                    txnIdByte, tableIdByte, partIdByte);
+                caches.putIfAbsent(
+                    new ByteArrayUtils.ComparableByteArray(key), new KeyValue(key, loadKeyValue.keyValue.getValue())
+                );
             }
-            int result = txnImportDataOperation.commit(tupleList);
-            count.addAndGet(result);
-            caches.clear();
-        } finally {
-            env.memCacheFor2PC.memoryCache.remove(statementId);
         }
+        List<TxnLocalData> tupleList = getCacheTupleList(caches.values());
+        if (tupleList.isEmpty()) {
+            return;
+        }
+        Txn txn = new Txn(
+            txnId, txnRetry, txnRetryCnt, timeOut
+        );
+        int result = txn.commit(tupleList);
+        count.addAndGet(result);
         long end = System.currentTimeMillis();
-        LogUtils.debug(log, "insert txn end batch, cost time:" + (end - start) + "ms");
+        LogUtils.debug(log, "insert txn batch size:" + caches.size() + ", cost time:" + (end - start) + "ms");
     }
 
-    public static List<TxnLocalData> getCacheTupleList(Map<String, KeyValue> keyValueMap, CommonId txnId) {
+    public static List<TxnLocalData> getCacheTupleList(Collection<KeyValue> keyValues) {
         List<TxnLocalData> tupleCacheList = new ArrayList<>();
-        for (KeyValue keyValue : keyValueMap.values()) {
+        for (KeyValue keyValue : keyValues) {
             TxnLocalData txnLocalData = getCacheTuples(keyValue);
             if (txnLocalData != null) {
                 tupleCacheList.add(txnLocalData);
@@ -511,12 +593,11 @@ public class LoadDataOperation implements DmlOperation {
         return (TxnLocalData) caches[0];
     }
 
-    private static boolean continueRetry() {
-        if (exceptionRetries > maxRetries) {
+    private static boolean continueRetry(int retries) {
+        if (retries > maxRetries) {
             return false;
         }
         Utils.sleep(retryInterval);
-        exceptionRetries ++;
         return true;
     }
 
@@ -675,4 +756,62 @@ public class LoadDataOperation implements DmlOperation {
         return StringUtils.isNotBlank(engine) && engine.contains("TXN");
     }
 
+    private static final class IndexCodec {
+        private final CommonId tableId;
+        private final int[] columnIndices;
+        private final KeyValueCodec codec;
+        private final PartitionService partitionService;
+        private final NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distributions;
+
+        private IndexCodec(Table table, IndexTable indexTable) {
+            this.tableId = indexTable.tableId;
+            this.columnIndices = table.getColumnIndices(indexTable.columns.stream()
+                    .map(Column::getName)
+                    .collect(Collectors.toList()))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+            this.codec = CodecService.getDefault()
+                .createKeyValueCodec(indexTable.version, indexTable.tupleType(), indexTable.keyMapping());
+            this.partitionService = PartitionService.getService(
+                Optional.ofNullable(indexTable.getPartitionStrategy())
+                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
+            this.distributions = MetaService.root().getRangeDistribution(indexTable.tableId);
+        }
+    }
+
+    private static final class LoadKeyValue {
+        private final CommonId tableId;
+        private final CommonId partId;
+        private final KeyValue keyValue;
+
+        private LoadKeyValue(CommonId tableId, CommonId partId, KeyValue keyValue) {
+            this.tableId = tableId;
+            this.partId = partId;
+            this.keyValue = keyValue;
+        }
+    }
+
+    private static final class LineBatch {
+        private final long seq;
+        private final List<byte[]> lines;
+
+        private LineBatch(long seq, List<byte[]> lines) {
+            this.seq = seq;
+            this.lines = lines;
+        }
+    }
+
+    private static final class LoadRow {
+        private final CommonId partId;
+        private final Object[] tuple;
+        private final List<LoadKeyValue> keyValues;
+
+        private LoadRow(CommonId partId, Object[] tuple, List<LoadKeyValue> keyValues) {
+            this.partId = partId;
+            this.tuple = tuple;
+            this.keyValues = keyValues;
+        }
+    }
+
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.operation;
+
+/**
+ * Lets the batches processed concurrently hand over their results in the order of their sequence numbers.
+ *
+ * <p>A batch calls {@link #await(long)} before handing over and {@link #advance()} after it, the latter must be called
+ * even if the batch failed, or the following batches wait forever.
+ */
+final class LoadSequencer {
+    private long next = 0;
+
+    synchronized void await(long seq) {
+        while (next != seq) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    synchronized void advance() {
+        ++next;
+        notifyAll();
+    }
+}
@@ -183,6 +183,7 @@ public final class DingoRules {
         DingoPhysicalRules.DINGO_HASH_JOIN_RULE,
         DingoPhysicalRules.DINGO_ROOT_RULE,
         DingoPhysicalRules.DINGO_SORT_RULE,
+        DingoPhysicalRules.DINGO_PARTIAL_TOP_N_RULE,
         DingoPhysicalRules.DINGO_TRANSPOSE_REL_OP_STREAMING_CONVERTER_RULE,
         DINGO_GET_BY_INDEX_RULE,
         DINGO_LIKE_RULE,
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rule.dingo;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.calcite.rel.dingo.DingoSort;
+import io.dingodb.calcite.rel.dingo.DingoStreamingConverter;
+import io.dingodb.common.table.HybridSearchTable;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.plan.volcano.RelSubset;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.immutables.value.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Push a partial Top-N ({@code ORDER BY ... LIMIT}) below the streaming converter, so that each partition outputs
+ * at most {@code offset + fetch} tuples to be merged by the final sort.
+ */
+@Value.Enclosing
+public class DingoPartialTopNRule extends RelRule<RelRule.Config> {
+    protected DingoPartialTopNRule(Config config) {
+        super(config);
+    }
+
+    private static boolean isTopN(@NonNull DingoSort sort) {
+        return !sort.getCollation().getFieldCollations().isEmpty()
+            && sort.fetch instanceof RexLiteral
+            && (sort.offset == null || sort.offset instanceof RexLiteral)
+            // Normalization of hybrid search scores needs all the tuples.
+            && sort.getHints().stream().noneMatch(h -> h.hintName.equalsIgnoreCase(HybridSearchTable.HINT_NAME));
+    }
+
+    private static boolean isSorted(RelNode input) {
+        if (input instanceof RelSubset) {
+            return ((RelSubset) input).getRelList().stream().anyMatch(r -> r instanceof DingoSort);
+        }
+        return input instanceof DingoSort;
+    }
+
+    @Override
+    public void onMatch(@NonNull RelOptRuleCall call) {
+        DingoSort sort = call.rel(0);
+        DingoStreamingConverter converter = call.rel(1);
+        RelNode input = converter.getInput();
+        if (isSorted(input)) {
+            return;
+        }
+        long fetch = RexLiteral.intValue(sort.fetch);
+        if (sort.offset != null) {
+            fetch += RexLiteral.intValue(sort.offset);
+        }
+        if (fetch > Integer.MAX_VALUE) {
+            return;
+        }
+        RexNode partialFetch = sort.getCluster().getRexBuilder().makeExactLiteral(BigDecimal.valueOf(fetch));
+        DingoSort partial = new DingoSort(
+            sort.getCluster(),
+            input.getTraitSet().replace(sort.getCollation()),
+            ImmutableList.of(),
+            input,
+            sort.getCollation(),
+            null,
+            partialFetch
+        );
+        call.transformTo(
+            sort.copy(
+                sort.getTraitSet(),
+                ImmutableList.of(converter.copy(converter.getTraitSet(), ImmutableList.of(partial)))
+            )
+        );
+    }
+
+    @Value.Immutable
+    public interface Config extends RelRule.Config {
+        Config DEFAULT = ImmutableDingoPartialTopNRule.Config.builder()
+            .description("DingoPartialTopNRule")
+            .operandSupplier(b0 ->
+                b0.operand(DingoSort.class).predicate(DingoPartialTopNRule::isTopN).oneInput(b1 ->
+                    b1.operand(DingoStreamingConverter.class).anyInputs()
+                )
+            )
+            .build();
+
+        @Override
+        default DingoPartialTopNRule toRule() {
+            return new DingoPartialTopNRule(this);
+        }
+    }
+}
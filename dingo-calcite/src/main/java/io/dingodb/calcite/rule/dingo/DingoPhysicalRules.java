@@ -21,6 +21,8 @@ public final class DingoPhysicalRules {
         = DingoHashJoinRule.DEFAULT.toRule(DingoHashJoinRule.class);
     public static final DingoReduceAggregateRule DINGO_REDUCE_AGGREGATE_RULE
         = DingoReduceAggregateRule.DEFAULT.toRule(DingoReduceAggregateRule.class);
+    public static final DingoPartialTopNRule DINGO_PARTIAL_TOP_N_RULE
+        = DingoPartialTopNRule.Config.DEFAULT.toRule();
     public static final DingoRelOpRule DINGO_REL_OP_RULE
         = DingoRelOpRule.DEFAULT.toRule(DingoRelOpRule.class);
     public static final DingoRootRule DINGO_ROOT_RULE
@@ -117,14 +117,18 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Vertex>> {
     @Getter
     private boolean isJoinConcurrency;
 
+    @Getter
+    private final int scanParallelism;
+
     private DingoJobVisitor(Job job, IdGenerator idGenerator, Location currentLocation,
-                            ITransaction transaction, SqlKind kind, boolean isJoinConcurrency) {
+                            ITransaction transaction, SqlKind kind, boolean isJoinConcurrency, int scanParallelism) {
         this.job = job;
         this.idGenerator = idGenerator;
         this.currentLocation = currentLocation;
         this.transaction = transaction;
         this.kind = kind;
         this.isJoinConcurrency = isJoinConcurrency;
+        this.scanParallelism = scanParallelism;
     }
 
     public static void renderJob(Job job, RelNode input, Location currentLocation) {
@@ -133,8 +137,16 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Vertex>> {
 
     public static void renderJob(Job job, RelNode input, Location currentLocation,
                                  boolean checkRoot, ITransaction transaction, SqlKind kind, boolean isJoinConcurrency) {
+        renderJob(job, input, currentLocation, checkRoot, transaction, kind, isJoinConcurrency, 1);
+    }
+
+    public static void renderJob(Job job, RelNode input, Location currentLocation, boolean checkRoot,
+                                 ITransaction transaction, SqlKind kind, boolean isJoinConcurrency,
+                                 int scanParallelism) {
         IdGenerator idGenerator = new IdGeneratorImpl(job.getJobId().seq);
-        DingoJobVisitor visitor = new DingoJobVisitor(job, idGenerator, currentLocation, transaction, kind, isJoinConcurrency);
+        DingoJobVisitor visitor = new DingoJobVisitor(
+            job, idGenerator, currentLocation, transaction, kind, isJoinConcurrency, scanParallelism
+        );
         Collection<Vertex> outputs = dingo(input).accept(visitor);
         if (checkRoot && !outputs.isEmpty()) {
             throw new IllegalStateException("There root of plan must be `DingoRoot`.");
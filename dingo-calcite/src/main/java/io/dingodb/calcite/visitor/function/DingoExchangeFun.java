@@ -18,10 +18,12 @@ package io.dingodb.calcite.visitor.function;
 
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.base.IdGenerator;
 import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.Task;
+import io.dingodb.exec.codec.TupleCodecType;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.params.ReceiveParam;
@@ -58,7 +60,11 @@ public final class DingoExchangeFun {
             rcvTask = job.getOrCreate(target, idGenerator);
         }
         CommonId receiveId = idGenerator.getOperatorId(rcvTask.getId());
-        SendParam sendParam = new SendParam(target.getHost(), target.getPort(), receiveId, schema);
+        // Both ends are given the codec type, the receiver also accepts avro from older executors.
+        TupleCodecType codecType = TupleCodecType.of(ScopeVariables.getExchangeCodec());
+        SendParam sendParam = new SendParam(
+            target.getHost(), target.getPort(), receiveId, schema, codecType, ScopeVariables.isExchangeCompress()
+        );
         Vertex send = new Vertex(SEND, sendParam);
         send.setId(id);
         input.setPin(0);
@@ -66,7 +72,9 @@ public final class DingoExchangeFun {
         input.addEdge(edge);
         send.addIn(edge);
         task.putVertex(send);
-        ReceiveParam receiveParam = new ReceiveParam(task.getHost(), task.getLocation().getPort(), schema);
+        ReceiveParam receiveParam = new ReceiveParam(
+            task.getHost(), task.getLocation().getPort(), schema, codecType
+        );
         Vertex receive = new Vertex(RECEIVE, receiveParam);
         receive.setId(receiveId);
         receive.copyHint(input);
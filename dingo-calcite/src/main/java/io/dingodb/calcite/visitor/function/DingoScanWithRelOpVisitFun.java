@@ -94,13 +94,14 @@ public final class DingoScanWithRelOpVisitFun {
             scanVertexCreator = () -> createScanVertex(rel, tableInfo);
         }
         final List<Vertex> outputs = new ArrayList<>();
+        final int parallelism = visitor.getScanParallelism();
         final Table td = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class)).getTable();
         List<Partition> partitions = td.getPartitions();
         if (partitions.isEmpty()) {
             outputs.add(createVerticesForRange(
                 task,
                 idGenerator,
-                (start, end) -> createCalcRangeDistributionVertex(rel, tableInfo, start, end, false),
+                (start, end) -> createCalcRangeDistributionVertex(rel, tableInfo, start, end, false, parallelism),
                 null,
                 null,
                 scanVertexCreator
@@ -113,7 +114,7 @@ public final class DingoScanWithRelOpVisitFun {
                     outputs.add(createVerticesForRange(
                         task,
                         idGenerator,
-                        (start, end) -> createCalcDistributionVertex(rel, tableInfo, start, end, false),
+                        (start, end) -> createCalcDistributionVertex(rel, tableInfo, start, end, false, parallelism),
                         null,
                         null,
                         scanVertexCreator
@@ -144,7 +145,9 @@ public final class DingoScanWithRelOpVisitFun {
                     outputs.add(createVerticesForRange(
                         task,
                         idGenerator,
-                        (start, end) -> createCalcRangeDistributionVertex(rel, tableInfo, start, end, false),
+                        (start, end) -> createCalcRangeDistributionVertex(
+                            rel, tableInfo, start, end, false, parallelism
+                        ),
                         null,
                         null,
                         scanVertexCreator
@@ -157,7 +160,7 @@ public final class DingoScanWithRelOpVisitFun {
                     outputs.add(createVerticesForRange(
                         task,
                         idGenerator,
-                        (start, end) -> createCalcDistributionVertex(rel, tableInfo, start, end, false),
+                        (start, end) -> createCalcDistributionVertex(rel, tableInfo, start, end, false, parallelism),
                         partition.getStart(),
                         i < partitionNum - 1 ? partitions.get(i + 1).getStart() : null,
                         scanVertexCreator
@@ -322,7 +325,8 @@ public final class DingoScanWithRelOpVisitFun {
         @NonNull TableInfo tableInfo,
         byte[] startKey,
         byte[] endKey,
-        boolean withEnd
+        boolean withEnd,
+        int parallelism
     ) {
         final Table td = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class)).getTable();
         NavigableMap<ComparableByteArray, RangeDistribution> ranges = tableInfo.getRangeDistributions();
@@ -344,6 +348,7 @@ public final class DingoScanWithRelOpVisitFun {
             false,
             null
         );
+        distributionParam.setParallelism(parallelism);
         return new Vertex(CALC_DISTRIBUTION_1, distributionParam);
     }
 
@@ -352,7 +357,8 @@ public final class DingoScanWithRelOpVisitFun {
         @NonNull TableInfo tableInfo,
         byte[] startKey,
         byte[] endKey,
-        boolean withEnd
+        boolean withEnd,
+        int parallelism
     ) {
         final Table td = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class)).getTable();
         NavigableMap<ComparableByteArray, RangeDistribution> ranges = tableInfo.getRangeDistributions();
@@ -384,6 +390,7 @@ public final class DingoScanWithRelOpVisitFun {
         );
         distributionParam.setKeepOrder(rel.getKeepSerialOrder());
         distributionParam.setFilterRange(rel.isRangeScan());
+        distributionParam.setParallelism(parallelism);
         return new Vertex(CALC_DISTRIBUTION_1, distributionParam);
     }
 
@@ -19,6 +19,7 @@ package io.dingodb.calcite;
 import io.dingodb.calcite.mock.MockMetaServiceProvider;
 import io.dingodb.calcite.rel.dingo.DingoRoot;
 import io.dingodb.calcite.rel.dingo.DingoSort;
+import io.dingodb.calcite.rel.dingo.DingoStreamingConverter;
 import io.dingodb.calcite.rel.logical.LogicalDingoRoot;
 import io.dingodb.calcite.rel.LogicalDingoTableScan;
 import io.dingodb.calcite.traits.DingoRelStreaming;
@@ -140,4 +141,27 @@ public class TestSortLimit {
         assertThat(RexLiteral.intValue(sort.fetch)).isEqualTo(3);
         assertThat(sort.offset).isNull();
     }
+
+    @Test
+    public void testSortLimitPushDown() throws SqlParseException {
+        String sql = "select * from test order by name limit 3 offset 2";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        DingoSort sort = (DingoSort) Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoSort.class)
+            .getInstance();
+        assertThat(RexLiteral.intValue(sort.fetch)).isEqualTo(3);
+        assertThat(RexLiteral.intValue(sort.offset)).isEqualTo(2);
+        // Each partition keeps only the first `offset + fetch` tuples.
+        DingoSort partial = (DingoSort) Assert.relNode(sort)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoSort.class)
+            .getInstance();
+        assertThat(partial.getCollation()).isEqualTo(sort.getCollation());
+        assertThat(partial.fetch).isNotNull();
+        assertThat(RexLiteral.intValue(partial.fetch)).isEqualTo(5);
+        assertThat(partial.offset).isNull();
+    }
 }
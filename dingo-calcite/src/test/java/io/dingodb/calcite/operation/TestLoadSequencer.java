@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.operation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestLoadSequencer {
+    @Test
+    public void testInOrder() throws InterruptedException {
+        LoadSequencer sequencer = new LoadSequencer();
+        List<Integer> output = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        // Start the later batches first.
+        for (int i = 7; i >= 0; --i) {
+            int seq = i;
+            Thread thread = new Thread(() -> {
+                sequencer.await(seq);
+                try {
+                    output.add(seq);
+                } finally {
+                    sequencer.advance();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join(10000);
+        }
+        assertThat(output).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    public void testAdvanceAfterFailure() throws InterruptedException {
+        LoadSequencer sequencer = new LoadSequencer();
+        Thread failing = new Thread(() -> {
+            sequencer.await(0);
+            try {
+                throw new IllegalStateException("parse error");
+            } finally {
+                sequencer.advance();
+            }
+        });
+        failing.setUncaughtExceptionHandler((t, e) -> { });
+        failing.start();
+        // Returns only if the failed batch advanced.
+        sequencer.await(1);
+        failing.join(10000);
+        assertThat(failing.isAlive()).isFalse();
+    }
+}
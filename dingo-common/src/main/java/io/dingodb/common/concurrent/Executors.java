@@ -24,6 +24,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.SynchronousQueue;
@@ -42,6 +43,8 @@ public final class Executors {
 
     public static final String LOCK_COMPLETABLE_FUTURE = "LOCK_COMPLETABLE_FUTURE";
     public static final String GLOBAL_SCHEDULE_NAME = "GLOBAL_SCHEDULE";
+    public static final String QUERY_NAME = "QUERY";
+    public static final String IO_NAME = "IO";
 
     private static final ThreadPoolExecutor GLOBAL_POOL = new ThreadPoolBuilder()
         .name(GLOBAL_NAME)
@@ -70,6 +73,25 @@ public final class Executors {
         .group(new ThreadGroup(GLOBAL_SCHEDULE_NAME))
         .buildSchedule();
 
+    private static final QueryScheduler QUERY_SCHEDULER = new QueryScheduler(
+        QUERY_NAME,
+        DingoConfiguration.queryWorkerThreads(),
+        DingoConfiguration.queryConcurrency(),
+        DingoConfiguration.queryMaxWaitMs(),
+        DingoConfiguration.queryOverflowThreads(),
+        GLOBAL_POOL
+    );
+
+    private static final ThreadPoolExecutor IO_POOL = new ThreadPoolBuilder()
+        .name(IO_NAME)
+        .coreThreads(DingoConfiguration.ioThreads())
+        .maximumThreads(DingoConfiguration.ioThreads())
+        .keepAliveSeconds(TimeUnit.MINUTES.toSeconds(1))
+        .workQueue(new LinkedBlockingQueue<>())
+        .daemon(true)
+        .group(new ThreadGroup(IO_NAME))
+        .build();
+
     private static final Map<Thread, Context> contexts = new ConcurrentHashMap<>();
 
     private Executors() {
@@ -95,6 +117,15 @@ public final class Executors {
         GLOBAL_POOL.execute(wrap(name, command, ignoreError));
     }
 
+    /**
+     * Run the command on the query workers, queued fairly with the commands of other queries.
+     *
+     * @param query the key of the query, e.g. the job id
+     */
+    public static void execute(Object query, String name, Runnable command) {
+        QUERY_SCHEDULER.execute(query, wrap(name, command));
+    }
+
     public static ScheduledFuture<CompletableFuture<?>> scheduleAsync(
         String name, Runnable command, long delay, TimeUnit unit
     ) {
@@ -169,6 +200,35 @@ public final class Executors {
         return future;
     }
 
+    /**
+     * Run blocking store requests on the bounded I/O pool, the command is queued if all the I/O threads are busy.
+     * The command must not wait for other commands submitted to the I/O pool.
+     */
+    public static <T> CompletableFuture<T> submitIo(String name, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        IO_POOL.execute(() -> {
+            try {
+                future.complete(wrap(name, task).call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    public static CompletableFuture<Void> submitIo(String name, Runnable task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        IO_POOL.execute(() -> {
+            try {
+                wrap(name, task).run();
+                future.complete(null);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
     private static <V> Callable<V> wrap(String name, Callable<V> callable) {
         return () -> call(name, callable, false);
     }
@@ -252,4 +312,28 @@ public final class Executors {
         return LOCK_FUTURE_POOL.getActiveCount();
     }
 
+    public static Integer getIoPoolSize() {
+        return IO_POOL.getActiveCount();
+    }
+
+    public static Integer getIoQueueSize() {
+        return IO_POOL.getQueue().size();
+    }
+
+    public static Integer getQueryQueueSize() {
+        return QUERY_SCHEDULER.queued();
+    }
+
+    public static Integer getQueryRunningSize() {
+        return QUERY_SCHEDULER.running();
+    }
+
+    public static Integer getQueryCount() {
+        return QUERY_SCHEDULER.queries();
+    }
+
+    public static Long getQueryOverflowCount() {
+        return QUERY_SCHEDULER.overflowCount();
+    }
+
 }
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.concurrent;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs tasks of queries on a fixed set of workers.
+ *
+ * <p>Each query has its own FIFO queue, workers take tasks from the queues in round-robin order, so a query with
+ * many tasks cannot starve the others, and at most {@code queryConcurrency} tasks of a query run at the same time.
+ *
+ * <p>Tasks of a query may block waiting for each other (e.g. the probe side of a hash join waits for the build side),
+ * so a task queued longer than {@code maxWaitMillis} is handed to the overflow executor, which makes sure the
+ * queries make progress even if all the workers are blocked. At most {@code maxOverflow} tasks run on the overflow
+ * executor at the same time, the others stay queued, so an overload does not grow threads without bound.
+ */
+@Slf4j
+public final class QueryScheduler {
+    private final int workers;
+    private final int queryConcurrency;
+    private final long maxWaitNanos;
+    private final int maxOverflow;
+    private final Executor overflow;
+    private final List<Thread> threads = new ArrayList<>();
+
+    private final Map<Object, QueryQueue> queues = new HashMap<>();
+    private final Deque<QueryQueue> ready = new ArrayDeque<>();
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    private int queued = 0;
+    private int running = 0;
+    private int overflowRunning = 0;
+    private volatile boolean shutdown = false;
+
+    public QueryScheduler(
+        String name,
+        int workers,
+        int queryConcurrency,
+        long maxWaitMillis,
+        int maxOverflow,
+        @NonNull Executor overflow
+    ) {
+        this.workers = workers;
+        this.queryConcurrency = queryConcurrency;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.maxOverflow = maxOverflow;
+        this.overflow = overflow;
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+            .name(name)
+            .daemon(true)
+            .group(new ThreadGroup(name))
+            .build();
+        for (int i = 0; i < workers; ++i) {
+            threads.add(threadFactory.newThread(this::work));
+        }
+        threads.add(threadFactory.newThread(this::watch));
+        threads.forEach(Thread::start);
+    }
+
+    /**
+     * Stop the workers after their running tasks. The queued tasks are dropped.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            notifyAll();
+        }
+        threads.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Queue a task of the query.
+     *
+     * @param query the key of the query, tasks with equal keys share the same queue and concurrency limit
+     * @param task  the task
+     */
+    public void execute(@NonNull Object query, @NonNull Runnable task) {
+        synchronized (this) {
+            QueryQueue queue = queues.computeIfAbsent(query, QueryQueue::new);
+            queue.tasks.add(new QueryTask(task, System.nanoTime()));
+            ++queued;
+            if (!queue.ready) {
+                queue.ready = true;
+                ready.add(queue);
+            }
+            notify();
+        }
+    }
+
+    public synchronized int queued() {
+        return queued;
+    }
+
+    public synchronized int running() {
+        return running;
+    }
+
+    public synchronized int queries() {
+        return queues.size();
+    }
+
+    public int workers() {
+        return workers;
+    }
+
+    public long overflowCount() {
+        return overflowCount.get();
+    }
+
+    public synchronized int overflowRunning() {
+        return overflowRunning;
+    }
+
+    private void work() {
+        while (true) {
+            QueryQueue queue;
+            QueryTask task;
+            synchronized (this) {
+                while ((queue = poll()) == null) {
+                    if (shutdown) {
+                        return;
+                    }
+                    try {
+                        wait();
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+                if (shutdown) {
+                    return;
+                }
+                task = take(queue);
+            }
+            run(queue, task, false);
+        }
+    }
+
+    /**
+     * Find the next queue in round-robin order which has tasks and has not reached the concurrency limit.
+     */
+    private QueryQueue poll() {
+        for (int i = ready.size(); i > 0; --i) {
+            QueryQueue queue = ready.poll();
+            if (queue.running < queryConcurrency) {
+                return queue;
+            }
+            ready.add(queue);
+        }
+        return null;
+    }
+
+    /**
+     * Take the head task of the queue, which must be removed from the ready queues.
+     */
+    private QueryTask take(@NonNull QueryQueue queue) {
+        QueryTask task = queue.tasks.poll();
+        --queued;
+        ++running;
+        ++queue.running;
+        if (queue.tasks.isEmpty()) {
+            queue.ready = false;
+        } else {
+            ready.add(queue);
+        }
+        return task;
+    }
+
+    private void run(@NonNull QueryQueue queue, @NonNull QueryTask task, boolean overflowed) {
+        try {
+            task.runnable.run();
+        } catch (Throwable e) {
+            log.error("Run task of query {} catch error.", queue.key, e);
+        } finally {
+            synchronized (this) {
+                --running;
+                if (overflowed) {
+                    --overflowRunning;
+                }
+                if (--queue.running == 0 && queue.tasks.isEmpty()) {
+                    queues.remove(queue.key);
+                }
+                notify();
+            }
+        }
+    }
+
+    private void watch() {
+        long interval = Math.max(1, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) / 2);
+        while (!shutdown) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException ignored) {
+                continue;
+            }
+            try {
+                overflow();
+            } catch (Throwable e) {
+                log.error("Overflow queued tasks catch error.", e);
+            }
+        }
+    }
+
+    /**
+     * Hand the tasks queued longer than the max wait time to the overflow executor, as long as it runs less than
+     * {@code maxOverflow} of them.
+     */
+    void overflow() {
+        List<Runnable> overflowTasks = new ArrayList<>();
+        synchronized (this) {
+            long deadline = System.nanoTime() - maxWaitNanos;
+            Iterator<QueryQueue> iterator = ready.iterator();
+            while (iterator.hasNext() && overflowRunning < maxOverflow) {
+                QueryQueue queue = iterator.next();
+                while (
+                    overflowRunning < maxOverflow
+                    && !queue.tasks.isEmpty()
+                    && queue.tasks.peek().enqueueNanos - deadline <= 0
+                ) {
+                    QueryTask task = queue.tasks.poll();
+                    --queued;
+                    ++running;
+                    ++queue.running;
+                    ++overflowRunning;
+                    overflowTasks.add(() -> run(queue, task, true));
+                }
+                if (queue.tasks.isEmpty()) {
+                    queue.ready = false;
+                    iterator.remove();
+                }
+            }
+        }
+        overflowCount.addAndGet(overflowTasks.size());
+        overflowTasks.forEach(overflow::execute);
+    }
+
+    private static final class QueryQueue {
+        private final Object key;
+        private final Deque<QueryTask> tasks = new ArrayDeque<>();
+        private int running = 0;
+        private boolean ready = false;
+
+        private QueryQueue(Object key) {
+            this.key = key;
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class QueryTask {
+        private final Runnable runnable;
+        private final long enqueueNanos;
+    }
+}
@@ -29,4 +29,9 @@ public class CommonConfiguration {
     private Integer scheduledCoreThreads;
     private Integer lockCoreThreads;
     private Integer globalCoreThreads;
+    private Integer queryWorkerThreads;
+    private Integer queryConcurrency;
+    private Long queryMaxWaitMs;
+    private Integer queryOverflowThreads;
+    private Integer ioThreads;
 }
@@ -34,6 +34,7 @@ import java.io.FileInputStream;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static io.dingodb.common.concurrent.ThreadPoolBuilder.AVAILABLE_PROCESSORS;
 import static io.dingodb.common.util.ReflectionUtils.convert;
 
 @Getter
@@ -101,6 +102,32 @@ public class DingoConfiguration {
         return Optional.mapOrGet(INSTANCE.common, CommonConfiguration::getGlobalCoreThreads, () -> 0);
     }
 
+    public static int queryWorkerThreads() {
+        return Optional.mapOrGet(
+            INSTANCE.common, CommonConfiguration::getQueryWorkerThreads, () -> AVAILABLE_PROCESSORS << 1
+        );
+    }
+
+    public static int queryConcurrency() {
+        return Optional.mapOrGet(
+            INSTANCE.common, CommonConfiguration::getQueryConcurrency, () -> Math.max(2, queryWorkerThreads() >> 1)
+        );
+    }
+
+    public static long queryMaxWaitMs() {
+        return Optional.mapOrGet(INSTANCE.common, CommonConfiguration::getQueryMaxWaitMs, () -> 100L);
+    }
+
+    public static int queryOverflowThreads() {
+        return Optional.mapOrGet(
+            INSTANCE.common, CommonConfiguration::getQueryOverflowThreads, DingoConfiguration::queryWorkerThreads
+        );
+    }
+
+    public static int ioThreads() {
+        return Optional.mapOrGet(INSTANCE.common, CommonConfiguration::getIoThreads, () -> AVAILABLE_PROCESSORS << 2);
+    }
+
     public static CommonId serverId() {
         return INSTANCE.serverId;
     }
@@ -28,10 +28,6 @@ import io.dingodb.common.ddl.RunningJobs;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -44,8 +40,6 @@ public final class DingoMetrics {
     private static final LoggerReporter slf4jReporter = LoggerReporter.forRegistry(metricRegistry).build();
     public static JmxReporter jmxReporter = JmxReporter.forRegistry(metricRegistry).build();
 
-    public static Map<String, List<Long>> sqlCallLatencyMap = new ConcurrentHashMap<>();
-
     static {
         jmxReporter.start();
         slf4jReporter.start(60000, TimeUnit.MILLISECONDS);
@@ -79,83 +73,79 @@ public final class DingoMetrics {
                 return Executors.getLockPoolSize();
             }
         });
-        metricRegistry.register("threadCount", new CachedGauge<Integer>(5, TimeUnit.MINUTES) {
+        metricRegistry.register("ioPool", new CachedGauge<Integer>(1, TimeUnit.MINUTES) {
             @Override
             protected Integer loadValue() {
-                return Thread.activeCount();
+                return Executors.getIoPoolSize();
             }
         });
-        metricRegistry.register("heapUsage", new CachedGauge<Double>(5, TimeUnit.MINUTES) {
+        metricRegistry.register("ioQueueDepth", new CachedGauge<Integer>(1, TimeUnit.MINUTES) {
             @Override
-            protected Double loadValue() {
-                Runtime runtime = Runtime.getRuntime();
-                long totalMemory = runtime.totalMemory();
-                long freeMemory = runtime.freeMemory();
-                return  (double) (totalMemory - freeMemory) / totalMemory * 100;
+            protected Integer loadValue() {
+                return Executors.getIoQueueSize();
             }
         });
-        metricRegistry.register("ddlRunningJobs", new CachedGauge<Integer>(1, TimeUnit.MINUTES) {
+        metricRegistry.register("queryQueueDepth", new CachedGauge<Integer>(1, TimeUnit.MINUTES) {
             @Override
             protected Integer loadValue() {
-                return RunningJobs.runningJobs.size();
+                return Executors.getQueryQueueSize();
             }
         });
-
-        metricRegistry.register("activeSessionCount", new CachedGauge<Integer>(1, TimeUnit.MINUTES) {
+        metricRegistry.register("queryRunning", new CachedGauge<Integer>(1, TimeUnit.MINUTES) {
             @Override
             protected Integer loadValue() {
-                return RunningJobs.runningJobs.size();
+                return Executors.getQueryRunningSize();
             }
         });
-        metricRegistry.register("select-latency", new CachedGauge<Double>(5, TimeUnit.MINUTES) {
+        metricRegistry.register("queryCount", new CachedGauge<Integer>(1, TimeUnit.MINUTES) {
             @Override
-            protected Double loadValue() {
-                List<Long> durationList = sqlCallLatencyMap.get("select");
-                if (durationList == null) {
-                    return 0D;
-                }
-                double avg = durationList.stream().mapToInt(Long::intValue).average().orElse(0);
-                sqlCallLatencyMap.remove("select");
-                return avg;
+            protected Integer loadValue() {
+                return Executors.getQueryCount();
             }
         });
-        metricRegistry.register("delete-latency", new CachedGauge<Double>(5, TimeUnit.MINUTES) {
+        metricRegistry.register("queryOverflow", new CachedGauge<Long>(1, TimeUnit.MINUTES) {
             @Override
-            protected Double loadValue() {
-                List<Long> durationList = sqlCallLatencyMap.get("delete");
-                if (durationList == null) {
-                    return 0D;
+            protected Long loadValue() {
+                return Executors.getQueryOverflowCount();
+            }
+        });
+        // Mean latency (ms) of the statement types, under the names used before the latency timers.
+        for (String type : new String[]{"select", "delete", "update", "insert"}) {
+            metricRegistry.register(type + "-latency", new CachedGauge<Double>(5, TimeUnit.MINUTES) {
+                @Override
+                protected Double loadValue() {
+                    return latencyTimer(type).getSnapshot().getMean() / TimeUnit.MILLISECONDS.toNanos(1);
                 }
-                double avg = durationList.stream().mapToInt(Long::intValue).average().orElse(0);
-                sqlCallLatencyMap.remove("delete");
-                return avg;
+            });
+        }
+        metricRegistry.register("threadCount", new CachedGauge<Integer>(5, TimeUnit.MINUTES) {
+            @Override
+            protected Integer loadValue() {
+                return Thread.activeCount();
             }
         });
-        metricRegistry.register("update-latency", new CachedGauge<Double>(5, TimeUnit.MINUTES) {
+        metricRegistry.register("heapUsage", new CachedGauge<Double>(5, TimeUnit.MINUTES) {
             @Override
             protected Double loadValue() {
-                List<Long> durationList = sqlCallLatencyMap.get("update");
-                if (durationList == null) {
-                    return 0D;
-                }
-                double avg = durationList.stream().mapToInt(Long::intValue).average().orElse(0);
-                sqlCallLatencyMap.remove("update");
-                return avg;
+                Runtime runtime = Runtime.getRuntime();
+                long totalMemory = runtime.totalMemory();
+                long freeMemory = runtime.freeMemory();
+                return  (double) (totalMemory - freeMemory) / totalMemory * 100;
             }
         });
-        metricRegistry.register("insert-latency", new CachedGauge<Double>(5, TimeUnit.MINUTES) {
+        metricRegistry.register("ddlRunningJobs", new CachedGauge<Integer>(1, TimeUnit.MINUTES) {
             @Override
-            protected Double loadValue() {
-                List<Long> durationList = sqlCallLatencyMap.get("insert");
-                if (durationList == null) {
-                    return 0D;
-                }
-                double avg = durationList.stream().mapToInt(Long::intValue).average().orElse(0);
-                sqlCallLatencyMap.remove("insert");
-                return avg;
+            protected Integer loadValue() {
+                return RunningJobs.runningJobs.size();
             }
         });
 
+        metricRegistry.register("activeSessionCount", new CachedGauge<Integer>(1, TimeUnit.MINUTES) {
+            @Override
+            protected Integer loadValue() {
+                return RunningJobs.runningJobs.size();
+            }
+        });
     }
 
     private DingoMetrics() {
@@ -177,17 +167,16 @@ public final class DingoMetrics {
         return timer(name).time();
     }
 
+    /**
+     * Get the timer recording the latency of a statement type or an operator, its snapshot keeps every value of the
+     * recent minutes in a {@link LatencyHistogram}, so the percentiles reported by JMX include the tail.
+     */
+    public static Timer latencyTimer(final @NonNull String name) {
+        return metricRegistry.timer(name, () -> new Timer(new LatencyReservoir()));
+    }
+
     public static void latency(final @NonNull String name, final long durationMs) {
-        sqlCallLatencyMap.computeIfAbsent(name, key -> {
-            List<Long> durationList = new ArrayList<>();
-            durationList.add(durationMs);
-            return durationList;
-        });
-        sqlCallLatencyMap.computeIfPresent(name, (k, v) -> {
-            v.add(durationMs);
-            return v;
-        });
-        metricRegistry.timer(name).update(durationMs, TimeUnit.MILLISECONDS);
+        latencyTimer(name).update(durationMs, TimeUnit.MILLISECONDS);
     }
 
     public static void histogram(final @NonNull String name, final long size) {
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of non-negative values, in the spirit of HdrHistogram.
+ *
+ * <p>Values below {@code 128} are counted exactly, larger values fall into buckets of 64 per power of two, so the
+ * relative error of any recorded value is below 1.6%. The bucket layout is fixed, so histograms can be merged by
+ * adding their counts.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF_COUNT = SUB_COUNT >> 1;
+    private static final int BUCKET_COUNT = SUB_COUNT + (Long.SIZE - 1 - SUB_BITS) * HALF_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+        int sub = (int) (value >>> shift);
+        return SUB_COUNT + (shift - 1) * HALF_COUNT + sub - HALF_COUNT;
+    }
+
+    static long lowerBoundOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_COUNT) / HALF_COUNT + 1;
+        long sub = (index - SUB_COUNT) % HALF_COUNT + HALF_COUNT;
+        return sub << shift;
+    }
+
+    static long widthOf(int index) {
+        return index < SUB_COUNT ? 1 : 1L << ((index - SUB_COUNT) / HALF_COUNT + 1);
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Add all the values recorded by {@code other} to this histogram.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        sum.add(other.sum.sum());
+        min.accumulate(other.min.get());
+        max.accumulate(other.max.get());
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public long getMin() {
+        long value = min.get();
+        return value == Long.MAX_VALUE ? 0 : value;
+    }
+
+    public long getMax() {
+        long value = max.get();
+        return value == Long.MIN_VALUE ? 0 : value;
+    }
+
+    public double getMean() {
+        long total = getTotalCount();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    public double getStdDev() {
+        long total = getTotalCount();
+        if (total <= 1) {
+            return 0;
+        }
+        double mean = getMean();
+        double squares = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            long count = counts.get(i);
+            if (count != 0) {
+                double diff = valueOf(i) - mean;
+                squares += diff * diff * count;
+            }
+        }
+        return Math.sqrt(squares / (total - 1));
+    }
+
+    /**
+     * Get the value at the given quantile, accurate to the bucket width.
+     *
+     * @param quantile the quantile in {@code [0, 1]}
+     * @return the middle of the bucket holding the value, or 0 if nothing was recorded
+     */
+    public long getValueAtQuantile(double quantile) {
+        long total = getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(quantile, 0.0), 1.0) * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return valueOf(i);
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Get the middle values of the non-empty buckets, in ascending order.
+     */
+    public long[] getBucketValues() {
+        int size = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            if (counts.get(i) != 0) {
+                ++size;
+            }
+        }
+        long[] values = new long[size];
+        int pos = 0;
+        for (int i = 0; i < BUCKET_COUNT && pos < size; ++i) {
+            if (counts.get(i) != 0) {
+                values[pos++] = valueOf(i);
+            }
+        }
+        return values;
+    }
+
+    private long valueOf(int index) {
+        long value = lowerBoundOf(index) + (widthOf(index) >> 1);
+        return Math.max(getMin(), Math.min(value, getMax()));
+    }
+}
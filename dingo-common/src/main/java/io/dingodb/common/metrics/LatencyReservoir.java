@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A reservoir keeping every value of the recent window in a {@link LatencyHistogram}, so the tail percentiles are
+ * not lost to sampling. Snapshots cover the current and the previous window.
+ */
+public class LatencyReservoir implements Reservoir {
+    private final long windowNanos;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    private volatile LatencyHistogram current = new LatencyHistogram();
+    private volatile LatencyHistogram previous = new LatencyHistogram();
+
+    public LatencyReservoir() {
+        this(1, TimeUnit.MINUTES);
+    }
+
+    public LatencyReservoir(long window, TimeUnit unit) {
+        this.windowNanos = unit.toNanos(window);
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(previous.getTotalCount() + current.getTotalCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void update(long value) {
+        rotate();
+        current.record(value);
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        rotate();
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.add(previous);
+        histogram.add(current);
+        return new HistogramSnapshot(histogram);
+    }
+
+    private void rotate() {
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            previous = now - start >= 2 * windowNanos ? new LatencyHistogram() : current;
+            current = new LatencyHistogram();
+        }
+    }
+
+    private static class HistogramSnapshot extends Snapshot {
+        private final LatencyHistogram histogram;
+
+        HistogramSnapshot(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            return histogram.getValueAtQuantile(quantile);
+        }
+
+        @Override
+        public long[] getValues() {
+            return histogram.getBucketValues();
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getMax();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getMean();
+        }
+
+        @Override
+        public long getMin() {
+            return histogram.getMin();
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.getStdDev();
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (long value : getValues()) {
+                    out.printf("%d%n", value);
+                }
+            }
+        }
+    }
+}
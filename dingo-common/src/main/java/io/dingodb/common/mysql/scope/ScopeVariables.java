@@ -30,6 +30,12 @@ public final class ScopeVariables {
 
     private static Properties executorProp = new Properties();
 
+    /**
+     * Bumped on each change of the executor properties, for the results (e.g. cached plans) depending on them.
+     */
+    @Getter
+    private static volatile long executorPropVersion;
+
     private static Properties globalVariablesValidator = new Properties();
 
     public static final List<String> immutableVariables = new ArrayList<>();
@@ -86,6 +92,51 @@ public final class ScopeVariables {
         return (Integer) executorProp.getOrDefault("rpc_batch_size", 40960);
     }
 
+    public static Integer getScanPrefetchDepth() {
+        return (Integer) executorProp.getOrDefault("scan_prefetch_depth", 1);
+    }
+
+    public static Integer getLookupBatchSize() {
+        return (Integer) executorProp.getOrDefault("lookup_batch_size", 256);
+    }
+
+    public static Long getPlanCacheSize() {
+        return (Long) executorProp.getOrDefault("plan_cache_size", 64L * 1024 * 1024);
+    }
+
+    public static Integer getLoadDataParallelism() {
+        return (Integer) executorProp.getOrDefault(
+            "load_data_parallelism", Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    public static Long getTaskMemoryLimit() {
+        return (Long) executorProp.getOrDefault("task_memory_limit", 512L * 1024 * 1024);
+    }
+
+    /**
+     * The directory of the spill files, the temp directory if not set.
+     */
+    public static String getSpillDir() {
+        return executorProp.getOrDefault("spill_dir", System.getProperty("java.io.tmpdir")).toString();
+    }
+
+    /**
+     * The codec of exchanged tuples, avro if not set. Set it to "binary" only after all the executors are upgraded.
+     */
+    public static String getExchangeCodec() {
+        return executorProp.getOrDefault("exchange_codec", "avro").toString();
+    }
+
+    public static String getTaskCodec() {
+        return executorProp.getOrDefault("task_codec", "legacy").toString();
+    }
+
+    public static boolean isExchangeCompress() {
+        String exchangeCompress = executorProp.getOrDefault("exchange_compress", "off").toString();
+        return exchangeCompress.equalsIgnoreCase("on");
+    }
+
     public static Double getStatsDefaultSize() {
         return (Double) executorProp.getOrDefault("stats_default_size", 100D);
     }
@@ -94,6 +145,14 @@ public final class ScopeVariables {
         return (Double) executorProp.getOrDefault("request_factor", 15000D);
     }
 
+    /**
+     * Compute the distances of vector points in the executor instead of the store, off if not set.
+     */
+    public static boolean isVectorDistanceLocal() {
+        String vectorDistanceLocal = executorProp.getOrDefault("vector_distance_local", "off").toString();
+        return vectorDistanceLocal.equalsIgnoreCase("on");
+    }
+
     public static boolean runDdl() {
         String runDdl = executorProp.getOrDefault("run_ddl", "on").toString();
         return runDdl.equalsIgnoreCase("on");
@@ -116,10 +175,31 @@ public final class ScopeVariables {
     }
 
     public static synchronized void setExecutorProp(String key, String val) {
+        ++executorPropVersion;
         if ("rpc_batch_size".equalsIgnoreCase(key)) {
             int rpcBatchSize = Integer.parseInt(val);
             executorProp.put(key, rpcBatchSize);
             return;
+        } else if ("lookup_batch_size".equalsIgnoreCase(key)) {
+            int lookupBatchSize = Integer.parseInt(val);
+            executorProp.put(key, lookupBatchSize);
+            return;
+        } else if ("scan_prefetch_depth".equalsIgnoreCase(key)) {
+            int scanPrefetchDepth = Integer.parseInt(val);
+            executorProp.put(key, scanPrefetchDepth);
+            return;
+        } else if ("plan_cache_size".equalsIgnoreCase(key)) {
+            long planCacheSize = Long.parseLong(val);
+            executorProp.put(key, planCacheSize);
+            return;
+        } else if ("load_data_parallelism".equalsIgnoreCase(key)) {
+            int loadDataParallelism = Integer.parseInt(val);
+            executorProp.put(key, loadDataParallelism);
+            return;
+        } else if ("task_memory_limit".equalsIgnoreCase(key)) {
+            long taskMemoryLimit = Long.parseLong(val);
+            executorProp.put(key, taskMemoryLimit);
+            return;
         } else if ("stats_default_size".equalsIgnoreCase(key)) {
             double statsDefaultSize = Double.parseDouble(val);
             executorProp.put(key, statsDefaultSize);
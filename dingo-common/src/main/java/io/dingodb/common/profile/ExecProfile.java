@@ -39,6 +39,10 @@ public class ExecProfile extends Profile {
         this.count ++;
     }
 
+    public void increment(int count) {
+        this.count += count;
+    }
+
     public String dumpTree(byte[] prefix) {
         StringBuilder dag = new StringBuilder();
         dag.append(this).append("\r\n");
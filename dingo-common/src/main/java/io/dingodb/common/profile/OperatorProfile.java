@@ -42,6 +42,11 @@ public class OperatorProfile extends Profile {
         count ++;
     }
 
+    public void time(long start, int count) {
+        incrTime(start);
+        this.count += count;
+    }
+
     public void incrTime(long start) {
         long current = System.currentTimeMillis();
         long time = current - start;
@@ -54,6 +59,25 @@ public class OperatorProfile extends Profile {
         }
     }
 
+    public void spill(long count, long bytes) {
+        spillCount += count;
+        spillBytes += bytes;
+    }
+
+    /**
+     * Record the bytes exchanged and the time (ms) blocked waiting for the receiver.
+     */
+    public void exchange(long bytes, long blockedTime) {
+        exchangeBytes += bytes;
+        this.blockedTime += blockedTime;
+    }
+
+    public void queueDepth(int depth) {
+        if (depth > queueDepth) {
+            queueDepth = depth;
+        }
+    }
+
     public void decreaseCount() {
         count --;
     }
@@ -45,6 +45,16 @@ public class Profile {
     long min;
     @JsonProperty("avg")
     long avg;
+    @JsonProperty("spillCount")
+    long spillCount;
+    @JsonProperty("spillBytes")
+    long spillBytes;
+    @JsonProperty("exchangeBytes")
+    long exchangeBytes;
+    @JsonProperty("blockedTime")
+    long blockedTime;
+    @JsonProperty("queueDepth")
+    int queueDepth;
 
     @JsonProperty("children")
     List<Profile> children;
@@ -105,9 +115,21 @@ public class Profile {
                 .append(",duration:").append(profile.getDuration())
                 .append(",count:").append(profile.count)
                 .append(",start:").append(profile.start)
-                .append(",end:").append(profile.end)
-                .append("\r\n");
-                //.append("  ").append(profile.location).append("\r\n");
+                .append(",end:").append(profile.end);
+            if (profile.spillCount > 0) {
+                dagText.append(",spillCount:").append(profile.spillCount)
+                    .append(",spillBytes:").append(profile.spillBytes);
+            }
+            if (profile.exchangeBytes > 0) {
+                dagText.append(",exchangeBytes:").append(profile.exchangeBytes)
+                    .append(",throughput:").append(profile.exchangeBytes * 1000 / Math.max(profile.getDuration(), 1))
+                    .append(",blockedTime:").append(profile.blockedTime);
+            }
+            if (profile.queueDepth > 0) {
+                dagText.append(",queueDepth:").append(profile.queueDepth);
+            }
+            //dagText.append("  ").append(profile.location);
+            dagText.append("\r\n");
         }
         for (Profile child : profile.children) {
             byte[] prefix1 = new byte[prefix.length + 2];
@@ -144,6 +166,11 @@ public class Profile {
         this.max = 0;
         this.min = 0;
         this.avg = 0;
+        this.spillCount = 0;
+        this.spillBytes = 0;
+        this.exchangeBytes = 0;
+        this.blockedTime = 0;
+        this.queueDepth = 0;
         this.hasAutoInc = false;
         this.autoIncId = 0;
         this.location = "";
@@ -34,7 +34,7 @@ import java.util.List;
 import java.util.stream.IntStream;
 
 @JsonTypeName("tuple")
-@EqualsAndHashCode(of = {"fields"}, callSuper = true)
+@EqualsAndHashCode(of = {"fields"}, callSuper = false)
 public class TupleType extends AbstractDingoType {
     @JsonProperty("fields")
     @Getter
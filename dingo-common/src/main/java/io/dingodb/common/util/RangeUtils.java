@@ -18,8 +18,12 @@ package io.dingodb.common.util;
 
 import io.dingodb.common.partition.RangeDistribution;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.NavigableSet;
 import java.util.TreeSet;
 import java.util.function.Function;
@@ -28,6 +32,7 @@ import java.util.function.Predicate;
 import static io.dingodb.common.util.ByteArrayUtils.SKIP_LONG_POS;
 import static io.dingodb.common.util.ByteArrayUtils.compareWithoutLen;
 import static io.dingodb.common.util.ByteArrayUtils.greatThan;
+import static io.dingodb.common.util.ByteArrayUtils.lessThan;
 
 public class RangeUtils {
 
@@ -90,6 +95,78 @@ public class RangeUtils {
         return subRanges;
     }
 
+    /**
+     * Split a region range into at most {@code count} consecutive morsels that can be scanned concurrently.
+     *
+     * <p>No key statistics are available here, so the split keys are interpolated evenly over the 8 bytes
+     * following the common prefix of the start and end key (after {@code pos}). The first morsel keeps the
+     * start bound and the last keeps the end bound of the original range, so the morsels cover it exactly.
+     *
+     * @param range the region range
+     * @param count the max number of morsels
+     * @param pos the position to skip (the region prefix)
+     * @return the morsels in key order, or the original range if it cannot be split
+     */
+    public static List<RangeDistribution> splitRange(RangeDistribution range, int count, int pos) {
+        byte[] startKey = range.getStartKey();
+        byte[] endKey = range.getEndKey();
+        if (count <= 1 || startKey == null || endKey == null || startKey.length < pos) {
+            return Collections.singletonList(range);
+        }
+        // An end out of the region prefix means to the end of the region.
+        boolean toRegionEnd = endKey.length < pos || !lessThan(startKey, endKey, pos);
+        int prefix = pos;
+        while (!toRegionEnd && prefix < startKey.length && prefix < endKey.length
+            && startKey[prefix] == endKey[prefix]) {
+            ++prefix;
+        }
+        long start = window(startKey, prefix);
+        long end = toRegionEnd ? -1L : window(endKey, prefix);
+        long step = Long.divideUnsigned(end - start, count);
+        if (Long.compareUnsigned(end, start) <= 0 || step == 0) {
+            return Collections.singletonList(range);
+        }
+        List<RangeDistribution> morsels = new ArrayList<>(count);
+        byte[] lower = startKey;
+        boolean withStart = range.isWithStart();
+        for (int i = 1; i < count; ++i) {
+            byte[] upper = Arrays.copyOf(startKey, prefix + 8);
+            long value = start + step * i;
+            for (int j = 7; j >= 0; --j) {
+                upper[prefix + j] = (byte) value;
+                value >>>= 8;
+            }
+            morsels.add(RangeDistribution.builder()
+                .id(range.getId())
+                .startKey(lower)
+                .endKey(upper)
+                .withStart(withStart)
+                .withEnd(false)
+                .build());
+            lower = upper;
+            withStart = true;
+        }
+        morsels.add(RangeDistribution.builder()
+            .id(range.getId())
+            .startKey(lower)
+            .endKey(endKey)
+            .withStart(withStart)
+            .withEnd(range.isWithEnd())
+            .build());
+        return morsels;
+    }
+
+    private static long window(byte[] key, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; ++i) {
+            value <<= 8;
+            if (offset + i < key.length) {
+                value |= key[offset + i] & 0xFF;
+            }
+        }
+        return value;
+    }
+
     private static boolean checkStartIn(byte[] rangeStart, byte[] regionEnd, boolean withStart, int pos) {
         return compareWithoutLen(rangeStart, regionEnd, pos) < 0
             || (withStart && rangeStart.length != regionEnd.length && compareWithoutLen(rangeStart, regionEnd, pos) == 0);
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestQueryScheduler {
+    private static final long NO_OVERFLOW = TimeUnit.HOURS.toMillis(1);
+
+    private QueryScheduler scheduler;
+
+    @AfterEach
+    public void cleanUp() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void waitUntil(QueryScheduler scheduler, int running, int queued) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (scheduler.running() != running || scheduler.queued() != queued) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testRoundRobin() throws InterruptedException {
+        scheduler = new QueryScheduler("test-rr", 1, 1, NO_OVERFLOW, 1, Executors.executor("test"));
+        CountDownLatch blocked = new CountDownLatch(1);
+        scheduler.execute("block", () -> await(blocked));
+        waitUntil(scheduler, 1, 0);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(5);
+        for (String name : Arrays.asList("a1", "a2", "a3")) {
+            scheduler.execute("a", () -> {
+                order.add(name);
+                done.countDown();
+            });
+        }
+        for (String name : Arrays.asList("b1", "b2")) {
+            scheduler.execute("b", () -> {
+                order.add(name);
+                done.countDown();
+            });
+        }
+        assertThat(scheduler.queued()).isEqualTo(5);
+        blocked.countDown();
+        await(done);
+        assertThat(order).containsExactly("a1", "b1", "a2", "b2", "a3");
+        waitUntil(scheduler, 0, 0);
+        assertThat(scheduler.queries()).isZero();
+    }
+
+    @Test
+    public void testQueryConcurrency() throws InterruptedException {
+        scheduler = new QueryScheduler("test-limit", 4, 2, NO_OVERFLOW, 1, Executors.executor("test"));
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(5);
+        for (int i = 0; i < 4; ++i) {
+            scheduler.execute("a", () -> {
+                await(blocked);
+                done.countDown();
+            });
+        }
+        waitUntil(scheduler, 2, 2);
+        // Other queries are not limited by query "a".
+        scheduler.execute("b", done::countDown);
+        waitUntil(scheduler, 2, 2);
+        blocked.countDown();
+        await(done);
+        waitUntil(scheduler, 0, 0);
+        assertThat(scheduler.overflowCount()).isZero();
+    }
+
+    @Test
+    public void testOverflow() {
+        scheduler = new QueryScheduler("test-overflow", 1, 1, 10, 1, Executors.executor("test"));
+        CountDownLatch built = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        // The first task waits for the second one, which can only run on the overflow executor.
+        scheduler.execute("a", () -> {
+            await(built);
+            done.countDown();
+        });
+        scheduler.execute("a", built::countDown);
+        await(done);
+        assertThat(scheduler.overflowCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void testOverflowLimit() throws InterruptedException {
+        scheduler = new QueryScheduler("test-overflow-limit", 1, 4, 10, 1, Executors.executor("test"));
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; ++i) {
+            scheduler.execute("a", () -> {
+                await(blocked);
+                done.countDown();
+            });
+        }
+        // One task on the worker, one on the overflow executor, and the last one must wait.
+        waitUntil(scheduler, 2, 1);
+        Thread.sleep(100);
+        assertThat(scheduler.queued()).isEqualTo(1);
+        assertThat(scheduler.overflowRunning()).isEqualTo(1);
+        blocked.countDown();
+        await(done);
+        waitUntil(scheduler, 0, 0);
+        assertThat(scheduler.overflowRunning()).isZero();
+    }
+
+    @Test
+    public void testShutdown() throws InterruptedException {
+        String name = "test-shutdown";
+        scheduler = new QueryScheduler(name, 2, 1, 10, 1, Executors.executor("test"));
+        CountDownLatch done = new CountDownLatch(1);
+        scheduler.execute("a", done::countDown);
+        await(done);
+        scheduler.shutdown();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (Thread.getAllStackTraces().keySet().stream()
+            .anyMatch(t -> t.getThreadGroup() != null && name.equals(t.getThreadGroup().getName()))
+        ) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class TestLatencyHistogram {
+    @Test
+    public void testBuckets() {
+        for (long value : new long[]{0, 1, 127, 128, 129, 255, 256, 1000, 123456789L, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            long lower = LatencyHistogram.lowerBoundOf(index);
+            assertThat(value).isBetween(lower, lower + LatencyHistogram.widthOf(index) - 1);
+            assertThat(LatencyHistogram.widthOf(index)).isLessThanOrEqualTo(Math.max(1, value / 64));
+        }
+        assertThat(LatencyHistogram.indexOf(Long.MAX_VALUE))
+            .isGreaterThan(LatencyHistogram.indexOf(Long.MAX_VALUE >> 1));
+    }
+
+    @Test
+    public void testQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100000; ++i) {
+            histogram.record(i * 1000);
+        }
+        assertThat(histogram.getTotalCount()).isEqualTo(100000);
+        assertThat(histogram.getMin()).isEqualTo(1000);
+        assertThat(histogram.getMax()).isEqualTo(100000000);
+        assertThat(histogram.getMean()).isCloseTo(50000500.0, within(1.0));
+        assertThat((double) histogram.getValueAtQuantile(0.5)).isCloseTo(50000000.0, within(50000000.0 * 0.016));
+        assertThat((double) histogram.getValueAtQuantile(0.99)).isCloseTo(99000000.0, within(99000000.0 * 0.016));
+        assertThat((double) histogram.getValueAtQuantile(0.999)).isCloseTo(99900000.0, within(99900000.0 * 0.016));
+        assertThat(histogram.getValueAtQuantile(1.0)).isEqualTo(100000000);
+    }
+
+    @Test
+    public void testMerge() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 990; ++i) {
+            fast.record(10);
+        }
+        for (int i = 0; i < 10; ++i) {
+            slow.record(5000);
+        }
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(fast);
+        merged.add(slow);
+        assertThat(merged.getTotalCount()).isEqualTo(1000);
+        assertThat(merged.getValueAtQuantile(0.5)).isEqualTo(10);
+        assertThat((double) merged.getValueAtQuantile(0.999)).isCloseTo(5000.0, within(5000.0 * 0.016));
+        assertThat(merged.getMin()).isEqualTo(10);
+        assertThat(merged.getMax()).isEqualTo(5000);
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getValueAtQuantile(0.99)).isZero();
+        assertThat(histogram.getMean()).isZero();
+        assertThat(histogram.getBucketValues()).isEmpty();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.util;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.dingodb.common.util.ByteArrayUtils.SKIP_LONG_POS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRangeUtils {
+    private static byte[] key(int... suffix) {
+        byte[] key = new byte[SKIP_LONG_POS + suffix.length];
+        key[0] = 't';
+        for (int i = 0; i < suffix.length; ++i) {
+            key[SKIP_LONG_POS + i] = (byte) suffix[i];
+        }
+        return key;
+    }
+
+    private static RangeDistribution range(byte[] startKey, byte[] endKey) {
+        return RangeDistribution.builder()
+            .id(new CommonId(CommonId.CommonType.DISTRIBUTION, 1, 2))
+            .startKey(startKey)
+            .endKey(endKey)
+            .withStart(true)
+            .withEnd(false)
+            .build();
+    }
+
+    @Test
+    public void testSplitRange() {
+        RangeDistribution range = range(key(1, 0x10), key(1, 0x90));
+        List<RangeDistribution> morsels = RangeUtils.splitRange(range, 4, SKIP_LONG_POS);
+        assertThat(morsels).hasSize(4);
+        assertThat(morsels.get(0).getStartKey()).isEqualTo(range.getStartKey());
+        assertThat(morsels.get(0).isWithStart()).isTrue();
+        assertThat(morsels.get(3).getEndKey()).isEqualTo(range.getEndKey());
+        assertThat(morsels.get(3).isWithEnd()).isFalse();
+        for (int i = 1; i < morsels.size(); ++i) {
+            RangeDistribution prev = morsels.get(i - 1);
+            RangeDistribution next = morsels.get(i);
+            assertThat(prev.getEndKey()).isEqualTo(next.getStartKey());
+            assertThat(prev.isWithEnd()).isFalse();
+            assertThat(next.isWithStart()).isTrue();
+            assertThat(ByteArrayUtils.lessThan(prev.getStartKey(), prev.getEndKey(), SKIP_LONG_POS)).isTrue();
+        }
+        assertThat(morsels.get(2).getStartKey()[SKIP_LONG_POS + 1]).isEqualTo((byte) 0x50);
+    }
+
+    @Test
+    public void testSplitToRegionEnd() {
+        byte[] endKey = key();
+        endKey[8] = 3;
+        RangeDistribution range = range(key(1), endKey);
+        List<RangeDistribution> morsels = RangeUtils.splitRange(range, 3, SKIP_LONG_POS);
+        assertThat(morsels).hasSize(3);
+        assertThat(morsels.get(2).getEndKey()).isEqualTo(endKey);
+        assertThat(ByteArrayUtils.lessThan(range.getStartKey(), morsels.get(1).getStartKey(), SKIP_LONG_POS))
+            .isTrue();
+    }
+
+    @Test
+    public void testNotSplit() {
+        RangeDistribution range = range(key(1, 2), key(1, 2, 0));
+        assertThat(RangeUtils.splitRange(range, 1, SKIP_LONG_POS)).containsExactly(range);
+        assertThat(RangeUtils.splitRange(range, 4, SKIP_LONG_POS)).containsExactly(range);
+    }
+}
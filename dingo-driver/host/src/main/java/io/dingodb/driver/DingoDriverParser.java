@@ -37,6 +37,7 @@ import io.dingodb.calcite.rel.AutoIncrementShuttle;
 import io.dingodb.calcite.rel.DingoBasicCall;
 import io.dingodb.calcite.rel.DingoDocument;
 import io.dingodb.calcite.rel.DingoVector;
+import io.dingodb.calcite.schema.RootSnapshotSchema;
 import io.dingodb.calcite.type.converter.DefinitionMapper;
 import io.dingodb.calcite.utils.RelNodeCache;
 import io.dingodb.calcite.utils.SqlUtil;
@@ -49,6 +50,7 @@ import io.dingodb.common.environment.ExecutionEnvironment;
 import io.dingodb.common.audit.DingoAudit;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.profile.CommitProfile;
 import io.dingodb.common.profile.ExecProfile;
 import io.dingodb.common.profile.PlanProfile;
@@ -60,7 +62,9 @@ import io.dingodb.exec.exception.TaskFinException;
 import io.dingodb.exec.fin.ErrorType;
 import io.dingodb.exec.transaction.base.ITransaction;
 import io.dingodb.exec.transaction.base.TransactionType;
+import io.dingodb.meta.DdlService;
 import io.dingodb.meta.MetaService;
+import io.dingodb.meta.entity.InfoSchema;
 import io.dingodb.meta.entity.Table;
 import io.dingodb.store.api.transaction.data.IsolationLevel;
 import io.dingodb.store.api.transaction.exception.LockWaitException;
@@ -85,6 +89,7 @@ import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.rel.type.RelDataTypeSystem;
 import org.apache.calcite.runtime.CalciteContextException;
+import org.apache.calcite.schema.Schema;
 import org.apache.calcite.server.DdlExecutor;
 import org.apache.calcite.sql.SqlAsOperator;
 import org.apache.calcite.sql.SqlBasicCall;
@@ -360,80 +365,26 @@ public final class DingoDriverParser extends DingoParser {
             newTxn = true;
         }
         startTs = transaction.getStartTs();
-        Meta.StatementType statementType;
-        RelDataType type;
-        SqlValidator validator = getSqlValidator();
-        try {
-            sqlNode = validator.validate(sqlNode);
-            switch (sqlNode.getKind()) {
-                case INSERT:
-                case DELETE:
-                case UPDATE:
-                    statementType = Meta.StatementType.IS_DML;
-                    type = RelOptUtil.createDmlRowType(sqlNode.getKind(), typeFactory);
-                    break;
-                default:
-                    statementType = Meta.StatementType.SELECT;
-                    type = validator.getValidatedNodeType(sqlNode);
-                    break;
-            }
-            if (statementType == Meta.StatementType.SELECT) {
-                if (((DingoSqlValidator)validator).isHybridSearch()) {
-                    String hybridSearchSql = ((DingoSqlValidator)validator).getHybridSearchSql();
-                    LogUtils.info(log, "HybridSearchSql: {}", hybridSearchSql);
-                    SqlNode hybridSqlNode;
-                    try {
-                        hybridSqlNode = parse(hybridSearchSql);
-                    } catch (SqlParseException e) {
-                        throw ExceptionUtils.toRuntime(e);
-                    }
-                    syntacticSugar(hybridSqlNode);
-                    SqlNode originalSqlNode;
-                    try {
-                        originalSqlNode = parse(sql);
-                    } catch (SqlParseException e) {
-                        throw ExceptionUtils.toRuntime(e);
-                    }
-                    syntacticSugar(originalSqlNode);
-                    lockUpHybridSearchNode(originalSqlNode, hybridSqlNode);
-                    LogUtils.info(log, "HybridSearch Rewrite Sql: {}", originalSqlNode.toString());
-                    if (originalSqlNode.getKind().equals(SqlKind.EXPLAIN)) {
-                        assert originalSqlNode instanceof SqlExplain;
-                        explain = (SqlExplain) originalSqlNode;
-                        originalSqlNode = explain.getExplicandum();
-                    }
-                    try {
-                        sqlNode = validator.validate(originalSqlNode);
-                    } catch (CalciteContextException e) {
-                        LogUtils.error(log, "HybridSearch parse and validate error, sql: <[{}]>.", sql, e);
-                        throw ExceptionUtils.toRuntime(e);
-                    }
-                }
+        PlanCache.Key cacheKey = explain == null ? planCacheKey(sql) : null;
+        PlanCache.Plan plan = cacheKey != null ? PlanCache.INSTANCE.get(cacheKey) : null;
+        if (plan != null) {
+            planProfile.endValidator();
+            planProfile.endOptimize();
+        } else {
+            plan = createPlan(sqlNode, explain, sql, typeFactory);
+            if (cacheKey != null && plan.isCacheable()) {
+                PlanCache.INSTANCE.put(cacheKey, plan);
             }
-        } catch (CalciteContextException e) {
-            LogUtils.error(log, "Parse and validate error, sql: <[{}]>.", sql, e);
-            throw ExceptionUtils.toRuntime(e);
         }
-        planProfile.endValidator();
-        RelDataType jdbcType = makeStruct(typeFactory, type);
-        List<List<String>> originList = validator.getFieldOrigins(sqlNode);
-        final List<ColumnMetaData> columns = getColumnMetaDataList(typeFactory, jdbcType, originList);
-        List<ColumnMetaData> enableColumnMetas = columns
-            .stream()
-            .filter(columnMetaData -> {
-                DingoColumnMetaData columnMetaData1 = (DingoColumnMetaData) columnMetaData;
-                return !columnMetaData1.hidden;
-            }
-        ).collect(Collectors.toList());
-        long start = System.currentTimeMillis();
-        final RelRoot relRoot = convert(sqlNode, false);
-        RelNode relNode = optimize(relRoot.rel);
-        long sub = System.currentTimeMillis() - start;
-        DingoMetrics.timer("relOptimize").update(sub, TimeUnit.MILLISECONDS);
-        planProfile.endOptimize();
+        sqlNode = plan.getSqlNode();
+        explain = plan.getExplain();
+        RelNode relNode = plan.getRelNode();
+        Meta.StatementType statementType = plan.getStatementType();
+        final List<ColumnMetaData> columns = plan.getColumns();
+        List<ColumnMetaData> enableColumnMetas = plan.getVisibleColumns();
+        RelDataType parasType = plan.getParasType();
         markAutoIncForDml(relNode);
         Location currentLocation = MetaService.root().currentLocation();
-        RelDataType parasType = validator.getParameterRowType(sqlNode);
         Set<RelOptTable> tables = useTables(relNode, sqlNode);
         boolean isTxn = checkEngine(sqlNode, tables, connection.getTransaction(), planProfile);
         transaction = connection.initTransaction(isTxn, newTxn);
@@ -468,7 +419,8 @@ public final class DingoDriverParser extends DingoParser {
             true,
             transaction.getType() == NONE ? null : connection.getTransaction(),
             sqlNode.getKind(),
-            "on".equalsIgnoreCase(connection.getClientInfo("dingo_join_concurrency_enable"))
+            "on".equalsIgnoreCase(connection.getClientInfo("dingo_join_concurrency_enable")),
+            getScanParallelism()
         );
         if (explain != null) {
             statementType = Meta.StatementType.CALL;
@@ -528,6 +480,126 @@ public final class DingoDriverParser extends DingoParser {
         );
     }
 
+    /**
+     * Validate, convert and optimize a query or DML statement.
+     */
+    private PlanCache.@NonNull Plan createPlan(
+        SqlNode sqlNode,
+        SqlExplain explain,
+        String sql,
+        JavaTypeFactory typeFactory
+    ) {
+        Meta.StatementType statementType;
+        RelDataType type;
+        SqlValidator validator = getSqlValidator();
+        try {
+            sqlNode = validator.validate(sqlNode);
+            switch (sqlNode.getKind()) {
+                case INSERT:
+                case DELETE:
+                case UPDATE:
+                    statementType = Meta.StatementType.IS_DML;
+                    type = RelOptUtil.createDmlRowType(sqlNode.getKind(), typeFactory);
+                    break;
+                default:
+                    statementType = Meta.StatementType.SELECT;
+                    type = validator.getValidatedNodeType(sqlNode);
+                    break;
+            }
+            if (statementType == Meta.StatementType.SELECT) {
+                if (((DingoSqlValidator)validator).isHybridSearch()) {
+                    String hybridSearchSql = ((DingoSqlValidator)validator).getHybridSearchSql();
+                    LogUtils.info(log, "HybridSearchSql: {}", hybridSearchSql);
+                    SqlNode hybridSqlNode;
+                    try {
+                        hybridSqlNode = parse(hybridSearchSql);
+                    } catch (SqlParseException e) {
+                        throw ExceptionUtils.toRuntime(e);
+                    }
+                    syntacticSugar(hybridSqlNode);
+                    SqlNode originalSqlNode;
+                    try {
+                        originalSqlNode = parse(sql);
+                    } catch (SqlParseException e) {
+                        throw ExceptionUtils.toRuntime(e);
+                    }
+                    syntacticSugar(originalSqlNode);
+                    lockUpHybridSearchNode(originalSqlNode, hybridSqlNode);
+                    LogUtils.info(log, "HybridSearch Rewrite Sql: {}", originalSqlNode.toString());
+                    if (originalSqlNode.getKind().equals(SqlKind.EXPLAIN)) {
+                        assert originalSqlNode instanceof SqlExplain;
+                        explain = (SqlExplain) originalSqlNode;
+                        originalSqlNode = explain.getExplicandum();
+                    }
+                    try {
+                        sqlNode = validator.validate(originalSqlNode);
+                    } catch (CalciteContextException e) {
+                        LogUtils.error(log, "HybridSearch parse and validate error, sql: <[{}]>.", sql, e);
+                        throw ExceptionUtils.toRuntime(e);
+                    }
+                }
+            }
+        } catch (CalciteContextException e) {
+            LogUtils.error(log, "Parse and validate error, sql: <[{}]>.", sql, e);
+            throw ExceptionUtils.toRuntime(e);
+        }
+        planProfile.endValidator();
+        RelDataType jdbcType = makeStruct(typeFactory, type);
+        List<List<String>> originList = validator.getFieldOrigins(sqlNode);
+        final List<ColumnMetaData> columns = getColumnMetaDataList(typeFactory, jdbcType, originList);
+        List<ColumnMetaData> enableColumnMetas = columns
+            .stream()
+            .filter(columnMetaData -> {
+                DingoColumnMetaData columnMetaData1 = (DingoColumnMetaData) columnMetaData;
+                return !columnMetaData1.hidden;
+            }
+        ).collect(Collectors.toList());
+        long start = System.currentTimeMillis();
+        final RelRoot relRoot = convert(sqlNode, false);
+        RelNode relNode = optimize(relRoot.rel);
+        long sub = System.currentTimeMillis() - start;
+        DingoMetrics.timer("relOptimize").update(sub, TimeUnit.MILLISECONDS);
+        planProfile.endOptimize();
+        RelDataType parasType = validator.getParameterRowType(sqlNode);
+        return new PlanCache.Plan(
+            sqlNode,
+            relNode,
+            explain,
+            statementType,
+            columns,
+            enableColumnMetas,
+            parasType,
+            explain == null
+                && !((DingoSqlValidator) validator).isHybridSearch()
+                // Checked before optimizing, for constants may be folded by the optimizer.
+                && PlanCache.isDeterministic(relRoot.rel)
+        );
+    }
+
+    /**
+     * The key of the plan cache, or {@code null} if the schema version is unknown.
+     */
+    private PlanCache.@Nullable Key planCacheKey(String sql) {
+        Schema schema = connection.getContext().getRootSchema().schema;
+        InfoSchema is = schema instanceof RootSnapshotSchema ? ((RootSnapshotSchema) schema).getIs() : null;
+        if (is == null) {
+            is = DdlService.root().getIsLatest();
+        }
+        if (is == null) {
+            return null;
+        }
+        return new PlanCache.Key(
+            PlanCache.normalize(sql),
+            connection.getContext().getDefaultSchemaName(),
+            connection.getContext().getOption("user") + "@" + connection.getContext().getOption("host"),
+            connection.getContext().getTimeZone().getID(),
+            connection.getContext().isUsingRelOp(),
+            connection.getContext().isPushDown(),
+            is.getSchemaMetaVersion(),
+            ScopeVariables.getExecutorPropVersion()
+        );
+    }
+
     @Nullable
     private MysqlSignature getMysqlSignature(String sql,
             SqlNode sqlNode,
@@ -611,6 +683,19 @@ public final class DingoDriverParser extends DingoParser {
         dingoAudit.setAutoCommit(transaction.isAutoCommit());
     }
 
+    /**
+     * The number of morsels each region is split into by a parallel scan, from session variable
+     * {@code dingo_scan_parallelism}.
+     */
+    private int getScanParallelism() {
+        String value = connection.getClientInfo("dingo_scan_parallelism");
+        try {
+            return value == null ? 1 : Math.max(Integer.parseInt(value.trim()), 1);
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
     @Nonnull
     public Meta.Signature retryQuery(
         JobManager jobManager,
@@ -664,7 +749,8 @@ public final class DingoDriverParser extends DingoParser {
             true,
             transaction.getType() == NONE ? null : connection.getTransaction(),
             sqlNode.getKind(),
-            "on".equalsIgnoreCase(connection.getClientInfo("dingo_join_concurrency_enable"))
+            "on".equalsIgnoreCase(connection.getClientInfo("dingo_join_concurrency_enable")),
+            getScanParallelism()
         );
         return new DingoSignature(
             visitColumns,
@@ -38,6 +38,7 @@ import io.dingodb.common.type.TupleMapping;
 import io.dingodb.common.util.Optional;
 import io.dingodb.driver.type.converter.AvaticaResultSetConverter;
 import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.JobIterator;
 import io.dingodb.exec.base.JobManager;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.exception.TaskFinException;
@@ -577,8 +578,17 @@ public class DingoMeta extends MetaImpl {
                 }
                 DingoType dingoType = DefinitionMapper.mapToDingoType(columnMetaDataList);
                 AvaticaResultSetConverter converter = new AvaticaResultSetConverter(resultSet.getLocalCalendar());
-                for (int i = 0; i < fetchMaxRowCount && iterator.hasNext(); ++i) {
-                    rows.add(dingoType.convertTo(iterator.next(), converter));
+                if (iterator instanceof JobIterator) {
+                    JobIterator jobIterator = (JobIterator) iterator;
+                    while (rows.size() < fetchMaxRowCount && jobIterator.hasNext()) {
+                        for (Object[] tuple : jobIterator.nextBatch(fetchMaxRowCount - rows.size())) {
+                            rows.add(dingoType.convertTo(tuple, converter));
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < fetchMaxRowCount && iterator.hasNext(); ++i) {
+                        rows.add(dingoType.convertTo(iterator.next(), converter));
+                    }
                 }
                 sqlProfile = getProfile(iterator, statement);
             } catch (Throwable e) {
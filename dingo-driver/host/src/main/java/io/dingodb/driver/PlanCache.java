@@ -0,0 +1,262 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.apache.calcite.avatica.ColumnMetaData;
+import org.apache.calcite.avatica.Meta;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexSubQuery;
+import org.apache.calcite.sql.SqlExplain;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlOperator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cache of optimized plans, shared by all connections.
+ *
+ * <p>A plan is keyed by the normalized sql, the schema in use, the user, the planner options of the connection and the
+ * schema-meta version of the {@code InfoSchema} it was planned against, so a DDL (which bumps the version) makes the
+ * old plans unreachable; they are also dropped once a newer version is seen. The executor properties read by the
+ * planner (e.g. {@code rpc_batch_size}, {@code request_factor}) are covered the same way by their version. The cache
+ * is bounded by the estimated memory of the plans.
+ */
+final class PlanCache {
+    static final PlanCache INSTANCE = new PlanCache(ScopeVariables.getPlanCacheSize());
+
+    private static final int NODE_WEIGHT = 2048;
+    private static final int COLUMN_WEIGHT = 256;
+
+    // Functions whose results depend on the session state or allocate new values, they are deterministic to calcite.
+    private static final Set<String> SESSION_FUNCTIONS = ImmutableSet.of("@", "@@", "AUTOINCREMENTFUN");
+
+    private final Cache<Key, Plan> cache;
+    private volatile long schemaVersion;
+    private volatile long propVersion;
+
+    PlanCache(long maxBytes) {
+        cache = CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Key key, Plan plan) -> plan.weight)
+            .build();
+    }
+
+    /**
+     * Normalize the sql text by trimming it and collapsing the white spaces out of quotes and comments.
+     */
+    static @NonNull String normalize(@NonNull String sql) {
+        StringBuilder builder = new StringBuilder(sql.length());
+        boolean space = false;
+        int i = 0;
+        while (i < sql.length()) {
+            char ch = sql.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                // No space is needed after the line break ending a comment.
+                space = builder.length() > 0 && builder.charAt(builder.length() - 1) != '\n';
+                ++i;
+                continue;
+            }
+            if (space) {
+                builder.append(' ');
+                space = false;
+            }
+            int end;
+            if (ch == '\'' || ch == '"' || ch == '`') {
+                end = quoteEnd(sql, i);
+            } else if (ch == '#' || sql.startsWith("--", i)) {
+                // The line break ending the comment is kept, for the text after it is not commented.
+                end = sql.indexOf('\n', i);
+                end = end < 0 ? sql.length() : end + 1;
+            } else if (sql.startsWith("/*", i)) {
+                end = sql.indexOf("*/", i + 2);
+                end = end < 0 ? sql.length() : end + 2;
+            } else {
+                end = i + 1;
+            }
+            builder.append(sql, i, end);
+            i = end;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Find the end of the quoted text starting at {@code start}, a quote is escaped by a backslash or by doubling it.
+     */
+    private static int quoteEnd(@NonNull String sql, int start) {
+        char quote = sql.charAt(start);
+        int i = start + 1;
+        while (i < sql.length()) {
+            char ch = sql.charAt(i);
+            if (ch == '\\' && quote != '`') {
+                i += 2;
+            } else if (ch == quote) {
+                // A doubled quote is scanned as the end and the start of two adjacent quoted texts.
+                return i + 1;
+            } else {
+                ++i;
+            }
+        }
+        return sql.length();
+    }
+
+    /**
+     * Check if the plan gives the same result each time it is run, plans folding non-deterministic or dynamic
+     * functions (e.g. {@code NOW()}, {@code RAND()}) or session variables into constants cannot be cached.
+     */
+    static boolean isDeterministic(@NonNull RelNode relNode) {
+        DeterministicChecker checker = new DeterministicChecker();
+        relNode.accept(checker);
+        if (!checker.deterministic) {
+            return false;
+        }
+        for (RelNode input : relNode.getInputs()) {
+            if (!isDeterministic(input)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countNodes(@NonNull RelNode relNode) {
+        int count = 1;
+        for (RelNode input : relNode.getInputs()) {
+            count += countNodes(input);
+        }
+        return count;
+    }
+
+    @Nullable Plan get(@NonNull Key key) {
+        if (isNewer(key)) {
+            synchronized (this) {
+                if (isNewer(key)) {
+                    cache.invalidateAll();
+                    schemaVersion = Math.max(schemaVersion, key.schemaVersion);
+                    propVersion = Math.max(propVersion, key.propVersion);
+                }
+            }
+        }
+        Plan plan = cache.getIfPresent(key);
+        DingoMetrics.counter(plan != null ? "planCacheHit" : "planCacheMiss").inc();
+        return plan;
+    }
+
+    void put(@NonNull Key key, @NonNull Plan plan) {
+        // Plans of an outdated schema or executor properties are not cached.
+        if (key.schemaVersion >= schemaVersion && key.propVersion >= propVersion) {
+            plan.weight = key.sql.length() * 2
+                + countNodes(plan.relNode) * NODE_WEIGHT
+                + plan.columns.size() * COLUMN_WEIGHT;
+            cache.put(key, plan);
+        }
+    }
+
+    private boolean isNewer(@NonNull Key key) {
+        return key.schemaVersion > schemaVersion || key.propVersion > propVersion;
+    }
+
+    long size() {
+        return cache.size();
+    }
+
+    private static final class DeterministicChecker extends RexShuttle {
+        private boolean deterministic = true;
+
+        @Override
+        public RexNode visitCall(@NonNull RexCall call) {
+            SqlOperator operator = call.getOperator();
+            if (!operator.isDeterministic()
+                || operator.isDynamicFunction()
+                || SESSION_FUNCTIONS.contains(operator.getName().toUpperCase())
+                || operator.getName().equalsIgnoreCase("UNIX_TIMESTAMP") && call.getOperands().isEmpty()
+            ) {
+                deterministic = false;
+                return call;
+            }
+            return super.visitCall(call);
+        }
+
+        @Override
+        public RexNode visitSubQuery(@NonNull RexSubQuery subQuery) {
+            if (!isDeterministic(subQuery.rel)) {
+                deterministic = false;
+                return subQuery;
+            }
+            return super.visitSubQuery(subQuery);
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    static final class Key {
+        private final String sql;
+        private final String schema;
+        private final String user;
+        private final String timeZone;
+        private final boolean usingRelOp;
+        private final boolean pushDown;
+        private final long schemaVersion;
+        private final long propVersion;
+    }
+
+    @Getter
+    static final class Plan {
+        private final SqlNode sqlNode;
+        private final RelNode relNode;
+        private final SqlExplain explain;
+        private final Meta.StatementType statementType;
+        private final List<ColumnMetaData> columns;
+        private final List<ColumnMetaData> visibleColumns;
+        private final RelDataType parasType;
+        private final boolean cacheable;
+        private int weight;
+
+        Plan(
+            SqlNode sqlNode,
+            RelNode relNode,
+            SqlExplain explain,
+            Meta.StatementType statementType,
+            List<ColumnMetaData> columns,
+            List<ColumnMetaData> visibleColumns,
+            RelDataType parasType,
+            boolean cacheable
+        ) {
+            this.sqlNode = sqlNode;
+            this.relNode = relNode;
+            this.explain = explain;
+            this.statementType = statementType;
+            this.columns = columns;
+            this.visibleColumns = visibleColumns;
+            this.parasType = parasType;
+            this.cacheable = cacheable;
+        }
+    }
+}
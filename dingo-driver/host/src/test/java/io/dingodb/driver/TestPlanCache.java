@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.adapter.java.JavaTypeFactoryImpl;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.hep.HepPlanner;
+import org.apache.calcite.plan.hep.HepProgram;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.logical.LogicalProject;
+import org.apache.calcite.rel.logical.LogicalValues;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class TestPlanCache {
+    private static RelOptCluster cluster;
+    private static RexBuilder rexBuilder;
+
+    @BeforeAll
+    public static void setupAll() {
+        rexBuilder = new RexBuilder(new JavaTypeFactoryImpl());
+        cluster = RelOptCluster.create(new HepPlanner(HepProgram.builder().build()), rexBuilder);
+    }
+
+    private static RelNode project(RexNode rexNode) {
+        return LogicalProject.create(
+            LogicalValues.createOneRow(cluster),
+            ImmutableList.of(),
+            ImmutableList.of(rexNode),
+            ImmutableList.of("a")
+        );
+    }
+
+    private static PlanCache.Plan plan() {
+        return new PlanCache.Plan(
+            null,
+            LogicalValues.createOneRow(cluster),
+            null,
+            null,
+            Collections.emptyList(),
+            Collections.emptyList(),
+            null,
+            true
+        );
+    }
+
+    private static PlanCache.Key key(String sql, long schemaVersion) {
+        return key(sql, schemaVersion, 0);
+    }
+
+    private static PlanCache.Key key(String sql, long schemaVersion, long propVersion) {
+        return new PlanCache.Key(
+            PlanCache.normalize(sql), "DINGO", "root@%", "UTC", true, true, schemaVersion, propVersion
+        );
+    }
+
+    public static @NonNull Stream<Arguments> getParameters() {
+        return Stream.of(
+            arguments("  select  1\n from\tt  ", "select 1 from t"),
+            arguments("select 'a  b'  from t", "select 'a  b' from t"),
+            arguments("select 'a\\'  b'  ,  c from t", "select 'a\\'  b' , c from t"),
+            arguments("select 'a''  b'  ,  c from t", "select 'a''  b' , c from t"),
+            arguments("select `a  b`  from t", "select `a  b` from t"),
+            arguments("select 1 /*  x  */  from t", "select 1 /*  x  */ from t")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("getParameters")
+    public void testNormalize(String sql, String normalized) {
+        assertThat(PlanCache.normalize(sql)).isEqualTo(normalized);
+    }
+
+    @Test
+    public void testNormalizeLineComment() {
+        String commented = PlanCache.normalize("select 1 -- c   +1");
+        String broken = PlanCache.normalize("select 1 -- c\n  +1");
+        assertThat(commented).isEqualTo("select 1 -- c   +1");
+        assertThat(broken).isEqualTo("select 1 -- c\n+1");
+        assertThat(PlanCache.normalize("select 1 # c\n+1")).isEqualTo("select 1 # c\n+1");
+    }
+
+    @Test
+    public void testIsDeterministic() {
+        assertThat(PlanCache.isDeterministic(project(rexBuilder.makeExactLiteral(BigDecimal.ONE))))
+            .isTrue();
+        assertThat(PlanCache.isDeterministic(project(rexBuilder.makeCall(SqlStdOperatorTable.CURRENT_TIMESTAMP))))
+            .isFalse();
+        assertThat(PlanCache.isDeterministic(project(rexBuilder.makeCall(SqlStdOperatorTable.RAND))))
+            .isFalse();
+    }
+
+    @Test
+    public void testHitAndInvalidate() {
+        PlanCache cache = new PlanCache(1024 * 1024);
+        PlanCache.Plan plan = plan();
+        assertThat(cache.get(key("select 1", 1))).isNull();
+        cache.put(key("select 1", 1), plan);
+        assertThat(cache.get(key("select  1 ", 1))).isSameAs(plan);
+        assertThat(cache.get(key("select 2", 1))).isNull();
+        // A newer schema version drops the plans of the old one.
+        assertThat(cache.get(key("select 1", 2))).isNull();
+        assertThat(cache.size()).isZero();
+        // Plans of an outdated schema are not cached.
+        cache.put(key("select 1", 1), plan);
+        assertThat(cache.get(key("select 1", 1))).isNull();
+    }
+
+    @Test
+    public void testInvalidateByExecutorProps() {
+        PlanCache cache = new PlanCache(1024 * 1024);
+        PlanCache.Plan plan = plan();
+        cache.put(key("select 1", 1, 1), plan);
+        assertThat(cache.get(key("select 1", 1, 1))).isSameAs(plan);
+        // Planner inputs such as `rpc_batch_size` are changed.
+        assertThat(cache.get(key("select 1", 1, 2))).isNull();
+        assertThat(cache.size()).isZero();
+        cache.put(key("select 1", 1, 1), plan);
+        assertThat(cache.get(key("select 1", 1, 1))).isNull();
+        cache.put(key("select 1", 1, 2), plan);
+        assertThat(cache.get(key("select 1", 1, 2))).isSameAs(plan);
+    }
+
+    @Test
+    public void testPlannerOptions() {
+        PlanCache cache = new PlanCache(1024 * 1024);
+        PlanCache.Plan plan = plan();
+        cache.put(key("select 1", 1), plan);
+        PlanCache.Key noPushDown = new PlanCache.Key("select 1", "DINGO", "root@%", "UTC", true, false, 1, 0);
+        assertThat(cache.get(noPushDown)).isNull();
+    }
+}
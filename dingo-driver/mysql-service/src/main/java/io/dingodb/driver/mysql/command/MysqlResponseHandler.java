@@ -94,8 +94,9 @@ public final class MysqlResponseHandler {
         // 5. eof packet
         boolean deprecateEof = (mysqlConnection.authPacket.extendClientFlags
             & ExtendedClientCapabilities.CLIENT_DEPRECATE_EOF) != 0;
+        ResultSetWriter writer = new ResultSetWriter(mysqlConnection.channel);
         try {
-            ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+            ByteBuf buffer = writer.buffer();
             ResultSetMetaData metaData = resultSet.getMetaData();
             ColumnsNumberPacket columnsNumberPacket = new ColumnsNumberPacket();
             columnsNumberPacket.packetId = (byte) packetId.getAndIncrement();
@@ -110,40 +111,41 @@ public final class MysqlResponseHandler {
 
             int initServerStatus = getInitServerStatus((DingoConnection) mysqlConnection.getConnection());
             if (deprecateEof) {
-                handlerRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                handlerRowPacket(resultSet, packetId, mysqlConnection, writer, columnCount);
                 OKPacket okEofPacket = factory.getOkEofPacket(
                     0, packetId, initServerStatus
                 );
-                okEofPacket.write(buffer);
+                okEofPacket.write(writer.buffer());
             } else {
                 // intermediate eof
                 MysqlPacketFactory.getEofPacket(packetId).write(buffer);
                 // row packet...
-                handlerRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                handlerRowPacket(resultSet, packetId, mysqlConnection, writer, columnCount);
                 // response EOF
                 //resultSetPacket.rowsEof = getEofPacket(packetId);
-                MysqlPacketFactory.getEofPacket(packetId).write(buffer);
+                MysqlPacketFactory.getEofPacket(packetId).write(writer.buffer());
             }
 
-            mysqlConnection.channel.writeAndFlush(buffer);
+            writer.finish();
         } catch (SQLException e) {
             responseError(packetId, mysqlConnection.channel, e);
+        } finally {
+            writer.release();
         }
     }
 
     private static void handlerRowPacket(ResultSet resultSet, AtomicLong packetId, MysqlConnection mysqlConnection,
-                                  ByteBuf buffer, int columnCount) throws SQLException {
-        ResultSetMetaData metaData = resultSet.getMetaData();
+                                  ResultSetWriter writer, int columnCount) throws SQLException {
+        String characterSet = getCharacterSet(mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET));
+        String[] typeNames = getColumnTypeNames(resultSet.getMetaData(), columnCount);
         String typeName;
         while (resultSet.next()) {
             ResultSetRowPacket resultSetRowPacket = new ResultSetRowPacket();
             resultSetRowPacket.packetId = (byte) packetId.getAndIncrement();
-            String characterSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            characterSet = getCharacterSet(characterSet);
             resultSetRowPacket.setCharacterSet(characterSet);
             for (int i = 1; i <= columnCount; i ++) {
                 Object val = resultSet.getObject(i);
-                typeName = metaData.getColumnTypeName(i);
+                typeName = typeNames[i - 1];
                 if (typeName.equalsIgnoreCase("BOOLEAN")) {
                     if (val != null) {
                         if ("TRUE".equalsIgnoreCase(val.toString())) {
@@ -157,10 +159,19 @@ public final class MysqlResponseHandler {
                 }
                 resultSetRowPacket.addColumnValue(val);
             }
-            resultSetRowPacket.write(buffer);
+            resultSetRowPacket.write(writer.buffer());
+            writer.rowWritten();
         }
     }
 
+    private static String[] getColumnTypeNames(ResultSetMetaData metaData, int columnCount) throws SQLException {
+        String[] typeNames = new String[columnCount];
+        for (int i = 0; i < columnCount; i ++) {
+            typeNames[i] = metaData.getColumnTypeName(i + 1);
+        }
+        return typeNames;
+    }
+
     public static Object getArrayObject(MysqlConnection mysqlConnection, Object val) throws SQLException {
         List<Object> arrayVal = null;
         if (val instanceof ArrayImpl) {
@@ -186,19 +197,20 @@ public final class MysqlResponseHandler {
     private static void handlerPrepareRowPacket(ResultSet resultSet,
                                                 AtomicLong packetId,
                                                 MysqlConnection mysqlConnection,
-                                                ByteBuf buffer,
+                                                ResultSetWriter writer,
                                                 int columnCount) throws SQLException {
+        String characterSet = getCharacterSet(mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET));
+        String[] typeNames = getColumnTypeNames(resultSet.getMetaData(), columnCount);
         while (resultSet.next()) {
             PrepareResultSetRowPacket resultSetRowPacket = new PrepareResultSetRowPacket();
-            String characterSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            characterSet = getCharacterSet(characterSet);
             resultSetRowPacket.setCharacterSet(characterSet);
             resultSetRowPacket.packetId = (byte) packetId.getAndIncrement();
-            resultSetRowPacket.setMetaData(resultSet.getMetaData());
+            resultSetRowPacket.setTypeNames(typeNames);
             for (int i = 1; i <= columnCount; i ++) {
                 resultSetRowPacket.addColumnValue(resultSet.getObject(i), mysqlConnection);
             }
-            resultSetRowPacket.write(buffer);
+            resultSetRowPacket.write(writer.buffer());
+            writer.rowWritten();
         }
     }
 
@@ -289,8 +301,9 @@ public final class MysqlResponseHandler {
         // 5. eof packet
         boolean deprecateEof = (mysqlConnection.authPacket.extendClientFlags
             & ExtendedClientCapabilities.CLIENT_DEPRECATE_EOF) != 0;
+        ResultSetWriter writer = new ResultSetWriter(mysqlConnection.channel);
         try {
-            ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+            ByteBuf buffer = writer.buffer();
             ResultSetMetaData metaData = resultSet.getMetaData();
             ColumnsNumberPacket columnsNumberPacket = new ColumnsNumberPacket();
             columnsNumberPacket.packetId = (byte) packetId.getAndIncrement();
@@ -305,24 +318,26 @@ public final class MysqlResponseHandler {
             int serverStatus = getInitServerStatus((DingoConnection) mysqlConnection.getConnection());
 
             if (deprecateEof) {
-                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, writer, columnCount);
                 OKPacket okEofPacket = factory.getOkEofPacket(
                     0, packetId, serverStatus
                 );
-                okEofPacket.write(buffer);
+                okEofPacket.write(writer.buffer());
             } else {
                 // intermediate eof
                 MysqlPacketFactory.getEofPacket(packetId).write(buffer);
                 // row packet...
-                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, writer, columnCount);
                 // response EOF
                 //resultSetPacket.rowsEof = getEofPacket(packetId);
-                MysqlPacketFactory.getEofPacket(packetId).write(buffer);
+                MysqlPacketFactory.getEofPacket(packetId).write(writer.buffer());
             }
 
-            mysqlConnection.channel.writeAndFlush(buffer);
+            writer.finish();
         } catch (SQLException e) {
             responseError(packetId, mysqlConnection.channel, e);
+        } finally {
+            writer.release();
         }
     }
 }
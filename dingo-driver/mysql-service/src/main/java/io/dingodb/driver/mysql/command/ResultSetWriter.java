@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver.mysql.command;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.socket.SocketChannel;
+
+import java.sql.SQLException;
+
+/**
+ * Writes result set packets to the channel in size-bounded chunks.
+ *
+ * <p>When the channel is not writable the caller is blocked until the last chunk is sent, so reading from the
+ * result set pauses while the client is slow. Blocking is skipped on the event loop, where it would deadlock.
+ */
+final class ResultSetWriter {
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private ByteBuf buffer;
+
+    ResultSetWriter(SocketChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBufAllocator.DEFAULT.buffer();
+    }
+
+    ByteBuf buffer() {
+        return buffer;
+    }
+
+    /**
+     * Flush the buffered packets if the chunk is full.
+     */
+    void rowWritten() throws SQLException {
+        if (buffer.readableBytes() >= CHUNK_SIZE) {
+            ChannelFuture future = channel.writeAndFlush(buffer);
+            buffer = ByteBufAllocator.DEFAULT.buffer();
+            if (!channel.isWritable() && !channel.eventLoop().inEventLoop()) {
+                future.awaitUninterruptibly();
+            }
+            if (!channel.isActive()) {
+                throw new SQLException("Connection closed while sending result set.");
+            }
+        }
+    }
+
+    void finish() {
+        channel.writeAndFlush(buffer);
+        buffer = null;
+    }
+
+    void release() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
+}
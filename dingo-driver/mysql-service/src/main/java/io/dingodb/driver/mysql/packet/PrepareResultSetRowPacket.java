@@ -24,7 +24,6 @@ import lombok.Setter;
 import java.io.UnsupportedEncodingException;
 import java.sql.Array;
 import java.sql.Date;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
@@ -40,149 +39,141 @@ public class PrepareResultSetRowPacket extends MysqlPacket {
     private String characterSet;
 
     @Setter
-    private ResultSetMetaData metaData;
+    private String[] typeNames;
 
     @Override
     public int calcPacketSize() {
-        try {
-            int totalSize = 0;
-            // ok code
-            totalSize ++;
-            int columnCount = metaData.getColumnCount();
-            totalSize += getMaskNullLength(columnCount);
-            String typeName;
-            for (int i = 1; i <= columnCount; i++) {
-                typeName = metaData.getColumnTypeName(i);
-                Object val = values.get(i - 1);
-                if (val == null) {
-                    continue;
-                }
+        int totalSize = 0;
+        // ok code
+        totalSize ++;
+        int columnCount = typeNames.length;
+        totalSize += getMaskNullLength(columnCount);
+        String typeName;
+        for (int i = 1; i <= columnCount; i++) {
+            typeName = typeNames[i - 1];
+            Object val = values.get(i - 1);
+            if (val == null) {
+                continue;
+            }
+            switch (typeName) {
+                case "INTEGER":
+                case "FLOAT":
+                    totalSize += 4;
+                    break;
+                case "BIGINT":
+                case "DOUBLE":
+                    totalSize += 8;
+                    break;
+                case "DATE":
+                    // length + date(4)
+                    totalSize += 1 + 4;
+                    break;
+                case "DATETIME":
+                case "TIMESTAMP":
+                    totalSize += 11 + 1;
+                    break;
+                case "TIME":
+                    totalSize += 12 + 1;
+                    break;
+                case "BOOLEAN":
+                    totalSize += 1;
+                    break;
+                case "VARCHAR":
+                case "CHAR":
+                case "ARRAY":
+                case "MULTISET":
+                    byte[] v;
+                    try {
+                        v = val.toString().getBytes(characterSet);
+                    } catch (UnsupportedEncodingException e) {
+                        throw new RuntimeException(e);
+                    }
+                    values.set(i - 1, v);
+                    totalSize += BufferUtil.getLength(v);
+                    break;
+                case "VARBINARY":
+                    byte[] blob = (byte[]) val;
+                    totalSize += BufferUtil.getLength(blob);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return totalSize;
+
+    }
+
+    @Override
+    protected String getPacketInfo() {
+        return null;
+    }
+
+    @Override
+    public void read(byte[] data) {
+
+    }
+
+    @Override
+    public void write(ByteBuf buffer) {
+        BufferUtil.writeUB3(buffer, calcPacketSize());
+        buffer.writeByte(packetId);
+        buffer.writeByte(OKPacket.HEADER);
+        buffer.writeBytes(getMaskNullBuffer(values));
+        String typeName;
+        for (int i = 0; i < values.size(); i++) {
+            Object val = values.get(i);
+            if (val != null) {
+                typeName = typeNames[i];
                 switch (typeName) {
                     case "INTEGER":
+                        BufferUtil.writeInt(buffer, (Integer) val);
+                        break;
                     case "FLOAT":
-                        totalSize += 4;
+                        if (val instanceof Double) {
+                            val = ((Double) val).floatValue();
+                        }
+                        BufferUtil.writeFloat(buffer, (float) val);
                         break;
                     case "BIGINT":
+                        BufferUtil.writeLong(buffer, (Long) val);
+                        break;
                     case "DOUBLE":
-                        totalSize += 8;
+                        BufferUtil.writeDouble(buffer, (Double) val);
                         break;
                     case "DATE":
-                        // length + date(4)
-                        totalSize += 1 + 4;
+                        BufferUtil.writeLength(buffer, 4);
+                        BufferUtil.writeDate(buffer, (Date) val);
                         break;
                     case "DATETIME":
                     case "TIMESTAMP":
-                        totalSize += 11 + 1;
+                        BufferUtil.writeLength(buffer, 11);
+                        BufferUtil.writeDateTime(buffer, (Timestamp) val);
                         break;
                     case "TIME":
-                        totalSize += 12 + 1;
+                        BufferUtil.writeLength(buffer, 12);
+                        BufferUtil.writeTime(buffer, (Time) val);
                         break;
                     case "BOOLEAN":
-                        totalSize += 1;
+                        Boolean valBool = (Boolean) val;
+                        if (valBool) {
+                            buffer.writeByte(1);
+                        } else {
+                            buffer.writeByte(0);
+                        }
                         break;
                     case "VARCHAR":
                     case "CHAR":
                     case "ARRAY":
                     case "MULTISET":
-                        byte[] v;
-                        try {
-                            v = val.toString().getBytes(characterSet);
-                        } catch (UnsupportedEncodingException e) {
-                            throw new RuntimeException(e);
-                        }
-                        values.set(i - 1, v);
-                        totalSize += BufferUtil.getLength(v);
-                        break;
                     case "VARBINARY":
-                        byte[] blob = (byte[]) val;
-                        totalSize += BufferUtil.getLength(blob);
+                        byte[] v = (byte[]) val;
+                        BufferUtil.writeLength(buffer, v.length);
+                        buffer.writeBytes(v);
                         break;
                     default:
                         break;
                 }
             }
-            return totalSize;
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-
-    }
-
-    @Override
-    protected String getPacketInfo() {
-        return null;
-    }
-
-    @Override
-    public void read(byte[] data) {
-
-    }
-
-    @Override
-    public void write(ByteBuf buffer) {
-        BufferUtil.writeUB3(buffer, calcPacketSize());
-        buffer.writeByte(packetId);
-        buffer.writeByte(OKPacket.HEADER);
-        buffer.writeBytes(getMaskNullBuffer(values));
-        try {
-            String typeName;
-            for (int i = 0; i < values.size(); i++) {
-                Object val = values.get(i);
-                if (val != null) {
-                    typeName = metaData.getColumnTypeName(i + 1);
-                    switch (typeName) {
-                        case "INTEGER":
-                            BufferUtil.writeInt(buffer, (Integer) val);
-                            break;
-                        case "FLOAT":
-                            if (val instanceof Double) {
-                                val = ((Double) val).floatValue();
-                            }
-                            BufferUtil.writeFloat(buffer, (float) val);
-                            break;
-                        case "BIGINT":
-                            BufferUtil.writeLong(buffer, (Long) val);
-                            break;
-                        case "DOUBLE":
-                            BufferUtil.writeDouble(buffer, (Double) val);
-                            break;
-                        case "DATE":
-                            BufferUtil.writeLength(buffer, 4);
-                            BufferUtil.writeDate(buffer, (Date) val);
-                            break;
-                        case "DATETIME":
-                        case "TIMESTAMP":
-                            BufferUtil.writeLength(buffer, 11);
-                            BufferUtil.writeDateTime(buffer, (Timestamp) val);
-                            break;
-                        case "TIME":
-                            BufferUtil.writeLength(buffer, 12);
-                            BufferUtil.writeTime(buffer, (Time) val);
-                            break;
-                        case "BOOLEAN":
-                            Boolean valBool = (Boolean) val;
-                            if (valBool) {
-                                buffer.writeByte(1);
-                            } else {
-                                buffer.writeByte(0);
-                            }
-                            break;
-                        case "VARCHAR":
-                        case "CHAR":
-                        case "ARRAY":
-                        case "MULTISET":
-                        case "VARBINARY":
-                            byte[] v = (byte[]) val;
-                            BufferUtil.writeLength(buffer, v.length);
-                            buffer.writeBytes(v);
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
         }
     }
 
@@ -19,31 +19,106 @@ package io.dingodb.exec.aggregate;
 import com.google.common.collect.Iterators;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.common.util.ArrayUtils;
+import io.dingodb.exec.spill.MemoryBudget;
+import io.dingodb.exec.spill.SpillPartitions;
 import io.dingodb.exec.tuple.TupleKey;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 @Slf4j
 public class AggCache implements Iterable<Object[]> {
     private final TupleMapping keyMapping;
     private final List<Agg> aggList;
     private final Map<TupleKey, Object[]> cache;
+    private final MemoryBudget memoryBudget;
+    private final long varsSize;
+    private long reservedBytes;
+    // Partial results of keys moved to disk when the memory budget is exceeded, to be merged in iterating.
+    private SpillPartitions spill;
 
     public AggCache(TupleMapping keyMapping, @NonNull List<Agg> aggList) {
+        this(keyMapping, aggList, MemoryBudget.unlimited());
+    }
+
+    public AggCache(TupleMapping keyMapping, @NonNull List<Agg> aggList, @NonNull MemoryBudget memoryBudget) {
         this.keyMapping = keyMapping;
         this.aggList = aggList;
         this.cache = new ConcurrentHashMap<>();
+        this.memoryBudget = memoryBudget;
+        this.varsSize = MemoryBudget.estimate(new Object[aggList.size()]);
+        this.reservedBytes = 0;
+        this.spill = null;
     }
 
     private Object @NonNull [] getVars(TupleKey key) {
-        return cache.computeIfAbsent(key, k -> new Object[aggList.size()]);
+        Object[] vars = cache.get(key);
+        if (vars == null) {
+            long size = MemoryBudget.estimate(key.getTuple()) + varsSize;
+            if (!reserve(size)) {
+                spillCache();
+                reserve(size);
+            }
+            vars = new Object[aggList.size()];
+            cache.put(key, vars);
+        }
+        return vars;
+    }
+
+    private boolean reserve(long bytes) {
+        if (memoryBudget.tryReserve(bytes)) {
+            reservedBytes += bytes;
+            return true;
+        }
+        return false;
+    }
+
+    private void releaseMemory() {
+        memoryBudget.release(reservedBytes);
+        reservedBytes = 0;
+    }
+
+    /**
+     * Write the cached keys with their aggregating contexts to disk and free the memory.
+     */
+    private void spillCache() {
+        if (spill == null) {
+            spill = new SpillPartitions();
+        }
+        for (Map.Entry<TupleKey, Object[]> entry : cache.entrySet()) {
+            TupleKey key = entry.getKey();
+            spill.write(key.hashCode(), ArrayUtils.concat(key.getTuple(), entry.getValue()));
+        }
+        cache.clear();
+        releaseMemory();
+    }
+
+    private @NonNull Iterator<Object[]> mergePartition(int partition) {
+        int length = keyMapping.size();
+        Map<TupleKey, Object[]> partitionCache = new HashMap<>();
+        Iterator<Object[]> iterator = spill.get(partition).iterator();
+        while (iterator.hasNext()) {
+            Object[] tuple = iterator.next();
+            Object[] vars = partitionCache.computeIfAbsent(
+                new TupleKey(Arrays.copyOf(tuple, length)),
+                k -> new Object[aggList.size()]
+            );
+            for (int i = 0; i < vars.length; ++i) {
+                vars[i] = aggList.get(i).merge(vars[i], tuple[length + i]);
+            }
+        }
+        return Iterators.transform(
+            partitionCache.entrySet().iterator(),
+            e -> ArrayUtils.concat(e.getKey().getTuple(), calValue(e.getValue()))
+        );
     }
 
     public void addTuple(Object[] tuple) {
@@ -79,6 +154,12 @@ public class AggCache implements Iterable<Object[]> {
 
     @Override
     public Iterator<Object[]> iterator() {
+        if (spill != null) {
+            spillCache();
+            return Iterators.concat(
+                IntStream.range(0, SpillPartitions.PARTITION_NUM).mapToObj(this::mergePartition).iterator()
+            );
+        }
         if (cache.isEmpty() && keyMapping.size() == 0) {
             return Collections.singleton(aggList.stream().map(agg -> agg.getValue(null)).toArray()).iterator();
         }
@@ -88,7 +169,20 @@ public class AggCache implements Iterable<Object[]> {
         );
     }
 
+    public long getSpillCount() {
+        return spill != null ? spill.getCount() : 0;
+    }
+
+    public long getSpillBytes() {
+        return spill != null ? spill.getBytes() : 0;
+    }
+
     public void clear() {
         cache.clear();
+        releaseMemory();
+        if (spill != null) {
+            spill.close();
+            spill = null;
+        }
     }
 }
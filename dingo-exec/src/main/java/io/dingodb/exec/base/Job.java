@@ -19,6 +19,7 @@ package io.dingodb.exec.base;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.type.DingoType;
+import io.dingodb.exec.impl.message.TaskCodecType;
 import io.dingodb.exec.transaction.base.TransactionType;
 import io.dingodb.store.api.transaction.data.IsolationLevel;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -36,6 +37,11 @@ public interface Job {
 
     DingoType getParasType();
 
+    /**
+     * The codec of the messages of the tasks, chosen once when the job is created.
+     */
+    TaskCodecType getTaskCodec();
+
     default Task getTask(CommonId id) {
         return getTasks().get(id);
     }
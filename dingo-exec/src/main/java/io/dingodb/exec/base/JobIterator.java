@@ -33,4 +33,12 @@ public abstract class JobIterator implements Iterator<Object[]> {
     public CommonId getJobId() {
         return job.getJobId();
     }
+
+    /**
+     * Get the following values at once, only valid if {@link #hasNext()} returns {@code true}.
+     *
+     * @param maxCount the max count of values to return
+     * @return the values, at least one
+     */
+    public abstract Object[][] nextBatch(int maxCount);
 }
@@ -19,6 +19,7 @@ package io.dingodb.exec.base;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.tuple.TupleBatch;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public interface Operator {
@@ -33,6 +34,24 @@ public interface Operator {
      */
     boolean push(Context context, @Nullable Object[] tuple, Vertex vertex);
 
+    /**
+     * Push a batch of tuples to the operator. Operators not aware of batches fall back to pushing the selected
+     * tuples one by one.
+     *
+     * @param context the input pin no and distribution
+     * @param batch   the tuples pushed in
+     * @return `true` means another push needed, `false` means the task is canceled or finished
+     */
+    default boolean pushBatch(Context context, TupleBatch batch, Vertex vertex) {
+        int count = batch.count();
+        for (int i = 0; i < count; ++i) {
+            if (!push(context, batch.get(i), vertex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void fin(int pin, @Nullable Fin fin, Vertex vertex);
 
     void setParas(Object[] paras);
@@ -21,6 +21,7 @@ import io.dingodb.common.Location;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.spill.MemoryBudget;
 import io.dingodb.exec.transaction.base.TransactionType;
 import io.dingodb.store.api.transaction.data.IsolationLevel;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -46,6 +47,11 @@ public interface Task {
 
     Context getContext();
 
+    /**
+     * Get the memory budget shared by the operators of this task.
+     */
+    MemoryBudget getMemoryBudget();
+
     void markRoot(CommonId operatorId);
 
     Map<CommonId, Vertex> getVertexes();
@@ -27,18 +27,17 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 public final class EndpointManager {
     public static EndpointManager INSTANCE = new EndpointManager();
 
     private final Map<String, SendEndpoint> sendEndpointMap;
-    private final Map<String, AtomicInteger> availableBufferCounts;
+    private final Map<String, ExchangeCredit> credits;
 
     private EndpointManager() {
         sendEndpointMap = new ConcurrentHashMap<>();
-        availableBufferCounts = new ConcurrentHashMap<>();
+        credits = new ConcurrentHashMap<>();
     }
 
     public void onControlMessage(@NonNull Message message) {
@@ -50,16 +49,11 @@ public final class EndpointManager {
             throw new RuntimeException("Deserializing control message failed.");
         }
         LogUtils.debug(log, "Received control message {}.", msg);
-        String tag = msg.getTag();
-        AtomicInteger bufferCount = getBufferCount(tag);
+        ExchangeCredit credit = getCredit(msg.getTag());
         if (msg instanceof StopTx) {
-            bufferCount.set(-1);
+            credit.stop();
         } else if (msg instanceof IncreaseBuffer) {
-            bufferCount.getAndAdd(((IncreaseBuffer) msg).getBytes());
-        }
-        SendEndpoint sendEndpoint = sendEndpointMap.get(tag);
-        if (sendEndpoint != null) {
-            sendEndpoint.wakeUp();
+            credit.grant(((IncreaseBuffer) msg).getBytes());
         }
     }
 
@@ -70,13 +64,13 @@ public final class EndpointManager {
     public void unregisterSendEndpoint(@NonNull SendEndpoint endpoint) {
         String tag = endpoint.getTag();
         sendEndpointMap.remove(tag);
-        availableBufferCounts.remove(tag);
+        credits.remove(tag);
     }
 
-    AtomicInteger getBufferCount(String tag) {
-        return availableBufferCounts.computeIfAbsent(
+    ExchangeCredit getCredit(String tag) {
+        return credits.computeIfAbsent(
             tag,
-            (t) -> new AtomicInteger(0)
+            (t) -> new ExchangeCredit()
         );
     }
 }
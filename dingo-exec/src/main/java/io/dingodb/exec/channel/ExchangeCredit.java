@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.channel;
+
+import io.dingodb.common.log.LogUtils;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bytes a sender is allowed to send to the receiver, granted by the receiver in windows.
+ *
+ * <p>A message may overdraw the credit if there is any, so a message larger than the window cannot block forever.
+ */
+@Slf4j
+final class ExchangeCredit {
+    private long available = 0;
+    private boolean stopped = false;
+
+    synchronized void grant(int bytes) {
+        available += bytes;
+        notifyAll();
+    }
+
+    synchronized void stop() {
+        stopped = true;
+        notifyAll();
+    }
+
+    /**
+     * Wait until there is credit, then consume it for a message.
+     *
+     * @return `false` if the receiver stopped
+     */
+    synchronized boolean acquire(int bytes) {
+        while (!stopped && available <= 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                LogUtils.warn(log, "Interrupted while waiting for credit.");
+            }
+        }
+        if (stopped) {
+            return false;
+        }
+        available -= bytes;
+        return true;
+    }
+}
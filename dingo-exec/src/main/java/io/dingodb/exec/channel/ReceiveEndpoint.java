@@ -17,18 +17,21 @@
 package io.dingodb.exec.channel;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.channel.message.Control;
 import io.dingodb.exec.channel.message.IncreaseBuffer;
 import io.dingodb.exec.channel.message.StopTx;
+import io.dingodb.net.BufferMessageListener;
 import io.dingodb.net.Channel;
 import io.dingodb.net.Message;
-import io.dingodb.net.MessageListener;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import static io.dingodb.exec.Services.CTRL_TAG;
@@ -36,22 +39,30 @@ import static io.dingodb.exec.Services.CTRL_TAG;
 @Slf4j
 public class ReceiveEndpoint {
     private static final int BUFFER_LENGTH = 65536 * 9;
+    /**
+     * Credit is granted back to the sender in windows, not for every message.
+     */
+    private static final int CREDIT_WINDOW = BUFFER_LENGTH / 4;
 
     private final String host;
     private final int port;
     private final String tag;
-    private final Consumer<byte[]> handler;
+    private final int binaryTagLength;
+    private final Consumer<ByteBuffer> handler;
 
     @Getter
     private boolean stopped;
 
+    private final AtomicInteger pendingCredit = new AtomicInteger(0);
+
     private Channel channel;
     private ReceiveMessageListener messageListener;
 
-    public ReceiveEndpoint(String host, int port, String tag, Consumer<byte[]> handler) {
+    public ReceiveEndpoint(String host, int port, String tag, Consumer<ByteBuffer> handler) {
         this.host = host;
         this.port = port;
         this.tag = tag;
+        this.binaryTagLength = PrimitiveCodec.encodeString(tag).length;
         this.handler = handler;
     }
 
@@ -97,11 +108,17 @@ public class ReceiveEndpoint {
         LogUtils.debug(log, "(tag = {}) Sent control message \"{}\".", tag, control);
     }
 
-    private class ReceiveMessageListener implements MessageListener {
+    /**
+     * Decode the message content in place, without copying it to a {@link Message}.
+     */
+    private class ReceiveMessageListener implements BufferMessageListener {
         @Override
-        public void onMessage(@NonNull Message message, @NonNull Channel channel) {
-            sendIncreaseBuffer(message.length());
-            final byte[] content = message.content();
+        public void onMessage(String tag, @NonNull ByteBuffer content, @NonNull Channel channel) {
+            int bytes = pendingCredit.addAndGet(binaryTagLength + content.remaining());
+            if (bytes >= CREDIT_WINDOW) {
+                pendingCredit.addAndGet(-bytes);
+                sendIncreaseBuffer(bytes);
+            }
             handler.accept(content);
         }
     }
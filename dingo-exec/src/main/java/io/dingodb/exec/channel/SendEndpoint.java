@@ -26,7 +26,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 @Slf4j
 public class SendEndpoint {
@@ -36,6 +37,9 @@ public class SendEndpoint {
     private final String tag;
     private final byte[] binaryTag;
 
+    private final LongAdder sentBytes = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+
     private Channel channel;
 
     public SendEndpoint(String host, int port, String tag) {
@@ -52,43 +56,40 @@ public class SendEndpoint {
         LogUtils.debug(log, "(tag = {}) Opened channel to {}:{}.", tag, host, port);
     }
 
-    synchronized void wakeUp() {
-        notify();
-    }
-
-    synchronized boolean checkAvailableBufferCount(int size) {
-        boolean successful = false;
-        AtomicInteger bufferCount = EndpointManager.INSTANCE.getBufferCount(tag);
-        while (!successful) {
-            int origSize = bufferCount.get();
-            if (origSize < 0) {
-                return false;
-            }
-            if (origSize > size) {
-                successful = bufferCount.compareAndSet(origSize, origSize - size);
-            } else {
-                try {
-                    wait();
-                } catch (InterruptedException e) {
-                    LogUtils.warn(log, "Catch (tag = {}) Interrupted while waiting for channel to be ready.", tag);
-                }
-            }
-        }
-        return true;
-    }
-
     public boolean send(BufferOutputStream content) {
         return send(content, false);
     }
 
+    /**
+     * Send a message if the receiver granted credit, waiting for the credit on the monitor of the credit, so the
+     * caller should not hold other locks.
+     *
+     * @param needed send even if the receiver stopped
+     * @return `false` if the receiver stopped
+     */
     public boolean send(@NonNull BufferOutputStream content, boolean needed) {
-        boolean ok = checkAvailableBufferCount(content.bytes());
+        int bytes = content.bytes();
+        long start = System.nanoTime();
+        boolean ok = EndpointManager.INSTANCE.getCredit(tag).acquire(bytes);
+        blockedNanos.add(System.nanoTime() - start);
         if (ok || needed) {
             channel.send(content, needed);
+            sentBytes.add(bytes);
         }
         return ok;
     }
 
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    /**
+     * Get the time (ms) blocked waiting for credit.
+     */
+    public long getBlockedTime() {
+        return TimeUnit.NANOSECONDS.toMillis(blockedNanos.sum());
+    }
+
     public void close() {
         EndpointManager.INSTANCE.unregisterSendEndpoint(this);
         channel.close();
@@ -20,11 +20,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import io.dingodb.exec.codec.TupleCodecType;
 import io.dingodb.expr.json.runtime.Parser;
 import io.dingodb.net.Message;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 @JsonTypeInfo(
@@ -48,12 +51,57 @@ public abstract class Control {
         this.tag = tag;
     }
 
+    /**
+     * Decode a control frame, which is json, or binary as {@code type | payload | tag} if the exchange codec is binary.
+     */
     public static Control fromMessage(@NonNull Message message) throws JsonProcessingException {
-        String str = new String(message.content(), StandardCharsets.UTF_8);
-        return PARSER.parse(str, Control.class);
+        byte[] content = message.content();
+        if (content.length > 0 && content[0] == '{') {
+            String str = new String(content, StandardCharsets.UTF_8);
+            return PARSER.parse(str, Control.class);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        byte type = buffer.get();
+        switch (type) {
+            case StopTx.TYPE:
+                return new StopTx(readTag(buffer));
+            case IncreaseBuffer.TYPE:
+                int bytes = buffer.getInt();
+                return new IncreaseBuffer(readTag(buffer), bytes);
+            default:
+        }
+        throw new IllegalStateException("Unexpected control message type \"" + type + "\".");
     }
 
+    private static @NonNull String readTag(@NonNull ByteBuffer buffer) {
+        return new String(buffer.array(), buffer.position(), buffer.remaining(), StandardCharsets.UTF_8);
+    }
+
+    protected abstract byte controlType();
+
+    protected int payloadSize() {
+        return 0;
+    }
+
+    protected void writePayload(ByteBuffer buffer) {
+    }
+
+    /**
+     * Encode by the configured exchange codec, so binary frames are sent only if the executors are set to "binary".
+     */
     public byte[] toBytes() throws JsonProcessingException {
-        return PARSER.stringify(this).getBytes(StandardCharsets.UTF_8);
+        return toBytes(TupleCodecType.of(ScopeVariables.getExchangeCodec()));
+    }
+
+    public byte[] toBytes(TupleCodecType codecType) throws JsonProcessingException {
+        if (codecType != TupleCodecType.BINARY) {
+            return PARSER.stringify(this).getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] tagBytes = tag.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + payloadSize() + tagBytes.length);
+        buffer.put(controlType());
+        writePayload(buffer);
+        buffer.put(tagBytes);
+        return buffer.array();
     }
 }
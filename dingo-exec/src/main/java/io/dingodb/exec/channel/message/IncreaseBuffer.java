@@ -21,10 +21,15 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import lombok.Getter;
 import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.ByteBuffer;
 
 @ToString
 @JsonTypeName("inc")
 public class IncreaseBuffer extends Control {
+    static final byte TYPE = 2;
+
     @Getter
     @JsonProperty("bytes")
     private final int bytes;
@@ -34,4 +39,19 @@ public class IncreaseBuffer extends Control {
         super(tag);
         this.bytes = bytes;
     }
+
+    @Override
+    protected byte controlType() {
+        return TYPE;
+    }
+
+    @Override
+    protected int payloadSize() {
+        return Integer.BYTES;
+    }
+
+    @Override
+    protected void writePayload(@NonNull ByteBuffer buffer) {
+        buffer.putInt(bytes);
+    }
 }
@@ -24,8 +24,15 @@ import lombok.ToString;
 @ToString
 @JsonTypeName("stop")
 public class StopTx extends Control {
+    static final byte TYPE = 1;
+
     @JsonCreator
     public StopTx(@JsonProperty("tag") String tag) {
         super(tag);
     }
+
+    @Override
+    protected byte controlType() {
+        return TYPE;
+    }
 }
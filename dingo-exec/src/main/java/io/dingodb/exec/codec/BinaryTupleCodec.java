@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.exec.utils.CodecUtils;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Tuple codec writing values directly from the field types.
+ *
+ * <p>Tuples are encoded in blocks, each of which is laid out as
+ * <pre>
+ *     flags | row count | [body length | compressed length |] body
+ * </pre>
+ * and the body is column by column, a null bitmap followed by the non-null values of the column. Integers are
+ * zigzag varints. If compression is enabled, large bodies are deflated, otherwise the body is written directly to the
+ * output stream.
+ */
+public class BinaryTupleCodec implements TupleCodec {
+    private static final int FLAG_COMPRESSED = 0x01;
+    private static final int COMPRESS_THRESHOLD = 1024;
+
+    private final ColumnCodec[] codecs;
+    private final boolean compressed;
+
+    public BinaryTupleCodec(@NonNull DingoType type, boolean compressed) {
+        int size = type.fieldCount();
+        this.codecs = new ColumnCodec[size];
+        for (int i = 0; i < size; ++i) {
+            ColumnCodec codec = ColumnCodecBuilder.INSTANCE.visit(type.getChild(i));
+            codecs[i] = codec != null ? codec : ColumnCodecBuilder.OBJECT_CODEC;
+        }
+        this.compressed = compressed;
+    }
+
+    private static byte @NonNull [] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(bytes.length / 2);
+            byte[] buf = new byte[4096];
+            while (!deflater.finished()) {
+                int len = deflater.deflate(buf);
+                bos.write(buf, 0, len);
+            }
+            return bos.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte @NonNull [] inflate(byte[] bytes, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            byte[] result = new byte[length];
+            int offset = 0;
+            while (offset < length && !inflater.finished()) {
+                int len = inflater.inflate(result, offset, length - offset);
+                if (len == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += len;
+            }
+            if (offset != length) {
+                throw new IOException("Corrupted compressed tuple block.");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public void encode(@NonNull OutputStream os, @NonNull List<Object @NonNull []> tuples) throws IOException {
+        if (tuples.isEmpty()) {
+            return;
+        }
+        Object[][] rows = tuples.toArray(new Object[0][]);
+        if (compressed) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            encodeBlock(new DataOutputStream(bos), rows);
+            if (bos.size() >= COMPRESS_THRESHOLD) {
+                byte[] bytes = bos.toByteArray();
+                byte[] deflated = deflate(bytes);
+                if (deflated.length < bytes.length) {
+                    os.write(FLAG_COMPRESSED);
+                    CodecUtils.encodeVarInt(os, rows.length);
+                    CodecUtils.encodeVarInt(os, bytes.length);
+                    CodecUtils.encodeVarInt(os, deflated.length);
+                    os.write(deflated);
+                    return;
+                }
+            }
+            os.write(0);
+            CodecUtils.encodeVarInt(os, rows.length);
+            bos.writeTo(os);
+            return;
+        }
+        // Write the body directly to the output buffer.
+        os.write(0);
+        CodecUtils.encodeVarInt(os, rows.length);
+        encodeBlock(new DataOutputStream(os), rows);
+    }
+
+    private void encodeBlock(DataOutputStream body, Object[] @NonNull [] rows) throws IOException {
+        byte[] nulls = new byte[(rows.length + 7) >>> 3];
+        for (int i = 0; i < codecs.length; ++i) {
+            for (int j = 0; j < rows.length; ++j) {
+                if (rows[j][i] == null) {
+                    nulls[j >>> 3] |= (byte) (1 << (j & 7));
+                } else {
+                    nulls[j >>> 3] &= (byte) ~(1 << (j & 7));
+                }
+            }
+            body.write(nulls);
+            ColumnCodec codec = codecs[i];
+            for (Object[] row : rows) {
+                if (row[i] != null) {
+                    codec.write(body, row[i]);
+                }
+            }
+        }
+        body.flush();
+    }
+
+    @Override
+    public @NonNull List<Object[]> decode(@NonNull InputStream is) throws IOException {
+        DataInputStream input = new DataInputStream(is);
+        List<Object[]> tuples = new ArrayList<>();
+        int flags;
+        while ((flags = input.read()) >= 0) {
+            int count = (int) CodecUtils.decodeVarInt(input);
+            if ((flags & FLAG_COMPRESSED) != 0) {
+                int length = (int) CodecUtils.decodeVarInt(input);
+                byte[] deflated = new byte[(int) CodecUtils.decodeVarInt(input)];
+                input.readFully(deflated);
+                byte[] bytes = inflate(deflated, length);
+                decodeBlock(new DataInputStream(new ByteArrayInputStream(bytes)), count, tuples);
+            } else {
+                decodeBlock(input, count, tuples);
+            }
+        }
+        return tuples;
+    }
+
+    private void decodeBlock(DataInputStream body, int count, @NonNull List<Object[]> tuples) throws IOException {
+        Object[][] rows = new Object[count][];
+        for (int j = 0; j < count; ++j) {
+            rows[j] = new Object[codecs.length];
+        }
+        byte[] nulls = new byte[(count + 7) >>> 3];
+        for (int i = 0; i < codecs.length; ++i) {
+            body.readFully(nulls);
+            ColumnCodec codec = codecs[i];
+            for (int j = 0; j < count; ++j) {
+                if ((nulls[j >>> 3] & (1 << (j & 7))) == 0) {
+                    rows[j][i] = codec.read(body);
+                }
+            }
+        }
+        for (Object[] row : rows) {
+            tuples.add(row);
+        }
+    }
+}
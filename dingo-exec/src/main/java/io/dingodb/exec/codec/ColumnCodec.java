@@ -14,20 +14,17 @@
  * limitations under the License.
  */
 
-package io.dingodb.exec.operator.data;
+package io.dingodb.exec.codec;
 
-import lombok.Getter;
-import lombok.Setter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 
-public class TupleWithJoinFlag {
-    @Getter
-    private final Object[] tuple;
-    @Getter
-    @Setter
-    private boolean joined;
+/**
+ * Encode/decode the non-null values of a column.
+ */
+interface ColumnCodec {
+    void write(DataOutputStream os, Object value) throws IOException;
 
-    public TupleWithJoinFlag(Object[] tuple) {
-        this.tuple = tuple;
-        this.joined = false;
-    }
+    Object read(DataInputStream is) throws IOException;
 }
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import io.dingodb.common.type.DingoTypeVisitorBase;
+import io.dingodb.common.type.NullType;
+import io.dingodb.common.type.scalar.BinaryType;
+import io.dingodb.common.type.scalar.BooleanType;
+import io.dingodb.common.type.scalar.DateType;
+import io.dingodb.common.type.scalar.DecimalType;
+import io.dingodb.common.type.scalar.DoubleType;
+import io.dingodb.common.type.scalar.FloatType;
+import io.dingodb.common.type.scalar.IntegerType;
+import io.dingodb.common.type.scalar.LongType;
+import io.dingodb.common.type.scalar.StringType;
+import io.dingodb.common.type.scalar.TimeType;
+import io.dingodb.common.type.scalar.TimestampType;
+import io.dingodb.exec.utils.CodecUtils;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * Build the {@link ColumnCodec} of a field type. Types without a specialized codec (objects, lists, maps and nested
+ * tuples) are written by java serialization.
+ */
+class ColumnCodecBuilder extends DingoTypeVisitorBase<ColumnCodec, Void> {
+    public static final ColumnCodecBuilder INSTANCE = new ColumnCodecBuilder();
+
+    private static final ColumnCodec NULL_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) {
+        }
+
+        @Override
+        public Object read(DataInputStream is) {
+            return null;
+        }
+    };
+
+    private static final ColumnCodec INTEGER_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            writeLong(os, ((Number) value).longValue());
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            return (int) readLong(is);
+        }
+    };
+
+    private static final ColumnCodec LONG_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            writeLong(os, ((Number) value).longValue());
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            return readLong(is);
+        }
+    };
+
+    private static final ColumnCodec FLOAT_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            os.writeFloat(((Number) value).floatValue());
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            return is.readFloat();
+        }
+    };
+
+    private static final ColumnCodec DOUBLE_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            os.writeDouble(((Number) value).doubleValue());
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            return is.readDouble();
+        }
+    };
+
+    private static final ColumnCodec BOOLEAN_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            os.writeBoolean((Boolean) value);
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            return is.readBoolean();
+        }
+    };
+
+    private static final ColumnCodec DECIMAL_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            BigDecimal decimal = value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+            writeLong(os, decimal.scale());
+            writeBytes(os, decimal.unscaledValue().toByteArray());
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            int scale = (int) readLong(is);
+            return new BigDecimal(new BigInteger(readBytes(is)), scale);
+        }
+    };
+
+    private static final ColumnCodec STRING_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            writeBytes(os, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            return new String(readBytes(is), StandardCharsets.UTF_8);
+        }
+    };
+
+    private static final ColumnCodec BINARY_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            writeBytes(os, (byte[]) value);
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            return readBytes(is);
+        }
+    };
+
+    private static final ColumnCodec DATE_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            writeLong(os, ((java.util.Date) value).getTime());
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            return new Date(readLong(is));
+        }
+    };
+
+    private static final ColumnCodec TIME_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            writeLong(os, ((java.util.Date) value).getTime());
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            return new Time(readLong(is));
+        }
+    };
+
+    private static final ColumnCodec TIMESTAMP_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            writeLong(os, ((java.util.Date) value).getTime());
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            return new Timestamp(readLong(is));
+        }
+    };
+
+    static final ColumnCodec OBJECT_CODEC = new ColumnCodec() {
+        @Override
+        public void write(DataOutputStream os, Object value) throws IOException {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(value);
+            }
+            writeBytes(os, bos.toByteArray());
+        }
+
+        @Override
+        public Object read(DataInputStream is) throws IOException {
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(readBytes(is)))) {
+                return ois.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    };
+
+    private ColumnCodecBuilder() {
+    }
+
+    private static void writeLong(DataOutputStream os, long value) throws IOException {
+        // Zigzag encoding to keep small negative values short.
+        CodecUtils.encodeVarInt(os, (value << 1) ^ (value >> 63));
+    }
+
+    private static long readLong(DataInputStream is) throws IOException {
+        long value = CodecUtils.decodeVarInt(is);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeBytes(DataOutputStream os, byte @NonNull [] bytes) throws IOException {
+        CodecUtils.encodeVarInt(os, bytes.length);
+        os.write(bytes);
+    }
+
+    private static byte @NonNull [] readBytes(DataInputStream is) throws IOException {
+        byte[] bytes = new byte[(int) CodecUtils.decodeVarInt(is)];
+        is.readFully(bytes);
+        return bytes;
+    }
+
+    @Override
+    public ColumnCodec visitNullType(@NonNull NullType type, Void obj) {
+        return NULL_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitIntegerType(@NonNull IntegerType type, Void obj) {
+        return INTEGER_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitLongType(@NonNull LongType type, Void obj) {
+        return LONG_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitFloatType(@NonNull FloatType type, Void obj) {
+        return FLOAT_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitDoubleType(@NonNull DoubleType type, Void obj) {
+        return DOUBLE_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitBooleanType(@NonNull BooleanType type, Void obj) {
+        return BOOLEAN_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitDecimalType(@NonNull DecimalType type, Void obj) {
+        return DECIMAL_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitStringType(@NonNull StringType type, Void obj) {
+        return STRING_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitBinaryType(@NonNull BinaryType type, Void obj) {
+        return BINARY_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitDateType(@NonNull DateType type, Void obj) {
+        return DATE_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitTimeType(@NonNull TimeType type, Void obj) {
+        return TIME_CODEC;
+    }
+
+    @Override
+    public ColumnCodec visitTimestampType(@NonNull TimestampType type, Void obj) {
+        return TIMESTAMP_CODEC;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+public enum TupleCodecType {
+    /**
+     * Avro generic records, understood by all the executors.
+     */
+    AVRO,
+    /**
+     * Column batches written directly from the field types, see {@link BinaryTupleCodec}.
+     * Older executors cannot decode them, so it is used only if set explicitly.
+     */
+    BINARY;
+
+    public static TupleCodecType of(String name) {
+        for (TupleCodecType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return AVRO;
+    }
+}
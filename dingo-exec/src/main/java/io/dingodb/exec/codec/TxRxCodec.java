@@ -22,6 +22,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 public interface TxRxCodec {
@@ -31,5 +32,12 @@ public interface TxRxCodec {
 
     void encodeTupleIds(OutputStream os, List<TupleId> tupleIds) throws IOException;
 
-    List<TupleId> decode(byte[] bytes) throws IOException;
+    default List<TupleId> decode(byte[] bytes) throws IOException {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decode a message in place, the buffer is consumed before returning.
+     */
+    List<TupleId> decode(ByteBuffer buffer) throws IOException;
 }
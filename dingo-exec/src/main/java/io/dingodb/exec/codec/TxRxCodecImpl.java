@@ -23,11 +23,13 @@ import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.tuple.TupleId;
+import io.dingodb.exec.utils.ByteBufferInputStream;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -38,22 +40,40 @@ public class TxRxCodecImpl implements TxRxCodec {
     public static final int NORMAL_FIN_FLAG = 1;
     public static final int ABNORMAL_FIN_FLAG = 2;
     public static final int TUPLES_ID_FLAG = 3;
+    public static final int BINARY_TUPLES_FLAG = 4;
+    public static final int BINARY_TUPLES_ID_FLAG = 5;
 
+    private final TupleCodecType codecType;
     private final TupleCodec codec;
+    private final TupleCodec binaryCodec;
 
     public TxRxCodecImpl(@NonNull DingoType schema) {
+        this(schema, TupleCodecType.AVRO, false);
+    }
+
+    /**
+     * Create a codec encoding tuples by {@code codecType}. Tuples of both types can be decoded.
+     */
+    public TxRxCodecImpl(@NonNull DingoType schema, @NonNull TupleCodecType codecType, boolean compressed) {
+        this.codecType = codecType;
         this.codec = new AvroTupleCodec(schema);
+        this.binaryCodec = new BinaryTupleCodec(schema, compressed);
     }
 
     @Override
     public void encodeTuples(@NonNull OutputStream os, @NonNull List<Object[]> tuples) throws IOException {
+        if (codecType == TupleCodecType.BINARY) {
+            os.write(BINARY_TUPLES_FLAG);
+            binaryCodec.encode(os, tuples);
+            return;
+        }
         os.write(TUPLES_FLAG);
         codec.encode(os, tuples);
     }
 
     @Override
     public void encodeTupleIds(OutputStream os, List<TupleId> tupleIds) throws IOException {
-        os.write(TUPLES_ID_FLAG);
+        os.write(codecType == TupleCodecType.BINARY ? BINARY_TUPLES_ID_FLAG : TUPLES_ID_FLAG);
         os.write(PrimitiveCodec.encodeInt(tupleIds.size()));
         List<Object[]> tuples = new ArrayList<>();
         for (TupleId tupleId : tupleIds) {
@@ -61,7 +81,11 @@ public class TxRxCodecImpl implements TxRxCodec {
             os.write(tupleId.getIndexId() == null ? CommonId.EMPTY_INDEX.encode(): tupleId.getIndexId().encode());
             tuples.add(tupleId.getTuple());
         }
-        codec.encode(os, tuples);
+        if (codecType == TupleCodecType.BINARY) {
+            binaryCodec.encode(os, tuples);
+        } else {
+            codec.encode(os, tuples);
+        }
     }
 
     @Override
@@ -75,44 +99,62 @@ public class TxRxCodecImpl implements TxRxCodec {
     }
 
     @Override
-    public List<TupleId> decode(byte[] bytes) throws IOException {
-        ByteArrayInputStream is = new ByteArrayInputStream(bytes);
+    public List<TupleId> decode(ByteBuffer buffer) throws IOException {
+        InputStream is = new ByteBufferInputStream(buffer);
         int flag = is.read();
         switch (flag) {
             case TUPLES_FLAG:
-                return codec.decode(is).stream().map(t -> TupleId.builder().tuple(t).build()).collect(Collectors.toList());
+                return decodeTuples(is, codec);
+            case BINARY_TUPLES_FLAG:
+                return decodeTuples(is, binaryCodec);
             case NORMAL_FIN_FLAG:
                 return Collections.singletonList(TupleId.builder().tuple(new Object[]{FinWithProfiles.deserialize(is)}).build());
             case ABNORMAL_FIN_FLAG:
                 return Collections.singletonList(TupleId.builder().tuple(new Object[]{FinWithException.deserialize(is)}).build());
             case TUPLES_ID_FLAG:
-                byte[] sizeByte = new byte[4];
-                is.read(sizeByte, 0, 4);
-                int size = PrimitiveCodec.decodeInt(sizeByte);
-                List<CommonId> partIds = new ArrayList<>();
-                List<CommonId> indexIds = new ArrayList<>();
-                for (int i = 0; i < size; i++) {
-                    byte[] b1 = new byte[CommonId.LEN];
-                    is.read(b1, 0, CommonId.LEN);
-                    partIds.add(CommonId.decode(b1));
-                    byte[] b2 = new byte[CommonId.LEN];
-                    is.read(b2, 0 ,CommonId.LEN);
-                    indexIds.add(CommonId.decode(b2));
-                }
-                List<Object[]> tuples = codec.decode(is);
-                List<TupleId> tupleIds = new ArrayList<>();
-                for (int i = 0; i < partIds.size(); i++) {
-                    CommonId indexId = indexIds.get(i);
-                    tupleIds.add(TupleId.builder()
-                        .partId(partIds.get(i))
-                        .tuple(tuples.get(i))
-                        .indexId(indexId.equals(CommonId.EMPTY_INDEX) ? null : indexId)
-                        .build()
-                    );
-                }
-                return tupleIds;
+                return decodeTupleIds(is, codec);
+            case BINARY_TUPLES_ID_FLAG:
+                return decodeTupleIds(is, binaryCodec);
             default:
         }
         throw new IllegalStateException("Unexpected data message flag \"" + flag + "\".");
     }
+
+    private static @NonNull List<TupleId> decodeTuples(
+        InputStream is,
+        @NonNull TupleCodec tupleCodec
+    ) throws IOException {
+        return tupleCodec.decode(is).stream().map(t -> TupleId.builder().tuple(t).build()).collect(Collectors.toList());
+    }
+
+    private static @NonNull List<TupleId> decodeTupleIds(
+        InputStream is,
+        @NonNull TupleCodec tupleCodec
+    ) throws IOException {
+        byte[] sizeByte = new byte[4];
+        is.read(sizeByte, 0, 4);
+        int size = PrimitiveCodec.decodeInt(sizeByte);
+        List<CommonId> partIds = new ArrayList<>();
+        List<CommonId> indexIds = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            byte[] b1 = new byte[CommonId.LEN];
+            is.read(b1, 0, CommonId.LEN);
+            partIds.add(CommonId.decode(b1));
+            byte[] b2 = new byte[CommonId.LEN];
+            is.read(b2, 0 ,CommonId.LEN);
+            indexIds.add(CommonId.decode(b2));
+        }
+        List<Object[]> tuples = tupleCodec.decode(is);
+        List<TupleId> tupleIds = new ArrayList<>();
+        for (int i = 0; i < partIds.size(); i++) {
+            CommonId indexId = indexIds.get(i);
+            tupleIds.add(TupleId.builder()
+                .partId(partIds.get(i))
+                .tuple(tuples.get(i))
+                .indexId(indexId.equals(CommonId.EMPTY_INDEX) ? null : indexId)
+                .build()
+            );
+        }
+        return tupleIds;
+    }
 }
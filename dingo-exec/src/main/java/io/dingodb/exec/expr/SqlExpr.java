@@ -74,10 +74,14 @@ public class SqlExpr {
     }
 
     public void compileIn(DingoType tupleType, DingoType parasType) {
+        CompileContext context = new SqlExprCompileContext(tupleType, parasType);
+        expr = SqlExprCache.INSTANCE.get(exprString, tupleType, parasType, () -> compile(context));
+        etx = new SqlExprEvalContext();
+    }
+
+    private Expr compile(CompileContext context) {
         try {
-            CompileContext context = new SqlExprCompileContext(tupleType, parasType);
-            expr = ExprCompiler.ADVANCED.visit(getExpr(), context);
-            etx = new SqlExprEvalContext();
+            return ExprCompiler.ADVANCED.visit(getExpr(), context);
         } catch (ExprParseException | ExprCompileException e) {
             throw new IllegalStateException(e);
         }
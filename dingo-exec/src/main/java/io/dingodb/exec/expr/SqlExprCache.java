@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.expr;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.expr.runtime.expr.Expr;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Cache of compiled expressions, shared by all tasks.
+ *
+ * <p>An expression is keyed by its text, the tuple type and the parameter type it is compiled against. Compiled
+ * expressions are immutable and evaluated with a separate {@link SqlExprEvalContext} per {@link SqlExpr}, so they can
+ * be shared. Expressions calling nullary functions (like {@code now()}) are not cached, for they may be folded to
+ * constants at compiling.
+ */
+final class SqlExprCache {
+    static final SqlExprCache INSTANCE = new SqlExprCache(4096);
+
+    private final Cache<Key, Expr> cache;
+
+    private SqlExprCache(long maxSize) {
+        cache = CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    static boolean isCacheable(@NonNull String exprString) {
+        return !exprString.contains("()");
+    }
+
+    @NonNull Expr get(
+        @NonNull String exprString,
+        @NonNull DingoType tupleType,
+        @Nullable DingoType parasType,
+        @NonNull Supplier<Expr> compiler
+    ) {
+        if (!isCacheable(exprString)) {
+            return compiler.get();
+        }
+        try {
+            return cache.get(new Key(exprString, tupleType, parasType), compiler::get);
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    long size() {
+        return cache.size();
+    }
+
+    void clear() {
+        cache.invalidateAll();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String exprString;
+        private final DingoType tupleType;
+        private final DingoType parasType;
+    }
+}
@@ -23,8 +23,8 @@ import io.dingodb.expr.json.runtime.Parser;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 
 public class FinWithException implements Fin {
@@ -39,7 +39,7 @@ public class FinWithException implements Fin {
         this.taskStatus = taskStatus;
     }
 
-    public static FinWithException deserialize(ByteArrayInputStream is) throws IOException {
+    public static FinWithException deserialize(InputStream is) throws IOException {
         return PARSER.parse(is, FinWithException.class);
     }
 
@@ -27,8 +27,8 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
@@ -55,7 +55,7 @@ public class FinWithProfiles implements Fin {
         }
     }
 
-    public static FinWithProfiles deserialize(ByteArrayInputStream is) throws IOException {
+    public static FinWithProfiles deserialize(InputStream is) throws IOException {
         return PARSER.parse(is, FinWithProfiles.class);
     }
 
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.fun.vector;
+
+import io.dingodb.common.exception.DingoSqlException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * Distance kernels over primitive {@code float[]} vectors.
+ *
+ * <p>The loops are unrolled by four with independent accumulators, so the JIT can keep them in registers and
+ * auto-vectorize them. The results are the same as the {@code List}-based vector functions up to the rounding of
+ * the summation order.
+ */
+public final class VectorDistances {
+    private static final double EPSILON = 1E-30;
+
+    private VectorDistances() {
+    }
+
+    public static float @NonNull [] toArray(@NonNull List<? extends Number> vector) {
+        float[] result = new float[vector.size()];
+        int i = 0;
+        for (Number value : vector) {
+            result[i++] = value.floatValue();
+        }
+        return result;
+    }
+
+    public static void checkDimension(int dimensionA, int dimensionB) {
+        if (dimensionA != dimensionB) {
+            throw new DingoSqlException(
+                "The dimensions of the source vector and the target vector must be consistent", 5001, "45000"
+            );
+        }
+    }
+
+    /**
+     * Squared euclidean distance, the same as {@code l2Distance}.
+     */
+    public static double l2Squared(float @NonNull [] vectorA, float @NonNull [] vectorB) {
+        int len = vectorA.length;
+        int bound = len & ~3;
+        double sum0 = 0.0;
+        double sum1 = 0.0;
+        double sum2 = 0.0;
+        double sum3 = 0.0;
+        int i = 0;
+        for (; i < bound; i += 4) {
+            float d0 = vectorA[i] - vectorB[i];
+            float d1 = vectorA[i + 1] - vectorB[i + 1];
+            float d2 = vectorA[i + 2] - vectorB[i + 2];
+            float d3 = vectorA[i + 3] - vectorB[i + 3];
+            sum0 += (double) d0 * d0;
+            sum1 += (double) d1 * d1;
+            sum2 += (double) d2 * d2;
+            sum3 += (double) d3 * d3;
+        }
+        for (; i < len; ++i) {
+            float d = vectorA[i] - vectorB[i];
+            sum0 += (double) d * d;
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    public static double dot(float @NonNull [] vectorA, float @NonNull [] vectorB) {
+        int len = vectorA.length;
+        int bound = len & ~3;
+        double sum0 = 0.0;
+        double sum1 = 0.0;
+        double sum2 = 0.0;
+        double sum3 = 0.0;
+        int i = 0;
+        for (; i < bound; i += 4) {
+            sum0 += vectorA[i] * vectorB[i];
+            sum1 += vectorA[i + 1] * vectorB[i + 1];
+            sum2 += vectorA[i + 2] * vectorB[i + 2];
+            sum3 += vectorA[i + 3] * vectorB[i + 3];
+        }
+        for (; i < len; ++i) {
+            sum0 += vectorA[i] * vectorB[i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * Inner product distance, i.e. {@code 1 - dot}, the same as {@code IPDistance}.
+     */
+    public static double innerProduct(float @NonNull [] vectorA, float @NonNull [] vectorB) {
+        return 1 - dot(vectorA, vectorB);
+    }
+
+    /**
+     * Cosine distance, i.e. {@code 1 - cos}, the same as {@code cosineDistance}.
+     *
+     * <p>The dot product and both norms are accumulated in one pass, instead of normalizing the vectors first.
+     */
+    public static double cosine(float @NonNull [] vectorA, float @NonNull [] vectorB) {
+        int len = vectorA.length;
+        int bound = len & ~1;
+        double dot0 = 0.0;
+        double dot1 = 0.0;
+        double normA0 = 0.0;
+        double normA1 = 0.0;
+        double normB0 = 0.0;
+        double normB1 = 0.0;
+        int i = 0;
+        for (; i < bound; i += 2) {
+            float a0 = vectorA[i];
+            float a1 = vectorA[i + 1];
+            float b0 = vectorB[i];
+            float b1 = vectorB[i + 1];
+            dot0 += a0 * b0;
+            dot1 += a1 * b1;
+            normA0 += a0 * a0;
+            normA1 += a1 * a1;
+            normB0 += b0 * b0;
+            normB1 += b1 * b1;
+        }
+        if (i < len) {
+            float a = vectorA[i];
+            float b = vectorB[i];
+            dot0 += a * b;
+            normA0 += a * a;
+            normB0 += b * b;
+        }
+        double normA = Math.sqrt(normA0 + normA1) + EPSILON;
+        double normB = Math.sqrt(normB0 + normB1) + EPSILON;
+        return 1 - (dot0 + dot1) / normA / normB;
+    }
+
+    /**
+     * Get the kernel for a metric type of vector index, like {@code METRIC_TYPE_L2}.
+     *
+     * @return the kernel, or {@code null} if the metric type is not supported
+     */
+    public static @Nullable Kernel kernelOf(@Nullable String metricType) {
+        if (metricType == null) {
+            return null;
+        }
+        String type = metricType.toUpperCase();
+        if (type.contains("L2")) {
+            return VectorDistances::l2Squared;
+        } else if (type.contains("INNER_PRODUCT")) {
+            return VectorDistances::innerProduct;
+        } else if (type.contains("COSINE")) {
+            return VectorDistances::cosine;
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    public interface Kernel {
+        double distance(float[] vectorA, float[] vectorB);
+    }
+}
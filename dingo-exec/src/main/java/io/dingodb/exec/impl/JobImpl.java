@@ -17,6 +17,7 @@
 package io.dingodb.exec.impl;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
@@ -28,6 +29,7 @@ import io.dingodb.common.Location;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.message.TaskCodecType;
 import io.dingodb.exec.transaction.base.TransactionType;
 import io.dingodb.expr.json.runtime.Parser;
 import io.dingodb.store.api.transaction.data.IsolationLevel;
@@ -70,22 +72,28 @@ public final class JobImpl implements Job {
     private final long maxExecutionTime;
     private final Boolean isSelect;
 
+    @JsonIgnore
+    @Getter
+    private final TaskCodecType taskCodec;
+
     @JsonCreator
     public JobImpl(@JsonProperty("jobId") CommonId jobId, @JsonProperty("jobId") CommonId txnId) {
-        this(jobId, txnId,null, 0, null);
+        this(jobId, txnId,null, 0, null, TaskCodecType.LEGACY);
     }
 
     public JobImpl(@JsonProperty("jobId") CommonId jobId,
                    @JsonProperty("jobId") CommonId txnId,
                    @Nullable DingoType parasType,
                    @JsonProperty("executeTimeout") long maxExecutionTimeout,
-                   @JsonProperty("isSelect") Boolean isSelect) {
+                   @JsonProperty("isSelect") Boolean isSelect,
+                   TaskCodecType taskCodec) {
         this.jobId = jobId;
         this.txnId = txnId;
         this.tasks = new HashMap<>();
         this.parasType = parasType;
         this.maxExecutionTime = maxExecutionTimeout;
         this.isSelect = isSelect;
+        this.taskCodec = taskCodec;
     }
 
     @Override
@@ -25,13 +25,16 @@ import io.dingodb.exec.operator.RootOperator;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Arrays;
+
 public class JobIteratorImpl extends JobIterator {
     private final RootOperator operator;
 
     @Getter
     private Long autoIncId;
     private transient Object[] prev;
-    private transient Object[] current;
+    private transient Object[][] batch;
+    private transient int pos;
     private final transient Vertex vertex;
 
     @Getter
@@ -41,12 +44,17 @@ public class JobIteratorImpl extends JobIterator {
         super(job);
         this.operator = (RootOperator) OperatorFactory.getInstance(vertex.getOp());
         this.vertex = vertex;
-        current = operator.popValue(vertex);
+        batch = operator.popBatch(vertex);
+        pos = 0;
     }
 
     @Override
     public boolean hasNext() {
-        if (current != RootOperator.FIN) {
+        while (batch != RootOperator.FIN_BATCH && pos == batch.length) {
+            batch = operator.popBatch(vertex);
+            pos = 0;
+        }
+        if (batch != RootOperator.FIN_BATCH) {
             return true;
         }
         operator.checkError(vertex);
@@ -58,8 +66,16 @@ public class JobIteratorImpl extends JobIterator {
 
     @Override
     public Object[] next() {
-        prev = current;
-        current = operator.popValue(vertex);
+        prev = batch[pos++];
         return prev;
     }
+
+    @Override
+    public Object[][] nextBatch(int maxCount) {
+        int end = pos + Math.min(maxCount, batch.length - pos);
+        Object[][] values = (pos == 0 && end == batch.length ? batch : Arrays.copyOfRange(batch, pos, end));
+        pos = end;
+        prev = values[values.length - 1];
+        return values;
+    }
 }
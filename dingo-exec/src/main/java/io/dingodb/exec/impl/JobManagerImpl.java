@@ -24,6 +24,7 @@ import io.dingodb.common.Location;
 import io.dingodb.common.ddl.RunningJobs;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.base.IdGenerator;
@@ -34,8 +35,10 @@ import io.dingodb.exec.base.Task;
 import io.dingodb.exec.base.TaskManager;
 import io.dingodb.exec.impl.message.CancelTaskMessage;
 import io.dingodb.exec.impl.message.CreateTaskMessage;
+import io.dingodb.exec.impl.message.CreateTasksMessage;
 import io.dingodb.exec.impl.message.DestroyTaskMessage;
 import io.dingodb.exec.impl.message.RunTaskMessage;
+import io.dingodb.exec.impl.message.TaskCodecType;
 import io.dingodb.exec.impl.message.TaskMessage;
 import io.dingodb.exec.operator.params.RootParam;
 import io.dingodb.exec.transaction.base.ITransaction;
@@ -48,8 +51,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -84,7 +90,14 @@ public final class JobManagerImpl implements JobManager {
                                   DingoType parasType,
                                   long maxExecutionTime,
                                   Boolean isSelect) {
-        Job job = new JobImpl(idGenerator.getJobId(startTs, jobSeqId), txnId, parasType, maxExecutionTime, isSelect);
+        Job job = new JobImpl(
+            idGenerator.getJobId(startTs, jobSeqId),
+            txnId,
+            parasType,
+            maxExecutionTime,
+            isSelect,
+            TaskCodecType.of(ScopeVariables.getTaskCodec())
+        );
         CommonId jobId = job.getJobId();
         jobMap.put(jobId, job);
         LogUtils.debug(log, "Created job \"{}\". # of jobs: {}.", jobId, jobMap.size());
@@ -109,7 +122,10 @@ public final class JobManagerImpl implements JobManager {
                     taskManager.removeTask(task);
                     continue;
                 }
-                sendTaskMessage(task, new Message(TASK_TAG, new DestroyTaskMessage(task).toBytes()));
+                sendTaskMessage(
+                    task,
+                    new Message(TASK_TAG, new DestroyTaskMessage(task).toBytes(job.getTaskCodec()))
+                );
             }
         }
     }
@@ -160,11 +176,16 @@ public final class JobManagerImpl implements JobManager {
                 task.cancel();
                 continue;
             }
-            sendTaskMessage(task, new Message(TASK_TAG, new CancelTaskMessage(task).toBytes()));
+            sendTaskMessage(
+                task,
+                new Message(TASK_TAG, new CancelTaskMessage(task).toBytes(job.getTaskCodec()))
+            );
         }
     }
 
     private void distributeTasks(@NonNull Job job) {
+        TaskCodecType codecType = job.getTaskCodec();
+        Map<Location, List<Task>> remoteTasks = new LinkedHashMap<>();
         for (Task task : job.getTasks().values()) {
             if (task.getRoot() != null) {
                 assert task.getLocation().equals(MetaService.root().currentLocation())
@@ -174,39 +195,65 @@ public final class JobManagerImpl implements JobManager {
             }
             // Currently only root task is run at localhost, if a task is at localhost but not root task,
             // it is just ignored. Just distribute all the tasks to avoid this.
+            remoteTasks.computeIfAbsent(task.getLocation(), k -> new ArrayList<>()).add(task);
+        }
+        for (List<Task> tasks : remoteTasks.values()) {
             try {
-                sendTaskMessage(task, new Message(TASK_TAG, new CreateTaskMessage(task).toBytes()));
+                // Nodes without the header cannot read `CreateTasksMessage` either.
+                if (tasks.size() == 1 || !codecType.hasHeader()) {
+                    for (Task task : tasks) {
+                        sendCreateMessage(Collections.singletonList(task), new CreateTaskMessage(task), codecType);
+                    }
+                } else {
+                    sendCreateMessage(tasks, new CreateTasksMessage(tasks), codecType);
+                }
             } catch (Exception e) {
                 LogUtils.error(log, "jobId:{}, Error to distribute tasks.", job.getJobId(), e);
-                throw new RuntimeException("jobId:" + job.getJobId() + "taskId:" + task.getId() + ", Error to distribute tasks.", e);
+                throw new RuntimeException("jobId:" + job.getJobId() + "taskId:" + tasks.get(0).getId() + ", Error to distribute tasks.", e);
             }
         }
     }
 
+    private void sendCreateMessage(@NonNull List<Task> tasks, @NonNull TaskMessage message, TaskCodecType codecType) {
+        byte[] content = message.toBytes(codecType);
+        DingoMetrics.histogram("task_message_size", content.length);
+        sendTaskMessage(tasks, new Message(TASK_TAG, content));
+    }
+
     private void run(@NonNull Job job, Object @Nullable [] paras) {
+        TaskCodecType codecType = job.getTaskCodec();
         for (Task task : job.getTasks().values()) {
             if (task.getRoot() != null) {
                 task.run(paras);
                 continue;
             }
-            sendTaskMessage(task, new Message(TASK_TAG, new RunTaskMessage(task, job.getParasType(), paras).toBytes()));
+            sendTaskMessage(
+                task,
+                new Message(TASK_TAG, new RunTaskMessage(task, job.getParasType(), paras).toBytes(codecType))
+            );
         }
     }
 
-    private void sendTaskMessage(@NonNull Task task, Message message) {
-        Location location = task.getLocation();
+    private void sendTaskMessage(@NonNull List<Task> tasks, Message message) {
+        Location location = tasks.get(0).getLocation();
         Channel channel = channelMap.computeIfAbsent(
             location,
             l -> Services.openNewSysChannel(l.getHost(), l.getPort())
         );
         channel.setCloseListener(__ -> channelMap.remove(location));
         channel.send(message);
-        ITransaction transaction = TransactionManager.getTransaction(task.getTxnId());
-        if (transaction != null) {
-            transaction.registerChannel(task.getId(), channel);
+        for (Task task : tasks) {
+            ITransaction transaction = TransactionManager.getTransaction(task.getTxnId());
+            if (transaction != null) {
+                transaction.registerChannel(task.getId(), channel);
+            }
         }
     }
 
+    private void sendTaskMessage(@NonNull Task task, Message message) {
+        sendTaskMessage(Collections.singletonList(task), message);
+    }
+
     public void processMessage(@NonNull Message message) {
         final Timer.Context timeCtx = DingoMetrics.getTimeContext("deserialize");
         TaskMessage taskMessage;
@@ -219,6 +266,8 @@ public final class JobManagerImpl implements JobManager {
         timeCtx.stop();
         if (taskMessage instanceof CreateTaskMessage) {
             processCommand((CreateTaskMessage) taskMessage);
+        } else if (taskMessage instanceof CreateTasksMessage) {
+            processCommand((CreateTasksMessage) taskMessage);
         } else if (taskMessage instanceof RunTaskMessage) {
             processCommand((RunTaskMessage) taskMessage);
         } else if (taskMessage instanceof CancelTaskMessage) {
@@ -231,16 +280,7 @@ public final class JobManagerImpl implements JobManager {
     private void processCommand(@NonNull CreateTaskMessage cmd) {
         final long startTime = System.currentTimeMillis();
         try {
-            Task task = cmd.getTask();
-            // 1、cross node need add transaction
-            // 2、check whether the current node can execute transactions
-            ITransaction transaction = TransactionManager.getTransaction(task.getTxnId() == null ? CommonId.EMPTY_TRANSACTION : task.getTxnId());
-            if (transaction == null) {
-                TransactionManager.createTransaction(task.getTransactionType(),
-                    task.getTxnId() == null ? CommonId.EMPTY_TRANSACTION : task.getTxnId(),
-                    task.getIsolationLevel().getCode());
-            }
-            taskManager.addTask(task);
+            addTask(cmd.getTask());
         } finally {
             final long cost = System.currentTimeMillis() - startTime;
             LogUtils.debug(log, "jobTime cost: {}ms.", cost);
@@ -248,6 +288,29 @@ public final class JobManagerImpl implements JobManager {
         }
     }
 
+    private void processCommand(@NonNull CreateTasksMessage cmd) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            cmd.getTasks().forEach(this::addTask);
+        } finally {
+            final long cost = System.currentTimeMillis() - startTime;
+            LogUtils.debug(log, "jobTime cost: {}ms.", cost);
+            DingoMetrics.latency("on_task_message", cost);
+        }
+    }
+
+    private void addTask(@NonNull Task task) {
+        // 1、cross node need add transaction
+        // 2、check whether the current node can execute transactions
+        ITransaction transaction = TransactionManager.getTransaction(task.getTxnId() == null ? CommonId.EMPTY_TRANSACTION : task.getTxnId());
+        if (transaction == null) {
+            TransactionManager.createTransaction(task.getTransactionType(),
+                task.getTxnId() == null ? CommonId.EMPTY_TRANSACTION : task.getTxnId(),
+                task.getIsolationLevel().getCode());
+        }
+        taskManager.addTask(task);
+    }
+
     private void processCommand(@NonNull RunTaskMessage cmd) {
         Task task = taskManager.getTask(cmd.getJobId(), cmd.getTaskId());
         task.run(cmd.getParas());
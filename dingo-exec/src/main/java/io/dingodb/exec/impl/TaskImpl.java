@@ -17,6 +17,7 @@
 package io.dingodb.exec.impl;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
@@ -28,6 +29,7 @@ import io.dingodb.common.Location;
 import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.log.MdcUtils;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.OperatorFactory;
 import io.dingodb.exec.base.Operator;
@@ -40,6 +42,7 @@ import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.fin.TaskStatus;
 import io.dingodb.exec.operator.SourceOperator;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.spill.MemoryBudget;
 import io.dingodb.exec.transaction.base.TransactionType;
 import io.dingodb.store.api.transaction.data.IsolationLevel;
 import io.dingodb.store.api.transaction.exception.DuplicateEntryException;
@@ -122,6 +125,7 @@ public final class TaskImpl implements Task {
     private transient TaskStatus taskInitStatus;
     @Setter
     private transient Context context;
+    private final transient MemoryBudget memoryBudget;
 
     @JsonCreator
     public TaskImpl(
@@ -147,6 +151,7 @@ public final class TaskImpl implements Task {
         this.maxExecutionTime = maxExecutionTime;
         this.isSelect = isSelect;
         this.context = Context.builder().pin(0).keyState(new ArrayList<>()).build();
+        this.memoryBudget = new MemoryBudget(ScopeVariables.getTaskMemoryLimit());
     }
 
     public Context getContext() {
@@ -156,6 +161,12 @@ public final class TaskImpl implements Task {
         return this.context;
     }
 
+    @JsonIgnore
+    @Override
+    public MemoryBudget getMemoryBudget() {
+        return memoryBudget;
+    }
+
     @Override
     public Vertex getRoot() {
         return vertexes.get(rootOperatorId);
@@ -244,7 +255,8 @@ public final class TaskImpl implements Task {
             Operator operator = OperatorFactory.getInstance(vertex.getOp());
             assert operator instanceof SourceOperator
                 : "Operators in run list must be source operator.";
-            Executors.execute("operator-" + jobId + "-" + id + "-" + operatorId, () -> {
+            boolean blocking = ((SourceOperator) operator).isBlocking(vertex);
+            runSource(jobId, "operator-" + jobId + "-" + id + "-" + operatorId, blocking, () -> {
                 MdcUtils.setTxnId(txnId.toString());
                 final long startTime = System.currentTimeMillis();
                 activeTaskCount.incrementAndGet();
@@ -298,6 +310,18 @@ public final class TaskImpl implements Task {
         status.compareAndSet(Status.STOPPED, Status.READY);
     }
 
+    /**
+     * Run a source operator. It is queued on the query workers by job, so that concurrent jobs share the workers
+     * fairly, unless it blocks waiting for other tasks, which would hold a worker and a slot of the job for long.
+     */
+    static void runSource(CommonId jobId, String name, boolean blocking, Runnable runnable) {
+        if (blocking) {
+            Executors.execute(name, runnable);
+        } else {
+            Executors.execute(jobId, name, runnable);
+        }
+    }
+
     @Override
     public boolean cancel() {
         status.set(Status.CANCEL);
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl.message;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.TaskImpl;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Create all the tasks of a job at the same location in one message, so the objects shared by the tasks (like schemas
+ * and table definitions) are serialized only once.
+ */
+@JsonTypeName("createAll")
+public class CreateTasksMessage extends TaskMessage {
+    @JsonProperty("tasks")
+    @Getter
+    private final List<Task> tasks;
+
+    @JsonCreator
+    public CreateTasksMessage(
+        @JsonDeserialize(contentAs = TaskImpl.class)
+        @JsonProperty("tasks") List<Task> tasks
+    ) {
+        this.tasks = tasks;
+    }
+}
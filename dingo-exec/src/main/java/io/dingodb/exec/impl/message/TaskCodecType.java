@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl.message;
+
+import lombok.Getter;
+
+public enum TaskCodecType {
+    /**
+     * Protostuff without the header, the only format readable by the nodes before the header was added. It is the
+     * default, so the nodes of a cluster can be upgraded one by one.
+     */
+    LEGACY((byte) 0),
+    /**
+     * Protostuff runtime schema with the header, in which the objects referenced more than once in a message are
+     * written once. The co-located tasks of a job are created by one {@link CreateTasksMessage}. Select it only after
+     * all the nodes are upgraded.
+     */
+    PROTOSTUFF((byte) 1);
+
+    @Getter
+    private final byte tag;
+
+    TaskCodecType(byte tag) {
+        this.tag = tag;
+    }
+
+    public boolean hasHeader() {
+        return this != LEGACY;
+    }
+
+    public static TaskCodecType of(String name) {
+        for (TaskCodecType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return LEGACY;
+    }
+
+    public static TaskCodecType of(byte tag) {
+        for (TaskCodecType type : values()) {
+            if (type.hasHeader() && type.tag == tag) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task codec tag: " + tag);
+    }
+}
@@ -21,9 +21,8 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.dingodb.common.codec.ProtostuffCodec;
 import io.dingodb.exec.impl.JobImpl;
-import lombok.extern.slf4j.Slf4j;
 
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 
 @JsonTypeInfo(
     use = JsonTypeInfo.Id.NAME,
@@ -31,23 +30,42 @@ import java.nio.charset.StandardCharsets;
 )
 @JsonSubTypes({
     @JsonSubTypes.Type(CreateTaskMessage.class),
+    @JsonSubTypes.Type(CreateTasksMessage.class),
     @JsonSubTypes.Type(RunTaskMessage.class),
+    @JsonSubTypes.Type(CancelTaskMessage.class),
     @JsonSubTypes.Type(DestroyTaskMessage.class),
 })
-@Slf4j
 public abstract class TaskMessage {
+    /**
+     * The first byte of a message with a header, never the first byte of a Protostuff message (a field tag).
+     */
+    private static final byte MAGIC = 0;
+    private static final int HEADER_LEN = 2;
+
     public static TaskMessage fromBytes(byte[] bytes) throws JsonProcessingException {
-//        String str = new String(bytes, StandardCharsets.UTF_8);
-//        if (log.isDebugEnabled()) {
-//            log.debug("TaskMessage deserialized, content: {}", str);
-//        }
-//        return JobImpl.PARSER.parse(str, TaskMessage.class);
-        return ProtostuffCodec.read(bytes);
+        if (bytes.length < HEADER_LEN || bytes[0] != MAGIC) {
+            // Messages without header are written by Protostuff.
+            return ProtostuffCodec.read(bytes);
+        }
+        // Fails on the codecs of newer versions.
+        TaskCodecType.of(bytes[1]);
+        return ProtostuffCodec.read(ByteBuffer.wrap(bytes, HEADER_LEN, bytes.length - HEADER_LEN));
     }
 
     public byte[] toBytes() {
-//        return toString().getBytes(StandardCharsets.UTF_8);
-        return ProtostuffCodec.write(this);
+        return toBytes(TaskCodecType.LEGACY);
+    }
+
+    public byte[] toBytes(TaskCodecType codecType) {
+        byte[] content = ProtostuffCodec.write(this);
+        if (!codecType.hasHeader()) {
+            return content;
+        }
+        byte[] bytes = new byte[HEADER_LEN + content.length];
+        bytes[0] = MAGIC;
+        bytes[1] = codecType.getTag();
+        System.arraycopy(content, 0, bytes, HEADER_LEN, content.length);
+        return bytes;
     }
 
     @Override
@@ -16,11 +16,15 @@
 
 package io.dingodb.exec.operator;
 
+import io.dingodb.common.profile.OperatorProfile;
+import io.dingodb.exec.aggregate.AggCache;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.AggregateParams;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -38,17 +42,33 @@ public final class AggregateOperator extends SoleOutOperator {
         return true;
     }
 
+    @Override
+    public boolean pushBatch(Context context, TupleBatch batch, Vertex vertex) {
+        AggregateParams params = vertex.getParam();
+        params.addTuples(batch);
+        return true;
+    }
+
     @Override
     public  void fin(int pin, Fin fin, Vertex vertex) {
         AggregateParams params = vertex.getParam();
         Edge edge = vertex.getSoleEdge();
-        for (Object[] t : params.getCache()) {
-            if (!edge.transformToNext(t)) {
-                break;
+        AggCache cache = params.getCache();
+        try {
+            for (Object[] t : cache) {
+                if (!edge.transformToNext(t)) {
+                    break;
+                }
+            }
+            if (cache.getSpillCount() > 0 && fin instanceof FinWithProfiles) {
+                OperatorProfile profile = params.getProfile("aggregate");
+                profile.spill(cache.getSpillCount(), cache.getSpillBytes());
+                ((FinWithProfiles) fin).addProfile(profile);
             }
+            edge.fin(fin);
+        } finally {
+            // Reset, also removes the spill files.
+            params.clear();
         }
-        edge.fin(fin);
-        // Reset
-        params.clear();
     }
 }
@@ -17,9 +17,11 @@
 package io.dingodb.exec.operator;
 
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.expr.SqlExpr;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.FilterParam;
+import io.dingodb.exec.tuple.TupleBatch;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class FilterOperator extends SoleOutOperator {
@@ -41,6 +43,19 @@ public final class FilterOperator extends SoleOutOperator {
         }
     }
 
+    @Override
+    public boolean pushBatch(Context context, TupleBatch batch, Vertex vertex) {
+        synchronized (vertex) {
+            FilterParam params = vertex.getParam();
+            SqlExpr filter = params.getFilter();
+            batch.filter(t -> {
+                Boolean v = (Boolean) filter.eval(t);
+                return v != null && v;
+            });
+            return vertex.getSoleEdge().transformBatchToNext(context, batch);
+        }
+    }
+
     @Override
     public void fin(int pin, Fin fin, Vertex vertex) {
         vertex.getSoleEdge().fin(fin);
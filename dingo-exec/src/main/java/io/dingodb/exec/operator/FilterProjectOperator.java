@@ -31,7 +31,10 @@ public abstract class FilterProjectOperator extends IteratorOperator {
     @Override
     protected Iterator<Object[]> createIterator(Context context, Object[] tuple, Vertex vertex) {
         FilterProjectParam param = vertex.getParam();
-        Iterator<Object[]> iterator = createSourceIterator(context, tuple, vertex);
+        return filterProject(createSourceIterator(context, tuple, vertex), param);
+    }
+
+    protected static Iterator<Object[]> filterProject(Iterator<Object[]> iterator, FilterProjectParam param) {
         SqlExpr filter = param.getFilter();
         TupleMapping selection = param.getSelection();
         if (selection != null) {
@@ -18,23 +18,23 @@ package io.dingodb.exec.operator;
 
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.profile.Profile;
-import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
-import io.dingodb.exec.operator.data.TupleWithJoinFlag;
+import io.dingodb.exec.operator.hash.JoinHashTable;
 import io.dingodb.exec.operator.params.HashJoinParam;
-import io.dingodb.exec.tuple.TupleKey;
+import io.dingodb.exec.spill.SpillFile;
+import io.dingodb.exec.spill.SpillPartitions;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.function.Predicate;
 
 @Slf4j
 public class HashJoinOperator extends SoleOutOperator {
@@ -49,38 +49,64 @@ public class HashJoinOperator extends SoleOutOperator {
         HashJoinParam param = vertex.getParam();
         OperatorProfile profile = param.getProfile("hashJoin");
         long start = System.currentTimeMillis();
-        TupleMapping leftMapping = param.getLeftMapping();
-        TupleMapping rightMapping = param.getRightMapping();
-        int leftLength = param.getLeftLength();
-        int rightLength = param.getRightLength();
-        boolean leftRequired = param.isLeftRequired();
         int pin = context.getPin();
         param.setContext(context);
         if (pin == 0) { // left
             waitRightFinFlag(param);
-            TupleKey leftKey = new TupleKey(leftMapping.revMap(tuple));
-            List<TupleWithJoinFlag> rightList = param.getHashMap().get(leftKey);
-            if (rightList != null) {
-                for (TupleWithJoinFlag t : rightList) {
-                    Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                    System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                    t.setJoined(true);
-                    if (!edge.transformToNext(context, newTuple)) {
-                        profile.time(start);
-                        return false;
-                    }
+            if (param.isSpilled()) {
+                param.spillLeft(tuple);
+                profile.time(start);
+                return true;
+            }
+            boolean result = probe(param, param.getHashTable(), tuple, t -> edge.transformToNext(context, t));
+            profile.time(start);
+            return result;
+        } else if (pin == 1) { //right
+            param.addRight(tuple);
+        }
+        profile.time(start);
+        return true;
+    }
+
+    @Override
+    public boolean pushBatch(Context context, TupleBatch batch, Vertex vertex) {
+        Edge edge = vertex.getSoleEdge();
+        HashJoinParam param = vertex.getParam();
+        OperatorProfile profile = param.getProfile("hashJoin");
+        long start = System.currentTimeMillis();
+        int pin = context.getPin();
+        param.setContext(context);
+        int count = batch.count();
+        if (pin == 0) { // left
+            waitRightFinFlag(param);
+            if (param.isSpilled()) {
+                for (int i = 0; i < count; ++i) {
+                    param.spillLeft(batch.get(i));
                 }
-            } else if (leftRequired) {
-                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
                 profile.time(start);
-                return edge.transformToNext(context, newTuple);
+                return true;
+            }
+            JoinHashTable hashTable = param.getHashTable();
+            TupleBatch[] output = new TupleBatch[]{new TupleBatch(count)};
+            for (int i = 0; i < count; ++i) {
+                boolean goOn = probe(param, hashTable, batch.get(i), t -> {
+                    if (output[0].add(t)) {
+                        TupleBatch full = output[0];
+                        output[0] = new TupleBatch(count);
+                        return edge.transformBatchToNext(context, full);
+                    }
+                    return true;
+                });
+                if (!goOn) {
+                    profile.time(start);
+                    return false;
+                }
             }
+            boolean result = edge.transformBatchToNext(context, output[0]);
+            profile.time(start);
+            return result;
         } else if (pin == 1) { //right
-            TupleKey rightKey = new TupleKey(rightMapping.revMap(tuple));
-            List<TupleWithJoinFlag> list = param.getHashMap()
-                .computeIfAbsent(rightKey, k -> Collections.synchronizedList(new LinkedList<>()));
-            list.add(new TupleWithJoinFlag(tuple));
+            param.addRightAll(batch.toArray());
         }
         profile.time(start);
         return true;
@@ -94,42 +120,33 @@ public class HashJoinOperator extends SoleOutOperator {
             return;
         }
         HashJoinParam param = vertex.getParam();
-        boolean rightRequired = param.isRightRequired();
-        int leftLength = param.getLeftLength();
-        int rightLength = param.getRightLength();
         if (pin == 0) { // left
-            if (rightRequired) {
+            try {
                 // should wait in case of no data push to left.
                 waitRightFinFlag(param);
-                outer:
-                for (List<TupleWithJoinFlag> tList : param.getHashMap().values()) {
-                    for (TupleWithJoinFlag t : tList) {
-                        if (!t.isJoined()) {
-                            Object[] newTuple = new Object[leftLength + rightLength];
-                            Arrays.fill(newTuple, 0, leftLength, null);
-                            System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                            if (!edge.transformToNext(param.getContext(), newTuple)) {
-                                break outer;
-                            }
-                        }
-                    }
+                if (param.isSpilled()) {
+                    joinSpilled(param, edge);
+                } else if (param.isRightRequired()) {
+                    outputNotJoined(param, param.getHashTable(), edge);
                 }
-            }
-            if (fin instanceof FinWithProfiles) {
-                FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
-                param.setProfileLeft(finWithProfiles.getProfile());
-                Profile profile = param.getProfile();
-                if (profile == null) {
-                    profile = param.getProfile("hashJoin");
+                if (fin instanceof FinWithProfiles) {
+                    FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
+                    param.setProfileLeft(finWithProfiles.getProfile());
+                    Profile profile = param.getProfile();
+                    if (profile == null) {
+                        profile = param.getProfile("hashJoin");
+                    }
+                    profile.getChildren().add(param.profileLeft);
+                    profile.getChildren().add(param.profileRight);
+                    finWithProfiles.setProfile(profile);
                 }
-                profile.getChildren().add(param.profileLeft);
-                profile.getChildren().add(param.profileRight);
-                finWithProfiles.setProfile(profile);
+                edge.fin(fin);
+            } finally {
+                // Reset, also deletes the spill files if the join stopped by an exception.
+                param.clear();
             }
-            edge.fin(fin);
-            // Reset
-            param.clear();
         } else if (pin == 1) { //right
+            param.finishBuild();
             param.setRightFinFlag(true);
             param.getFuture().complete(null);
 
@@ -140,6 +157,93 @@ public class HashJoinOperator extends SoleOutOperator {
         }
     }
 
+    /**
+     * Probe the hash table with a left tuple and output the joined tuples.
+     *
+     * @return `false` if the output refused more tuples
+     */
+    private static boolean probe(
+        @NonNull HashJoinParam param,
+        @NonNull JoinHashTable hashTable,
+        Object[] tuple,
+        @NonNull Predicate<Object[]> output
+    ) {
+        int leftLength = param.getLeftLength();
+        int rightLength = param.getRightLength();
+        int row = hashTable.find(tuple, param.getLeftMapping());
+        if (row >= 0) {
+            for (; row >= 0; row = hashTable.next(row)) {
+                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+                System.arraycopy(hashTable.get(row), 0, newTuple, leftLength, rightLength);
+                hashTable.markJoined(row);
+                if (!output.test(newTuple)) {
+                    return false;
+                }
+            }
+        } else if (param.isLeftRequired()) {
+            Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+            Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
+            return output.test(newTuple);
+        }
+        return true;
+    }
+
+    /**
+     * Output the build tuples never joined, for RIGHT and FULL join.
+     *
+     * @return `false` if the output refused more tuples
+     */
+    private static boolean outputNotJoined(
+        @NonNull HashJoinParam param,
+        @NonNull JoinHashTable hashTable,
+        @NonNull Edge edge
+    ) {
+        int leftLength = param.getLeftLength();
+        int rightLength = param.getRightLength();
+        for (int row = 0; row < hashTable.size(); ++row) {
+            if (!hashTable.isJoined(row)) {
+                Object[] newTuple = new Object[leftLength + rightLength];
+                Arrays.fill(newTuple, 0, leftLength, null);
+                System.arraycopy(hashTable.get(row), 0, newTuple, leftLength, rightLength);
+                if (!edge.transformToNext(param.getContext(), newTuple)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Join the spilled inputs partition by partition, each partition of the build side is loaded into memory.
+     */
+    private static void joinSpilled(@NonNull HashJoinParam param, @NonNull Edge edge) {
+        OperatorProfile profile = param.getProfile("hashJoin");
+        SpillPartitions rightSpill = param.getRightSpill();
+        SpillPartitions leftSpill = param.getLeftSpill();
+        Context context = param.getContext();
+        for (int i = 0; i < SpillPartitions.PARTITION_NUM; ++i) {
+            JoinHashTable hashTable = new JoinHashTable(param.getRightMapping());
+            try (SpillFile.Reader reader = rightSpill.get(i).iterator()) {
+                reader.forEachRemaining(hashTable::add);
+            }
+            hashTable.seal();
+            boolean goOn = true;
+            // The reader is not fully consumed if the output stops early or the task is cancelled.
+            try (SpillFile.Reader reader = leftSpill.get(i).iterator()) {
+                while (goOn && reader.hasNext()) {
+                    goOn = probe(param, hashTable, reader.next(), t -> edge.transformToNext(context, t));
+                }
+            }
+            if (goOn && param.isRightRequired()) {
+                goOn = outputNotJoined(param, hashTable, edge);
+            }
+            if (!goOn) {
+                break;
+            }
+        }
+        profile.spill(rightSpill.getCount() + leftSpill.getCount(), rightSpill.getBytes() + leftSpill.getBytes());
+    }
+
     private static void waitRightFinFlag(HashJoinParam param) {
         param.getFuture().join();
         if (!param.isRightFinFlag()) {
@@ -31,16 +31,20 @@ import io.dingodb.store.api.transaction.exception.RegionSplitException;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
-import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
+import static io.dingodb.common.util.ByteArrayUtils.SKIP_LONG_POS;
+
 @Slf4j
 public class NewCalcDistributionOperator extends SourceOperator {
     public static final NewCalcDistributionOperator INSTANCE = new NewCalcDistributionOperator();
@@ -79,10 +83,24 @@ public class NewCalcDistributionOperator extends SourceOperator {
         );
     }
 
+    /**
+     * Split every region into morsels, so that a large region is not scanned by a single thread.
+     */
+    private static @NonNull List<RangeDistribution> splitMorsels(
+        @NonNull Collection<RangeDistribution> distributions,
+        int parallelism
+    ) {
+        List<RangeDistribution> morsels = new ArrayList<>(distributions.size() * parallelism);
+        for (RangeDistribution distribution : distributions) {
+            morsels.addAll(RangeUtils.splitRange(distribution, parallelism, SKIP_LONG_POS));
+        }
+        return morsels;
+    }
+
     @Override
     public boolean push(Context context, @NonNull Vertex vertex) {
         DistributionSourceParam param = vertex.getParam();
-        Set<RangeDistribution> distributions = getRangeDistributions(param);
+        Collection<RangeDistribution> distributions = getRangeDistributions(param);
         if (log.isTraceEnabled()) {
             if (distributions.isEmpty()) {
                 log.trace(
@@ -93,6 +111,9 @@ public class NewCalcDistributionOperator extends SourceOperator {
             }
         }
         boolean parallel = Utils.parallel(param.getKeepOrder());
+        if (parallel && param.getParallelism() > 1) {
+            distributions = splitMorsels(distributions, param.getParallelism());
+        }
         //boolean rangePart = "range".equalsIgnoreCase(param.getTd().getPartitionStrategy());
         //boolean rangePart = false;
         if (!parallel || distributions.size() == 1) {
@@ -21,6 +21,7 @@ import io.dingodb.exec.expr.SqlExpr;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.ProjectParam;
+import io.dingodb.exec.tuple.TupleBatch;
 
 import java.util.List;
 
@@ -43,6 +44,25 @@ public final class ProjectOperator extends SoleOutOperator {
         }
     }
 
+    @Override
+    public boolean pushBatch(Context context, TupleBatch batch, Vertex vertex) {
+        synchronized (vertex) {
+            ProjectParam param = vertex.getParam();
+            List<SqlExpr> projects = param.getProjects();
+            int count = batch.count();
+            TupleBatch newBatch = new TupleBatch(count);
+            for (int i = 0; i < count; ++i) {
+                Object[] tuple = batch.get(i);
+                Object[] newTuple = new Object[projects.size()];
+                for (int j = 0; j < newTuple.length; ++j) {
+                    newTuple[j] = projects.get(j).eval(tuple);
+                }
+                newBatch.add(newTuple);
+            }
+            return vertex.getSoleEdge().transformBatchToNext(context, newBatch);
+        }
+    }
+
     @Override
     public  void fin(int pin, Fin fin, Vertex vertex) {
         vertex.getSoleEdge().fin(fin);
@@ -37,6 +37,14 @@ public final class ReceiveOperator extends SourceOperator {
 
     }
 
+    /**
+     * The receiver waits for the senders of remote tasks until they finish.
+     */
+    @Override
+    public boolean isBlocking(Vertex vertex) {
+        return true;
+    }
+
     @Override
     public void fin(int pin, Fin fin, Vertex vertex) {
         /*
@@ -65,6 +73,7 @@ public final class ReceiveOperator extends SourceOperator {
         OperatorProfile profile = param.getProfile("receive");
         profile.start();
         while (true) {
+            profile.queueDepth(param.getTupleQueue().size());
             TupleId tupleId = QueueUtils.forceTake(param.getTupleQueue());
             Object[] tuple = tupleId.getTuple();
             if (!(tuple[0] instanceof Fin)) {
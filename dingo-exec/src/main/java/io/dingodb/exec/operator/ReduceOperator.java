@@ -16,9 +16,12 @@
 
 package io.dingodb.exec.operator;
 
+import io.dingodb.common.profile.OperatorProfile;
+import io.dingodb.exec.aggregate.AggCache;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.ReduceParam;
 import lombok.extern.slf4j.Slf4j;
@@ -44,12 +47,23 @@ public final class ReduceOperator extends SoleOutOperator {
         synchronized (vertex) {
             ReduceParam param = vertex.getParam();
             Edge edge = vertex.getSoleEdge();
-            for (Object[] t : param.getCache()) {
-                if (!edge.transformToNext(t)) {
-                    break;
+            AggCache cache = param.getCache();
+            try {
+                for (Object[] t : cache) {
+                    if (!edge.transformToNext(t)) {
+                        break;
+                    }
                 }
+                if (cache.getSpillCount() > 0 && fin instanceof FinWithProfiles) {
+                    OperatorProfile profile = param.getProfile("reduce");
+                    profile.spill(cache.getSpillCount(), cache.getSpillBytes());
+                    ((FinWithProfiles) fin).addProfile(profile);
+                }
+                edge.fin(fin);
+            } finally {
+                // Reset, also removes the spill files.
+                cache.clear();
             }
-            edge.fin(fin);
         }
     }
 }
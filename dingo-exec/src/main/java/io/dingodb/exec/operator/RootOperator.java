@@ -33,6 +33,7 @@ import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.RootParam;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -40,6 +41,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 public final class RootOperator extends SinkOperator {
     public static final RootOperator INSTANCE = new RootOperator();
     public static final Object[] FIN = new Object[0];
+    public static final Object[][] FIN_BATCH = new Object[][]{FIN};
 
     private RootOperator() {
 
@@ -65,7 +67,26 @@ public final class RootOperator extends SinkOperator {
                 }
             }
             param.getExecProfile().increment();
-            param.forcePut(tuple);
+            param.put(tuple);
+            profile.time(start);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean pushBatch(Context context, TupleBatch batch, Vertex vertex) {
+        synchronized (vertex) {
+            RootParam param = vertex.getParam();
+            OperatorProfile profile = param.getProfile("root");
+            long start = System.currentTimeMillis();
+            if (vertex.getTask().getStatus() == Status.CANCEL) {
+                throw new TaskCancelException("task is cancel");
+            }
+            if (vertex.getTask().getStatus() != Status.RUNNING) {
+                return false;
+            }
+            param.getExecProfile().increment(batch.count());
+            param.putBatch(batch.toArray());
             profile.time(start);
             return true;
         }
@@ -101,7 +122,7 @@ public final class RootOperator extends SinkOperator {
                 }
             }
         }
-        param.forcePut(FIN);
+        param.putBatch(FIN_BATCH);
     }
 
     private static Pair<Boolean, Long> autoInc(Profile profile) {
@@ -128,7 +149,7 @@ public final class RootOperator extends SinkOperator {
 
     public Object @NonNull [] popValue(Vertex vertex) {
         RootParam param = vertex.getParam();
-        Object[] tuple = param.forceTake();
+        Object[] tuple = param.takeOne();
         TupleMapping selection = param.getSelection();
         if (tuple != FIN && selection != null) {
             Object[] tuple1 = new Object[selection.size()];
@@ -138,6 +159,25 @@ public final class RootOperator extends SinkOperator {
         return tuple;
     }
 
+    /**
+     * Pop the next batch of values, the selection is applied to the whole batch.
+     *
+     * @return the batch, or {@link #FIN_BATCH} if the task is finished
+     */
+    public Object @NonNull [][] popBatch(Vertex vertex) {
+        RootParam param = vertex.getParam();
+        Object[][] batch = param.takeBatch();
+        TupleMapping selection = param.getSelection();
+        if (batch != FIN_BATCH && selection != null) {
+            for (int i = 0; i < batch.length; ++i) {
+                Object[] tuple1 = new Object[selection.size()];
+                selection.revMap(tuple1, batch[i]);
+                batch[i] = tuple1;
+            }
+        }
+        return batch;
+    }
+
     public Long popAutoIncId(Vertex vertex) {
         RootParam param = vertex.getParam();
         return param.getAutoIncId();
@@ -47,9 +47,26 @@ public abstract class ScanOperatorBase extends SoleOutOperator {
             return false;
         }
         Iterator<Object[]> iterator = createIterator(context, vertex);
-        Pair<Long, Boolean> res = getScanner(context, vertex).apply(context, vertex, iterator);
-        // Scan operator is not source operator, so may be push multiple times.
-        return res.getValue();
+        try {
+            Pair<Long, Boolean> res = getScanner(context, vertex).apply(context, vertex, iterator);
+            // Scan operator is not source operator, so may be push multiple times.
+            return res.getValue();
+        } finally {
+            close(iterator);
+        }
+    }
+
+    /**
+     * Close the iterator if it holds resources, e.g. store RPCs prefetched for a scan stopped by LIMIT or cancel.
+     */
+    private static void close(@NonNull Iterator<Object[]> iterator) {
+        if (iterator instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) iterator).close();
+            } catch (Exception e) {
+                log.warn("Failed to close scan iterator.", e);
+            }
+        }
     }
 
     @Override
@@ -17,24 +17,40 @@
 package io.dingodb.exec.operator;
 
 import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.exec.channel.SendEndpoint;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.SendParam;
+import io.dingodb.exec.tuple.TupleBatch;
 import io.dingodb.exec.tuple.TupleId;
 import io.dingodb.net.BufferOutputStream;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
 public final class SendOperator extends SinkOperator {
     public static final SendOperator INSTANCE = new SendOperator();
+    /**
+     * Number of tuples of the first message, the following are sized by {@link #TARGET_MESSAGE_BYTES}.
+     */
     public static final int SEND_BATCH_SIZE = 256;
+    public static final int TARGET_MESSAGE_BYTES = 64 * 1024;
+    public static final int MIN_BATCH_SIZE = 16;
+    public static final int MAX_BATCH_SIZE = 8192;
+    /**
+     * Max time a tuple may wait in the batch, checked when tuples are pushed.
+     */
+    public static final long MAX_BATCH_DELAY = TimeUnit.MILLISECONDS.toNanos(20);
 
     private SendOperator() {
 
@@ -42,23 +58,54 @@ public final class SendOperator extends SinkOperator {
 
     @Override
     public boolean push(Context context, Object[] tuple, Vertex vertex) {
+        SendParam param = vertex.getParam();
+        BufferOutputStream bos;
         synchronized (vertex) {
             try {
-                SendParam param = vertex.getParam();
                 TupleId.TupleIdBuilder builder = TupleId.builder();
                 if (context != null && context.getDistribution() != null) {
                     builder.partId(context.getDistribution().getId()).tuple(tuple).indexId(context.getIndexId());
                 }
                 TupleId tupleId = builder.tuple(tuple).build();
-                param.getTupleList().add(tupleId);
-                if (param.getTupleList().size() >= SEND_BATCH_SIZE) {
-                    return sendTupleList(param);
+                addTupleId(param, tupleId);
+                bos = isBatchReady(param) ? encodeTupleList(param) : null;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        // Send out of the vertex lock, for it may wait for credit.
+        return bos == null || param.getEndpoint().send(bos);
+    }
+
+    @Override
+    public boolean pushBatch(Context context, TupleBatch batch, Vertex vertex) {
+        SendParam param = vertex.getParam();
+        List<BufferOutputStream> messages = new ArrayList<>();
+        synchronized (vertex) {
+            try {
+                boolean withPartId = context != null && context.getDistribution() != null;
+                int count = batch.count();
+                for (int i = 0; i < count; ++i) {
+                    TupleId.TupleIdBuilder builder = TupleId.builder().tuple(batch.get(i));
+                    if (withPartId) {
+                        builder.partId(context.getDistribution().getId()).indexId(context.getIndexId());
+                    }
+                    addTupleId(param, builder.build());
+                    if (isBatchReady(param)) {
+                        messages.add(encodeTupleList(param));
+                    }
                 }
-                return true;
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
+        SendEndpoint endpoint = param.getEndpoint();
+        for (BufferOutputStream bos : messages) {
+            if (!endpoint.send(bos)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -66,11 +113,22 @@ public final class SendOperator extends SinkOperator {
         try {
             SendParam param = vertex.getParam();
             SendEndpoint endpoint = param.getEndpoint();
-            BufferOutputStream bos = endpoint.getOutputStream(param.getMaxBufferSize());
-            param.getCodec().encodeFin(bos, fin);
             if (!(fin instanceof FinWithException)) {
-                sendTupleList(param);
+                BufferOutputStream tuples;
+                synchronized (vertex) {
+                    tuples = encodeTupleList(param);
+                }
+                if (tuples != null) {
+                    endpoint.send(tuples);
+                }
             }
+            if (fin instanceof FinWithProfiles) {
+                OperatorProfile profile = param.getProfile("send");
+                profile.exchange(endpoint.getSentBytes(), endpoint.getBlockedTime());
+                ((FinWithProfiles) fin).addProfile(profile);
+            }
+            BufferOutputStream bos = endpoint.getOutputStream(param.getMaxBufferSize());
+            param.getCodec().encodeFin(bos, fin);
             LogUtils.debug(log, "Send FIN with detail:\n{}", fin.detail());
             endpoint.send(bos, true);
         } catch (IOException e) {
@@ -78,24 +136,55 @@ public final class SendOperator extends SinkOperator {
         }
     }
 
-    private boolean sendTupleList(SendParam param) throws IOException {
+    private static void addTupleId(SendParam param, TupleId tupleId) {
+        List<TupleId> tupleList = param.getTupleList();
+        if (tupleList.isEmpty()) {
+            param.setBatchStart(System.nanoTime());
+        }
+        tupleList.add(tupleId);
+    }
+
+    private static boolean isBatchReady(SendParam param) {
+        int batchSize = param.getBatchSize() > 0 ? param.getBatchSize() : SEND_BATCH_SIZE;
+        return param.getTupleList().size() >= batchSize
+            || System.nanoTime() - param.getBatchStart() >= MAX_BATCH_DELAY;
+    }
+
+    /**
+     * Encode the pending tuples to a message and adapt the batch size to the encoded bytes per tuple.
+     *
+     * @return the message, or `null` if there is no pending tuples
+     */
+    private static @Nullable BufferOutputStream encodeTupleList(SendParam param) throws IOException {
+        List<TupleId> tupleList = param.getTupleList();
+        if (tupleList.isEmpty()) {
+            return null;
+        }
         SendEndpoint endpoint = param.getEndpoint();
         int maxBufferSize = param.getMaxBufferSize();
-        List<TupleId> tupleList = param.getTupleList();
-        if (!tupleList.isEmpty()) {
-            BufferOutputStream bos = endpoint.getOutputStream(maxBufferSize);
-            if (tupleList.get(0).getPartId() != null) {
-                param.getCodec().encodeTupleIds(bos, tupleList);
-            } else {
-                param.getCodec().encodeTuples(bos, tupleList.stream().map(TupleId::getTuple).collect(Collectors.toList()));
-            }
-            if (bos.bytes() > maxBufferSize) {
-                param.setMaxBufferSize(bos.bytes());
-            }
-            boolean result = endpoint.send(bos);
-            tupleList.clear();
-            return result;
+        BufferOutputStream bos = endpoint.getOutputStream(maxBufferSize);
+        if (tupleList.get(0).getPartId() != null) {
+            param.getCodec().encodeTupleIds(bos, tupleList);
+        } else {
+            param.getCodec().encodeTuples(bos, tupleList.stream().map(TupleId::getTuple).collect(Collectors.toList()));
         }
-        return true;
+        int bytes = bos.bytes();
+        if (bytes > maxBufferSize) {
+            param.setMaxBufferSize(bytes);
+        }
+        int size = tupleList.size();
+        int bytesPerTuple = Math.max(bytes / size, 1);
+        int batchSize = Math.max(MIN_BATCH_SIZE, Math.min(MAX_BATCH_SIZE, TARGET_MESSAGE_BYTES / bytesPerTuple));
+        int lastBatchSize = param.getBatchSize();
+        if (lastBatchSize == 0) {
+            param.setBatchSize(batchSize);
+        } else if (size >= lastBatchSize || batchSize < lastBatchSize) {
+            // Smooth the batch size, and do not grow it by batches flushed for delay.
+            param.setBatchSize((lastBatchSize + batchSize) / 2);
+        }
+        OperatorProfile profile = param.getProfile("send");
+        profile.setCount(profile.getCount() + size);
+        tupleList.clear();
+        return bos;
     }
 }
@@ -28,7 +28,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -49,8 +49,8 @@ public class SortOperator extends SoleOutOperator {
             if (limit == 0) {
                 return false;
             }
-            param.getCache().add(tuple);
-            return !collations.isEmpty() || limit < 0 || param.getCache().size() < offset + limit;
+            param.add(tuple);
+            return !collations.isEmpty() || limit < 0 || param.cachedCount() < offset + limit;
         }
     }
 
@@ -58,59 +58,72 @@ public class SortOperator extends SoleOutOperator {
     public void fin(int pin, Fin fin, Vertex vertex) {
         synchronized (vertex) {
             SortParam param = vertex.getParam();
-            OperatorProfile profile = param.getProfile();
-            profile.start();
-            int limit = param.getLimit();
-            int offset = param.getOffset();
-            List<Object[]> cache = param.getCache();
-            int size = cache.size();
-            profile.setCount(size);
-            Comparator<Object[]> comparator = param.getComparator();
-            if (comparator != null) {
-                cache.sort(comparator);
-            }
-            List<Object[]> normalCache = cache;
-            if (param.isVectorHybrid()) {
-                // similarity score normalization
-                normalCache = new ArrayList<>(size);
-                List<Float> similarityScores = new ArrayList<>(size);
-                for (int i = 0; i < size; i++) {
-                    Object[] objects = cache.get(i);
-                    similarityScores.add((Float) objects[1]);
+            try {
+                OperatorProfile profile = param.getProfile();
+                profile.start();
+                int limit = param.getLimit();
+                int offset = param.getOffset();
+                Iterator<Object[]> iterator;
+                if (param.isSpilled()) {
+                    // External sort, merge the sorted runs while outputting.
+                    profile.setCount(param.getSpillCount() + param.getCache().size());
+                    profile.spill(param.getSpillCount(), param.getSpillBytes());
+                    iterator = param.mergedIterator();
+                } else {
+                    List<Object[]> cache = param.sortedCache();
+                    int size = cache.size();
+                    profile.setCount(size);
+                    List<Object[]> normalCache = cache;
+                    if (param.isVectorHybrid()) {
+                        // similarity score normalization
+                        normalCache = new ArrayList<>(size);
+                        List<Float> similarityScores = new ArrayList<>(size);
+                        for (int i = 0; i < size; i++) {
+                            Object[] objects = cache.get(i);
+                            similarityScores.add((Float) objects[1]);
 
+                        }
+                        List<Float> floats = normalizeScores(similarityScores);
+                        for (int i = 0; i < size; i++) {
+                            Object[] objects = new Object[2];
+                            objects[0] = cache.get(i)[0];
+                            objects[1] = floats.get(i);
+                            normalCache.add(objects);
+                        }
+                    }
+                    iterator = normalCache.iterator();
                 }
-                List<Float> floats = normalizeScores(similarityScores);
-                for (int i = 0; i < size; i++) {
-                    Object[] objects = new Object[2];
-                    objects[0] = cache.get(i)[0];
-                    objects[1] = floats.get(i);
-                    normalCache.add(objects);
+                profile.end();
+                Edge edge = vertex.getSoleEdge();
+                output(iterator, offset, limit, edge, param);
+                if (fin instanceof FinWithProfiles) {
+                    FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
+                    finWithProfiles.addProfile(profile);
                 }
+                edge.fin(fin);
+            } finally {
+                // Reset, also closes the spilled runs not fully read if the output stopped early.
+                param.clear();
             }
-            profile.end();
-            int o = 0;
-            int c = 0;
-            Edge edge = vertex.getSoleEdge();
-            for (Object[] tuple : normalCache) {
-                if (o < offset) {
-                    ++o;
-                    continue;
-                }
-                if (limit >= 0 && c >= limit) {
-                    break;
-                }
-                if (!edge.transformToNext(param.getContext(), tuple)) {
-                    break;
-                }
-                ++c;
+        }
+    }
+
+    private static void output(Iterator<Object[]> iterator, int offset, int limit, Edge edge, SortParam param) {
+        int o = 0;
+        int c = 0;
+        while (iterator.hasNext()) {
+            Object[] tuple = iterator.next();
+            if (o < offset) {
+                ++o;
+                continue;
+            }
+            if (limit >= 0 && c >= limit) {
+                break;
             }
-            if (fin instanceof FinWithProfiles) {
-                FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
-                finWithProfiles.addProfile(profile);
+            if (!edge.transformToNext(param.getContext(), tuple)) {
+                break;
             }
-            edge.fin(fin);
-            // Reset
-            param.clear();
+            ++c;
         }
     }
 
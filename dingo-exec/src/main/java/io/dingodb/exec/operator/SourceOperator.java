@@ -16,6 +16,8 @@
 
 package io.dingodb.exec.operator;
 
+import io.dingodb.common.CommonId;
+import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
@@ -23,8 +25,12 @@ import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.SourceParam;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import static io.dingodb.exec.utils.OperatorCodeUtils.HASH_JOIN;
+import static io.dingodb.exec.utils.OperatorCodeUtils.SEND;
+
 /**
  * Source operator has no inputs and only one output.
  */
@@ -38,6 +44,29 @@ public abstract class SourceOperator extends SoleOutOperator {
 
     public abstract boolean push(Context context, Vertex vertex);
 
+    /**
+     * Check if the operator blocks waiting for other tasks, such operators are not run on the bounded query workers.
+     * By default, a source blocks if it pushes to the probe side of a hash join, which waits for the build side, or
+     * to a sender, which waits for the credit of the receiver.
+     */
+    public boolean isBlocking(Vertex vertex) {
+        return pushesToBlocking(vertex);
+    }
+
+    private static boolean pushesToBlocking(@NonNull Vertex vertex) {
+        for (Edge edge : vertex.getOutList()) {
+            Vertex next = edge.getNext();
+            if (next == null) {
+                continue;
+            }
+            CommonId op = next.getOp();
+            if (SEND.equals(op) || HASH_JOIN.equals(op) && vertex.getPin() == 0 || pushesToBlocking(next)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public  void fin(int pin, Fin fin, Vertex vertex) {
         SourceParam param = (SourceParam) vertex.getData();
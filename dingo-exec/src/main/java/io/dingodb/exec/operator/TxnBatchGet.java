@@ -0,0 +1,272 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.exec.Services;
+import io.dingodb.exec.transaction.base.TransactionType;
+import io.dingodb.exec.utils.ByteUtils;
+import io.dingodb.store.api.StoreInstance;
+import io.dingodb.store.api.StoreService;
+import io.dingodb.store.api.transaction.data.Op;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Point gets of a batch of keys in a transaction.
+ *
+ * <p>The keys are grouped by region. For each region, the transaction cache in the local store is read by one
+ * multi-key get, and the keys not in the cache are read by one {@code txnGet} of all the keys. The regions are read
+ * in parallel. A key repeated in the batch is read once, and its tuple is output at each of its positions.
+ */
+@Slf4j
+final class TxnBatchGet {
+    private TxnBatchGet() {
+    }
+
+    /**
+     * Get the tuples of the keys.
+     *
+     * @param keys    the encoded keys, with the region ids set
+     * @param partIds the regions of the keys
+     * @return the decoded tuples in the order of the keys, {@code null} for the keys not existing
+     */
+    static Object @NonNull [] @NonNull [] get(
+        @NonNull List<byte[]> keys,
+        @NonNull List<CommonId> partIds,
+        @NonNull CommonId tableId,
+        @NonNull KeyValueCodec codec,
+        @NonNull CommonId txnId,
+        TransactionType transactionType,
+        long scanTs,
+        long timeOut
+    ) {
+        return get(
+            Services.KV_STORE, Services.LOCAL_STORE,
+            keys, partIds, tableId, codec, txnId, transactionType, scanTs, timeOut
+        );
+    }
+
+    static Object @NonNull [] @NonNull [] get(
+        @NonNull StoreService kvStore,
+        @NonNull StoreService localStore,
+        @NonNull List<byte[]> keys,
+        @NonNull List<CommonId> partIds,
+        @NonNull CommonId tableId,
+        @NonNull KeyValueCodec codec,
+        @NonNull CommonId txnId,
+        TransactionType transactionType,
+        long scanTs,
+        long timeOut
+    ) {
+        Object[][] results = new Object[keys.size()][];
+        if (keys.isEmpty()) {
+            return results;
+        }
+        Map<CommonId, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); ++i) {
+            groups.computeIfAbsent(partIds.get(i), k -> new ArrayList<>()).add(i);
+        }
+        Iterator<Map.Entry<CommonId, List<Integer>>> iterator = groups.entrySet().iterator();
+        Map.Entry<CommonId, List<Integer>> first = iterator.next();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size() - 1);
+        while (iterator.hasNext()) {
+            Map.Entry<CommonId, List<Integer>> entry = iterator.next();
+            futures.add(Executors.submitIo("txn-batch-get", () -> getRegion(
+                kvStore.getInstance(tableId, entry.getKey()),
+                localStore.getInstance(tableId, entry.getKey()),
+                entry.getKey(), entry.getValue(), keys, results, tableId, codec, txnId, transactionType, scanTs, timeOut
+            )));
+        }
+        // The first region is read in the current thread.
+        getRegion(
+            kvStore.getInstance(tableId, first.getKey()),
+            localStore.getInstance(tableId, first.getKey()),
+            first.getKey(), first.getValue(), keys, results, tableId, codec, txnId, transactionType, scanTs, timeOut
+        );
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private static void getRegion(
+        StoreInstance store,
+        StoreInstance localStore,
+        CommonId partId,
+        @NonNull List<Integer> indices,
+        List<byte[]> keys,
+        Object[][] results,
+        CommonId tableId,
+        KeyValueCodec codec,
+        CommonId txnId,
+        TransactionType transactionType,
+        long scanTs,
+        long timeOut
+    ) {
+        List<Integer> missed = getLocal(
+            localStore, partId, indices, keys, results, tableId, codec, txnId, transactionType
+        );
+        if (missed.isEmpty()) {
+            return;
+        }
+        // The key prefix may be changed by the store, so compare from the second byte.
+        Map<byte[], List<Integer>> positions = new TreeMap<>((k1, k2) -> ByteArrayUtils.compare(k1, k2, 1));
+        // Keys are modified by the store instance, so send copies.
+        List<byte[]> storeKeys = new ArrayList<>(missed.size());
+        for (int index : missed) {
+            byte[] key = keys.get(index);
+            List<Integer> same = positions.get(key);
+            if (same != null) {
+                same.add(index);
+                continue;
+            }
+            byte[] storeKey = Arrays.copyOf(key, key.length);
+            storeKeys.add(storeKey);
+            positions.put(storeKey, newIndexList(index));
+        }
+        List<KeyValue> keyValues = store.txnGet(scanTs, storeKeys, timeOut);
+        for (KeyValue keyValue : keyValues) {
+            if (keyValue == null || keyValue.getKey() == null || keyValue.getValue() == null) {
+                continue;
+            }
+            List<Integer> same = positions.get(keyValue.getKey());
+            if (same == null) {
+                continue;
+            }
+            for (int index : same) {
+                results[index] = codec.decode(new KeyValue(keys.get(index), keyValue.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Read the keys from the transaction cache, the same as {@link TxnGetByKeysOperator#getLocalStore}.
+     *
+     * @return the indices of the keys to read from the store
+     */
+    private static @NonNull List<Integer> getLocal(
+        StoreInstance store,
+        CommonId partId,
+        @NonNull List<Integer> indices,
+        List<byte[]> keys,
+        Object[][] results,
+        @NonNull CommonId tableId,
+        KeyValueCodec codec,
+        @NonNull CommonId txnId,
+        TransactionType transactionType
+    ) {
+        byte[] txnIdByte = txnId.encode();
+        byte[] tableIdByte = tableId.encode();
+        byte[] partIdByte = partId.encode();
+        int len = txnIdByte.length + tableIdByte.length + partIdByte.length;
+        List<byte[]> localKeys = new ArrayList<>(indices.size() * 3);
+        Map<byte[], List<Integer>> positions = new TreeMap<>(ByteArrayUtils::compare);
+        for (int index : indices) {
+            byte[] dataKey = ByteUtils.encode(
+                CommonId.CommonType.TXN_CACHE_DATA,
+                keys.get(index),
+                Op.PUTIFABSENT.getCode(),
+                len,
+                txnIdByte, tableIdByte, partIdByte);
+            List<Integer> same = positions.get(dataKey);
+            if (same != null) {
+                same.add(index);
+                continue;
+            }
+            byte[] deleteKey = Arrays.copyOf(dataKey, dataKey.length);
+            deleteKey[deleteKey.length - 2] = (byte) Op.DELETE.getCode();
+            byte[] updateKey = Arrays.copyOf(dataKey, dataKey.length);
+            updateKey[updateKey.length - 2] = (byte) Op.PUT.getCode();
+            localKeys.add(dataKey);
+            localKeys.add(deleteKey);
+            localKeys.add(updateKey);
+            positions.put(dataKey, newIndexList(index));
+        }
+        List<KeyValue> keyValues = store.get(localKeys);
+        if (keyValues == null || keyValues.isEmpty()) {
+            return indices;
+        }
+        // `true` for resolved by the cache.
+        Map<Integer, Boolean> resolved = new TreeMap<>();
+        for (KeyValue value : keyValues) {
+            byte[] oldKey = value.getKey();
+            byte[] dataKey = Arrays.copyOf(oldKey, oldKey.length);
+            dataKey[dataKey.length - 2] = (byte) Op.PUTIFABSENT.getCode();
+            List<Integer> same = positions.get(dataKey);
+            if (same == null) {
+                continue;
+            }
+            if (resolved.containsKey(same.get(0))) {
+                throw new RuntimeException(txnId + " Key is not existed than two in local store");
+            }
+            boolean found;
+            if (oldKey[oldKey.length - 2] == Op.PUTIFABSENT.getCode()
+                || oldKey[oldKey.length - 2] == Op.PUT.getCode()) {
+                for (int index : same) {
+                    results[index] = codec.decode(new KeyValue(keys.get(index), value.getValue()));
+                }
+                found = true;
+            } else if (transactionType == TransactionType.PESSIMISTIC) {
+                KeyValue keyValue = store.get(ByteUtils.getKeyByOp(
+                    CommonId.CommonType.TXN_CACHE_LOCK,
+                    Op.LOCK,
+                    dataKey)
+                );
+                // first primary key
+                found = keyValue != null;
+            } else {
+                found = true;
+            }
+            for (int index : same) {
+                resolved.put(index, found);
+            }
+        }
+        List<Integer> missed = new ArrayList<>(indices.size());
+        for (int index : indices) {
+            if (!resolved.getOrDefault(index, false)) {
+                missed.add(index);
+            }
+        }
+        return missed;
+    }
+
+    private static @NonNull List<Integer> newIndexList(int index) {
+        List<Integer> indices = new ArrayList<>(1);
+        indices.add(index);
+        return indices;
+    }
+}
@@ -20,6 +20,7 @@ import com.google.common.collect.Iterators;
 import io.dingodb.codec.CodecService;
 import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.store.KeyValue;
@@ -78,52 +79,60 @@ public class TxnGetByIndexOperator extends FilterProjectOperator {
             new StoreInstance.Range(keys, keys, true, true),
             param.getTimeout());
         Iterator<Object[]> iterator = createMergedIterator(localIterator, storeIterator, param.getCodec());
-        iterator = Iterators.transform(iterator, tuples -> revMap(tuples, vertex));
-
-        profile.time(start);
-        return iterator;
-    }
-
-    public static Object[] revMap(Object[] tuple, Vertex vertex) {
-        TxnGetByIndexParam param = vertex.getParam();
         if (param.isLookup()) {
-            return lookUp(tuple, param, vertex.getTask());
+            Task task = vertex.getTask();
+            iterator = Iterators.concat(Iterators.transform(
+                Iterators.partition(iterator, ScopeVariables.getLookupBatchSize()),
+                tuples -> lookUp(tuples, param, task).iterator()
+            ));
         } else {
-            return transformTuple(tuple, param);
+            iterator = Iterators.transform(iterator, tuples -> transformTuple(tuples, param));
         }
+
+        profile.time(start);
+        return iterator;
     }
 
-    public static Object[] lookUp(Object[] tuples, TxnGetByIndexParam param, Task task) {
-        CommonId txnId = task.getTxnId();
-        TransactionType transactionType = task.getTransactionType();
+    /**
+     * Look up the table rows of a batch of index rows, the rows are got by one batch get per region.
+     */
+    public static @NonNull List<Object[]> lookUp(@NonNull List<Object[]> tuples, TxnGetByIndexParam param, Task task) {
         TupleMapping indices = param.getKeyMapping();
         Table tableDefinition = param.getTable();
         NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> ranges =
             MetaService.root().getRangeDistribution(tableDefinition.tableId);
-        Object[] keyTuples = new Object[tableDefinition.getColumns().size()];
-        for (int i = 0; i < indices.getMappings().length; i ++) {
-            keyTuples[indices.get(i)] = tuples[i];
+        PartitionService ps = PartitionService.getService(
+            Optional.ofNullable(tableDefinition.getPartitionStrategy())
+                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
+        List<byte[]> keys = new ArrayList<>(tuples.size());
+        List<CommonId> regionIds = new ArrayList<>(tuples.size());
+        for (Object[] tuple : tuples) {
+            Object[] keyTuples = new Object[tableDefinition.getColumns().size()];
+            for (int i = 0; i < indices.getMappings().length; i ++) {
+                keyTuples[indices.get(i)] = tuple[i];
+            }
+            byte[] keys0 = param.getLookupCodec().encodeKey(keyTuples);
+            CommonId regionId = ps.calcPartId(keys0, ranges);
+            keys.add(CodecService.getDefault().setId(keys0, regionId.domain));
+            regionIds.add(regionId);
         }
-        byte[] keys = param.getLookupCodec().encodeKey(keyTuples);
-        CommonId regionId = PartitionService.getService(
-                Optional.ofNullable(tableDefinition.getPartitionStrategy())
-                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME))
-            .calcPartId(keys, ranges);
-
-        keys = CodecService.getDefault().setId(keys, regionId.domain);
-        Object[] local = createGetLocal(
+        Object[][] values = TxnBatchGet.get(
             keys,
-            txnId,
-            regionId,
+            regionIds,
             param.getTableId(),
             param.getLookupCodec(),
-            transactionType);
-        if (local != null) {
-            return local;
+            task.getTxnId(),
+            task.getTransactionType(),
+            param.getScanTs(),
+            param.getTimeout()
+        );
+        List<Object[]> results = new ArrayList<>(values.length);
+        for (Object[] value : values) {
+            if (value != null) {
+                results.add(value);
+            }
         }
-
-        StoreInstance store = Services.KV_STORE.getInstance(param.getTableId(), regionId);
-        return param.getLookupCodec().decode(store.txnGet(param.getScanTs(), keys, param.getTimeout()));
+        return results;
     }
 
     private static Object[] transformTuple(Object[] tuple, TxnGetByIndexParam param) {
@@ -16,15 +16,19 @@
 
 package io.dingodb.exec.operator;
 
+import com.google.common.collect.Iterators;
 import io.dingodb.codec.CodecService;
 import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.exec.Services;
+import io.dingodb.exec.base.Task;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.operator.data.Context;
-import io.dingodb.exec.operator.params.GetByKeysParam;
 import io.dingodb.exec.operator.params.TxnGetByKeysParam;
 import io.dingodb.exec.transaction.base.TransactionType;
 import io.dingodb.exec.utils.ByteUtils;
@@ -39,6 +43,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 public final class TxnGetByKeysOperator extends FilterProjectOperator {
@@ -47,44 +52,120 @@ public final class TxnGetByKeysOperator extends FilterProjectOperator {
     private TxnGetByKeysOperator() {
     }
 
+    @Override
+    public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
+        TxnGetByKeysParam param = vertex.getParam();
+        param.setContext(context);
+        // The distribution of the shared context is changed for every key, so keep a copy for each pending tuple.
+        Context pendingContext = context.copy();
+        pendingContext.setIndexId(context.getIndexId());
+        pendingContext.setDistribution(context.getDistribution());
+        param.getPendingTuples().add(tuple);
+        param.getPendingContexts().add(pendingContext);
+        if (param.getPendingTuples().size() < ScopeVariables.getLookupBatchSize()) {
+            return true;
+        }
+        return flush(vertex);
+    }
+
+    @Override
+    public void fin(int pin, @Nullable Fin fin, Vertex vertex) {
+        if (!(fin instanceof FinWithException)) {
+            flush(vertex);
+        }
+        TxnGetByKeysParam param = vertex.getParam();
+        param.clearPending();
+        super.fin(pin, fin, vertex);
+    }
+
     @Override
     protected @NonNull Iterator<Object[]> createSourceIterator(Context context, Object[] tuple, Vertex vertex) {
         TxnGetByKeysParam param = vertex.getParam();
         OperatorProfile profile = param.getProfile("getByKeys");
         long start = System.currentTimeMillis();
         param.setContext(context);
-        byte[] keys = param.getCodec().encodeKey(tuple);
-        CommonId tableId = param.getTableId();
-        CommonId txnId = vertex.getTask().getTxnId();
-        CommonId partId = context.getDistribution().getId();
-        CodecService.getDefault().setId(keys, partId.domain);
-        byte[] partIdByte = partId.encode();
-        Iterator<Object[]> local = getLocalStore(
-            partId,
-            param.getCodec(),
-            keys,
-            tableId,
-            txnId,
-            partIdByte,
-            vertex.getTask().getTransactionType());
-        if (local != null) {
-            profile.time(start);
-            return local;
+        Object[][] results = getByKeys(
+            param,
+            vertex.getTask(),
+            Collections.singletonList(tuple),
+            Collections.singletonList(context.getDistribution().getId())
+        );
+        profile.time(start);
+        return Iterators.filter(Iterators.forArray(results), Objects::nonNull);
+    }
+
+    /**
+     * Get the pending tuples in one batch and push the results to the next operator.
+     *
+     * @return `false` if the output refused more tuples
+     */
+    private static boolean flush(@NonNull Vertex vertex) {
+        TxnGetByKeysParam param = vertex.getParam();
+        List<Object[]> tuples = param.getPendingTuples();
+        if (tuples.isEmpty()) {
+            return true;
         }
-        StoreInstance store;
-        store = Services.KV_STORE.getInstance(tableId, partId);
-        KeyValue keyValue = store.txnGet(param.getScanTs(), keys, param.getTimeOut());
-        if (keyValue == null || keyValue.getValue() == null) {
-            profile.time(start);
-            if (vertex.getTask().getTransactionType() == TransactionType.PESSIMISTIC && !param.isSelect()) {
-                return Collections.singletonList(tuple).iterator();
-            } else {
-                return Collections.emptyIterator();
-            }
+        OperatorProfile profile = param.getProfile("getByKeys");
+        long start = System.currentTimeMillis();
+        List<Context> contexts = new ArrayList<>(param.getPendingContexts());
+        List<CommonId> partIds = new ArrayList<>(contexts.size());
+        for (Context context : contexts) {
+            partIds.add(context.getDistribution().getId());
         }
-        Object[] result = param.getCodec().decode(keyValue);
+        Object[][] results = getByKeys(param, vertex.getTask(), tuples, partIds);
+        param.clearPending();
         profile.time(start);
-        return Collections.singletonList(result).iterator();
+        for (int i = 0; i < results.length; ++i) {
+            if (results[i] == null) {
+                continue;
+            }
+            Iterator<Object[]> iterator = filterProject(Iterators.singletonIterator(results[i]), param);
+            while (iterator.hasNext()) {
+                if (!vertex.getSoleEdge().transformToNext(contexts.get(i), iterator.next())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the rows of the tuples' keys.
+     *
+     * @return the rows in the order of the tuples, `null` for the keys not found
+     */
+    private static Object @NonNull [][] getByKeys(
+        @NonNull TxnGetByKeysParam param,
+        @NonNull Task task,
+        @NonNull List<Object[]> tuples,
+        @NonNull List<CommonId> partIds
+    ) {
+        List<byte[]> keys = new ArrayList<>(tuples.size());
+        for (int i = 0; i < tuples.size(); ++i) {
+            byte[] key = param.getCodec().encodeKey(tuples.get(i));
+            CodecService.getDefault().setId(key, partIds.get(i).domain);
+            keys.add(key);
+        }
+        Object[][] values = TxnBatchGet.get(
+            keys,
+            partIds,
+            param.getTableId(),
+            param.getCodec(),
+            task.getTxnId(),
+            task.getTransactionType(),
+            param.getScanTs(),
+            param.getTimeOut()
+        );
+        // Missing keys are kept for the pessimistic lock of DML.
+        boolean keepMissing = task.getTransactionType() == TransactionType.PESSIMISTIC && !param.isSelect();
+        if (keepMissing) {
+            for (int i = 0; i < values.length; ++i) {
+                if (values[i] == null) {
+                    values[i] = tuples.get(i);
+                }
+            }
+        }
+        return values;
     }
 
     @Nullable
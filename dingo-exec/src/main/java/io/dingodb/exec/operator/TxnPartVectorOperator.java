@@ -28,6 +28,7 @@ import io.dingodb.common.vector.TxnVectorSearchResponse;
 import io.dingodb.common.vector.VectorSearchResponse;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fun.vector.VectorDistances;
 import io.dingodb.exec.operator.params.TxnPartVectorParam;
 import io.dingodb.meta.entity.Column;
 import io.dingodb.partition.DingoPartitionServiceProvider;
@@ -44,9 +45,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import static io.dingodb.exec.fun.vector.VectorCosineDistanceFun.cosine;
-import static io.dingodb.exec.fun.vector.VectorIPDistanceFun.innerProduct;
-import static io.dingodb.exec.fun.vector.VectorL2DistanceFun.l2DistanceCombine;
 import static io.dingodb.exec.operator.TxnGetByKeysOperator.getLocalStore;
 
 @Slf4j
@@ -61,6 +59,8 @@ public class TxnPartVectorOperator extends FilterProjectSourceOperator {
         long start = System.currentTimeMillis();
         int vecIdx = param.getVectorIndex();
         String distanceType = param.getDistanceType();
+        VectorDistances.Kernel kernel = VectorDistances.kernelOf(distanceType);
+        float[] target = VectorDistances.toArray(Arrays.asList(param.getFloatArray()));
         KeyValueCodec tableCodec;
         tableCodec = CodecService.getDefault().createKeyValueCodec(
             param.getTable().version, param.getTableDataSchema(), param.tableDataKeyMapping()
@@ -106,14 +106,11 @@ public class TxnPartVectorOperator extends FilterProjectSourceOperator {
                         } else {
                             Object ov = objects[vecIdx];
                             if (ov instanceof List) {
-                                Object targetVector = Arrays.asList(param.getFloatArray());
                                 float distance = 0.0f;
-                                if (distanceType.contains("L2")) {
-                                    distance = (float) l2DistanceCombine((List<Float>) ov, (List<Number>) targetVector);
-                                } else if (distanceType.contains("INNER_PRODUCT")) {
-                                    distance = (float) innerProduct((List<Float>) ov, (List<Float>) targetVector);
-                                } else if (distanceType.contains("COSINE")) {
-                                    distance = cosine((List<Float>) ov, targetVector);
+                                if (kernel != null) {
+                                    float[] vector = VectorDistances.toArray((List<Float>) ov);
+                                    VectorDistances.checkDimension(vector.length, target.length);
+                                    distance = (float) kernel.distance(vector, target);
                                 }
                                 objects[objects.length - 1] = distance;
                             } else {
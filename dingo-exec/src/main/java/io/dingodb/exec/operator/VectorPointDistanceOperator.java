@@ -24,10 +24,12 @@ import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fun.vector.VectorDistances;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.VectorPointDistanceParam;
 import io.dingodb.tool.api.ToolService;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
@@ -48,6 +50,10 @@ public class VectorPointDistanceOperator extends SoleOutOperator {
     public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
         VectorPointDistanceParam param = vertex.getParam();
         param.setContext(context);
+        VectorDistances.Kernel kernel = param.getKernel();
+        if (kernel != null) {
+            return vertex.getSoleEdge().transformToNext(context, calcLocal(param, kernel, tuple));
+        }
         param.getCache().add(tuple);
         return true;
     }
@@ -97,4 +103,17 @@ public class VectorPointDistanceOperator extends SoleOutOperator {
         profile.time(start);
         edge.fin(fin);
     }
+
+    private static Object[] calcLocal(
+        @NonNull VectorPointDistanceParam param,
+        VectorDistances.@NonNull Kernel kernel,
+        Object @NonNull [] tuple
+    ) {
+        float[] vector = VectorDistances.toArray((List<Float>) tuple[param.getVectorIndex()]);
+        float[] target = param.getTarget();
+        VectorDistances.checkDimension(vector.length, target.length);
+        Object[] result = Arrays.copyOf(tuple, tuple.length + 1);
+        result[tuple.length] = (float) kernel.distance(target, vector);
+        return param.getSelection().revMap(result);
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.hash;
+
+import io.dingodb.common.type.TupleMapping;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hash table of the build side of hash join.
+ *
+ * <p>Building is lock-free: tuples pushed concurrently are queued and indexed once by {@link #seal()}. A sealed
+ * table keeps the rows in flat arrays with precomputed hashes and finds keys by open addressing with linear probing,
+ * so probing does not allocate.
+ */
+public final class JoinHashTable {
+    private static final int MIN_CAPACITY = 16;
+
+    private final TupleMapping buildMapping;
+
+    private final Queue<Object[]> pendingTuples = new ConcurrentLinkedQueue<>();
+    private final Queue<Object[][]> pendingChunks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger(0);
+
+    private Object[][] rows = new Object[0][];
+    private int[] hashes = new int[0];
+    // Index of the next row with the same key, `-1` for the end.
+    private int[] next = new int[0];
+    private boolean[] joined = new boolean[0];
+    // Index of the first row of a key plus 1, `0` for an empty slot.
+    private int[] slots = new int[MIN_CAPACITY];
+    private int mask = MIN_CAPACITY - 1;
+
+    public JoinHashTable(TupleMapping buildMapping) {
+        this.buildMapping = buildMapping;
+    }
+
+    public static int hashKey(Object @NonNull [] tuple, @NonNull TupleMapping mapping) {
+        // Same as `Arrays.hashCode(mapping.revMap(tuple))`.
+        int hash = 1;
+        for (int i = 0; i < mapping.size(); ++i) {
+            hash = 31 * hash + Objects.hashCode(tuple[mapping.get(i)]);
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean keyEquals(
+        Object @NonNull [] tuple0,
+        @NonNull TupleMapping mapping0,
+        Object @NonNull [] tuple1,
+        @NonNull TupleMapping mapping1
+    ) {
+        for (int i = 0; i < mapping0.size(); ++i) {
+            if (!Objects.equals(tuple0[mapping0.get(i)], tuple1[mapping1.get(i)])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int capacityFor(int size) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * size) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    public void add(Object[] tuple) {
+        pendingTuples.add(tuple);
+        pendingCount.incrementAndGet();
+    }
+
+    public void addAll(Object @NonNull [][] tuples) {
+        if (tuples.length > 0) {
+            pendingChunks.add(tuples);
+            pendingCount.addAndGet(tuples.length);
+        }
+    }
+
+    /**
+     * Index the tuples added so far. Must not be called concurrently with probing.
+     */
+    public synchronized void seal() {
+        int oldSize = rows.length;
+        int size = oldSize + pendingCount.getAndSet(0);
+        Object[][] newRows = new Object[size][];
+        System.arraycopy(rows, 0, newRows, 0, oldSize);
+        int n = oldSize;
+        Object[][] chunk;
+        while (n < size && (chunk = pendingChunks.poll()) != null) {
+            System.arraycopy(chunk, 0, newRows, n, chunk.length);
+            n += chunk.length;
+        }
+        Object[] tuple;
+        while (n < size && (tuple = pendingTuples.poll()) != null) {
+            newRows[n++] = tuple;
+        }
+        boolean[] newJoined = new boolean[size];
+        System.arraycopy(joined, 0, newJoined, 0, oldSize);
+        rows = newRows;
+        joined = newJoined;
+        hashes = new int[size];
+        next = new int[size];
+        int capacity = capacityFor(size);
+        slots = new int[capacity];
+        mask = capacity - 1;
+        // Insert reversely to keep rows of the same key in order of addition.
+        for (int i = size - 1; i >= 0; --i) {
+            int hash = hashKey(rows[i], buildMapping);
+            hashes[i] = hash;
+            int pos = spread(hash) & mask;
+            while (true) {
+                int head = slots[pos] - 1;
+                if (head < 0) {
+                    next[i] = -1;
+                    slots[pos] = i + 1;
+                    break;
+                }
+                if (hashes[head] == hash && keyEquals(rows[head], buildMapping, rows[i], buildMapping)) {
+                    next[i] = head;
+                    slots[pos] = i + 1;
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+        }
+    }
+
+    /**
+     * Find the first build row matching the key of a probe tuple.
+     *
+     * @param tuple   the probe tuple
+     * @param mapping the key mapping of the probe tuple
+     * @return the index of the row, `-1` if not found
+     */
+    public int find(Object @NonNull [] tuple, @NonNull TupleMapping mapping) {
+        int hash = hashKey(tuple, mapping);
+        int pos = spread(hash) & mask;
+        while (true) {
+            int head = slots[pos] - 1;
+            if (head < 0) {
+                return -1;
+            }
+            if (hashes[head] == hash && keyEquals(rows[head], buildMapping, tuple, mapping)) {
+                return head;
+            }
+            pos = (pos + 1) & mask;
+        }
+    }
+
+    public int next(int row) {
+        return next[row];
+    }
+
+    public Object[] get(int row) {
+        return rows[row];
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public void markJoined(int row) {
+        joined[row] = true;
+    }
+
+    public boolean isJoined(int row) {
+        return joined[row];
+    }
+
+    /**
+     * Move all the tuples out of this table, sealed or not, leaving it empty.
+     */
+    public synchronized void drain(@NonNull Consumer<Object[]> consumer) {
+        for (Object[] row : rows) {
+            consumer.accept(row);
+        }
+        Object[][] chunk;
+        while ((chunk = pendingChunks.poll()) != null) {
+            pendingCount.addAndGet(-chunk.length);
+            for (Object[] tuple : chunk) {
+                consumer.accept(tuple);
+            }
+        }
+        Object[] tuple;
+        while ((tuple = pendingTuples.poll()) != null) {
+            pendingCount.decrementAndGet();
+            consumer.accept(tuple);
+        }
+        reset();
+    }
+
+    public synchronized void clear() {
+        pendingTuples.clear();
+        pendingChunks.clear();
+        pendingCount.set(0);
+        reset();
+    }
+
+    private void reset() {
+        rows = new Object[0][];
+        hashes = new int[0];
+        next = new int[0];
+        joined = new boolean[0];
+        slots = new int[MIN_CAPACITY];
+        mask = MIN_CAPACITY - 1;
+    }
+}
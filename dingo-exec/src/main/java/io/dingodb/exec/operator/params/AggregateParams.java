@@ -26,6 +26,7 @@ import io.dingodb.exec.aggregate.AbstractAgg;
 import io.dingodb.exec.aggregate.Agg;
 import io.dingodb.exec.aggregate.AggCache;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.Getter;
 
 import java.util.List;
@@ -52,13 +53,20 @@ public class AggregateParams extends AbstractParams {
 
 
     public void init(Vertex vertex) {
-        cache = new AggCache(keyMapping, aggList);
+        cache = new AggCache(keyMapping, aggList, vertex.getTask().getMemoryBudget());
     }
 
     public synchronized void addTuple(Object[] tuple) {
         cache.addTuple(tuple);
     }
 
+    public synchronized void addTuples(TupleBatch batch) {
+        int count = batch.count();
+        for (int i = 0; i < count; ++i) {
+            cache.addTuple(batch.get(i));
+        }
+    }
+
     public void clear() {
         cache.clear();
     }
@@ -59,6 +59,11 @@ public class DistributionSourceParam extends SourceParam {
     private boolean filterRange;
     @Setter
     private int keepOrder;
+    /**
+     * The number of morsels each region is split into to be scanned concurrently, {@code 1} means no splitting.
+     */
+    @Setter
+    private int parallelism = 1;
 
     public DistributionSourceParam(
         Table td,
@@ -22,14 +22,15 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.profile.Profile;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.dag.Vertex;
-import io.dingodb.exec.operator.data.TupleWithJoinFlag;
-import io.dingodb.exec.tuple.TupleKey;
+import io.dingodb.exec.operator.hash.JoinHashTable;
+import io.dingodb.exec.spill.MemoryBudget;
+import io.dingodb.exec.spill.SpillPartitions;
 import lombok.Getter;
 import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Getter
 @JsonTypeName("hashJoin")
@@ -52,7 +53,12 @@ public class HashJoinParam extends AbstractParams {
 
     @Setter
     private transient boolean rightFinFlag;
-    private transient ConcurrentHashMap<TupleKey, List<TupleWithJoinFlag>> hashMap;
+    private transient JoinHashTable hashTable;
+    private transient MemoryBudget memoryBudget;
+    private transient AtomicLong reservedBytes;
+    // Not `null` if the build side exceeded the memory budget, then both sides are partitioned to disk.
+    private transient volatile SpillPartitions rightSpill;
+    private transient volatile SpillPartitions leftSpill;
     @Setter
     private transient CompletableFuture<Void> future;
 
@@ -82,11 +88,87 @@ public class HashJoinParam extends AbstractParams {
     @Override
     public void init(Vertex vertex) {
         rightFinFlag = false;
-        hashMap = new ConcurrentHashMap<>();
+        hashTable = new JoinHashTable(rightMapping);
         future = new CompletableFuture<>();
+        memoryBudget = vertex.getTask().getMemoryBudget();
+        reservedBytes = new AtomicLong(0);
+        rightSpill = null;
+        leftSpill = null;
     }
 
-    public void clear() {
-        hashMap.clear();
+    public boolean isSpilled() {
+        return rightSpill != null;
+    }
+
+    public void addRight(Object @NonNull [] tuple) {
+        if (rightSpill == null && reserve(MemoryBudget.estimate(tuple))) {
+            hashTable.add(tuple);
+            return;
+        }
+        spillRight(tuple);
+    }
+
+    public void addRightAll(Object @NonNull [][] tuples) {
+        if (rightSpill == null && reserve(MemoryBudget.estimateAll(tuples))) {
+            hashTable.addAll(tuples);
+            return;
+        }
+        for (Object[] tuple : tuples) {
+            spillRight(tuple);
+        }
+    }
+
+    /**
+     * Called when the build side is finished. Seal the hash table, or move the tuples left in it to disk if spilled.
+     */
+    public void finishBuild() {
+        if (rightSpill != null) {
+            hashTable.drain(t -> rightSpill.write(JoinHashTable.hashKey(t, rightMapping), t));
+            releaseMemory();
+        } else {
+            hashTable.seal();
+        }
+    }
+
+    public void spillLeft(Object @NonNull [] tuple) {
+        leftSpill.write(JoinHashTable.hashKey(tuple, leftMapping), tuple);
+    }
+
+    private boolean reserve(long bytes) {
+        if (memoryBudget.tryReserve(bytes)) {
+            reservedBytes.addAndGet(bytes);
+            return true;
+        }
+        return false;
+    }
+
+    private void releaseMemory() {
+        memoryBudget.release(reservedBytes.getAndSet(0));
+    }
+
+    private void spillRight(Object @NonNull [] tuple) {
+        startSpill();
+        rightSpill.write(JoinHashTable.hashKey(tuple, rightMapping), tuple);
+    }
+
+    private synchronized void startSpill() {
+        if (rightSpill == null) {
+            SpillPartitions partitions = new SpillPartitions();
+            hashTable.drain(t -> partitions.write(JoinHashTable.hashKey(t, rightMapping), t));
+            releaseMemory();
+            leftSpill = new SpillPartitions();
+            rightSpill = partitions;
+        }
+    }
+
+    public synchronized void clear() {
+        hashTable.clear();
+        releaseMemory();
+        if (rightSpill != null) {
+            rightSpill.close();
+            leftSpill.close();
+            rightSpill = null;
+            leftSpill = null;
+        }
     }
 }
@@ -23,6 +23,7 @@ import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.profile.Profile;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.channel.ReceiveEndpoint;
+import io.dingodb.exec.codec.TupleCodecType;
 import io.dingodb.exec.codec.TxRxCodec;
 import io.dingodb.exec.codec.TxRxCodecImpl;
 import io.dingodb.exec.dag.Vertex;
@@ -35,13 +36,14 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
 
 @Slf4j
 @Getter
-@JsonPropertyOrder({"host", "port", "schema"})
+@JsonPropertyOrder({"host", "port", "schema", "codecType"})
 @JsonTypeName("receive")
 public class ReceiveParam extends SourceParam {
 
@@ -53,6 +55,8 @@ public class ReceiveParam extends SourceParam {
     private final int port;
     @JsonProperty("schema")
     private final DingoType schema;
+    @JsonProperty("codecType")
+    private final TupleCodecType codecType;
 
     private transient String tag;
     private transient TxRxCodec codec;
@@ -64,19 +68,22 @@ public class ReceiveParam extends SourceParam {
     public ReceiveParam(
         @JsonProperty("host") String host,
         @JsonProperty("port") int port,
-        @JsonProperty("schema") DingoType schema
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("codecType") TupleCodecType codecType
     ) {
         this.host = host;
         this.port = port;
         this.schema = schema;
+        this.codecType = codecType;
     }
 
     @Override
     public void init(Vertex vertex) {
-        codec = new TxRxCodecImpl(schema);
+        // Tuples are decoded by the flag of each message, whatever the codec type of the sender.
+        codec = new TxRxCodecImpl(schema, codecType == null ? TupleCodecType.AVRO : codecType, false);
         tupleQueue = new LinkedBlockingDeque<>(QUEUE_CAPACITY);
         tag = TagUtils.tag(vertex.getTask().getJobId(), vertex.getId());
-        endpoint = new ReceiveEndpoint(host, port, tag, (byte[] content) -> {
+        endpoint = new ReceiveEndpoint(host, port, tag, (ByteBuffer content) -> {
             try {
                 List<TupleId> tuples = codec.decode(content);
                 for (TupleId tuple : tuples) {
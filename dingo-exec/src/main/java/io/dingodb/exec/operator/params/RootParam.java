@@ -29,8 +29,9 @@ import lombok.Getter;
 import lombok.Setter;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Arrays;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
 
 @Getter
 @JsonTypeName("root")
@@ -38,6 +39,7 @@ import java.util.concurrent.LinkedBlockingDeque;
 public class RootParam extends AbstractParams {
 
     public static final int TUPLE_QUEUE_SIZE = 512;
+    public static final int ROW_BATCH_SIZE = 64;
 
     @JsonProperty("schema")
     private final DingoType schema;
@@ -45,7 +47,17 @@ public class RootParam extends AbstractParams {
     private final @Nullable TupleMapping selection;
     @Setter
     private transient Fin errorFin;
-    private transient BlockingQueue<Object[]> tupleQueue;
+    private transient BlockingQueue<Object[][]> batchQueue;
+    // Guards the pending batch and the hand-over state, shared by the producer and the consumer.
+    private final transient Object pendingLock = new Object();
+    private transient Object[][] pending;
+    private transient int pendingCount;
+    // Number of batches detached from pending and not yet put into the queue.
+    private transient int inFlight;
+    private transient boolean consumerWaiting;
+    // Consumer side, the batch taken by `takeOne` and not fully consumed.
+    private transient Object[][] taken;
+    private transient int takenPos;
     @Setter
     private transient long takeTtl;
 
@@ -62,19 +74,127 @@ public class RootParam extends AbstractParams {
 
     @Override
     public void init(Vertex vertex) {
-        tupleQueue = new LinkedBlockingDeque<>(TUPLE_QUEUE_SIZE);
+        // Every entry holds at most ROW_BATCH_SIZE rows, so at most TUPLE_QUEUE_SIZE rows are queued.
+        batchQueue = new LinkedBlockingQueue<>(TUPLE_QUEUE_SIZE / ROW_BATCH_SIZE);
         execProfile = new ExecProfile("job");
     }
 
-    public void forcePut(Object[] tuple) {
-        QueueUtils.forcePut(tupleQueue, tuple);
+    /**
+     * Add a tuple to the pending batch. The batch is handed over when it is full, or at once if the consumer is
+     * waiting, so rows are not held back from an idle consumer.
+     */
+    public void put(Object[] tuple) {
+        Object[][] batch = null;
+        synchronized (pendingLock) {
+            if (pending == null) {
+                pending = new Object[ROW_BATCH_SIZE][];
+            }
+            pending[pendingCount++] = tuple;
+            if (pendingCount == pending.length || consumerWaiting) {
+                batch = detachPending();
+            }
+        }
+        if (batch != null) {
+            putInFlight(batch);
+        }
+    }
+
+    /**
+     * Hand over a batch of tuples, after the pending ones. The batch must not be modified by the caller afterward.
+     * Large batches are split, so that every entry in the queue holds at most ROW_BATCH_SIZE rows.
+     */
+    public void putBatch(Object[][] tuples) {
+        flush();
+        for (int i = 0; i < tuples.length; i += ROW_BATCH_SIZE) {
+            int end = Math.min(i + ROW_BATCH_SIZE, tuples.length);
+            QueueUtils.forcePut(batchQueue, (i == 0 && end == tuples.length) ? tuples : Arrays.copyOfRange(
+                tuples, i, end
+            ));
+        }
+    }
+
+    public void flush() {
+        Object[][] batch;
+        synchronized (pendingLock) {
+            batch = detachPending();
+        }
+        if (batch != null) {
+            putInFlight(batch);
+        }
+    }
+
+    /**
+     * Detach the pending tuples as a batch, must be called with {@code pendingLock} held.
+     */
+    private Object @Nullable [][] detachPending() {
+        if (pendingCount == 0) {
+            return null;
+        }
+        Object[][] batch = (pendingCount == pending.length ? pending : Arrays.copyOf(pending, pendingCount));
+        pending = null;
+        pendingCount = 0;
+        ++inFlight;
+        return batch;
+    }
+
+    /**
+     * Put a detached batch into the queue. It may block while the queue is full, so it is called without holding
+     * {@code pendingLock}.
+     */
+    private void putInFlight(Object[][] batch) {
+        try {
+            QueueUtils.forcePut(batchQueue, batch);
+        } finally {
+            synchronized (pendingLock) {
+                --inFlight;
+            }
+        }
+    }
+
+    /**
+     * Take the next batch of tuples, beginning with the tuples not consumed by {@link #takeOne()}.
+     */
+    public Object[][] takeBatch() {
+        if (taken != null && takenPos < taken.length) {
+            Object[][] batch = (takenPos == 0 ? taken : Arrays.copyOfRange(taken, takenPos, taken.length));
+            taken = null;
+            return batch;
+        }
+        Object[][] batch;
+        synchronized (pendingLock) {
+            batch = batchQueue.poll();
+            if (batch == null) {
+                if (inFlight == 0 && pendingCount > 0) {
+                    // Nothing is queued before the pending tuples, so take them directly.
+                    batch = detachPending();
+                    --inFlight;
+                    return batch;
+                }
+                // Set under the lock, so the producer hands over the next tuple at once.
+                consumerWaiting = true;
+            }
+        }
+        if (batch == null) {
+            try {
+                if (takeTtl == 0) {
+                    batch = QueueUtils.forceTake(batchQueue);
+                } else {
+                    batch = QueueUtils.forceTake(batchQueue, takeTtl);
+                }
+            } finally {
+                synchronized (pendingLock) {
+                    consumerWaiting = false;
+                }
+            }
+        }
+        return batch;
     }
 
-    public Object[] forceTake() {
-        if (takeTtl == 0) {
-            return QueueUtils.forceTake(tupleQueue);
-        } else {
-            return QueueUtils.forceTake(tupleQueue, takeTtl);
+    public Object[] takeOne() {
+        if (taken == null || takenPos == taken.length) {
+            taken = takeBatch();
+            takenPos = 0;
         }
+        return taken[takenPos++];
     }
 }
@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.channel.SendEndpoint;
+import io.dingodb.exec.codec.TupleCodecType;
 import io.dingodb.exec.codec.TxRxCodec;
 import io.dingodb.exec.codec.TxRxCodecImpl;
 import io.dingodb.exec.dag.Vertex;
@@ -32,11 +33,11 @@ import io.dingodb.exec.utils.TagUtils;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 @Getter
-@JsonPropertyOrder({"host", "port", "tag", "schema"})
+@JsonPropertyOrder({"host", "port", "tag", "schema", "codecType", "compressed"})
 @JsonTypeName("send")
 public class SendParam extends AbstractParams {
 
@@ -50,6 +51,10 @@ public class SendParam extends AbstractParams {
     private final CommonId receiveId;
     @JsonProperty("schema")
     private final DingoType schema;
+    @JsonProperty("codecType")
+    private final TupleCodecType codecType;
+    @JsonProperty("compressed")
+    private final boolean compressed;
 
     private transient List<TupleId> tupleList;
     private transient TxRxCodec codec;
@@ -57,19 +62,40 @@ public class SendParam extends AbstractParams {
 
     @Setter
     private transient int maxBufferSize;
+    /**
+     * Number of tuples per message, adapted to the encoded size of tuples, `0` before the first message.
+     */
+    @Setter
+    private transient int batchSize;
+    /**
+     * Time (ns) the first tuple of the current batch arrived.
+     */
+    @Setter
+    private transient long batchStart;
 
-    public SendParam(String host, int port, CommonId receiveId, DingoType schema) {
+    public SendParam(
+        String host,
+        int port,
+        CommonId receiveId,
+        DingoType schema,
+        TupleCodecType codecType,
+        boolean compressed
+    ) {
         this.host = host;
         this.port = port;
         this.receiveId = receiveId;
         this.schema = schema;
+        this.codecType = codecType;
+        this.compressed = compressed;
         this.maxBufferSize = 4096;
     }
 
     @Override
     public void init(Vertex vertex) {
-        tupleList = new LinkedList<>();
-        codec = new TxRxCodecImpl(schema);
+        tupleList = new ArrayList<>();
+        batchSize = 0;
+        // Plans serialized before the codec type was introduced are encoded by avro.
+        codec = new TxRxCodecImpl(schema, codecType == null ? TupleCodecType.AVRO : codecType, compressed);
         endpoint = new SendEndpoint(host, port, TagUtils.tag(vertex.getTask().getJobId(), receiveId));
         endpoint.init();
     }
@@ -23,17 +23,36 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.spill.MemoryBudget;
+import io.dingodb.exec.spill.MergeIterator;
+import io.dingodb.exec.spill.SpillFile;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 @Getter
 @JsonTypeName("sort")
 @JsonPropertyOrder({"collations", "limit", "offset", "vectorHybrid"})
 public class SortParam extends AbstractParams {
+    /**
+     * Runs are not spilled before reaching this size, even if the budget is taken by other operators of the task.
+     */
+    static final long MIN_RUN_BYTES = 4L * 1024 * 1024;
+    /**
+     * The share of the task budget a run may hold before spilling, if less than {@link #MIN_RUN_BYTES}.
+     */
+    static final int MIN_RUN_SHARE = 16;
+    /**
+     * The max number of runs merged at once, to limit the open files and the read buffers.
+     */
+    static final int MAX_MERGE_FAN_IN = 64;
 
     @JsonProperty("collations")
     private final List<SortCollation> collations;
@@ -45,6 +64,27 @@ public class SortParam extends AbstractParams {
     private final boolean vectorHybrid;
     private final List<Object[]> cache;
     private transient Comparator<Object[]> comparator;
+    /**
+     * Bounded max-heap keeping the first {@code offset + limit} tuples, used instead of {@code cache} for Top-N.
+     */
+    @Getter(AccessLevel.NONE)
+    private transient PriorityQueue<Object[]> heap;
+    @Getter(AccessLevel.NONE)
+    private transient MemoryBudget memoryBudget;
+    @Getter(AccessLevel.NONE)
+    private transient long reservedBytes;
+    /**
+     * Estimated size of the cached tuples, including those kept without reservation.
+     */
+    @Getter(AccessLevel.NONE)
+    private transient long cacheBytes;
+    @Getter(AccessLevel.NONE)
+    private transient long minRunBytes;
+    /**
+     * Sorted runs spilled to disk when the cache exceeds the memory budget of the task.
+     */
+    @Getter(AccessLevel.NONE)
+    private transient List<SpillFile> runs;
 
     @JsonCreator
     public SortParam(
@@ -57,7 +97,10 @@ public class SortParam extends AbstractParams {
         this.limit = limit;
         this.offset = offset;
         this.vectorHybrid = vectorHybrid;
-        this.cache = new LinkedList<>();
+        this.cache = new ArrayList<>();
+        this.memoryBudget = MemoryBudget.unlimited();
+        this.minRunBytes = minRunBytes(memoryBudget);
+        this.runs = new ArrayList<>();
         if (!collations.isEmpty()) {
             Comparator<Object[]> c = collations.get(0).makeComparator();
             for (int i = 1; i < collations.size(); ++i) {
@@ -67,11 +110,17 @@ public class SortParam extends AbstractParams {
         } else {
             comparator = null;
         }
+        heap = makeHeap();
     }
 
     @Override
     public void init(Vertex vertex) {
         super.init(vertex);
+        memoryBudget = vertex.getTask().getMemoryBudget();
+        minRunBytes = minRunBytes(memoryBudget);
+        reservedBytes = 0;
+        cacheBytes = 0;
+        runs = new ArrayList<>();
         if (!collations.isEmpty()) {
             Comparator<Object[]> c = collations.get(0).makeComparator();
             for (int i = 1; i < collations.size(); ++i) {
@@ -81,10 +130,173 @@ public class SortParam extends AbstractParams {
         } else {
             comparator = null;
         }
+        heap = makeHeap();
+    }
+
+    private static long minRunBytes(@NonNull MemoryBudget memoryBudget) {
+        return Math.min(MIN_RUN_BYTES, memoryBudget.getLimit() / MIN_RUN_SHARE);
+    }
+
+    private @Nullable PriorityQueue<Object[]> makeHeap() {
+        // Normalization of hybrid search scores needs all the tuples.
+        if (comparator == null || limit < 0 || vectorHybrid) {
+            return null;
+        }
+        long bound = (long) offset + limit;
+        if (bound > Integer.MAX_VALUE - 1) {
+            return null;
+        }
+        return new PriorityQueue<>((int) bound + 1, comparator.reversed());
+    }
+
+    /**
+     * Add a tuple to be sorted. For Top-N, only the first {@code offset + limit} tuples are kept.
+     */
+    public void add(Object[] tuple) {
+        if (heap == null) {
+            // Unsorted tuples are output in order, and normalization of hybrid search scores needs all the tuples.
+            if (comparator != null && !vectorHybrid) {
+                reserve(MemoryBudget.estimate(tuple));
+            }
+            cache.add(tuple);
+            return;
+        }
+        if (heap.size() < offset + limit) {
+            heap.add(tuple);
+        } else if (!heap.isEmpty() && comparator.compare(tuple, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(tuple);
+        }
+    }
+
+    private void reserve(long bytes) {
+        cacheBytes += bytes;
+        if (memoryBudget.tryReserve(bytes)) {
+            reservedBytes += bytes;
+            return;
+        }
+        // If other operators hold the budget, spilling at once would write a run per tuple, so the tuples are kept
+        // over the budget until the run is big enough.
+        if (cacheBytes - bytes >= minRunBytes) {
+            spillRun();
+            cacheBytes = bytes;
+            // Keep the tuple even if it does not fit alone.
+            if (memoryBudget.tryReserve(bytes)) {
+                reservedBytes += bytes;
+            }
+        }
+    }
+
+    private void spillRun() {
+        cache.sort(comparator);
+        SpillFile run = SpillFile.create();
+        runs.add(run);
+        for (Object[] tuple : cache) {
+            run.write(tuple);
+        }
+        run.finish();
+        cache.clear();
+        cacheBytes = 0;
+        releaseMemory();
+    }
+
+    private void releaseMemory() {
+        memoryBudget.release(reservedBytes);
+        reservedBytes = 0;
+    }
+
+    public boolean isSpilled() {
+        return !runs.isEmpty();
+    }
+
+    int runCount() {
+        return runs.size();
+    }
+
+    /**
+     * Merge the spilled runs and the cached tuples in order. If there are too many runs, they are merged into fewer
+     * runs first, in as many passes as needed.
+     */
+    public Iterator<Object[]> mergedIterator() {
+        cache.sort(comparator);
+        // The cached tuples take a way of the final merge.
+        while (runs.size() >= MAX_MERGE_FAN_IN) {
+            mergeRuns();
+        }
+        List<Iterator<Object[]>> iterators = new ArrayList<>(runs.size() + 1);
+        for (SpillFile run : runs) {
+            iterators.add(run.iterator());
+        }
+        iterators.add(cache.iterator());
+        return new MergeIterator(iterators, comparator);
+    }
+
+    /**
+     * Merge each {@link #MAX_MERGE_FAN_IN} consecutive runs into one. Equal tuples keep their order, for the runs
+     * merged are consecutive.
+     */
+    private void mergeRuns() {
+        List<SpillFile> merged = new ArrayList<>(runs.size() / MAX_MERGE_FAN_IN + 1);
+        try {
+            for (int i = 0; i < runs.size(); i += MAX_MERGE_FAN_IN) {
+                List<SpillFile> group = runs.subList(i, Math.min(i + MAX_MERGE_FAN_IN, runs.size()));
+                SpillFile run = SpillFile.create();
+                merged.add(run);
+                List<Iterator<Object[]>> iterators = new ArrayList<>(group.size());
+                for (SpillFile file : group) {
+                    iterators.add(file.iterator());
+                }
+                new MergeIterator(iterators, comparator).forEachRemaining(run::write);
+                run.finish();
+                group.forEach(SpillFile::close);
+            }
+        } catch (RuntimeException e) {
+            // The runs not merged yet are closed by `clear`.
+            merged.forEach(SpillFile::close);
+            throw e;
+        }
+        runs = merged;
+    }
+
+    public long getSpillCount() {
+        return runs.stream().mapToLong(SpillFile::getCount).sum();
+    }
+
+    public long getSpillBytes() {
+        return runs.stream().mapToLong(SpillFile::getBytes).sum();
+    }
+
+    /**
+     * Get all the kept tuples in order.
+     */
+    public List<Object[]> sortedCache() {
+        if (heap != null) {
+            List<Object[]> list = new ArrayList<>(heap);
+            list.sort(comparator);
+            return list;
+        }
+        if (comparator != null) {
+            cache.sort(comparator);
+        }
+        return cache;
+    }
+
+    /**
+     * Get the number of tuples kept.
+     */
+    public int cachedCount() {
+        return heap != null ? heap.size() : cache.size();
     }
 
     public void clear() {
         cache.clear();
+        cacheBytes = 0;
+        releaseMemory();
+        runs.forEach(SpillFile::close);
+        runs.clear();
+        if (heap != null) {
+            heap.clear();
+        }
     }
 
     public OperatorProfile getProfile() {
@@ -25,9 +25,13 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.operator.data.Context;
 import io.dingodb.meta.entity.Table;
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 @JsonTypeName("txnGet")
 @JsonPropertyOrder({"scanTs", "isolationLevel", "timeOut", "isSelect", "table",
@@ -45,6 +49,9 @@ public class TxnGetByKeysParam extends FilterProjectParam {
     @JsonProperty("isSelect")
     private final boolean isSelect;
 
+    private final transient List<Object[]> pendingTuples = new ArrayList<>();
+    private final transient List<Context> pendingContexts = new ArrayList<>();
+
     public TxnGetByKeysParam(
         CommonId tableId,
         DingoType schema,
@@ -70,4 +77,9 @@ public class TxnGetByKeysParam extends FilterProjectParam {
     public void setStartTs(long startTs) {
         this.scanTs = startTs;
     }
+
+    public void clearPending() {
+        pendingTuples.clear();
+        pendingContexts.clear();
+    }
 }
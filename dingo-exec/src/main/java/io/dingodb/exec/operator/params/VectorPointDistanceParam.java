@@ -20,8 +20,11 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fun.vector.VectorDistances;
 import lombok.Getter;
 
 import java.util.LinkedList;
@@ -50,6 +53,13 @@ public class VectorPointDistanceParam extends AbstractParams {
 
     private final TupleMapping selection;
 
+    /**
+     * The kernel to calc distances locally, {@code null} if the distances are calculated by the store.
+     */
+    private transient VectorDistances.Kernel kernel;
+
+    private transient float[] target;
+
     public VectorPointDistanceParam(
         RangeDistribution rangeDistribution,
         Integer vectorIndex,
@@ -71,6 +81,15 @@ public class VectorPointDistanceParam extends AbstractParams {
         this.selection = selection;
     }
 
+    @Override
+    public void init(Vertex vertex) {
+        super.init(vertex);
+        if (ScopeVariables.isVectorDistanceLocal()) {
+            kernel = VectorDistances.kernelOf(metricType);
+            target = VectorDistances.toArray(targetVector);
+        }
+    }
+
     public void clear() {
         cache.clear();
     }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the heap used by the operators of a task. Operators reserve memory before caching tuples and spill to disk
+ * when a reservation is refused.
+ */
+public final class MemoryBudget {
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 8;
+
+    @Getter
+    private final long limit;
+    private final AtomicLong used = new AtomicLong(0);
+
+    public MemoryBudget(long limit) {
+        this.limit = limit;
+    }
+
+    public static @NonNull MemoryBudget unlimited() {
+        return new MemoryBudget(Long.MAX_VALUE);
+    }
+
+    /**
+     * Estimate the heap size of a tuple. Only an approximation to drive spilling.
+     */
+    public static long estimate(Object @NonNull [] tuple) {
+        long size = OBJECT_OVERHEAD + (long) REFERENCE_SIZE * tuple.length;
+        for (Object value : tuple) {
+            size += estimateValue(value);
+        }
+        return size;
+    }
+
+    public static long estimateAll(Object[][] tuples) {
+        long size = 0;
+        for (Object[] tuple : tuples) {
+            size += estimate(tuple);
+        }
+        return size;
+    }
+
+    private static long estimateValue(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return OBJECT_OVERHEAD * 2 + ((String) value).length();
+        }
+        if (value instanceof byte[]) {
+            return OBJECT_OVERHEAD + ((byte[]) value).length;
+        }
+        if (value instanceof BigDecimal) {
+            return OBJECT_OVERHEAD * 3;
+        }
+        if (value instanceof Object[]) {
+            return estimate((Object[]) value);
+        }
+        if (value instanceof List) {
+            return OBJECT_OVERHEAD * 2 + (long) (OBJECT_OVERHEAD + REFERENCE_SIZE) * ((List<?>) value).size();
+        }
+        return OBJECT_OVERHEAD;
+    }
+
+    public boolean tryReserve(long bytes) {
+        while (true) {
+            long current = used.get();
+            long next = current + bytes;
+            if (next > limit || next < 0) {
+                return false;
+            }
+            if (used.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long bytes) {
+        used.addAndGet(-bytes);
+    }
+
+    public long getUsed() {
+        return used.get();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of sorted tuple iterators, e.g. the sorted runs of an external sort.
+ *
+ * <p>Tuples comparing equal are output in the order of the iterators, so the merge is stable if the runs are.
+ */
+public final class MergeIterator implements Iterator<Object[]> {
+    private final List<Iterator<Object[]>> iterators;
+    private final PriorityQueue<Head> heads;
+
+    public MergeIterator(@NonNull List<Iterator<Object[]>> iterators, @NonNull Comparator<Object[]> comparator) {
+        this.iterators = iterators;
+        Comparator<Head> headComparator = (h0, h1) -> comparator.compare(h0.tuple, h1.tuple);
+        this.heads = new PriorityQueue<>(
+            Math.max(iterators.size(), 1),
+            headComparator.thenComparingInt(h -> h.index)
+        );
+        for (int i = 0; i < iterators.size(); ++i) {
+            Iterator<Object[]> iterator = iterators.get(i);
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), i));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public Object[] next() {
+        Head head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        Object[] tuple = head.tuple;
+        Iterator<Object[]> iterator = iterators.get(head.index);
+        if (iterator.hasNext()) {
+            head.tuple = iterator.next();
+            heads.add(head);
+        }
+        return tuple;
+    }
+
+    private static class Head {
+        private final int index;
+        private Object[] tuple;
+
+        private Head(Object[] tuple, int index) {
+            this.tuple = tuple;
+            this.index = index;
+        }
+    }
+}
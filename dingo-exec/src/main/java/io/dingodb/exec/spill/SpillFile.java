@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A temporary file of tuples, written sequentially and read back once or more after {@link #finish()}.
+ *
+ * <p>Tuple values are those of the executor (boxed numbers, strings, decimals, dates, bytes and lists), so they are
+ * written by java serialization. The stream is reset periodically to keep the back-reference table small.
+ */
+public final class SpillFile implements Closeable {
+    private static final String PREFIX = "dingo-spill-";
+    private static final int RESET_INTERVAL = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private final List<Reader> readers = new ArrayList<>();
+    private ObjectOutputStream output;
+    private boolean finished;
+    @Getter
+    private long count;
+
+    private SpillFile(File file) {
+        this.file = file;
+        this.count = 0;
+        this.finished = false;
+    }
+
+    /**
+     * Create a spill file in the directory of executor variable {@code spill_dir}. The file is deleted by
+     * {@link #close()}, which the owner must call.
+     */
+    public static @NonNull SpillFile create() {
+        try {
+            File dir = new File(ScopeVariables.getSpillDir());
+            if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+                throw new IOException("Cannot create spill directory " + dir.getAbsolutePath());
+            }
+            return new SpillFile(File.createTempFile(PREFIX, ".tmp", dir));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void write(Object[] tuple) {
+        if (finished) {
+            throw new IllegalStateException("Spill file is finished.");
+        }
+        try {
+            if (output == null) {
+                output = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+            }
+            output.writeObject(tuple);
+            if (++count % RESET_INTERVAL == 0) {
+                output.reset();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Flush and close the writing stream.
+     */
+    public void finish() {
+        finished = true;
+        if (output != null) {
+            try {
+                output.close();
+                output = null;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    public long getBytes() {
+        return file.length();
+    }
+
+    /**
+     * Open a reader of the tuples. Readers not fully consumed must be closed, or they are closed when the file is
+     * closed.
+     */
+    public @NonNull Reader iterator() {
+        finish();
+        if (count == 0) {
+            return new Reader(null, 0);
+        }
+        try {
+            Reader reader = new Reader(
+                new ObjectInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE)),
+                count
+            );
+            synchronized (readers) {
+                readers.add(reader);
+            }
+            return reader;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            finish();
+        } finally {
+            List<Reader> openReaders;
+            synchronized (readers) {
+                openReaders = new ArrayList<>(readers);
+                readers.clear();
+            }
+            // Streams must be closed before deleting the file, or the deletion fails on some platforms.
+            openReaders.forEach(Reader::close);
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    public final class Reader implements Iterator<Object[]>, Closeable {
+        private ObjectInputStream input;
+        private long remaining;
+
+        private Reader(ObjectInputStream input, long count) {
+            this.input = input;
+            this.remaining = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Object[] next() {
+            if (remaining <= 0) {
+                throw new NoSuchElementException();
+            }
+            try {
+                Object[] tuple = (Object[]) input.readObject();
+                if (--remaining == 0) {
+                    close();
+                }
+                return tuple;
+            } catch (IOException | ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            remaining = 0;
+            if (input == null) {
+                return;
+            }
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                input = null;
+                synchronized (readers) {
+                    readers.remove(this);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Closeable;
+
+/**
+ * Spill files of tuples partitioned by the hash of their keys, so that the matching keys of different inputs land in
+ * the partition of the same number.
+ */
+public final class SpillPartitions implements Closeable {
+    public static final int PARTITION_NUM = 16;
+
+    private final SpillFile[] files;
+
+    public SpillPartitions() {
+        files = new SpillFile[PARTITION_NUM];
+        for (int i = 0; i < PARTITION_NUM; ++i) {
+            files[i] = SpillFile.create();
+        }
+    }
+
+    public static int partitionOf(int hash) {
+        // Use the high bits, hash tables built from a partition index by the low bits.
+        return ((hash * 0x9E3779B9) >>> 28) & (PARTITION_NUM - 1);
+    }
+
+    public synchronized void write(int hash, Object @NonNull [] tuple) {
+        files[partitionOf(hash)].write(tuple);
+    }
+
+    public SpillFile get(int partition) {
+        return files[partition];
+    }
+
+    public synchronized long getCount() {
+        long count = 0;
+        for (SpillFile file : files) {
+            count += file.getCount();
+        }
+        return count;
+    }
+
+    public synchronized long getBytes() {
+        long bytes = 0;
+        for (SpillFile file : files) {
+            bytes += file.getBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (SpillFile file : files) {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.transaction.util;
+
+import io.dingodb.common.concurrent.Executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Run the batches of requests of a transaction concurrently.
+ */
+final class BatchRunner {
+    private BatchRunner() {
+    }
+
+    /**
+     * Run the batches concurrently, at most {@code concurrency} at the same time. The current thread runs batches
+     * too. Once a batch failed, the batches not started are skipped. Returns after all the running batches finished,
+     * and throws the first exception if any batch failed.
+     */
+    static <T> void run(String name, List<T> batches, int concurrency, Consumer<T> action) {
+        if (batches.size() <= 1 || concurrency <= 1) {
+            batches.forEach(action);
+            return;
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        Runnable worker = () -> {
+            int index;
+            while (!failed.get() && (index = next.getAndIncrement()) < batches.size()) {
+                try {
+                    action.accept(batches.get(index));
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                    throw e;
+                }
+            }
+        };
+        int workers = Math.min(concurrency, batches.size());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(workers - 1);
+        for (int i = 1; i < workers; ++i) {
+            futures.add(Executors.submitIo(name, worker));
+        }
+        RuntimeException exception = null;
+        try {
+            worker.run();
+        } catch (RuntimeException e) {
+            exception = e;
+        }
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (exception == null) {
+                    exception = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
@@ -61,6 +61,7 @@ import java.util.stream.IntStream;
 public final class TransactionUtil {
     public static final long lock_ttl = 60000L;
     public static final int max_pre_write_count = 1024;
+    public static final int max_concurrent_batch_count = 8;
     public static final long maxRpcDataSize = 56*1024*1024;
     public static final String snapshotIsolation = "REPEATABLE-READ";
     public static final String readCommitted = "READ-COMMITTED";
@@ -54,8 +54,10 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Future;
@@ -93,7 +95,7 @@ public class Txn {
         try {
             // get local mem data first data and transform to cacheToObject
             TxnLocalData primary = tupleList.get(0);
-            primaryObj = getCacheToObject(primary);
+            primaryObj = primaryObject(primary);
 
             preWritePrimaryKey(primaryObj);
             // pre write second key
@@ -113,7 +115,7 @@ public class Txn {
         }
 
         try {
-            this.commitTs = TransactionManager.getCommitTs();
+            this.commitTs = nextCommitTs();
             // commit primary key
             boolean result = commitPrimaryData(primaryObj);
             if (!result) {
@@ -135,6 +137,14 @@ public class Txn {
         }
     }
 
+    CacheToObject primaryObject(TxnLocalData primary) {
+        return getCacheToObject(primary);
+    }
+
+    long nextCommitTs() {
+        return TransactionManager.getCommitTs();
+    }
+
     public static CacheToObject getCacheToObject(TxnLocalData txnLocalData) {
         CommonId tableId = txnLocalData.getTableId();
         CommonId newPartId = txnLocalData.getPartId();
@@ -146,7 +156,7 @@ public class Txn {
         );
     }
 
-    private void preWritePrimaryKey(CacheToObject cacheToObject) {
+    void preWritePrimaryKey(CacheToObject cacheToObject) {
         primaryKey = cacheToObject.getMutation().getKey();
         // 2、call sdk preWritePrimaryKey
         TxnPreWrite txnPreWrite = TxnPreWrite.builder()
@@ -249,56 +259,41 @@ public class Txn {
         }
     }
 
-    private void preWriteSecondKey(List<TxnLocalData> secondList) {
-        PreWriteParam param = new PreWriteParam(dingoType, primaryKey, startTs,
-            isolationLevel, TransactionType.OPTIMISTIC, timeOut);
-        param.init(null);
+    void preWriteSecondKey(List<TxnLocalData> secondList) {
+        // Group the mutations by region, in batches of `max_pre_write_count` at most.
+        List<PreWriteParam> batches = new ArrayList<>();
+        Map<CommonId, PreWriteParam> pending = new LinkedHashMap<>();
         for (TxnLocalData txnLocalData : secondList) {
-            CommonId txnId = txnLocalData.getTxnId();
             CommonId tableId = txnLocalData.getTableId();
             CommonId newPartId = txnLocalData.getPartId();
             int op = txnLocalData.getOp().getCode();
             byte[] key = txnLocalData.getKey();
             byte[] value = txnLocalData.getValue();
-            Mutation mutation = TransactionCacheToMutation.cacheToMutation(op, key, value, 0L, tableId, newPartId, txnId);
-            CommonId partId = param.getPartId();
-            if (partId == null) {
-                partId = newPartId;
-                param.setPartId(partId);
-                param.setTableId(tableId);
-                param.addMutation(mutation);
-            } else if (partId.equals(newPartId)) {
-                param.addMutation(mutation);
-                if (param.getMutations().size() == TransactionUtil.max_pre_write_count) {
-                    boolean result = txnPreWrite(param, txnId, tableId, partId);
-                    if (!result) {
-                        throw new RuntimeException(txnId + " " + partId + ",txnPreWrite false,PrimaryKey:"
-                            + Arrays.toString(param.getPrimaryKey()));
-                    }
-                    param.getMutations().clear();
-                    param.setPartId(null);
-                }
-            } else {
-                boolean result = txnPreWrite(param, txnId, param.getTableId(), partId);
-                if (!result) {
-                    throw new RuntimeException(txnId + " " + partId + ",txnPreWrite false,PrimaryKey:"
-                        + Arrays.toString(param.getPrimaryKey()));
-                }
-                param.getMutations().clear();
-                param.addMutation(mutation);
-                param.setPartId(newPartId);
-                param.setTableId(tableId);
+            Mutation mutation = TransactionCacheToMutation.cacheToMutation(
+                op, key, value, 0L, tableId, newPartId, txnLocalData.getTxnId()
+            );
+            PreWriteParam param = pending.computeIfAbsent(newPartId, partId -> {
+                PreWriteParam newParam = new PreWriteParam(dingoType, primaryKey, startTs,
+                    isolationLevel, TransactionType.OPTIMISTIC, timeOut);
+                newParam.init(null);
+                newParam.setPartId(partId);
+                newParam.setTableId(tableId);
+                return newParam;
+            });
+            param.addMutation(mutation);
+            if (param.getMutations().size() == TransactionUtil.max_pre_write_count) {
+                batches.add(param);
+                pending.remove(newPartId);
             }
         }
-
-        if (!param.getMutations().isEmpty()) {
+        batches.addAll(pending.values());
+        BatchRunner.run("txn-pre-write", batches, TransactionUtil.max_concurrent_batch_count, param -> {
             boolean result = txnPreWrite(param, txnId, param.getTableId(), param.getPartId());
             if (!result) {
                 throw new RuntimeException(txnId + " " + param.getPartId() + ",txnPreWrite false,PrimaryKey:"
                     + Arrays.toString(param.getPrimaryKey()));
             }
-            param.getMutations().clear();
-        }
+        });
     }
 
     public boolean commitPrimaryData(CacheToObject cacheToObject) {
@@ -337,9 +332,9 @@ public class Txn {
     }
 
     public void commitSecondData(List<TxnLocalData> secondData) {
-        CommitParam param = new CommitParam(dingoType, isolationLevel, startTs,
-            commitTs, primaryKey, TransactionType.OPTIMISTIC);
-        param.init(null);
+        // Group the keys by region, in batches of `max_pre_write_count` at most.
+        List<CommitParam> batches = new ArrayList<>();
+        Map<CommonId, CommitParam> pending = new LinkedHashMap<>();
         for (TxnLocalData txnLocalData : secondData) {
             CommonId txnId = txnLocalData.getTxnId();
             CommonId tableId = txnLocalData.getTableId();
@@ -360,42 +355,28 @@ public class Txn {
                     key = vectorCodec.encodeKeyPrefix(new Object[]{decodeKey[0]}, 1);
                 }
             }
-            CommonId partId = param.getPartId();
-            if (partId == null) {
-                partId = newPartId;
-                param.setPartId(partId);
-                param.setTableId(tableId);
-                param.addKey(key);
-            } else if (partId.equals(newPartId)) {
-                param.addKey(key);
-                if (param.getKeys().size() == TransactionUtil.max_pre_write_count) {
-                    boolean result = txnCommit(param, txnId, tableId, partId);
-                    if (!result) {
-                        throw new RuntimeException(txnId + " " + partId + ",txnCommit false,PrimaryKey:"
-                            + Arrays.toString(param.getPrimaryKey()));
-                    }
-                    param.getKeys().clear();
-                    param.setPartId(null);
-                }
-            } else {
-                boolean result = txnCommit(param, txnId, param.getTableId(), partId);
-                if (!result) {
-                    throw new RuntimeException(txnId + " " + partId + ",txnCommit false,PrimaryKey:"
-                        + Arrays.toString(param.getPrimaryKey()));
-                }
-                param.getKeys().clear();
-                param.addKey(key);
-                param.setPartId(newPartId);
-                param.setTableId(tableId);
+            CommitParam param = pending.computeIfAbsent(newPartId, partId -> {
+                CommitParam newParam = new CommitParam(dingoType, isolationLevel, startTs,
+                    commitTs, primaryKey, TransactionType.OPTIMISTIC);
+                newParam.init(null);
+                newParam.setPartId(partId);
+                newParam.setTableId(tableId);
+                return newParam;
+            });
+            param.addKey(key);
+            if (param.getKeys().size() == TransactionUtil.max_pre_write_count) {
+                batches.add(param);
+                pending.remove(newPartId);
             }
         }
-        if (!param.getKeys().isEmpty()) {
+        batches.addAll(pending.values());
+        BatchRunner.run("txn-commit", batches, TransactionUtil.max_concurrent_batch_count, param -> {
             boolean result = txnCommit(param, txnId, param.getTableId(), param.getPartId());
             if (!result) {
-                throw new RuntimeException(txnId + " " + param.getPartId()
-                    + ",txnCommit false,PrimaryKey:" + Arrays.toString(param.getPrimaryKey()));
+                throw new RuntimeException(txnId + " " + param.getPartId() + ",txnCommit false,PrimaryKey:"
+                    + Arrays.toString(param.getPrimaryKey()));
             }
-        }
+        });
     }
 
     public static boolean txnCommit(CommitParam param, CommonId txnId, CommonId tableId, CommonId newPartId) {
@@ -18,11 +18,13 @@ package io.dingodb.exec.transaction.visitor.function;
 
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.base.IdGenerator;
 import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.Output;
 import io.dingodb.exec.base.Task;
+import io.dingodb.exec.codec.TupleCodecType;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.ReceiveOperator;
@@ -56,7 +58,11 @@ public final class DingoTransactionExchangeFun {
             IsolationLevel.of(transaction.getIsolationLevel())
         );
         CommonId receiveId = idGenerator.getOperatorId(rcvTask.getId());
-        SendParam sendParam = new SendParam(target.getHost(), target.getPort(), receiveId, schema);
+        // Both ends are given the codec type, the receiver also accepts avro from older executors.
+        TupleCodecType codecType = TupleCodecType.of(ScopeVariables.getExchangeCodec());
+        SendParam sendParam = new SendParam(
+            target.getHost(), target.getPort(), receiveId, schema, codecType, ScopeVariables.isExchangeCompress()
+        );
         Vertex send = new Vertex(SEND, sendParam);
         send.setId(id);
         input.setPin(0);
@@ -64,7 +70,9 @@ public final class DingoTransactionExchangeFun {
         input.addEdge(edge);
         send.addIn(edge);
         task.putVertex(send);
-        ReceiveParam receiveParam = new ReceiveParam(task.getHost(), task.getLocation().getPort(), schema);
+        ReceiveParam receiveParam = new ReceiveParam(
+            task.getHost(), task.getLocation().getPort(), schema, codecType
+        );
         Vertex receive = new Vertex(RECEIVE, receiveParam);
         receive.setId(receiveId);
         receive.copyHint(input);
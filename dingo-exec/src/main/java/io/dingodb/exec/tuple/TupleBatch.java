@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.tuple;
+
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * A batch of tuples passed between operators in one call, with a selection vector marking the live rows.
+ * The batch is owned by the consumer once pushed, so the consumer may narrow the selection in place.
+ */
+public final class TupleBatch {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Object[][] tuples;
+    @Getter
+    private int size;
+    // `null` means all the `size` tuples are selected.
+    private int[] selection;
+    private int selectedCount;
+
+    public TupleBatch(int capacity) {
+        this.tuples = new Object[capacity][];
+        this.size = 0;
+        this.selection = null;
+    }
+
+    public static @NonNull TupleBatch of(Object[]... tuples) {
+        TupleBatch batch = new TupleBatch(tuples.length);
+        for (Object[] tuple : tuples) {
+            batch.add(tuple);
+        }
+        return batch;
+    }
+
+    public int capacity() {
+        return tuples.length;
+    }
+
+    public boolean isFull() {
+        return size == tuples.length;
+    }
+
+    public boolean isEmpty() {
+        return count() == 0;
+    }
+
+    /**
+     * Append a tuple. Only allowed before any selection is applied.
+     *
+     * @param tuple the tuple
+     * @return `true` if the batch is full after adding
+     */
+    public boolean add(Object[] tuple) {
+        assert selection == null : "Cannot add tuples to a batch with selection.";
+        tuples[size++] = tuple;
+        return size == tuples.length;
+    }
+
+    /**
+     * Get the count of selected tuples.
+     */
+    public int count() {
+        return selection == null ? size : selectedCount;
+    }
+
+    /**
+     * Get the {@code i}-th selected tuple.
+     */
+    public Object[] get(int i) {
+        return selection == null ? tuples[i] : tuples[selection[i]];
+    }
+
+    /**
+     * Narrow the selection to the tuples satisfying the predicate.
+     *
+     * @param predicate the predicate
+     * @return the count of selected tuples after filtering
+     */
+    public int filter(@NonNull Predicate<Object[]> predicate) {
+        int count = count();
+        int[] newSelection = (selection != null ? selection : new int[size]);
+        int j = 0;
+        for (int i = 0; i < count; ++i) {
+            int index = (selection == null ? i : selection[i]);
+            if (predicate.test(tuples[index])) {
+                newSelection[j++] = index;
+            }
+        }
+        selection = newSelection;
+        selectedCount = j;
+        return j;
+    }
+
+    public Object[][] toArray() {
+        if (selection == null) {
+            return Arrays.copyOf(tuples, size);
+        }
+        Object[][] result = new Object[selectedCount][];
+        for (int i = 0; i < selectedCount; ++i) {
+            result[i] = tuples[selection[i]];
+        }
+        return result;
+    }
+}
@@ -16,6 +16,7 @@
 
 package io.dingodb.exec.utils;
 
+import io.dingodb.common.metrics.DingoMetrics;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.util.Pair;
 import io.dingodb.exec.dag.Edge;
@@ -23,6 +24,7 @@ import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.ScanParam;
 import io.dingodb.exec.operator.params.ScanWithRelOpParam;
+import io.dingodb.exec.tuple.TupleBatch;
 import io.dingodb.expr.rel.CacheOp;
 import io.dingodb.expr.rel.PipeOp;
 import io.dingodb.store.api.transaction.DingoTransformedIterator;
@@ -62,16 +64,27 @@ public final class RelOpUtils {
     ) {
         ScanParam param = vertex.getParam();
         OperatorProfile profile = param.getProfile("doScan");
+        long start = System.currentTimeMillis();
+        Edge edge = vertex.getSoleEdge();
         long count = 0;
         long tmp = System.currentTimeMillis();
         boolean breakFlg = false;
+        TupleBatch batch = new TupleBatch(TupleBatch.DEFAULT_CAPACITY);
         while (iterator.hasNext()) {
-            profile.time(tmp);
             Object[] tuple = iterator.next();
-            if (!vertex.getSoleEdge().transformToNext(context, tuple)) {
-                breakFlg = true;
-                break;
+            if (batch.add(tuple)) {
+                profile.time(tmp, batch.getSize());
+                if (!edge.transformBatchToNext(context, batch)) {
+                    breakFlg = true;
+                    break;
+                }
+                batch = new TupleBatch(TupleBatch.DEFAULT_CAPACITY);
+                tmp = System.currentTimeMillis();
             }
+        }
+        if (!breakFlg) {
+            profile.time(tmp, batch.getSize());
+            breakFlg = !edge.transformBatchToNext(context, batch);
             tmp = System.currentTimeMillis();
         }
         if (iterator instanceof DingoTransformedIterator) {
@@ -85,6 +98,7 @@ public final class RelOpUtils {
         profile.time(tmp);
         profile.decreaseCount();
         profile.end();
+        DingoMetrics.latency("scan", System.currentTimeMillis() - start);
         return Pair.of(count, !breakFlg);
     }
 
@@ -95,19 +109,30 @@ public final class RelOpUtils {
     ) {
         ScanParam param = vertex.getParam();
         OperatorProfile profile = param.getProfile("doScanWithPipeOp");
+        long start = System.currentTimeMillis();
         PipeOp relOp = (PipeOp) ((ScanWithRelOpParam) vertex.getParam()).getRelOp();
         Edge edge = vertex.getSoleEdge();
         long count = 0;
         long tmp = System.currentTimeMillis();
         boolean breakFlg = false;
+        TupleBatch batch = new TupleBatch(TupleBatch.DEFAULT_CAPACITY);
         while (sourceIterator.hasNext()) {
-            profile.time(tmp);
             Object[] tuple = sourceIterator.next();
             ++count;
-            if (!processWithPipeOp(relOp, tuple, edge, context)) {
-                breakFlg = true;
-                break;
+            Object[] out = relOp.put(tuple);
+            if (out != null && batch.add(out)) {
+                profile.time(tmp, batch.getSize());
+                if (!edge.transformBatchToNext(context, batch)) {
+                    breakFlg = true;
+                    break;
+                }
+                batch = new TupleBatch(TupleBatch.DEFAULT_CAPACITY);
+                tmp = System.currentTimeMillis();
             }
+        }
+        if (!breakFlg) {
+            profile.time(tmp, batch.getSize());
+            breakFlg = !edge.transformBatchToNext(context, batch);
             tmp = System.currentTimeMillis();
         }
         if (sourceIterator instanceof DingoTransformedIterator) {
@@ -120,6 +145,7 @@ public final class RelOpUtils {
         }
         profile.time(tmp);
         profile.decreaseCount();
+        DingoMetrics.latency("scan", System.currentTimeMillis() - start);
         return Pair.of(count, !breakFlg);
     }
 
@@ -130,6 +156,7 @@ public final class RelOpUtils {
     ) {
         ScanParam param = vertex.getParam();
         OperatorProfile profile = param.getProfile("doScanWithCacheOp");
+        long start = System.currentTimeMillis();
         CacheOp relOp = (CacheOp) ((ScanWithRelOpParam) vertex.getParam()).getRelOp();
         synchronized (relOp) {
             long count = 0;
@@ -153,6 +180,7 @@ public final class RelOpUtils {
             profile.time(tmp);
 
             profile.decreaseCount();
+            DingoMetrics.latency("scan", System.currentTimeMillis() - start);
             forwardCacheOpResults(relOp, vertex.getSoleEdge());
             relOp.clear();
             return Pair.of(count, breakFlg);
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.spill.MemoryBudget;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestAggCache {
+    private static List<Object[]> aggregate(AggCache cache) {
+        for (int i = 0; i < 1000; ++i) {
+            cache.addTuple(new Object[]{i % 100, "v" + i});
+        }
+        List<Object[]> result = new ArrayList<>();
+        cache.forEach(result::add);
+        return result;
+    }
+
+    @Test
+    public void testSpill() {
+        TupleMapping keyMapping = TupleMapping.of(new int[]{0});
+        List<Agg> aggList = Collections.singletonList(new CountAgg(1));
+        MemoryBudget memoryBudget = new MemoryBudget(1024);
+        AggCache cache = new AggCache(keyMapping, aggList, memoryBudget);
+        List<Object[]> result = aggregate(cache);
+        assertThat(cache.getSpillCount()).isGreaterThan(0);
+        assertThat(result).hasSize(100);
+        result.forEach(t -> assertThat(t[1]).isEqualTo(10L));
+        assertThat(result).containsExactlyInAnyOrderElementsOf(
+            aggregate(new AggCache(keyMapping, aggList))
+        );
+        cache.clear();
+        assertThat(cache.getSpillCount()).isZero();
+        assertThat(memoryBudget.getUsed()).isZero();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.channel;
+
+import io.dingodb.exec.channel.message.Control;
+import io.dingodb.exec.channel.message.IncreaseBuffer;
+import io.dingodb.exec.channel.message.StopTx;
+import io.dingodb.exec.codec.TupleCodecType;
+import io.dingodb.net.Message;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestControl {
+    @Test
+    public void testIncreaseBuffer() throws Exception {
+        IncreaseBuffer control = new IncreaseBuffer("job:1:receive", 65536);
+        Control result = Control.fromMessage(new Message("ctrl", control.toBytes(TupleCodecType.BINARY)));
+        assertThat(result).isInstanceOf(IncreaseBuffer.class);
+        assertThat(result.getTag()).isEqualTo("job:1:receive");
+        assertThat(((IncreaseBuffer) result).getBytes()).isEqualTo(65536);
+    }
+
+    @Test
+    public void testStopTx() throws Exception {
+        Control result = Control.fromMessage(new Message("ctrl", new StopTx("job:1:receive").toBytes(TupleCodecType.BINARY)));
+        assertThat(result).isInstanceOf(StopTx.class);
+        assertThat(result.getTag()).isEqualTo("job:1:receive");
+    }
+
+    @Test
+    public void testJsonByDefault() throws Exception {
+        IncreaseBuffer control = new IncreaseBuffer("job:1:receive", 65536);
+        byte[] bytes = control.toBytes(TupleCodecType.AVRO);
+        assertThat(bytes[0]).isEqualTo((byte) '{');
+        Control result = Control.fromMessage(new Message("ctrl", bytes));
+        assertThat(result).isInstanceOf(IncreaseBuffer.class);
+        assertThat(result.getTag()).isEqualTo("job:1:receive");
+        assertThat(((IncreaseBuffer) result).getBytes()).isEqualTo(65536);
+    }
+
+    @Test
+    public void testJson() throws Exception {
+        byte[] json = "{\"type\":\"inc\",\"tag\":\"job:1:receive\",\"bytes\":100}".getBytes(StandardCharsets.UTF_8);
+        Control result = Control.fromMessage(new Message("ctrl", json));
+        assertThat(result).isInstanceOf(IncreaseBuffer.class);
+        assertThat(((IncreaseBuffer) result).getBytes()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.expr;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSqlExprCache {
+    @BeforeEach
+    public void setup() {
+        SqlExprCache.INSTANCE.clear();
+    }
+
+    @Test
+    public void testShared() {
+        DingoType tupleType = DingoTypeFactory.INSTANCE.tuple("INT", "STRING");
+        SqlExpr expr1 = new SqlExpr("_[0] + 1", DingoTypeFactory.INSTANCE.scalar("INT"));
+        SqlExpr expr2 = new SqlExpr("_[0] + 1", DingoTypeFactory.INSTANCE.scalar("INT"));
+        expr1.compileIn(tupleType, null);
+        // Types of different tasks are different instances.
+        expr2.compileIn(DingoTypeFactory.INSTANCE.tuple("INT", "STRING"), null);
+        assertThat(SqlExprCache.INSTANCE.size()).isEqualTo(1);
+        assertThat(expr1.eval(new Object[]{1, "a"})).isEqualTo(2);
+        assertThat(expr2.eval(new Object[]{2, "b"})).isEqualTo(3);
+    }
+
+    @Test
+    public void testTupleTypeEquality() {
+        assertThat(DingoTypeFactory.INSTANCE.tuple("INT", "STRING"))
+            .isEqualTo(DingoTypeFactory.INSTANCE.tuple("INT", "STRING"))
+            .hasSameHashCodeAs(DingoTypeFactory.INSTANCE.tuple("INT", "STRING"))
+            .isNotEqualTo(DingoTypeFactory.INSTANCE.tuple("INT", "LONG"));
+    }
+
+    @Test
+    public void testDifferentTypes() {
+        SqlExpr expr1 = new SqlExpr("_[0] + 1", DingoTypeFactory.INSTANCE.scalar("LONG"));
+        SqlExpr expr2 = new SqlExpr("_[0] + 1", DingoTypeFactory.INSTANCE.scalar("LONG"));
+        expr1.compileIn(DingoTypeFactory.INSTANCE.tuple("INT"), null);
+        expr2.compileIn(DingoTypeFactory.INSTANCE.tuple("LONG"), null);
+        assertThat(SqlExprCache.INSTANCE.size()).isEqualTo(2);
+        assertThat(expr1.eval(new Object[]{1})).isEqualTo(2L);
+        assertThat(expr2.eval(new Object[]{2L})).isEqualTo(3L);
+    }
+
+    @Test
+    public void testParas() {
+        DingoType parasType = DingoTypeFactory.INSTANCE.tuple("INT");
+        SqlExpr expr1 = new SqlExpr("_[0] + _P[0]", DingoTypeFactory.INSTANCE.scalar("INT"));
+        SqlExpr expr2 = new SqlExpr("_[0] + _P[0]", DingoTypeFactory.INSTANCE.scalar("INT"));
+        expr1.compileIn(DingoTypeFactory.INSTANCE.tuple("INT"), parasType);
+        expr2.compileIn(DingoTypeFactory.INSTANCE.tuple("INT"), parasType);
+        expr1.setParas(new Object[]{10});
+        expr2.setParas(new Object[]{20});
+        assertThat(SqlExprCache.INSTANCE.size()).isEqualTo(1);
+        assertThat(expr1.eval(new Object[]{1})).isEqualTo(11);
+        assertThat(expr2.eval(new Object[]{1})).isEqualTo(21);
+    }
+
+    @Test
+    public void testNotCacheable() {
+        assertThat(SqlExprCache.isCacheable("_[0] + 1")).isTrue();
+        assertThat(SqlExprCache.isCacheable("unix_timestamp()")).isFalse();
+    }
+}
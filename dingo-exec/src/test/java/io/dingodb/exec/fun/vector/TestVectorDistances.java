@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.fun.vector;
+
+import io.dingodb.common.exception.DingoSqlException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class TestVectorDistances {
+    private static final float[] A = new float[]{1.0f, 2.0f, 3.0f, 4.0f, 5.0f};
+    private static final float[] B = new float[]{0.5f, -1.0f, 2.0f, 0.0f, 3.0f};
+
+    @Test
+    public void testL2Squared() {
+        assertThat(VectorDistances.l2Squared(A, B)).isCloseTo(0.25 + 9.0 + 1.0 + 16.0 + 4.0, within(1E-6));
+        assertThat(VectorDistances.l2Squared(A, A)).isZero();
+    }
+
+    @Test
+    public void testInnerProduct() {
+        assertThat(VectorDistances.dot(A, B)).isCloseTo(0.5 - 2.0 + 6.0 + 0.0 + 15.0, within(1E-6));
+        assertThat(VectorDistances.innerProduct(A, B)).isCloseTo(1.0 - 19.5, within(1E-6));
+    }
+
+    @Test
+    public void testCosine() {
+        assertThat(VectorDistances.cosine(A, A)).isCloseTo(0.0, within(1E-6));
+        float[] c = new float[]{-1.0f, -2.0f, -3.0f, -4.0f, -5.0f};
+        assertThat(VectorDistances.cosine(A, c)).isCloseTo(2.0, within(1E-6));
+        float[] x = new float[]{1.0f, 0.0f, 0.0f};
+        float[] y = new float[]{0.0f, 1.0f, 0.0f};
+        assertThat(VectorDistances.cosine(x, y)).isCloseTo(1.0, within(1E-6));
+    }
+
+    @Test
+    public void testListFunctions() {
+        assertThat(VectorL2DistanceFun.l2DistanceCombine(
+            Arrays.asList(1.0f, 2.0f, 3.0f, 4.0f, 5.0f),
+            Arrays.asList(0.5, -1, 2, 0, 3)
+        )).isCloseTo(VectorDistances.l2Squared(A, B), within(1E-6));
+        assertThat(VectorCosineDistanceFun.cosine(
+            Arrays.asList(1.0f, 2.0f, 3.0f, 4.0f, 5.0f),
+            Arrays.asList(1.0f, 2.0f, 3.0f, 4.0f, 5.0f)
+        )).isCloseTo(0.0f, within(1E-6f));
+        assertThatThrownBy(() -> VectorIPDistanceFun.innerProductCombine(
+            Arrays.asList(1.0f, 2.0f),
+            Arrays.asList(1.0f, 2.0f, 3.0f)
+        )).isInstanceOf(DingoSqlException.class);
+    }
+
+    @Test
+    public void testKernelOf() {
+        assertThat(VectorDistances.kernelOf("METRIC_TYPE_L2")).isNotNull();
+        assertThat(VectorDistances.kernelOf("METRIC_TYPE_INNER_PRODUCT").distance(A, B))
+            .isEqualTo(VectorDistances.innerProduct(A, B));
+        assertThat(VectorDistances.kernelOf("cosine")).isNotNull();
+        assertThat(VectorDistances.kernelOf("METRIC_TYPE_HAMMING")).isNull();
+        assertThat(VectorDistances.kernelOf(null)).isNull();
+    }
+}
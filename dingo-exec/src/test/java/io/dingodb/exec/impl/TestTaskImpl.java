@@ -19,6 +19,8 @@ package io.dingodb.exec.impl;
 import com.google.common.collect.ImmutableList;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.DingoTypeFactory;
 import io.dingodb.exec.OperatorFactory;
@@ -26,7 +28,9 @@ import io.dingodb.exec.base.Task;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.operator.ReceiveOperator;
 import io.dingodb.exec.operator.RootOperator;
+import io.dingodb.exec.operator.ValuesOperator;
 import io.dingodb.exec.operator.params.ProjectParam;
 import io.dingodb.exec.operator.params.RootParam;
 import io.dingodb.exec.operator.params.ValuesParam;
@@ -35,10 +39,17 @@ import io.dingodb.store.api.transaction.data.IsolationLevel;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static io.dingodb.exec.utils.OperatorCodeUtils.HASH_JOIN;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PROJECT;
 import static io.dingodb.exec.utils.OperatorCodeUtils.ROOT;
+import static io.dingodb.exec.utils.OperatorCodeUtils.SEND;
 import static io.dingodb.exec.utils.OperatorCodeUtils.VALUES;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -123,4 +134,75 @@ public class TestTaskImpl {
             rootOperator.popValue(root);
         }
     }
+
+    @Test
+    public void testBlockedReceivers() throws InterruptedException {
+        int receivers = DingoConfiguration.queryWorkerThreads() + 1;
+        CountDownLatch released = new CountDownLatch(1);
+        CountDownLatch receiving = new CountDownLatch(receivers);
+        List<String> groups = Collections.synchronizedList(new ArrayList<>());
+        // Receivers of many jobs waiting for their senders.
+        for (int i = 0; i < receivers; ++i) {
+            CommonId jobId = new CommonId(CommonId.CommonType.JOB, 1, i);
+            TaskImpl.runSource(jobId, "receive-" + i, ReceiveOperator.INSTANCE.isBlocking(null), () -> {
+                groups.add(Thread.currentThread().getThreadGroup().getName());
+                receiving.countDown();
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+        try {
+            assertThat(receiving.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(groups).containsOnly(Executors.GLOBAL_NAME);
+            // A values source is run by the query workers at once, not after the max wait.
+            long overflowCount = Executors.getQueryOverflowCount();
+            CountDownLatch done = new CountDownLatch(1);
+            long start = System.currentTimeMillis();
+            Vertex values = new Vertex(VALUES, null);
+            TaskImpl.runSource(CommonId.EMPTY_JOB, "values", ValuesOperator.INSTANCE.isBlocking(values), () -> {
+                groups.add(Thread.currentThread().getThreadGroup().getName());
+                done.countDown();
+            });
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(System.currentTimeMillis() - start).isLessThan(DingoConfiguration.queryMaxWaitMs());
+            assertThat(groups.get(groups.size() - 1)).isEqualTo(Executors.QUERY_NAME);
+            assertThat(Executors.getQueryOverflowCount()).isEqualTo(overflowCount);
+        } finally {
+            released.countDown();
+        }
+    }
+
+    private static void connect(Vertex previous, Vertex next) {
+        Edge edge = new Edge(previous, next);
+        previous.addEdge(edge);
+        next.addIn(edge);
+    }
+
+    @Test
+    public void testBlockingSources() {
+        Vertex values = new Vertex(VALUES, null);
+        Vertex root = new Vertex(ROOT, null);
+        connect(values, root);
+        assertThat(ValuesOperator.INSTANCE.isBlocking(values)).isFalse();
+        // The probe side waits for the build side of the hash join.
+        Vertex probe = new Vertex(VALUES, null);
+        Vertex build = new Vertex(VALUES, null);
+        build.setPin(1);
+        Vertex hashJoin = new Vertex(HASH_JOIN, null);
+        connect(probe, hashJoin);
+        connect(build, hashJoin);
+        connect(hashJoin, new Vertex(ROOT, null));
+        assertThat(ValuesOperator.INSTANCE.isBlocking(probe)).isTrue();
+        assertThat(ValuesOperator.INSTANCE.isBlocking(build)).isFalse();
+        // The sender waits for the credit of the receiver.
+        Vertex source = new Vertex(VALUES, null);
+        Vertex project = new Vertex(PROJECT, null);
+        connect(source, project);
+        connect(project, new Vertex(SEND, null));
+        assertThat(ValuesOperator.INSTANCE.isBlocking(source)).isTrue();
+        assertThat(ReceiveOperator.INSTANCE.isBlocking(new Vertex(VALUES, null))).isTrue();
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl.message;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.codec.ProtostuffCodec;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.impl.IdGeneratorImpl;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.operator.params.ProjectParam;
+import io.dingodb.exec.operator.params.ValuesParam;
+import io.dingodb.exec.transaction.base.TransactionType;
+import io.dingodb.store.api.transaction.data.IsolationLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.PROJECT;
+import static io.dingodb.exec.utils.OperatorCodeUtils.VALUES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestTaskMessage {
+    private static final CommonId JOB_ID = new CommonId(CommonId.CommonType.JOB, 1, 2);
+    private static final CommonId TASK_ID = new CommonId(CommonId.CommonType.TASK, 3, 4);
+    private static final Location LOCATION = new Location("localhost", 8765);
+
+    private static Task createTask(IdGeneratorImpl idGenerator, DingoType schema, int value) {
+        CommonId taskId = idGenerator.getTaskId();
+        Task task = new TaskImpl(taskId, JOB_ID, CommonId.EMPTY_TRANSACTION, LOCATION, null,
+            TransactionType.OPTIMISTIC, IsolationLevel.SnapshotIsolation, 0, null);
+        Vertex values = new Vertex(VALUES, new ValuesParam(ImmutableList.of(new Object[]{value}), schema));
+        values.setId(idGenerator.getOperatorId(taskId.seq));
+        task.putVertex(values);
+        Vertex project = new Vertex(PROJECT, new ProjectParam(
+            Collections.singletonList(new SqlExpr("$[0] + 1", DingoTypeFactory.INSTANCE.scalar("INT"))),
+            schema
+        ));
+        project.setId(idGenerator.getOperatorId(taskId.seq));
+        task.putVertex(project);
+        Edge edge = new Edge(values, project);
+        values.addEdge(edge);
+        project.addIn(edge);
+        return task;
+    }
+
+    private static Vertex vertex(Task task, CommonId op) {
+        return task.getVertexes().values().stream()
+            .filter(v -> v.getOp().equals(op))
+            .findAny()
+            .orElseThrow(IllegalStateException::new);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskCodecType.class)
+    public void testCodec(TaskCodecType codecType) throws Exception {
+        byte[] bytes = new DestroyTaskMessage(JOB_ID, TASK_ID).toBytes(codecType);
+        if (codecType.hasHeader()) {
+            assertThat(bytes[1]).isEqualTo(codecType.getTag());
+        } else {
+            assertThat(bytes).isEqualTo(ProtostuffCodec.write(new DestroyTaskMessage(JOB_ID, TASK_ID)));
+        }
+        TaskMessage message = TaskMessage.fromBytes(bytes);
+        assertThat(message).isInstanceOf(DestroyTaskMessage.class);
+        assertThat(((DestroyTaskMessage) message).getJobId()).isEqualTo(JOB_ID);
+        assertThat(((DestroyTaskMessage) message).getTaskId()).isEqualTo(TASK_ID);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskCodecType.class)
+    public void testCreateTasks(TaskCodecType codecType) throws Exception {
+        IdGeneratorImpl idGenerator = new IdGeneratorImpl(JOB_ID.seq);
+        DingoType schema = DingoTypeFactory.INSTANCE.tuple("INT");
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            tasks.add(createTask(idGenerator, schema, i));
+        }
+        TaskMessage message = TaskMessage.fromBytes(new CreateTasksMessage(tasks).toBytes(codecType));
+        assertThat(message).isInstanceOf(CreateTasksMessage.class);
+        List<Task> result = ((CreateTasksMessage) message).getTasks();
+        assertThat(result).hasSize(tasks.size());
+        for (int i = 0; i < tasks.size(); ++i) {
+            Task task = tasks.get(i);
+            Task decoded = result.get(i);
+            assertThat(decoded.getId()).isEqualTo(task.getId());
+            assertThat(decoded.getJobId()).isEqualTo(JOB_ID);
+            assertThat(decoded.getLocation()).isEqualTo(LOCATION);
+            assertThat(decoded.getVertexes().keySet()).isEqualTo(task.getVertexes().keySet());
+            Vertex values = vertex(decoded, VALUES);
+            Vertex project = vertex(decoded, PROJECT);
+            assertThat(((ValuesParam) values.getData()).getTuples()).containsExactly(new Object[]{i});
+            // The edges still link the vertexes of the task.
+            assertThat(values.getOutList()).hasSize(1);
+            assertThat(values.getOutList().get(0).getNext()).isSameAs(project);
+            assertThat(project.getInList().get(0).getPrevious()).isSameAs(values);
+        }
+        // The schema shared by the tasks is written once.
+        assertThat(((ValuesParam) vertex(result.get(1), VALUES).getData()).getSchema())
+            .isSameAs(((ValuesParam) vertex(result.get(0), VALUES).getData()).getSchema());
+    }
+
+    @Test
+    public void testWithoutHeader() throws Exception {
+        byte[] bytes = ProtostuffCodec.write(new DestroyTaskMessage(JOB_ID, TASK_ID));
+        TaskMessage message = TaskMessage.fromBytes(bytes);
+        assertThat(message).isInstanceOf(DestroyTaskMessage.class);
+        assertThat(((DestroyTaskMessage) message).getTaskId()).isEqualTo(TASK_ID);
+    }
+
+    @Test
+    public void testUnknownCodec() {
+        byte[] bytes = new DestroyTaskMessage(JOB_ID, TASK_ID).toBytes(TaskCodecType.PROTOSTUFF);
+        bytes[1] = 9;
+        assertThatThrownBy(() -> TaskMessage.fromBytes(bytes)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testCodecTypeOf() {
+        assertThat(TaskCodecType.of("protostuff")).isEqualTo(TaskCodecType.PROTOSTUFF);
+        assertThat(TaskCodecType.of("unknown")).isEqualTo(TaskCodecType.LEGACY);
+        assertThat(TaskCodecType.of(TaskCodecType.PROTOSTUFF.getTag())).isEqualTo(TaskCodecType.PROTOSTUFF);
+        assertThatThrownBy(() -> TaskCodecType.of(TaskCodecType.LEGACY.getTag()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
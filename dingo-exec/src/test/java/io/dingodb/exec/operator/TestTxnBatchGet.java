@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.exec.transaction.base.TransactionType;
+import io.dingodb.exec.utils.ByteUtils;
+import io.dingodb.store.api.StoreInstance;
+import io.dingodb.store.api.StoreService;
+import io.dingodb.store.api.transaction.data.Op;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestTxnBatchGet {
+    private static final CommonId TXN_ID = new CommonId(CommonId.CommonType.TRANSACTION, 1, 1);
+    private static final CommonId TABLE_ID = new CommonId(CommonId.CommonType.TABLE, 1, 2);
+    private static final CommonId PART_A = new CommonId(CommonId.CommonType.PARTITION, 2, 1);
+    private static final CommonId PART_B = new CommonId(CommonId.CommonType.PARTITION, 2, 2);
+
+    private final Map<byte[], byte[]> cache = new TreeMap<>(ByteArrayUtils::compare);
+    private final Map<byte[], byte[]> remote = new TreeMap<>((k1, k2) -> ByteArrayUtils.compare(k1, k2, 1));
+    private final List<List<byte[]>> remoteRequests = new ArrayList<>();
+
+    private StoreService kvStore;
+    private StoreService localStore;
+    private StoreInstance kvInstance;
+    private KeyValueCodec codec;
+
+    private static byte[] key(int n) {
+        return new byte[]{'t', 0, 0, 0, 0, 0, 0, 0, 0, (byte) n};
+    }
+
+    private static byte[] cacheKey(byte[] key, Op op, CommonId partId) {
+        byte[] txnIdByte = TXN_ID.encode();
+        byte[] tableIdByte = TABLE_ID.encode();
+        byte[] partIdByte = partId.encode();
+        return ByteUtils.encode(
+            CommonId.CommonType.TXN_CACHE_DATA,
+            Arrays.copyOf(key, key.length),
+            op.getCode(),
+            txnIdByte.length + tableIdByte.length + partIdByte.length,
+            txnIdByte, tableIdByte, partIdByte
+        );
+    }
+
+    private static Object value(Object[] tuple) {
+        return tuple == null ? null : tuple[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    public void setup() {
+        StoreInstance localInstance = mock(StoreInstance.class);
+        when(localInstance.get(anyList())).thenAnswer(invocation -> {
+            List<KeyValue> keyValues = new ArrayList<>();
+            for (byte[] key : (List<byte[]>) invocation.getArgument(0)) {
+                byte[] value = cache.get(key);
+                if (value != null) {
+                    keyValues.add(new KeyValue(key, value));
+                }
+            }
+            return keyValues;
+        });
+        localStore = mock(StoreService.class);
+        when(localStore.getInstance(any(CommonId.class), any(CommonId.class))).thenReturn(localInstance);
+        kvInstance = mock(StoreInstance.class);
+        when(kvInstance.txnGet(anyLong(), anyList(), anyLong())).thenAnswer(invocation -> {
+            List<byte[]> keys = invocation.getArgument(1);
+            synchronized (remoteRequests) {
+                remoteRequests.add(keys);
+            }
+            List<KeyValue> keyValues = new ArrayList<>();
+            for (byte[] key : keys) {
+                byte[] value = remote.get(key);
+                if (value != null) {
+                    keyValues.add(new KeyValue(key, value));
+                }
+            }
+            return keyValues;
+        });
+        kvStore = mock(StoreService.class);
+        when(kvStore.getInstance(any(CommonId.class), any(CommonId.class))).thenReturn(kvInstance);
+        codec = mock(KeyValueCodec.class);
+        when(codec.decode(any(KeyValue.class))).thenAnswer(invocation -> {
+            KeyValue keyValue = invocation.getArgument(0);
+            return new Object[]{(int) keyValue.getValue()[0]};
+        });
+    }
+
+    private Object[][] get(List<byte[]> keys, List<CommonId> partIds, TransactionType transactionType) {
+        return TxnBatchGet.get(
+            kvStore, localStore, keys, partIds, TABLE_ID, codec, TXN_ID, transactionType, 1L, 1000L
+        );
+    }
+
+    @Test
+    public void testGetFromStore() {
+        remote.put(key(1), new byte[]{1});
+        remote.put(key(2), new byte[]{2});
+        Object[][] results = get(
+            Arrays.asList(key(1), key(3), key(2)),
+            Arrays.asList(PART_A, PART_A, PART_A),
+            TransactionType.OPTIMISTIC
+        );
+        assertThat(Arrays.stream(results).map(TestTxnBatchGet::value)).containsExactly(1, null, 2);
+        assertThat(remoteRequests).hasSize(1);
+    }
+
+    @Test
+    public void testDuplicateKeysInStore() {
+        remote.put(key(1), new byte[]{1});
+        remote.put(key(2), new byte[]{2});
+        Object[][] results = get(
+            Arrays.asList(key(1), key(2), key(1)),
+            Arrays.asList(PART_A, PART_A, PART_A),
+            TransactionType.OPTIMISTIC
+        );
+        assertThat(Arrays.stream(results).map(TestTxnBatchGet::value)).containsExactly(1, 2, 1);
+        // A repeated key is read once.
+        assertThat(remoteRequests).hasSize(1);
+        assertThat(remoteRequests.get(0)).hasSize(2);
+    }
+
+    @Test
+    public void testDuplicateKeysInCache() {
+        cache.put(cacheKey(key(1), Op.PUT, PART_A), new byte[]{5});
+        remote.put(key(1), new byte[]{1});
+        remote.put(key(2), new byte[]{2});
+        Object[][] results = get(
+            Arrays.asList(key(1), key(2), key(1)),
+            Arrays.asList(PART_A, PART_A, PART_A),
+            TransactionType.OPTIMISTIC
+        );
+        assertThat(Arrays.stream(results).map(TestTxnBatchGet::value)).containsExactly(5, 2, 5);
+        assertThat(remoteRequests).hasSize(1);
+        assertThat(remoteRequests.get(0)).hasSize(1);
+    }
+
+    @Test
+    public void testDeletedInCache() {
+        cache.put(cacheKey(key(1), Op.DELETE, PART_A), new byte[]{0});
+        cache.put(cacheKey(key(2), Op.PUTIFABSENT, PART_A), new byte[]{6});
+        remote.put(key(1), new byte[]{1});
+        Object[][] results = get(
+            Arrays.asList(key(1), key(2), key(1)),
+            Arrays.asList(PART_A, PART_A, PART_A),
+            TransactionType.OPTIMISTIC
+        );
+        assertThat(Arrays.stream(results).map(TestTxnBatchGet::value)).containsExactly(null, 6, null);
+        verify(kvInstance, never()).txnGet(anyLong(), anyList(), anyLong());
+    }
+
+    @Test
+    public void testMultipleRegions() {
+        cache.put(cacheKey(key(4), Op.PUT, PART_B), new byte[]{4});
+        remote.put(key(1), new byte[]{1});
+        remote.put(key(2), new byte[]{2});
+        Object[][] results = get(
+            Arrays.asList(key(1), key(2), key(3), key(4), key(2)),
+            Arrays.asList(PART_A, PART_B, PART_A, PART_B, PART_B),
+            TransactionType.OPTIMISTIC
+        );
+        assertThat(Arrays.stream(results).map(TestTxnBatchGet::value)).containsExactly(1, 2, null, 4, 2);
+        // One read for each region.
+        assertThat(remoteRequests).hasSize(2);
+        verify(kvStore).getInstance(eq(TABLE_ID), eq(PART_A));
+        verify(kvStore).getInstance(eq(TABLE_ID), eq(PART_B));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.TxnGetByKeysParam;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestTxnGetByKeysOperator {
+    private final List<Object[]> pendingTuples = new ArrayList<>();
+    private final List<Context> pendingContexts = new ArrayList<>();
+    private Vertex vertex;
+
+    private static RangeDistribution distribution(long seq) {
+        return RangeDistribution.builder().id(new CommonId(CommonId.CommonType.PARTITION, 1, seq)).build();
+    }
+
+    @BeforeEach
+    public void setup() {
+        TxnGetByKeysParam param = mock(TxnGetByKeysParam.class);
+        when(param.getPendingTuples()).thenReturn(pendingTuples);
+        when(param.getPendingContexts()).thenReturn(pendingContexts);
+        doAnswer(invocation -> {
+            pendingTuples.clear();
+            pendingContexts.clear();
+            return null;
+        }).when(param).clearPending();
+        vertex = mock(Vertex.class);
+        when(vertex.getParam()).thenReturn(param);
+        when(vertex.getSoleEdge()).thenReturn(mock(Edge.class));
+    }
+
+    @Test
+    public void testPendingContexts() {
+        Context context = Context.builder().build();
+        for (int i = 1; i <= 3; ++i) {
+            // The upstream operator changes the distribution of the shared context for every key.
+            context.setDistribution(distribution(i));
+            assertThat(TxnGetByKeysOperator.INSTANCE.push(context, new Object[]{i}, vertex)).isTrue();
+        }
+        assertThat(pendingTuples).hasSize(3);
+        assertThat(pendingContexts).hasSize(3);
+        for (int i = 0; i < 3; ++i) {
+            assertThat(pendingContexts.get(i)).isNotSameAs(context);
+            assertThat(pendingContexts.get(i).getDistribution().getId().seq).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    public void testClearPendingOnException() {
+        Context context = Context.builder().build();
+        context.setDistribution(distribution(1));
+        TxnGetByKeysOperator.INSTANCE.push(context, new Object[]{1}, vertex);
+        TxnGetByKeysOperator.INSTANCE.fin(0, mock(FinWithException.class), vertex);
+        assertThat(pendingTuples).isEmpty();
+        assertThat(pendingContexts).isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.hash;
+
+import io.dingodb.common.type.TupleMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestJoinHashTable {
+    private static List<Object[]> findAll(JoinHashTable table, Object[] tuple, TupleMapping mapping) {
+        List<Object[]> result = new ArrayList<>();
+        for (int row = table.find(tuple, mapping); row >= 0; row = table.next(row)) {
+            result.add(table.get(row));
+        }
+        return result;
+    }
+
+    @Test
+    public void testFind() {
+        JoinHashTable table = new JoinHashTable(TupleMapping.of(new int[]{1}));
+        table.add(new Object[]{1, "a"});
+        table.addAll(new Object[][]{{2, "b"}, {3, "a"}});
+        table.add(new Object[]{4, null});
+        table.seal();
+        assertThat(table.size()).isEqualTo(4);
+        TupleMapping probeMapping = TupleMapping.of(new int[]{0});
+        assertThat(findAll(table, new Object[]{"a"}, probeMapping))
+            .containsExactlyInAnyOrder(new Object[]{1, "a"}, new Object[]{3, "a"});
+        assertThat(findAll(table, new Object[]{"b"}, probeMapping)).containsExactly(new Object[]{2, "b"});
+        assertThat(findAll(table, new Object[]{null}, probeMapping)).containsExactly(new Object[]{4, null});
+        assertThat(table.find(new Object[]{"c"}, probeMapping)).isEqualTo(-1);
+    }
+
+    @Test
+    public void testManyRows() {
+        JoinHashTable table = new JoinHashTable(TupleMapping.of(new int[]{0, 1}));
+        for (int i = 0; i < 10000; ++i) {
+            table.add(new Object[]{i % 100, (long) i % 7, i});
+        }
+        table.seal();
+        TupleMapping probeMapping = TupleMapping.of(new int[]{1, 0});
+        // 10000 rows are distributed evenly over 700 keys, the key (5, 3L) hits i = 5 + 100 * k where i % 7 == 3.
+        List<Object[]> rows = findAll(table, new Object[]{3L, 5}, probeMapping);
+        assertThat(rows).hasSize(14);
+        rows.forEach(r -> assertThat(((Integer) r[2]) % 700).isEqualTo(605));
+    }
+
+    @Test
+    public void testJoinedFlag() {
+        JoinHashTable table = new JoinHashTable(TupleMapping.of(new int[]{0}));
+        table.add(new Object[]{1});
+        table.add(new Object[]{2});
+        table.seal();
+        int row = table.find(new Object[]{2}, TupleMapping.of(new int[]{0}));
+        table.markJoined(row);
+        assertThat(table.isJoined(row)).isTrue();
+        assertThat(table.isJoined(1 - row)).isFalse();
+        table.clear();
+        assertThat(table.size()).isZero();
+    }
+}
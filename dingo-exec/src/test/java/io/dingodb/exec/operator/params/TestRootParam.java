@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.params;
+
+import io.dingodb.common.type.DingoTypeFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRootParam {
+    private RootParam param;
+
+    @BeforeEach
+    public void setup() {
+        param = new RootParam(DingoTypeFactory.INSTANCE.tuple("INTEGER"), null);
+        param.init(null);
+    }
+
+    @Test
+    public void testFullBatch() {
+        for (int i = 0; i < RootParam.ROW_BATCH_SIZE + 1; ++i) {
+            param.put(new Object[]{i});
+        }
+        Object[][] batch = param.takeBatch();
+        assertThat(batch).hasSize(RootParam.ROW_BATCH_SIZE);
+        assertThat(batch[0]).containsExactly(0);
+        param.flush();
+        assertThat(param.takeBatch()).hasSize(1);
+    }
+
+    @Test
+    public void testPutBatchAfterPending() {
+        param.put(new Object[]{1});
+        param.putBatch(new Object[][]{{2}, {3}});
+        assertThat(param.takeOne()).containsExactly(1);
+        assertThat(param.takeOne()).containsExactly(2);
+        Object[][] rest = param.takeBatch();
+        assertThat(rest).hasSize(1);
+        assertThat(rest[0]).containsExactly(3);
+    }
+
+    @Test
+    public void testTakePending() {
+        param.put(new Object[]{1});
+        param.put(new Object[]{2});
+        // The consumer takes the pending tuples instead of waiting for the batch to fill.
+        param.setTakeTtl(100);
+        assertThat(param.takeBatch()).hasSize(2);
+    }
+
+    @Test
+    public void testHandOverToWaitingConsumer() throws InterruptedException {
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            param.put(new Object[]{1});
+        });
+        producer.start();
+        param.setTakeTtl(10000);
+        Object[][] batch = param.takeBatch();
+        producer.join();
+        assertThat(batch).hasSize(1);
+    }
+
+    @Test
+    public void testSplitLargeBatch() {
+        Object[][] tuples = new Object[RootParam.ROW_BATCH_SIZE * 2 + 1][];
+        for (int i = 0; i < tuples.length; ++i) {
+            tuples[i] = new Object[]{i};
+        }
+        param.putBatch(tuples);
+        assertThat(param.getBatchQueue()).hasSize(3);
+        assertThat(param.takeBatch()).hasSize(RootParam.ROW_BATCH_SIZE);
+        assertThat(param.takeBatch()).hasSize(RootParam.ROW_BATCH_SIZE);
+        Object[][] last = param.takeBatch();
+        assertThat(last).hasSize(1);
+        assertThat(last[0]).containsExactly(RootParam.ROW_BATCH_SIZE * 2);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.params;
+
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import io.dingodb.exec.spill.MemoryBudget;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestSortParam {
+    private static SortParam sortParam(int limit, int offset, SortCollation... collations) {
+        return new SortParam(Arrays.asList(collations), limit, offset, false);
+    }
+
+    private static List<Object> column(List<Object[]> tuples, int index) {
+        return tuples.stream().map(t -> t[index]).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testTopNWithOffset() {
+        SortParam param = sortParam(3, 2, new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.LAST));
+        List<Integer> values = Arrays.asList(7, 3, 9, 0, 5, 1, 8, 2, 6, 4);
+        for (Integer value : values) {
+            param.add(new Object[]{value});
+        }
+        // The offset tuples are kept, to be skipped on output.
+        assertThat(param.cachedCount()).isEqualTo(5);
+        assertThat(column(param.sortedCache(), 0)).containsExactly(0, 1, 2, 3, 4);
+        param.clear();
+        assertThat(param.cachedCount()).isZero();
+    }
+
+    @Test
+    public void testTopNDescending() {
+        SortParam param = sortParam(2, 1, new SortCollation(0, SortDirection.DESCENDING, SortNullDirection.LAST));
+        for (int i = 0; i < 10; ++i) {
+            param.add(new Object[]{i});
+        }
+        assertThat(column(param.sortedCache(), 0)).containsExactly(9, 8, 7);
+    }
+
+    @Test
+    public void testTopNTies() {
+        SortParam param = sortParam(3, 0, new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.LAST));
+        param.add(new Object[]{1, "a"});
+        param.add(new Object[]{2, "b"});
+        param.add(new Object[]{1, "c"});
+        param.add(new Object[]{0, "d"});
+        param.add(new Object[]{1, "e"});
+        param.add(new Object[]{2, "f"});
+        List<Object[]> result = param.sortedCache();
+        assertThat(column(result, 0)).containsExactly(0, 1, 1);
+        assertThat(column(result, 1)).containsOnlyOnce("d").doesNotContain("b", "f");
+    }
+
+    @Test
+    public void testTopNTiesBrokenBySecondKey() {
+        SortParam param = sortParam(
+            3,
+            1,
+            new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.LAST),
+            new SortCollation(1, SortDirection.DESCENDING, SortNullDirection.LAST)
+        );
+        param.add(new Object[]{1, "a"});
+        param.add(new Object[]{2, "b"});
+        param.add(new Object[]{1, "c"});
+        param.add(new Object[]{1, "e"});
+        param.add(new Object[]{0, "d"});
+        param.add(new Object[]{2, "f"});
+        List<Object[]> result = param.sortedCache();
+        assertThat(column(result, 0)).containsExactly(0, 1, 1, 1);
+        assertThat(column(result, 1)).containsExactly("d", "e", "c", "a");
+    }
+
+    @Test
+    public void testTopNNullsFirst() {
+        SortParam param = sortParam(3, 0, new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.FIRST));
+        for (Integer value : Arrays.asList(3, null, 1, null, 2)) {
+            param.add(new Object[]{value});
+        }
+        assertThat(column(param.sortedCache(), 0)).containsExactly(null, null, 1);
+    }
+
+    @Test
+    public void testTopNNullsLast() {
+        SortParam param = sortParam(3, 1, new SortCollation(0, SortDirection.DESCENDING, SortNullDirection.LAST));
+        for (Integer value : Arrays.asList(null, 3, null, 1, 2)) {
+            param.add(new Object[]{value});
+        }
+        assertThat(column(param.sortedCache(), 0)).containsExactly(3, 2, 1, null);
+    }
+
+    @Test
+    public void testNoLimit() {
+        SortParam param = sortParam(-1, 0, new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.LAST));
+        List<Integer> values = Arrays.asList(4, 2, 3, 1, 0);
+        for (Integer value : values) {
+            param.add(new Object[]{value});
+        }
+        assertThat(param.cachedCount()).isEqualTo(values.size());
+        assertThat(column(param.sortedCache(), 0)).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    public void testUnsorted() {
+        SortParam param = new SortParam(Collections.emptyList(), 2, 0, false);
+        for (int i = 3; i > 0; --i) {
+            param.add(new Object[]{i});
+        }
+        // Without collations the tuples are output in order of arrival.
+        assertThat(column(param.sortedCache(), 0)).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    public void testSpillWithBudgetHeldByOthers() {
+        MemoryBudget budget = new MemoryBudget(16 * 1024);
+        // Another operator of the task, like a hash join build, holds all the budget.
+        assertThat(budget.tryReserve(budget.getLimit())).isTrue();
+        Vertex vertex = mock(Vertex.class);
+        Task task = mock(Task.class);
+        when(vertex.getTask()).thenReturn(task);
+        when(task.getMemoryBudget()).thenReturn(budget);
+        SortParam param = sortParam(-1, 0, new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.LAST));
+        param.init(vertex);
+        int count = 5000;
+        for (int i = 0; i < count; ++i) {
+            param.add(new Object[]{i % 100, i});
+        }
+        // Each run holds at least the min run size, not a tuple per run.
+        long minRunBytes = budget.getLimit() / SortParam.MIN_RUN_SHARE;
+        long tupleBytes = MemoryBudget.estimate(new Object[]{0, 0});
+        assertThat(param.isSpilled()).isTrue();
+        assertThat(param.runCount()).isGreaterThan(SortParam.MAX_MERGE_FAN_IN);
+        assertThat((long) param.runCount()).isLessThanOrEqualTo(count * tupleBytes / minRunBytes);
+        Iterator<Object[]> iterator = param.mergedIterator();
+        // Merged in passes, so the final merge does not open all the runs.
+        assertThat(param.runCount()).isLessThan(SortParam.MAX_MERGE_FAN_IN);
+        List<Object[]> result = new ArrayList<>(count);
+        iterator.forEachRemaining(result::add);
+        assertThat(result).hasSize(count);
+        for (int i = 1; i < count; ++i) {
+            Object[] prev = result.get(i - 1);
+            Object[] tuple = result.get(i);
+            int order = Integer.compare((Integer) prev[0], (Integer) tuple[0]);
+            // Equal keys keep the order of arrival.
+            assertThat(order < 0 || order == 0 && (Integer) prev[1] < (Integer) tuple[1]).isTrue();
+        }
+        param.clear();
+        assertThat(param.isSpilled()).isFalse();
+        assertThat(budget.getUsed()).isEqualTo(budget.getLimit());
+    }
+}
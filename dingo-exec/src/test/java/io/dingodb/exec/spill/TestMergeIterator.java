@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMergeIterator {
+    @Test
+    public void testMergeRuns() {
+        Comparator<Object[]> comparator = Comparator.comparingInt(t -> (Integer) t[0]);
+        List<SpillFile> runs = new ArrayList<>();
+        List<Iterator<Object[]>> iterators = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            SpillFile run = SpillFile.create();
+            for (int j = i; j < 300; j += 3) {
+                run.write(new Object[]{j, "run" + i});
+            }
+            runs.add(run);
+            iterators.add(run.iterator());
+        }
+        iterators.add(Arrays.asList(new Object[]{-1, "mem"}, new Object[]{1000, "mem"}).iterator());
+        List<Object[]> result = new ArrayList<>();
+        new MergeIterator(iterators, comparator).forEachRemaining(result::add);
+        assertThat(result).hasSize(302);
+        assertThat(result).isSortedAccordingTo(comparator);
+        assertThat(result.get(0)).containsExactly(-1, "mem");
+        assertThat(result.get(301)).containsExactly(1000, "mem");
+        runs.forEach(SpillFile::close);
+    }
+
+    @Test
+    public void testStable() {
+        Comparator<Object[]> comparator = Comparator.comparingInt(t -> (Integer) t[0]);
+        List<Iterator<Object[]>> iterators = Arrays.asList(
+            Arrays.asList(new Object[]{1, "a"}, new Object[]{2, "a"}).iterator(),
+            Arrays.asList(new Object[]{1, "b"}, new Object[]{2, "b"}).iterator()
+        );
+        List<Object[]> result = new ArrayList<>();
+        new MergeIterator(iterators, comparator).forEachRemaining(result::add);
+        assertThat(result).extracting(t -> t[1]).containsExactly("a", "b", "a", "b");
+    }
+}
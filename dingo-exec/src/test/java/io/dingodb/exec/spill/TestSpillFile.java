@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSpillFile {
+    @Test
+    public void testReadAll() {
+        SpillFile file = SpillFile.create();
+        for (int i = 0; i < 3; ++i) {
+            file.write(new Object[]{i, "a" + i});
+        }
+        SpillFile.Reader reader = file.iterator();
+        for (int i = 0; i < 3; ++i) {
+            assertThat(reader.next()).containsExactly(i, "a" + i);
+        }
+        assertThat(reader.hasNext()).isFalse();
+        file.close();
+        assertThat(file.getBytes()).isZero();
+    }
+
+    @Test
+    public void testCloseUnfinishedReaders() {
+        SpillFile file = SpillFile.create();
+        for (int i = 0; i < 3; ++i) {
+            file.write(new Object[]{i});
+        }
+        SpillFile.Reader reader1 = file.iterator();
+        SpillFile.Reader reader2 = file.iterator();
+        assertThat(reader1.next()).containsExactly(0);
+        assertThat(file.getBytes()).isPositive();
+        // Readers stopped early are closed with the file.
+        file.close();
+        assertThat(reader1.hasNext()).isFalse();
+        assertThat(reader2.hasNext()).isFalse();
+        assertThat(file.getBytes()).isZero();
+    }
+
+    @Test
+    public void testEmpty() {
+        SpillFile file = SpillFile.create();
+        assertThat(file.iterator().hasNext()).isFalse();
+        file.close();
+    }
+
+    @Test
+    public void testSpillDir(@TempDir Path tempDir) {
+        File dir = tempDir.resolve("spill").toFile();
+        ScopeVariables.setExecutorProp("spill_dir", dir.getPath());
+        try {
+            SpillFile file = SpillFile.create();
+            file.write(new Object[]{1});
+            file.finish();
+            assertThat(dir.listFiles()).hasSize(1);
+            assertThat(dir.listFiles()[0].getName()).startsWith("dingo-spill-");
+            file.close();
+            assertThat(dir.listFiles()).isEmpty();
+        } finally {
+            ScopeVariables.setExecutorProp("spill_dir", System.getProperty("java.io.tmpdir"));
+        }
+    }
+}
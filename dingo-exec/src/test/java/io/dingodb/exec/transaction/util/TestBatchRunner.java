@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.transaction.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestBatchRunner {
+    private static List<Integer> batches(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void testRunAll() {
+        Set<Integer> done = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        BatchRunner.run("test", batches(64), 4, batch -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(2);
+            running.decrementAndGet();
+            done.add(batch);
+        });
+        assertThat(done).hasSize(64);
+        assertThat(maxRunning.get()).isBetween(1, 4);
+    }
+
+    @Test
+    public void testRunInCurrentThread() {
+        List<Integer> done = new ArrayList<>();
+        Thread thread = Thread.currentThread();
+        BatchRunner.run("test", batches(8), 1, batch -> {
+            assertThat(Thread.currentThread()).isSameAs(thread);
+            done.add(batch);
+        });
+        assertThat(done).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        BatchRunner.run("test", Collections.singletonList(8), 4, batch -> {
+            assertThat(Thread.currentThread()).isSameAs(thread);
+            done.add(batch);
+        });
+        assertThat(done).hasSize(9);
+    }
+
+    @Test
+    public void testStopOnFirstFailure() {
+        Set<Integer> done = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger();
+        assertThatThrownBy(() -> BatchRunner.run("test", batches(64), 4, batch -> {
+            running.incrementAndGet();
+            try {
+                if (batch == 5) {
+                    throw new IllegalStateException("batch " + batch);
+                }
+                sleep(5);
+                done.add(batch);
+            } finally {
+                running.decrementAndGet();
+            }
+        })).isInstanceOf(IllegalStateException.class).hasMessage("batch 5");
+        // The batches not started are skipped, and none is running after the failure is thrown.
+        assertThat(done).hasSizeLessThan(63);
+        assertThat(running.get()).isZero();
+    }
+
+    @Test
+    public void testWaitForRunningBatches() {
+        AtomicBoolean slowStarted = new AtomicBoolean();
+        AtomicBoolean slowFinished = new AtomicBoolean();
+        assertThatThrownBy(() -> BatchRunner.run("test", batches(2), 2, batch -> {
+            if (batch == 0) {
+                slowStarted.set(true);
+                sleep(200);
+                slowFinished.set(true);
+            } else {
+                throw new IllegalStateException("batch " + batch);
+            }
+        })).isInstanceOf(IllegalStateException.class);
+        // The failure is thrown only after the running batch finished, so a rollback does not race with it.
+        assertThat(slowStarted.get()).isTrue();
+        assertThat(slowFinished.get()).isTrue();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.transaction.util;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.exec.transaction.base.CacheToObject;
+import io.dingodb.exec.transaction.base.TxnLocalData;
+import io.dingodb.store.api.transaction.data.Mutation;
+import io.dingodb.store.api.transaction.data.Op;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestTxn {
+    private static final CommonId TXN_ID = new CommonId(CommonId.CommonType.TRANSACTION, 1, 1);
+    private static final CommonId TABLE_ID = new CommonId(CommonId.CommonType.TABLE, 1, 2);
+    private static final CommonId PART_ID = new CommonId(CommonId.CommonType.PARTITION, 2, 3);
+
+    private static List<TxnLocalData> localData(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> TxnLocalData.builder()
+                .dataType(CommonId.CommonType.TXN_CACHE_DATA)
+                .txnId(TXN_ID)
+                .tableId(TABLE_ID)
+                .partId(PART_ID)
+                .op(Op.PUT)
+                .key(new byte[]{'t', (byte) i})
+                .value(new byte[]{(byte) i})
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testPrimaryBeforeSecondaries() {
+        RecordingTxn txn = new RecordingTxn(true);
+        assertThat(txn.commit(localData(3))).isEqualTo(3);
+        assertThat(txn.events).containsExactly(
+            "preWritePrimary", "preWriteSecond 2", "commitTs", "commitPrimary", "commitSecond 2"
+        );
+    }
+
+    @Test
+    public void testPrimaryOnly() {
+        RecordingTxn txn = new RecordingTxn(true);
+        assertThat(txn.commit(localData(1))).isEqualTo(1);
+        assertThat(txn.events).containsExactly("preWritePrimary", "commitTs", "commitPrimary");
+    }
+
+    @Test
+    public void testNoSecondaryCommitIfPrimaryFailed() {
+        RecordingTxn txn = new RecordingTxn(false);
+        assertThatThrownBy(() -> txn.commit(localData(3))).isInstanceOf(RuntimeException.class);
+        assertThat(txn.events).containsExactly("preWritePrimary", "preWriteSecond 2", "commitTs", "commitPrimary");
+    }
+
+    private static class RecordingTxn extends Txn {
+        private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        private final boolean primaryCommitted;
+
+        RecordingTxn(boolean primaryCommitted) {
+            super(TXN_ID, false, 0, 1000);
+            this.primaryCommitted = primaryCommitted;
+        }
+
+        @Override
+        CacheToObject primaryObject(TxnLocalData primary) {
+            Mutation mutation = new Mutation(primary.getOp(), primary.getKey(), primary.getValue(), 0L, null, null);
+            return new CacheToObject(mutation, primary.getTableId(), primary.getPartId());
+        }
+
+        @Override
+        void preWritePrimaryKey(CacheToObject cacheToObject) {
+            events.add("preWritePrimary");
+        }
+
+        @Override
+        void preWriteSecondKey(List<TxnLocalData> secondList) {
+            events.add("preWriteSecond " + secondList.size());
+        }
+
+        @Override
+        long nextCommitTs() {
+            events.add("commitTs");
+            return TXN_ID.seq + 1;
+        }
+
+        @Override
+        public boolean commitPrimaryData(CacheToObject cacheToObject) {
+            events.add("commitPrimary");
+            return primaryCommitted;
+        }
+
+        @Override
+        public void commitSecondData(List<TxnLocalData> secondData) {
+            events.add("commitSecond " + secondData.size());
+        }
+    }
+}
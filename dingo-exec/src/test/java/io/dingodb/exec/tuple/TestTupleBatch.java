@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.tuple;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestTupleBatch {
+    @Test
+    public void testAdd() {
+        TupleBatch batch = new TupleBatch(2);
+        assertThat(batch.isEmpty()).isTrue();
+        assertThat(batch.add(new Object[]{1})).isFalse();
+        assertThat(batch.add(new Object[]{2})).isTrue();
+        assertThat(batch.isFull()).isTrue();
+        assertThat(batch.count()).isEqualTo(2);
+        assertThat(batch.get(1)).containsExactly(2);
+    }
+
+    @Test
+    public void testFilter() {
+        TupleBatch batch = TupleBatch.of(
+            new Object[]{1, "a"},
+            new Object[]{2, "b"},
+            new Object[]{3, "c"},
+            new Object[]{4, "d"}
+        );
+        assertThat(batch.filter(t -> (Integer) t[0] % 2 == 0)).isEqualTo(2);
+        assertThat(batch.get(0)).containsExactly(2, "b");
+        assertThat(batch.get(1)).containsExactly(4, "d");
+        // Filter again on the selection.
+        assertThat(batch.filter(t -> (Integer) t[0] > 3)).isEqualTo(1);
+        assertThat(batch.toArray()).containsExactly(new Object[]{4, "d"});
+        assertThat(batch.getSize()).isEqualTo(4);
+        assertThat(batch.filter(t -> false)).isEqualTo(0);
+        assertThat(batch.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Message listener receiving the content of tag messages without copying it into a {@link Message}.
+ */
+public interface BufferMessageListener extends MessageListener {
+
+    /**
+     * This method is called when a message from the remote-end is received. The content is a view of the pooled
+     * frame buffer, which is released after the call, so it must be consumed before returning.
+     *
+     * @param tag     the message tag
+     * @param content the message content
+     * @param channel the channel connecting to the client
+     */
+    void onMessage(String tag, ByteBuffer content, Channel channel);
+
+    @Override
+    default void onMessage(Message message, Channel channel) {
+        onMessage(message.tag(), ByteBuffer.wrap(message.content()), channel);
+    }
+}
@@ -216,11 +216,35 @@ public class Channel implements io.dingodb.net.Channel {
         connection.sendAsync(content);
     }
 
-    public void receive(ByteBuffer buffer) {
+    /**
+     * Receive a frame, which is released after it is processed.
+     */
+    public void receive(ByteBuf buf) {
         if (status == Status.ACTIVE) {
-            if (!runner.follow(() -> processMessage(buffer))) {
-                log.error("Channel [{}] concurrent receive.", channelId);
+            if (runner.follow(() -> processMessage(buf))) {
+                return;
+            }
+            log.error("Channel [{}] concurrent receive.", channelId);
+        }
+        buf.release();
+    }
+
+    /**
+     * Tag messages only listened by {@link io.dingodb.net.BufferMessageListener}s are decoded from the pooled frame,
+     * others are processed on a heap copy, for they may keep the content.
+     */
+    private void processMessage(ByteBuf buf) {
+        try {
+            if (buf.getByte(buf.readerIndex()) == USER_DEFINE_T && directListener == null && messageListener == null) {
+                ByteBuffer buffer = buf.nioBuffer();
+                buffer.get();
+                if (TagRegistry.onTagBuffer(buffer, this)) {
+                    return;
+                }
             }
+            processMessage(NettyHandlers.copy(buf));
+        } finally {
+            buf.release();
         }
     }
 
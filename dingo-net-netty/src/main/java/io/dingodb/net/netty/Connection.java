@@ -156,14 +156,15 @@ public class Connection {
         authContent = ApiRegistryImpl.instance().invoke(AUTH, channel, message);
     }
 
-    public void receive(ByteBuffer message) {
+    public void receive(ByteBuf message) {
         if (message == null) {
             return;
         }
-        long channelId = message.getLong();
+        long channelId = message.readLong();
         Channel channel = getChannel(channelId);
         if (channel == null) {
             log.error("Receive message, channel id is [{}], but not have channel.", channelId);
+            message.release();
             return;
         }
         channel.receive(message);
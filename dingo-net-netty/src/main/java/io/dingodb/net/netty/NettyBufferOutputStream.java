@@ -24,7 +24,8 @@ public class NettyBufferOutputStream extends BufferOutputStream {
     private final ByteBuf buffer;
 
     public NettyBufferOutputStream(@NonNull Connection connection, int size) {
-        buffer = connection.alloc().buffer(size);
+        // Pooled direct buffer, written to the socket without copying.
+        buffer = connection.alloc().directBuffer(size);
     }
 
     @Override
@@ -72,7 +72,10 @@ public final class NettyHandlers {
             Optional.ifPresent(read(in), out::add);
         }
 
-        private static ByteBuffer read(ByteBuf buf) {
+        /**
+         * Read a frame as a retained slice of the pooled input buffer, which must be released by the handler.
+         */
+        private static ByteBuf read(ByteBuf buf) {
             if (buf.readableBytes() < 5) {
                 return null;
             }
@@ -88,15 +91,22 @@ public final class NettyHandlers {
                 buf.resetReaderIndex();
                 return null;
             }
-            ByteBuffer buffer = ByteBuffer.allocate(length);
-            buf.readBytes(buffer);
-            return (ByteBuffer) buffer.flip();
+            return buf.readRetainedSlice(length);
         }
     }
 
+    /**
+     * Copy the frame to a heap buffer, for the handlers that may keep the content after returning.
+     */
+    static ByteBuffer copy(ByteBuf buf) {
+        ByteBuffer buffer = ByteBuffer.allocate(buf.readableBytes());
+        buf.readBytes(buffer);
+        return (ByteBuffer) buffer.flip();
+    }
+
     @Slf4j
     @AllArgsConstructor
-    public static class AuthHandler extends SimpleChannelInboundHandler<ByteBuffer> {
+    public static class AuthHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
         static {
             ApiRegistryImpl.INSTANCE.register(AuthProxyApi.class, AuthProxyApi.INSTANCE);
@@ -105,9 +115,9 @@ public final class NettyHandlers {
         private final Connection connection;
 
         @Override
-        protected void channelRead0(ChannelHandlerContext ctx, ByteBuffer msg) throws Exception {
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
             try {
-                connection.auth(msg);
+                connection.auth(copy(msg));
                 ctx.channel().pipeline().remove(this);
             } catch (Exception e) {
                 log.error("Handler message from [{}] error.", connection.remote());
@@ -118,7 +128,7 @@ public final class NettyHandlers {
 
     @Slf4j
     @AllArgsConstructor
-    public static class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuffer> {
+    public static class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
         static {
             ApiRegistryImpl.INSTANCE.register(HandshakeApi.class, HandshakeApi.INSTANCE);
@@ -127,9 +137,9 @@ public final class NettyHandlers {
         private final Connection connection;
 
         @Override
-        protected void channelRead0(ChannelHandlerContext ctx, ByteBuffer msg) throws Exception {
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
             try {
-                connection.handshake(msg);
+                connection.handshake(copy(msg));
                 ctx.channel().pipeline().remove(this);
             } catch (Exception e) {
                 log.error("Handler message from [{}] error.", connection.remote());
@@ -139,13 +149,18 @@ public final class NettyHandlers {
     }
 
     @Slf4j
-    @AllArgsConstructor
-    public static class MessageHandler extends SimpleChannelInboundHandler<ByteBuffer> {
+    public static class MessageHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
         private final Connection connection;
 
+        public MessageHandler(Connection connection) {
+            // The frame is released by the channel after it is processed, which may be in another thread.
+            super(false);
+            this.connection = connection;
+        }
+
         @Override
-        protected void channelRead0(ChannelHandlerContext ctx, ByteBuffer msg) throws Exception {
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
             try {
                 connection.receive(msg);
             } catch (Exception e) {
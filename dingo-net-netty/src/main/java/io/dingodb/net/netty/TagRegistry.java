@@ -16,15 +16,18 @@
 
 package io.dingodb.net.netty;
 
+import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.util.DebugLog;
 import io.dingodb.common.util.Optional;
 import io.dingodb.common.util.Parameters;
+import io.dingodb.net.BufferMessageListener;
 import io.dingodb.net.Channel;
 import io.dingodb.net.Message;
 import io.dingodb.net.MessageListener;
 import io.dingodb.net.MessageListenerProvider;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -41,6 +44,15 @@ public class TagRegistry {
         INSTANCE.tagMessageListener.onMessage(message, channel);
     }
 
+    /**
+     * Dispatch a tag message to {@link BufferMessageListener}s without copying the content.
+     *
+     * @return `false` if the message is not dispatched because there are other kinds of listeners or providers
+     */
+    protected static boolean onTagBuffer(ByteBuffer buffer, Channel channel) {
+        return INSTANCE.dispatchBuffer(buffer, channel);
+    }
+
     private TagRegistry() {
     }
 
@@ -81,6 +93,27 @@ public class TagRegistry {
         );
     }
 
+    private boolean dispatchBuffer(ByteBuffer buffer, Channel channel) {
+        int position = buffer.position();
+        String tag = PrimitiveCodec.readString(buffer);
+        Set<MessageListener> tagListeners = tag == null ? null : listeners.get(tag);
+        if (tagListeners == null
+            || providers.containsKey(tag)
+            || !tagListeners.stream().allMatch(l -> l instanceof BufferMessageListener)
+        ) {
+            buffer.position(position);
+            return false;
+        }
+        for (MessageListener listener : tagListeners) {
+            try {
+                ((BufferMessageListener) listener).onMessage(tag, buffer.slice(), channel);
+            } catch (Exception e) {
+                log.error("Execute tag {} message listener error.", tag, e);
+            }
+        }
+        return true;
+    }
+
     public final MessageListener tagMessageListener = (msg, ch) -> {
         String tag = msg.tag();
         if (tag == null) {
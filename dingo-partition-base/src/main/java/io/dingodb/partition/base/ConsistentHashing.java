@@ -15,73 +15,287 @@
  */
 
 package io.dingodb.partition.base;
+
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.*;
+import java.util.Arrays;
 
+/**
+ * A consistent hash ring. The ring is kept as sorted {@code long} arrays and looked up by binary search, so
+ * {@link #getNode(byte[])} allocates nothing.
+ *
+ * <p>Placement depends on the {@link Version}, which must never change for existing data.
+ */
 @Slf4j
 public class ConsistentHashing<T> {
+    public enum Version {
+        /**
+         * MD5 of the key ordered as a signed 128-bit integer, the placement of all existing hash partitions.
+         */
+        MD5,
+        /**
+         * 64-bit Murmur3 of the key.
+         */
+        MURMUR3
+    }
+
+    private static final ThreadLocal<Md5Hasher> MD5_HASHER = ThreadLocal.withInitial(Md5Hasher::new);
+
     private final int replicas;
-    private final TreeMap<BigInteger, T> ring = new TreeMap<>();
+    private final Version version;
+    private volatile Ring<T> ring = new Ring<>(new long[0], new long[0], new Object[0]);
 
     public ConsistentHashing(int replicas) {
+        this(replicas, Version.MD5);
+    }
+
+    public ConsistentHashing(int replicas, Version version) {
         this.replicas = replicas;
+        this.version = version;
     }
 
-    public void addNode(T node) {
+    public synchronized void addNode(T node) {
+        Ring<T> ring = this.ring;
         for (int i = 0; i < replicas; i++) {
             String nodeStr = node.toString() + "-" + i;
-            byte[] key = getHash(nodeStr);
-            BigInteger hash = new BigInteger(key);
-            log.trace("node:" + nodeStr + ",hash:" + hash);
-            ring.put(hash, node);
+            long[] hash = hash(nodeStr.getBytes(StandardCharsets.UTF_8));
+            log.trace("node:" + nodeStr + ",hash:" + Arrays.toString(hash));
+            ring = ring.put(hash[0], hash[1], node);
         }
+        this.ring = ring;
     }
 
-    public void removeNode(T node) {
+    public synchronized void removeNode(T node) {
+        Ring<T> ring = this.ring;
         for (int i = 0; i < replicas; i++) {
-            byte[] key = getHash(node.toString() + "-" + i);
-            BigInteger hash = new BigInteger(key);
-            ring.remove(hash);
+            long[] hash = hash((node.toString() + "-" + i).getBytes(StandardCharsets.UTF_8));
+            ring = ring.remove(hash[0], hash[1]);
         }
+        this.ring = ring;
     }
 
     public T getNode(byte[] key) {
-        if (ring.isEmpty()) {
+        Ring<T> ring = this.ring;
+        if (ring.nodes.length == 0) {
             return null;
         }
-        byte[] hash = getHash(key);
-        BigInteger bigHash = new BigInteger(hash);
-        Map.Entry<BigInteger, T> entry = ring.ceilingEntry(bigHash);
-        if (entry == null) {
-            entry = ring.firstEntry();
+        int index;
+        if (version == Version.MD5) {
+            Md5Hasher hasher = MD5_HASHER.get();
+            hasher.hash(key);
+            index = ring.ceiling(hasher.high(), hasher.low());
+        } else {
+            index = ring.ceiling(murmur3(key), 0L);
+        }
+        if (index == ring.nodes.length) {
+            index = 0;
+        }
+        return ring.node(index);
+    }
+
+    private long[] hash(byte[] key) {
+        if (version == Version.MD5) {
+            Md5Hasher hasher = MD5_HASHER.get();
+            hasher.hash(key);
+            return new long[]{hasher.high(), hasher.low()};
         }
-        log.trace("key:" +new String(key) + " hash:" + entry.getKey());
-        return entry.getValue();
+        return new long[]{murmur3(key), 0L};
     }
 
-    private byte[] getHash(String key) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            md.update(key.getBytes(StandardCharsets.UTF_8));
-            return md.digest();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 not supported", e);
+    private static long getLong(byte[] bytes, int pos) {
+        return ((long) bytes[pos] & 0xff)
+            | (((long) bytes[pos + 1] & 0xff) << 8)
+            | (((long) bytes[pos + 2] & 0xff) << 16)
+            | (((long) bytes[pos + 3] & 0xff) << 24)
+            | (((long) bytes[pos + 4] & 0xff) << 32)
+            | (((long) bytes[pos + 5] & 0xff) << 40)
+            | (((long) bytes[pos + 6] & 0xff) << 48)
+            | (((long) bytes[pos + 7] & 0xff) << 56);
+    }
+
+    private static long fmix64(long hash) {
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= (hash >>> 33);
+        return hash;
+    }
+
+    /**
+     * The first 64 bits of MurmurHash3 x64 128 with seed 0.
+     */
+    static long murmur3(byte[] data) {
+        final long c1 = 0x87c37b91114253d5L;
+        final long c2 = 0x4cf5ad432745937fL;
+        final int length = data.length;
+        final int nblocks = length >> 4;
+        long h1 = 0;
+        long h2 = 0;
+        for (int i = 0; i < nblocks; i++) {
+            long k1 = getLong(data, i << 4);
+            long k2 = getLong(data, (i << 4) + 8);
+            h1 ^= Long.rotateLeft(k1 * c1, 31) * c2;
+            h1 = (Long.rotateLeft(h1, 27) + h2) * 5 + 0x52dce729;
+            h2 ^= Long.rotateLeft(k2 * c2, 33) * c1;
+            h2 = (Long.rotateLeft(h2, 31) + h1) * 5 + 0x38495ab5;
+        }
+        // tail, the remaining bytes as little-endian k1 and k2
+        int tail = nblocks << 4;
+        int remaining = length - tail;
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = remaining - 1; i >= 8; i--) {
+            k2 ^= ((long) data[tail + i] & 0xff) << ((i - 8) << 3);
+        }
+        for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+            k1 ^= ((long) data[tail + i] & 0xff) << (i << 3);
         }
+        if (remaining > 8) {
+            h2 ^= Long.rotateLeft(k2 * c2, 33) * c1;
+        }
+        if (remaining > 0) {
+            h1 ^= Long.rotateLeft(k1 * c1, 31) * c2;
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        return h1 + h2;
     }
 
-    private byte[] getHash(byte[] key) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            md.update(key);
-            return md.digest();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 not supported", e);
+    private static final class Md5Hasher {
+        private final MessageDigest digest;
+        private final byte[] buf = new byte[16];
+
+        private Md5Hasher() {
+            try {
+                digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("MD5 not supported", e);
+            }
+        }
+
+        private void hash(byte[] key) {
+            digest.update(key);
+            try {
+                digest.digest(buf, 0, buf.length);
+            } catch (DigestException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        // The digest read as a big-endian signed 128-bit integer, like `new BigInteger(digest)`.
+        private long high() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buf[i] & 0xff);
+            }
+            return value;
+        }
+
+        private long low() {
+            long value = 0;
+            for (int i = 8; i < 16; i++) {
+                value = (value << 8) | (buf[i] & 0xff);
+            }
+            return value;
         }
     }
 
+    /**
+     * Immutable ring points sorted by (signed high, unsigned low).
+     */
+    private static final class Ring<T> {
+        private final long[] highs;
+        private final long[] lows;
+        private final Object[] nodes;
+
+        private Ring(long[] highs, long[] lows, Object[] nodes) {
+            this.highs = highs;
+            this.lows = lows;
+            this.nodes = nodes;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T node(int index) {
+            return (T) nodes[index];
+        }
+
+        private int compare(int index, long high, long low) {
+            int result = Long.compare(highs[index], high);
+            return result != 0 ? result : Long.compareUnsigned(lows[index], low);
+        }
+
+        /**
+         * Get the index of the first point not less than the hash, or the length of the ring if none.
+         */
+        private int ceiling(long high, long low) {
+            int lo = 0;
+            int hi = nodes.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(mid, high, low) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private Ring<T> put(long high, long low, T node) {
+            int index = ceiling(high, low);
+            if (index < nodes.length && compare(index, high, low) == 0) {
+                Object[] newNodes = nodes.clone();
+                newNodes[index] = node;
+                return new Ring<>(highs, lows, newNodes);
+            }
+            return new Ring<>(insert(highs, index, high), insert(lows, index, low), insert(nodes, index, node));
+        }
+
+        private Ring<T> remove(long high, long low) {
+            int index = ceiling(high, low);
+            if (index == nodes.length || compare(index, high, low) != 0) {
+                return this;
+            }
+            return new Ring<>(delete(highs, index), delete(lows, index), delete(nodes, index));
+        }
+
+        private static long[] insert(long[] array, int index, long value) {
+            long[] result = new long[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
+
+        private static Object[] insert(Object[] array, int index, Object value) {
+            Object[] result = new Object[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
+
+        private static long[] delete(long[] array, int index) {
+            long[] result = new long[array.length - 1];
+            System.arraycopy(array, 0, result, 0, index);
+            System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+            return result;
+        }
+
+        private static Object[] delete(Object[] array, int index) {
+            Object[] result = new Object[array.length - 1];
+            System.arraycopy(array, 0, result, 0, index);
+            System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+            return result;
+        }
+    }
 }
@@ -16,6 +16,9 @@
 
 package io.dingodb.partition.base;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import io.dingodb.codec.CodecService;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.partition.RangeDistribution;
@@ -35,6 +38,9 @@ import java.util.stream.Collectors;
 
 @Slf4j
 public class HashRangePartitionService implements PartitionService {
+    // The ring and the ranges of each partition, built once for each distribution map, weak keys compare by identity.
+    private final LoadingCache<NavigableMap<ComparableByteArray, RangeDistribution>, HashPartitions> hashPartitions =
+        CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(HashPartitions::new));
 
     @Override
     public int getPartNum(NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
@@ -43,24 +49,10 @@ public class HashRangePartitionService implements PartitionService {
 
     @Override
     public CommonId calcPartId(byte[] key, NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
-        ConsistentHashing<Long> hashRing = new ConsistentHashing<>(3);
-        NavigableMap<ComparableByteArray, RangeDistribution> partRanges = new TreeMap<>();
-        for (Map.Entry<ComparableByteArray, RangeDistribution> entry : ranges.entrySet()) {
-            RangeDistribution value = entry.getValue();
-            log.trace("id:" + value.getId().domain);
-            hashRing.addNode(value.getId().domain);
-        }
-        Long selectNode = hashRing.getNode(key);
-        for (Map.Entry<ComparableByteArray, RangeDistribution> entry : ranges.entrySet()) {
-            ComparableByteArray rangeKeyBytes = entry.getKey();
-            RangeDistribution rangeValue = entry.getValue();
-            if (rangeValue.getId().domain == selectNode.longValue()) {
-                partRanges.put(rangeKeyBytes, rangeValue);
-            }
-        }
-
-        CodecService.getDefault().setId(key, new CommonId(CommonId.CommonType.PARTITION, 0, selectNode));
-        return partRanges.floorEntry(new ComparableByteArray(key, 1)).getValue().id();
+        HashPartitions partitions = hashPartitions.getUnchecked(ranges);
+        Long selectNode = partitions.hashRing.getNode(key);
+        CodecService.getDefault().setId(key, selectNode);
+        return partitions.partRanges.get(selectNode).floorEntry(new ComparableByteArray(key, 1)).getValue().id();
     }
 
     @Override
@@ -132,4 +124,17 @@ public class HashRangePartitionService implements PartitionService {
         return distributions;
     }
 
+    private static final class HashPartitions {
+        private final ConsistentHashing<Long> hashRing = new ConsistentHashing<>(3);
+        private final Map<Long, NavigableMap<ComparableByteArray, RangeDistribution>> partRanges = new HashMap<>();
+
+        private HashPartitions(NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
+            for (Map.Entry<ComparableByteArray, RangeDistribution> entry : ranges.entrySet()) {
+                RangeDistribution value = entry.getValue();
+                log.trace("id:" + value.getId().domain);
+                hashRing.addNode(value.getId().domain);
+                partRanges.computeIfAbsent(value.getId().domain, k -> new TreeMap<>()).put(entry.getKey(), value);
+            }
+        }
+    }
 }
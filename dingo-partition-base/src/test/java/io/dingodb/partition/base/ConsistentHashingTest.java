@@ -16,13 +16,22 @@
 
 package io.dingodb.partition.base;
 
-import java.nio.charset.StandardCharsets;
-
+import com.google.common.hash.Hashing;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class ConsistentHashingTest {
     private ConsistentHashing<Long> consistentHashing;
@@ -93,4 +102,132 @@ public class ConsistentHashingTest {
         Assertions.assertEquals(node3, node4);
 
     }
+
+    @Test
+    public void testMurmur3Version() {
+        ConsistentHashing<Long> md5Hashing = new ConsistentHashing<>(3);
+        ConsistentHashing<Long> murmur3Hashing = new ConsistentHashing<>(3, ConsistentHashing.Version.MURMUR3);
+        for (long node = 1; node <= 5; node++) {
+            md5Hashing.addNode(node);
+            murmur3Hashing.addNode(node);
+        }
+        int differs = 0;
+        for (int i = 0; i < 1000; i++) {
+            byte[] key = ("key-" + i).getBytes(StandardCharsets.UTF_8);
+            Long node = murmur3Hashing.getNode(key);
+            Assertions.assertNotNull(node);
+            Assertions.assertEquals(node, murmur3Hashing.getNode(key));
+            if (!node.equals(md5Hashing.getNode(key))) {
+                differs++;
+            }
+        }
+        Assertions.assertTrue(differs > 0);
+    }
+
+    @Test
+    public void testRemoveNodeKeepsOtherKeys() {
+        ConsistentHashing<Long> hashing = new ConsistentHashing<>(3, ConsistentHashing.Version.MURMUR3);
+        for (long node = 1; node <= 5; node++) {
+            hashing.addNode(node);
+        }
+        Long[] before = new Long[1000];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = hashing.getNode(("key-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        hashing.removeNode(3L);
+        for (int i = 0; i < before.length; i++) {
+            Long node = hashing.getNode(("key-" + i).getBytes(StandardCharsets.UTF_8));
+            Assertions.assertNotEquals(Long.valueOf(3L), node);
+            if (before[i] != 3L) {
+                Assertions.assertEquals(before[i], node);
+            }
+        }
+    }
+
+    private static List<byte[]> fixedKeys() {
+        List<byte[]> keys = new ArrayList<>();
+        keys.add(new byte[0]);
+        keys.add("中文".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 1000; i++) {
+            keys.add(("key-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        Random random = new Random(20211018L);
+        for (int i = 0; i < 1000; i++) {
+            byte[] key = new byte[random.nextInt(40)];
+            random.nextBytes(key);
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    @Test
+    public void testMd5PlacementUnchanged() {
+        ConsistentHashing<Long> hashing = new ConsistentHashing<>(3);
+        LegacyConsistentHashing<Long> legacy = new LegacyConsistentHashing<>(3);
+        List<byte[]> keys = fixedKeys();
+        for (long node = 1; node <= 8; node++) {
+            hashing.addNode(node * 1000 + 7);
+            legacy.addNode(node * 1000 + 7);
+        }
+        for (byte[] key : keys) {
+            Assertions.assertEquals(legacy.getNode(key), hashing.getNode(key));
+        }
+        hashing.removeNode(3007L);
+        legacy.removeNode(3007L);
+        hashing.removeNode(8007L);
+        legacy.removeNode(8007L);
+        for (byte[] key : keys) {
+            Assertions.assertEquals(legacy.getNode(key), hashing.getNode(key));
+        }
+    }
+
+    @Test
+    public void testMurmur3MatchesGuava() {
+        for (byte[] key : fixedKeys()) {
+            Assertions.assertEquals(Hashing.murmur3_128().hashBytes(key).asLong(), ConsistentHashing.murmur3(key));
+        }
+    }
+
+    /**
+     * The ring before it was kept as sorted arrays, the reference of the MD5 placement.
+     */
+    private static class LegacyConsistentHashing<T> {
+        private final int replicas;
+        private final TreeMap<BigInteger, T> ring = new TreeMap<>();
+
+        LegacyConsistentHashing(int replicas) {
+            this.replicas = replicas;
+        }
+
+        void addNode(T node) {
+            for (int i = 0; i < replicas; i++) {
+                ring.put(new BigInteger(md5((node.toString() + "-" + i).getBytes(StandardCharsets.UTF_8))), node);
+            }
+        }
+
+        void removeNode(T node) {
+            for (int i = 0; i < replicas; i++) {
+                ring.remove(new BigInteger(md5((node.toString() + "-" + i).getBytes(StandardCharsets.UTF_8))));
+            }
+        }
+
+        T getNode(byte[] key) {
+            if (ring.isEmpty()) {
+                return null;
+            }
+            Map.Entry<BigInteger, T> entry = ring.ceilingEntry(new BigInteger(md5(key)));
+            if (entry == null) {
+                entry = ring.firstEntry();
+            }
+            return entry.getValue();
+        }
+
+        private static byte[] md5(byte[] key) {
+            try {
+                return MessageDigest.getInstance("MD5").digest(key);
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
@@ -21,8 +21,15 @@ import io.dingodb.common.store.KeyValue;
 
 import java.util.Iterator;
 
-public interface ProfileScanIterator extends Iterator<KeyValue> {
+public interface ProfileScanIterator extends Iterator<KeyValue>, AutoCloseable {
     public Profile getRpcProfile();
 
     public Profile getInitRpcProfile();
+
+    /**
+     * Release the resources of a scan abandoned before its end.
+     */
+    @Override
+    default void close() {
+    }
 }
@@ -16,14 +16,17 @@
 
 package io.dingodb.store.local;
 
+import com.google.common.collect.Iterators;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.util.ByteArrayUtils;
-import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.WriteOptions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -34,12 +37,24 @@ import static io.dingodb.common.util.ByteArrayUtils.compareWithoutLen;
 import static io.dingodb.common.util.Parameters.cleanNull;
 import static io.dingodb.common.util.Parameters.nonNull;
 
-@AllArgsConstructor
 public class StoreInstance implements io.dingodb.store.api.StoreInstance {
 
     public final CommonId regionId;
     private static final WriteOptions writeOptions = new WriteOptions().setDisableWAL(true);
 
+    private final RocksDB db;
+    private final WriteBuffer buffer;
+
+    public StoreInstance(CommonId regionId) {
+        this(regionId, StoreService.db, StoreService.buffer);
+    }
+
+    StoreInstance(CommonId regionId, RocksDB db, WriteBuffer buffer) {
+        this.regionId = regionId;
+        this.db = db;
+        this.buffer = buffer;
+    }
+
     @Override
     public CommonId id() {
         return regionId;
@@ -49,30 +64,54 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
     @SneakyThrows
     public boolean put(KeyValue row) {
         nonNull(row, "row");
-        if (StoreService.db.get(row.getKey()) != null) {
+        byte[] key = nonNull(row.getKey(), "key");
+        byte[] value = cleanNull(row.getValue(), ByteArrayUtils.EMPTY_BYTES);
+        if (buffer.isSpilled(key) && db.get(key) != null) {
             return false;
         }
-        StoreService.db.put(writeOptions, nonNull(row.getKey(), "key"), cleanNull(row.getValue(), ByteArrayUtils.EMPTY_BYTES));
+        if (!buffer.isFull() || db == null) {
+            return buffer.putIfAbsent(key, value);
+        }
+        if (buffer.get(key) != null) {
+            return false;
+        }
+        buffer.markSpilled(key);
+        db.put(writeOptions, key, value);
         return true;
     }
 
     @Override
     @SneakyThrows
     public boolean delete(byte[] key) {
-        StoreService.db.delete(writeOptions, key);
+        // A key is either in the buffer or in RocksDB, never in both.
+        if (buffer.remove(key) || !buffer.isSpilled(key)) {
+            return true;
+        }
+        if (db.get(key) != null) {
+            db.delete(writeOptions, key);
+            buffer.unmarkSpilled(key);
+        }
         return true;
     }
 
     @Override
     @SneakyThrows
     public void deletePrefix(byte[] prefix) {
-        StoreService.db.deleteRange(writeOptions, prefix, nextKey(prefix));
+        byte[] end = nextKey(prefix);
+        buffer.remove(prefix, end);
+        if (buffer.isSpilled(prefix, end)) {
+            db.deleteRange(writeOptions, prefix, end);
+            buffer.clearSpilled(prefix, end);
+        }
     }
 
     @Override
     @SneakyThrows
     public KeyValue get(byte[] key) {
-        byte[] valueBytes = StoreService.db.get(key);
+        byte[] valueBytes = buffer.get(key);
+        if (valueBytes == null && buffer.isSpilled(key)) {
+            valueBytes = db.get(key);
+        }
         if (valueBytes == null) {
             return null;
         }
@@ -82,24 +121,59 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
     @Override
     @SneakyThrows
     public List<KeyValue> get(List<byte[]> keys) {
-        List<byte[]> values = StoreService.db.multiGetAsList(keys);
+        byte[][] values = new byte[keys.size()][];
+        List<Integer> spilledIndices = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            byte[] key = keys.get(i);
+            values[i] = buffer.get(key);
+            if (values[i] == null && buffer.isSpilled(key)) {
+                spilledIndices.add(i);
+            }
+        }
+        if (!spilledIndices.isEmpty()) {
+            List<byte[]> spilledValues = db.multiGetAsList(
+                spilledIndices.stream().map(keys::get).collect(Collectors.toList())
+            );
+            for (int i = 0; i < spilledIndices.size(); i++) {
+                values[spilledIndices.get(i)] = spilledValues.get(i);
+            }
+        }
         return IntStream.range(0, keys.size())
-            .mapToObj(i -> new KeyValue(keys.get(i), values.get(i)))
-            .filter(kv -> kv.getValue() != null)
+            .filter(i -> values[i] != null)
+            .mapToObj(i -> new KeyValue(keys.get(i), values[i]))
             .collect(Collectors.toList());
     }
 
     @Override
     public Iterator<KeyValue> scan(Range range) {
-        return new KeyValueIterator(StoreService.db.newIterator(), range);
+        byte[] start;
+        if (range.start == null) {
+            start = ByteArrayUtils.EMPTY_BYTES;
+        } else {
+            start = range.withStart ? range.start : nextKey(range.start);
+        }
+        byte[] end;
+        if (range.end == null) {
+            end = ByteArrayUtils.MAX;
+        } else {
+            end = range.withEnd ? nextKey(range.end) : range.end;
+        }
+        Iterator<KeyValue> iterator = buffer.scan(start, end);
+        if (!buffer.isSpilled(start, end)) {
+            return iterator;
+        }
+        return Iterators.mergeSorted(
+            Arrays.asList(iterator, new KeyValueIterator(db.newIterator(), range)),
+            (kv1, kv2) -> ByteArrayUtils.compare(kv1.getKey(), kv2.getKey())
+        );
     }
 
     @Override
     public Iterator<KeyValue> scan(long requestTs, Range range) {
-        return new KeyValueIterator(StoreService.db.newIterator(), range);
+        return scan(range);
     }
 
-    private byte[] nextKey(byte[] key) {
+    static byte[] nextKey(byte[] key) {
         byte[] next = new byte[key.length];
         int n = key.length;
         while (--n >= 0) {
@@ -59,6 +59,8 @@ public class StoreService implements io.dingodb.store.api.StoreService {
         db = rocksdb;
     }
 
+    protected static final WriteBuffer buffer = new WriteBuffer(Configuration.instance().getMemoryBufferSize());
+
     public static final StoreService INSTANCE = new StoreService();
 
     @AutoService(StoreServiceProvider.class)
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.store.local;
+
+import com.google.common.collect.AbstractIterator;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.util.ByteArrayUtils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.dingodb.common.util.ByteArrayUtils.compareWithoutLen;
+
+/**
+ * Sorted in-memory tier of the local store, RocksDB is only used for the keys written after the buffer is full.
+ *
+ * <p>Local keys start with {@code [type(1)|txnId or jobId(17)]}, so the keys of one transaction are adjacent and a
+ * transaction is spilled as a whole prefix. Prefixes never spilled are served from memory only, without any JNI call.
+ * A spilled prefix counts its keys in RocksDB and is forgotten once the last of them is deleted.
+ */
+class WriteBuffer {
+    static final int PREFIX_LEN = CommonId.TYPE_LEN + CommonId.LEN;
+
+    // Rough cost of a skip list node and the two array headers.
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final ConcurrentSkipListMap<byte[], byte[]> memory = new ConcurrentSkipListMap<>(ByteArrayUtils::compare);
+    private final ConcurrentSkipListMap<byte[], Long> spilled = new ConcurrentSkipListMap<>(ByteArrayUtils::compare);
+    private final AtomicLong size = new AtomicLong();
+    private final long limit;
+
+    WriteBuffer(long limit) {
+        this.limit = limit;
+    }
+
+    boolean isFull() {
+        return size.get() >= limit;
+    }
+
+    boolean putIfAbsent(byte[] key, byte[] value) {
+        if (memory.putIfAbsent(key, value) == null) {
+            size.addAndGet(sizeOf(key, value));
+            return true;
+        }
+        return false;
+    }
+
+    byte[] get(byte[] key) {
+        return memory.get(key);
+    }
+
+    boolean remove(byte[] key) {
+        byte[] value = memory.remove(key);
+        if (value != null) {
+            size.addAndGet(-sizeOf(key, value));
+            return true;
+        }
+        return false;
+    }
+
+    void remove(byte[] start, byte[] end) {
+        for (byte[] key : memory.subMap(start, end).keySet()) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Scan the buffered keys in {@code [start, end)}, {@code end} is compared without length like the RocksDB scan.
+     */
+    Iterator<KeyValue> scan(byte[] start, byte[] end) {
+        Iterator<Map.Entry<byte[], byte[]>> iterator = memory.tailMap(start, true).entrySet().iterator();
+        return new AbstractIterator<KeyValue>() {
+            @Override
+            protected KeyValue computeNext() {
+                if (iterator.hasNext()) {
+                    Map.Entry<byte[], byte[]> entry = iterator.next();
+                    if (compareWithoutLen(entry.getKey(), end) < 0) {
+                        return new KeyValue(entry.getKey(), entry.getValue());
+                    }
+                }
+                return endOfData();
+            }
+        };
+    }
+
+    /**
+     * Count a key written to RocksDB, must be called before the write so that readers look for it there.
+     */
+    void markSpilled(byte[] key) {
+        spilled.merge(prefixOf(key), 1L, Long::sum);
+    }
+
+    /**
+     * Uncount a key deleted from RocksDB, the prefix is forgotten with its last key.
+     */
+    void unmarkSpilled(byte[] key) {
+        spilled.computeIfPresent(prefixOf(key), (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    boolean isSpilled(byte[] key) {
+        return !spilled.isEmpty() && spilled.containsKey(prefixOf(key));
+    }
+
+    /**
+     * Check whether some spilled key may be in {@code [start, end)}, false positives are allowed.
+     */
+    boolean isSpilled(byte[] start, byte[] end) {
+        if (spilled.isEmpty()) {
+            return false;
+        }
+        byte[] prefix = spilled.ceilingKey(prefixOf(start));
+        return prefix != null && ByteArrayUtils.compare(prefix, end) < 0;
+    }
+
+    /**
+     * Forget the spilled prefixes whose keys are all in {@code [start, end)}.
+     */
+    void clearSpilled(byte[] start, byte[] end) {
+        for (byte[] prefix : spilled.tailMap(start, true).keySet()) {
+            if (ByteArrayUtils.compare(prefix, end) >= 0) {
+                break;
+            }
+            if (ByteArrayUtils.compare(StoreInstance.nextKey(prefix), end) <= 0) {
+                spilled.remove(prefix);
+            }
+        }
+    }
+
+    int spilledPrefixCount() {
+        return spilled.size();
+    }
+
+    private static byte[] prefixOf(byte[] key) {
+        return key.length <= PREFIX_LEN ? key : Arrays.copyOf(key, PREFIX_LEN);
+    }
+
+    private static long sizeOf(byte[] key, byte[] value) {
+        return key.length + value.length + ENTRY_OVERHEAD;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.store.local;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.store.api.StoreInstance.Range;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestStoreInstance {
+    private static final byte[] PREFIX_A = prefix(1);
+    private static final byte[] PREFIX_B = prefix(2);
+
+    private Options options;
+    private RocksDB db;
+    private WriteBuffer buffer;
+    private StoreInstance store;
+
+    private static byte[] prefix(int id) {
+        byte[] prefix = new byte[WriteBuffer.PREFIX_LEN];
+        prefix[0] = 't';
+        prefix[prefix.length - 1] = (byte) id;
+        return prefix;
+    }
+
+    private static byte[] key(byte[] prefix, int suffix) {
+        byte[] key = Arrays.copyOf(prefix, prefix.length + 1);
+        key[prefix.length] = (byte) suffix;
+        return key;
+    }
+
+    private static List<Byte> suffixes(List<KeyValue> keyValues) {
+        return keyValues.stream()
+            .map(kv -> kv.getKey()[kv.getKey().length - 1])
+            .collect(Collectors.toList());
+    }
+
+    private List<KeyValue> scan(byte[] prefix) {
+        return ImmutableList.copyOf(store.scan(new Range(prefix, prefix, true, true)));
+    }
+
+    @BeforeEach
+    public void setup(@TempDir Path path) throws RocksDBException {
+        options = new Options().setCreateIfMissing(true);
+        db = RocksDB.open(options, path.toString());
+        // Room for two entries, the following ones go to RocksDB.
+        buffer = new WriteBuffer(150);
+        store = new StoreInstance(null, db, buffer);
+        assertThat(store.put(new KeyValue(key(PREFIX_A, 1), new byte[]{1}))).isTrue();
+        assertThat(store.put(new KeyValue(key(PREFIX_A, 2), new byte[]{2}))).isTrue();
+        assertThat(buffer.isFull()).isTrue();
+        assertThat(store.put(new KeyValue(key(PREFIX_A, 3), new byte[]{3}))).isTrue();
+        assertThat(store.put(new KeyValue(key(PREFIX_B, 1), new byte[]{4}))).isTrue();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        db.close();
+        options.close();
+    }
+
+    @Test
+    public void testPutAcrossSpill() throws RocksDBException {
+        assertThat(buffer.get(key(PREFIX_A, 2))).containsExactly(2);
+        assertThat(db.get(key(PREFIX_A, 2))).isNull();
+        assertThat(buffer.get(key(PREFIX_A, 3))).isNull();
+        assertThat(db.get(key(PREFIX_A, 3))).containsExactly(3);
+        assertThat(buffer.spilledPrefixCount()).isEqualTo(2);
+        // Existing keys are not overwritten, whichever tier they are in.
+        assertThat(store.put(new KeyValue(key(PREFIX_A, 1), new byte[]{5}))).isFalse();
+        assertThat(store.put(new KeyValue(key(PREFIX_A, 3), new byte[]{5}))).isFalse();
+        assertThat(store.get(key(PREFIX_A, 1)).getValue()).containsExactly(1);
+        assertThat(store.get(key(PREFIX_A, 3)).getValue()).containsExactly(3);
+    }
+
+    @Test
+    public void testGetAcrossSpill() {
+        assertThat(store.get(key(PREFIX_A, 1)).getValue()).containsExactly(1);
+        assertThat(store.get(key(PREFIX_A, 3)).getValue()).containsExactly(3);
+        assertThat(store.get(key(PREFIX_B, 1)).getValue()).containsExactly(4);
+        assertThat(store.get(key(PREFIX_A, 4))).isNull();
+        List<KeyValue> keyValues = store.get(Arrays.asList(
+            key(PREFIX_B, 1),
+            key(PREFIX_A, 4),
+            key(PREFIX_A, 2),
+            key(PREFIX_A, 3)
+        ));
+        assertThat(suffixes(keyValues)).containsExactly((byte) 1, (byte) 2, (byte) 3);
+        assertThat(keyValues.get(0).getValue()).containsExactly(4);
+    }
+
+    @Test
+    public void testScanAcrossSpill() {
+        List<KeyValue> keyValues = scan(PREFIX_A);
+        assertThat(suffixes(keyValues)).containsExactly((byte) 1, (byte) 2, (byte) 3);
+        assertThat(keyValues.get(2).getValue()).containsExactly(3);
+        assertThat(suffixes(scan(PREFIX_B))).containsExactly((byte) 1);
+        assertThat(Iterators.size(store.scan(new Range(null, null, true, true)))).isEqualTo(4);
+    }
+
+    @Test
+    public void testDeleteAcrossSpill() {
+        assertThat(store.delete(key(PREFIX_A, 1))).isTrue();
+        assertThat(store.delete(key(PREFIX_A, 3))).isTrue();
+        assertThat(store.get(key(PREFIX_A, 1))).isNull();
+        assertThat(store.get(key(PREFIX_A, 3))).isNull();
+        assertThat(suffixes(scan(PREFIX_A))).containsExactly((byte) 2);
+        // The prefix is forgotten with its last spilled key.
+        assertThat(buffer.isSpilled(key(PREFIX_A, 2))).isFalse();
+        assertThat(buffer.spilledPrefixCount()).isEqualTo(1);
+        // Deleting a missing key leaves the count alone.
+        assertThat(store.delete(key(PREFIX_B, 2))).isTrue();
+        assertThat(buffer.isSpilled(key(PREFIX_B, 1))).isTrue();
+        assertThat(store.delete(key(PREFIX_B, 1))).isTrue();
+        assertThat(buffer.spilledPrefixCount()).isZero();
+        assertThat(store.get(key(PREFIX_B, 1))).isNull();
+    }
+
+    @Test
+    public void testDeletePrefixAcrossSpill() {
+        store.deletePrefix(PREFIX_A);
+        assertThat(scan(PREFIX_A)).isEmpty();
+        assertThat(store.get(key(PREFIX_A, 3))).isNull();
+        assertThat(buffer.spilledPrefixCount()).isEqualTo(1);
+        assertThat(buffer.isFull()).isFalse();
+        // Space is available again in the buffer.
+        assertThat(store.put(new KeyValue(key(PREFIX_A, 5), new byte[]{5}))).isTrue();
+        assertThat(buffer.get(key(PREFIX_A, 5))).containsExactly(5);
+        assertThat(buffer.isSpilled(key(PREFIX_A, 5))).isFalse();
+    }
+}
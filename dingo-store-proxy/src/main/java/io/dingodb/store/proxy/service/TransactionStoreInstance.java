@@ -81,12 +81,16 @@ import io.dingodb.store.service.InfoSchemaService;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -180,7 +184,7 @@ public class TransactionStoreInstance {
                     response = indexService.txnPrewrite(txnPreWrite.getStartTs(), request);
                 }
                 long sub = System.currentTimeMillis() - start1;
-                DingoMetrics.timer("txnPreWriteRpc").update(sub, TimeUnit.MILLISECONDS);
+                DingoMetrics.latency("txnPreWriteRpc", sub);
                 if (response.getKeysAlreadyExist() != null && !response.getKeysAlreadyExist().isEmpty()) {
                     getJoinedPrimaryKey(txnPreWrite, response.getKeysAlreadyExist());
                 }
@@ -219,7 +223,7 @@ public class TransactionStoreInstance {
             }
         } finally {
             long sub = System.currentTimeMillis() - start;
-            DingoMetrics.timer("txnPreWrite").update(sub, TimeUnit.MILLISECONDS);
+            DingoMetrics.latency("txnPreWrite", sub);
         }
     }
 
@@ -300,7 +304,7 @@ public class TransactionStoreInstance {
             return response.getTxnResult() == null;
         } finally {
             long sub = System.currentTimeMillis() - start;
-            DingoMetrics.timer("txnCommitRpc").update(sub, TimeUnit.MILLISECONDS);
+            DingoMetrics.latency("txnCommitRpc", sub);
         }
     }
 
@@ -498,7 +502,7 @@ public class TransactionStoreInstance {
             }
         } finally {
             long sub = System.currentTimeMillis() - start;
-            DingoMetrics.timer("txnBatchGetRpc").update(sub, TimeUnit.MILLISECONDS);
+            DingoMetrics.latency("txnBatchGetRpc", sub);
         }
     }
 
@@ -793,14 +797,22 @@ public class TransactionStoreInstance {
         return resolveLockStatus;
     }
 
+    /**
+     * Iterator over a txn scan, page by page. While the consumer drains a page, the requests of the following pages
+     * (at most {@link ScopeVariables#getScanPrefetchDepth()}) are sent in background, so the consumer does not wait a
+     * full round trip for each page. As the request of a page needs the end key of the previous one, the prefetched
+     * requests are chained one after another.
+     */
     public class ScanIterator implements ProfileScanIterator {
         private final long startTs;
         private final StoreInstance.Range range;
         private final long timeOut;
         private final io.dingodb.sdk.service.entity.common.CoprocessorV2 coprocessor;
+        private final int prefetchDepth;
+        private final Deque<CompletableFuture<ScanPage>> pages = new ArrayDeque<>();
 
-        private boolean withStart;
         private boolean hasMore = true;
+        private volatile boolean closed = false;
         private int limit;
         private StoreInstance.Range current;
         private Iterator<KeyValue> keyValues;
@@ -815,12 +827,14 @@ public class TransactionStoreInstance {
             this.startTs = startTs;
             this.range = range;
             this.current = range;
-            this.withStart = range.withStart;
             this.timeOut = timeOut;
             limit = ScopeVariables.getRpcBatchSize();
             if (coprocessor != null && coprocessor.getLimit() > 0) {
                 limit = coprocessor.getLimit();
             }
+            // A limited scan is mostly satisfied by the first page.
+            prefetchDepth = coprocessor != null && coprocessor.getLimit() > 0
+                ? 0 : ScopeVariables.getScanPrefetchDepth();
             this.coprocessor = MAPPER.coprocessorTo(coprocessor);
             Optional.ofNullable(this.coprocessor)
                 .map(io.dingodb.sdk.service.entity.common.CoprocessorV2::getOriginalSchema)
@@ -832,15 +846,13 @@ public class TransactionStoreInstance {
             rpcProfile = new OperatorProfile("continueTxnRpc");
             initRpcProfile.start();
             long start = System.currentTimeMillis();
-            fetch();
+            apply(fetch(current));
             initRpcProfile.time(start);
             initRpcProfile.end();
+            prefetch();
         }
 
-        private synchronized void fetch() {
-            if (!hasMore) {
-                return;
-            }
+        private ScanPage fetch(StoreInstance.Range current) {
             long start = System.currentTimeMillis();
             long scanTimeOut = timeOut;
             int n = 1;
@@ -884,16 +896,54 @@ public class TransactionStoreInstance {
                     }
                     continue;
                 }
-                keyValues = Optional.ofNullable(txnScanResponse.getKvs()).map(List::iterator).orElseGet(Collections::emptyIterator);
-                hasMore = txnScanResponse.isHasMore();
-                if (hasMore) {
-                    withStart = false;
-                    current = new StoreInstance.Range(txnScanResponse.getEndKey(), range.end, withStart, range.withEnd);
+                long sub = System.currentTimeMillis() - start;
+                DingoMetrics.latency("txnScanRpc", sub);
+                if (txnScanResponse.isHasMore()) {
+                    return new ScanPage(
+                        txnScanResponse.getKvs(),
+                        new StoreInstance.Range(txnScanResponse.getEndKey(), range.end, false, range.withEnd)
+                    );
+                }
+                return new ScanPage(txnScanResponse.getKvs(), null);
+            }
+        }
+
+        private CompletableFuture<ScanPage> fetchAsync(StoreInstance.Range current) {
+            // Skip the RPC if the scan is closed before the page is fetched.
+            return Executors.submitIo("txn-scan-prefetch", () -> closed ? ScanPage.END : fetch(current));
+        }
+
+        private void apply(@NonNull ScanPage page) {
+            keyValues = Optional.ofNullable(page.kvs).map(List::iterator).orElseGet(Collections::emptyIterator);
+            hasMore = page.next != null;
+            if (hasMore) {
+                current = page.next;
+            }
+        }
+
+        private void prefetch() {
+            while (hasMore && pages.size() < prefetchDepth) {
+                CompletableFuture<ScanPage> last = pages.peekLast();
+                if (last == null) {
+                    pages.add(fetchAsync(current));
+                } else {
+                    pages.add(last.thenCompose(page -> page.next != null
+                        ? fetchAsync(page.next)
+                        : CompletableFuture.completedFuture(ScanPage.END)
+                    ));
                 }
-                break;
             }
-            long sub = System.currentTimeMillis() - start;
-            DingoMetrics.timer("txnScanRpc").update(sub, TimeUnit.MILLISECONDS);
+        }
+
+        private ScanPage take(@NonNull CompletableFuture<ScanPage> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
         }
 
         @Override
@@ -903,8 +953,10 @@ public class TransactionStoreInstance {
                     rpcProfile.start();
                 }
                 long start = System.currentTimeMillis();
-                fetch();
+                CompletableFuture<ScanPage> future = pages.poll();
+                apply(future != null ? take(future) : fetch(current));
                 rpcProfile.time(start);
+                prefetch();
             }
             return keyValues.hasNext();
         }
@@ -914,6 +966,20 @@ public class TransactionStoreInstance {
             return MAPPER.kvFrom(keyValues.next());
         }
 
+        /**
+         * Cancel the prefetched pages, a page chained after a cancelled one is never requested.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            hasMore = false;
+            keyValues = Collections.emptyIterator();
+            CompletableFuture<ScanPage> future;
+            while ((future = pages.poll()) != null) {
+                future.cancel(false);
+            }
+        }
+
         @Override
         public Profile getRpcProfile() {
             return rpcProfile;
@@ -925,4 +991,15 @@ public class TransactionStoreInstance {
         }
     }
 
+    private static final class ScanPage {
+        private static final ScanPage END = new ScanPage(null, null);
+
+        private final List<KeyValue> kvs;
+        private final StoreInstance.Range next;
+
+        private ScanPage(List<KeyValue> kvs, StoreInstance.Range next) {
+            this.kvs = kvs;
+            this.next = next;
+        }
+    }
 }
@@ -17,6 +17,8 @@
 package io.dingodb.store.proxy.service;
 
 import com.google.auto.service.AutoService;
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.common.metrics.DingoMetrics;
 import io.dingodb.sdk.service.MetaService;
 import io.dingodb.sdk.service.Services;
 import io.dingodb.sdk.service.entity.common.Location;
@@ -25,7 +27,12 @@ import io.dingodb.sdk.service.entity.meta.TsoTimestamp;
 import io.dingodb.store.proxy.Configuration;
 import io.dingodb.tso.TsoServiceProvider;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import static io.dingodb.sdk.service.entity.meta.TsoOpType.OP_GEN_TSO;
 
@@ -46,6 +53,12 @@ public class TsoService implements io.dingodb.tso.TsoService {
 
     private MetaService tsoMetaService;
 
+    /**
+     * Requesters waiting for the next batch.
+     */
+    private final List<CompletableFuture<Long>> pending = new ArrayList<>();
+    private boolean inFlight = false;
+
     public TsoService() {
         String coordinators = Configuration.coordinators();
         if (coordinators == null) {
@@ -61,6 +74,10 @@ public class TsoService implements io.dingodb.tso.TsoService {
         setTsoMetaService(Services.tsoService(coordinators));
     }
 
+    TsoService(MetaService tsoMetaService) {
+        this.tsoMetaService = tsoMetaService;
+    }
+
     private void setTsoMetaService(MetaService tsoMetaService) {
         synchronized (TsoService.class) {
             this.tsoMetaService = tsoMetaService;
@@ -78,12 +95,82 @@ public class TsoService implements io.dingodb.tso.TsoService {
         return Math.abs((((long) System.identityHashCode(this)) << 32) + System.nanoTime());
     }
 
+    /**
+     * Get a timestamp. Requesters arriving while a TSO request is in flight are batched into the next request
+     * (with {@code count} of the batch size), and each one takes a timestamp of the returned window.
+     *
+     * <p>Windows are not cached or prefetched, so every timestamp is allocated after it is requested.
+     */
     @Override
     public long tso() {
-        TsoTimestamp startTimestamp = tsoMetaService.tsoService(
-            trace(), TsoRequest.builder().opType(OP_GEN_TSO).count(1L).build()
-        ).getStartTimestamp();
-        return (startTimestamp.getPhysical() << PHYSICAL_SHIFT) + (startTimestamp.getLogical() & MAX_LOGICAL);
+        long start = System.nanoTime();
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        boolean leader;
+        synchronized (pending) {
+            pending.add(future);
+            leader = !inFlight;
+            inFlight = true;
+        }
+        if (leader) {
+            dispatch();
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            DingoMetrics.timer("tsoWait").update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Send one TSO request for all the pending requesters. If more requesters arrived meanwhile, the next request is
+     * sent in background, so the leader does not serve others after its own timestamp is ready.
+     */
+    private void dispatch() {
+        List<CompletableFuture<Long>> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                inFlight = false;
+                return;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        try {
+            TsoTimestamp startTimestamp = tsoMetaService.tsoService(
+                trace(), TsoRequest.builder().opType(OP_GEN_TSO).count((long) batch.size()).build()
+            ).getStartTimestamp();
+            long physical = startTimestamp.getPhysical();
+            long logical = startTimestamp.getLogical();
+            if (logical < 0 || logical > MAX_LOGICAL) {
+                throw new IllegalStateException("Invalid TSO logical: " + logical + ", physical: " + physical);
+            }
+            // Logical values beyond the logical bits would carry into the physical part, so the requesters left
+            // are put back for the next request.
+            int served = (int) Math.min(batch.size(), MAX_LOGICAL - logical + 1);
+            DingoMetrics.histogram("tsoBatchSize", served);
+            for (int i = 0; i < served; ++i) {
+                batch.get(i).complete((physical << PHYSICAL_SHIFT) | (logical + i));
+            }
+            if (served < batch.size()) {
+                synchronized (pending) {
+                    pending.addAll(0, batch.subList(served, batch.size()));
+                }
+            }
+        } catch (Exception e) {
+            batch.forEach(f -> f.completeExceptionally(e));
+        }
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                inFlight = false;
+                return;
+            }
+        }
+        Executors.execute("tso-batch", this::dispatch);
     }
 
     @Override
@@ -93,9 +180,7 @@ public class TsoService implements io.dingodb.tso.TsoService {
 
     @Override
     public long timestamp() {
-        return tsoMetaService.tsoService(
-            trace(), TsoRequest.builder().opType(OP_GEN_TSO).count(1L).build()
-        ).getStartTimestamp().getPhysical();
+        return timestamp(tso());
     }
 
     @Override
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.store.proxy.service;
+
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import io.dingodb.sdk.service.StoreService;
+import io.dingodb.sdk.service.entity.common.KeyValue;
+import io.dingodb.sdk.service.entity.store.TxnScanRequest;
+import io.dingodb.sdk.service.entity.store.TxnScanResponse;
+import io.dingodb.store.api.StoreInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestScanIterator {
+    private static final int PAGES = 4;
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private volatile boolean blocking = false;
+    private StoreService storeService;
+
+    private static TxnScanResponse page(int index) {
+        KeyValue kv = KeyValue.builder().key(new byte[]{(byte) index}).value(new byte[]{(byte) index}).build();
+        return TxnScanResponse.builder()
+            .kvs(Collections.singletonList(kv))
+            .hasMore(index < PAGES - 1)
+            .endKey(new byte[]{(byte) index})
+            .build();
+    }
+
+    private TransactionStoreInstance.ScanIterator scan() {
+        TransactionStoreInstance instance = new TransactionStoreInstance(storeService, null, null);
+        StoreInstance.Range range = new StoreInstance.Range(new byte[]{0}, new byte[]{(byte) PAGES}, true, false);
+        return instance.getScanIterator(1L, range, 10000, null);
+    }
+
+    @BeforeEach
+    public void setup() {
+        storeService = mock(StoreService.class);
+        when(storeService.txnScan(anyLong(), any(TxnScanRequest.class))).thenAnswer(invocation -> {
+            int index = calls.getAndIncrement();
+            if (index > 0 && blocking) {
+                started.countDown();
+                assertThat(released.await(10, TimeUnit.SECONDS)).isTrue();
+            }
+            return page(index);
+        });
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        released.countDown();
+        ScopeVariables.setExecutorProp("scan_prefetch_depth", "1");
+    }
+
+    @Test
+    public void testScanAllPages() {
+        ScopeVariables.setExecutorProp("scan_prefetch_depth", "2");
+        TransactionStoreInstance.ScanIterator iterator = scan();
+        List<Byte> keys = new ArrayList<>();
+        while (iterator.hasNext()) {
+            keys.add(iterator.next().getKey()[0]);
+        }
+        assertThat(keys).containsExactly((byte) 0, (byte) 1, (byte) 2, (byte) 3);
+        assertThat(calls.get()).isEqualTo(PAGES);
+    }
+
+    @Test
+    public void testCloseCancelsPrefetch() throws InterruptedException {
+        ScopeVariables.setExecutorProp("scan_prefetch_depth", "3");
+        blocking = true;
+        TransactionStoreInstance.ScanIterator iterator = scan();
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat(iterator.next().getKey()).containsExactly(0);
+        // The second page is in flight, the following ones are chained after it.
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        iterator.close();
+        released.countDown();
+        Thread.sleep(200);
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+}
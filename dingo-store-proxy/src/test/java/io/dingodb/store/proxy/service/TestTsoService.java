@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.store.proxy.service;
+
+import io.dingodb.sdk.service.MetaService;
+import io.dingodb.sdk.service.entity.meta.TsoRequest;
+import io.dingodb.sdk.service.entity.meta.TsoResponse;
+import io.dingodb.sdk.service.entity.meta.TsoTimestamp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestTsoService {
+    private static final long MAX_LOGICAL = (1 << 18) - 1;
+
+    private final List<Long> counts = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> results = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private MetaService metaService;
+    private long physical;
+    private long logical;
+
+    private static long tso(long physical, long logical) {
+        return (physical << 18) | logical;
+    }
+
+    @BeforeEach
+    public void setup() {
+        metaService = mock(MetaService.class);
+        physical = 100;
+        logical = 0;
+        // Allocates `count` logical values, jumping to the next physical only at the start of a request.
+        when(metaService.tsoService(anyLong(), any(TsoRequest.class))).thenAnswer(invocation -> {
+            long count = invocation.getArgument(1, TsoRequest.class).getCount();
+            boolean first;
+            synchronized (counts) {
+                first = counts.isEmpty();
+                counts.add(count);
+            }
+            if (first) {
+                started.countDown();
+                assertThat(released.await(10, TimeUnit.SECONDS)).isTrue();
+            }
+            if (logical > MAX_LOGICAL) {
+                physical++;
+                logical = 0;
+            }
+            TsoTimestamp start = TsoTimestamp.builder().physical(physical).logical(logical).build();
+            logical += count;
+            return TsoResponse.builder().startTimestamp(start).build();
+        });
+    }
+
+    private List<Long> runConcurrently(TsoService tsoService, int requesters) throws InterruptedException {
+        Thread leader = new Thread(() -> results.add(tsoService.tso()));
+        leader.start();
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        // Requesters arriving while the first request is in flight.
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < requesters; ++i) {
+            Thread thread = new Thread(() -> results.add(tsoService.tso()));
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING) {
+                assertThat(thread.isAlive()).isTrue();
+                Thread.sleep(1);
+            }
+        }
+        released.countDown();
+        leader.join(10000);
+        for (Thread thread : threads) {
+            thread.join(10000);
+        }
+        return new ArrayList<>(results);
+    }
+
+    @Test
+    public void testBatch() throws InterruptedException {
+        List<Long> tsos = runConcurrently(new TsoService(metaService), 7);
+        assertThat(counts).containsExactly(1L, 7L);
+        assertThat(tsos).containsExactlyInAnyOrder(
+            tso(100, 0), tso(100, 1), tso(100, 2), tso(100, 3), tso(100, 4), tso(100, 5), tso(100, 6), tso(100, 7)
+        );
+    }
+
+    @Test
+    public void testLogicalNotCarried() throws InterruptedException {
+        logical = MAX_LOGICAL - 2;
+        List<Long> tsos = runConcurrently(new TsoService(metaService), 3);
+        // The last requester does not fit in the logical range of the second request and is sent again.
+        assertThat(counts).containsExactly(1L, 3L, 1L);
+        assertThat(tsos).containsExactlyInAnyOrder(
+            tso(100, MAX_LOGICAL - 2), tso(100, MAX_LOGICAL - 1), tso(100, MAX_LOGICAL), tso(101, 0)
+        );
+    }
+
+    @Test
+    public void testSingle() {
+        released.countDown();
+        TsoService tsoService = new TsoService(metaService);
+        assertThat(tsoService.tso()).isEqualTo(tso(100, 0));
+        assertThat(tsoService.tso()).isEqualTo(tso(100, 1));
+        assertThat(counts).containsExactly(1L, 1L);
+    }
+}
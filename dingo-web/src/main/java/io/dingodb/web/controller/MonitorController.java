@@ -37,8 +37,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Api("Monitor")
 @RestController
@@ -154,6 +156,12 @@ public class MonitorController {
         return ResponseEntity.ok(monitorServerService.getRegionMap("regionMap").getOrDefault(id, new ArrayList<>()));
     }
 
+    @ApiOperation("Get latency percentiles of a statement type or an operator")
+    @GetMapping("/api/queryLatency")
+    public ResponseEntity<Map<String, BigDecimal>> queryLatency(String instance, String name) {
+        return ResponseEntity.ok(monitorServerService.getLatency(instance, name));
+    }
+
     @ApiOperation("get stmt summary")
     @GetMapping("/api/queryStmt")
     public ResponseEntity<List<Stmt>> getStmt() {
@@ -66,6 +66,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -644,6 +645,16 @@ public class MonitorServerService {
             storeRegions);
     }
 
+    /**
+     * Get the latency percentiles (ms) of a statement type or an operator on an executor.
+     */
+    public Map<String, BigDecimal> getLatency(String instance, String name) {
+        TimeZone timeZone = TimeZone.getTimeZone("GMT+8");
+        Calendar calendar = Calendar.getInstance(timeZone);
+        long currentTimeSeconds = calendar.getTimeInMillis() / 1000;
+        return promMetricService.getLatencyPercentiles(instance, name, currentTimeSeconds);
+    }
+
     private void setId(byte[] key) {
         BufImpl buf = new BufImpl(key);
         buf.skip(1);
@@ -33,6 +33,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -61,6 +62,12 @@ public class PromMetricService {
     public static final String PROCESS_DISK_WRITE_BYTES_SECOND = "process_disk_write_bytes_second";
     public static final String PROCESS_DISK_READ_BYTES_SECOND = "process_disk_read_bytes_second";
 
+    // Latency timers of DingoMetrics (statement types and operators), exported in ms through JMX.
+    public static final String LATENCY_METRIC = "metrics_%s_%s{instance=\"%s\"}";
+    public static final String[] LATENCY_PERCENTILES = {
+        "50thPercentile", "95thPercentile", "99thPercentile", "999thPercentile"
+    };
+
     public static final BigDecimal TMP1 = new BigDecimal(1);
     public static final BigDecimal ZERO = new BigDecimal(0);
     public static final BigDecimal TMP2 = new BigDecimal(100);
@@ -165,6 +172,40 @@ public class PromMetricService {
         return  (TMP1.subtract(available.divide(total, 4, RoundingMode.HALF_UP))).doubleValue();
     }
 
+    /**
+     * Get the p50/p95/p99/p999 latency (ms) of a statement type such as `select`, or an operator such as `scan`.
+     */
+    public Map<String, BigDecimal> getLatencyPercentiles(String instance, String name, long currentTimeSeconds) {
+        Map<String, BigDecimal> percentiles = new LinkedHashMap<>();
+        for (String percentile : LATENCY_PERCENTILES) {
+            String metric = String.format(LATENCY_METRIC, name, percentile, instance);
+            percentiles.put(percentile, firstValue(getPromByMetric(metric, currentTimeSeconds)));
+        }
+        return percentiles;
+    }
+
+    /**
+     * Get the value of the first result, zero if there is none or if it is not a number (e.g. `NaN` of an empty timer).
+     */
+    private static BigDecimal firstValue(PromResponseInfo promResponseInfo) {
+        if (promResponseInfo == null) {
+            return ZERO;
+        }
+        List<PromResultInfo> results = promResponseInfo.getData().getResult();
+        if (results == null || results.isEmpty()) {
+            return ZERO;
+        }
+        List<Object> value = results.get(0).getValue();
+        if (value == null || value.size() < 2 || value.get(1) == null) {
+            return ZERO;
+        }
+        try {
+            return new BigDecimal(value.get(1).toString());
+        } catch (NumberFormatException e) {
+            return ZERO;
+        }
+    }
+
     public Map<String, BigDecimal> getDistanceMetric(String metric, long currentTimeSeconds) {
         PromResponseInfo promResponseInfo = getPromByMetric(metric, currentTimeSeconds);
         if (promResponseInfo == null) {